@@ -7,8 +7,10 @@ plugins {
     alias(libs.plugins.kotlin) // Kotlin support
     alias(libs.plugins.intelliJPlatform) // IntelliJ Platform Gradle Plugin
     alias(libs.plugins.changelog) // Gradle Changelog Plugin
+    alias(libs.plugins.grammarKit) // Grammar-Kit Gradle Plugin
     alias(libs.plugins.qodana) // Gradle Qodana Plugin
     alias(libs.plugins.kover) // Gradle Kover Plugin
+    alias(libs.plugins.jmh) // JMH Gradle Plugin
 }
 
 group = providers.gradleProperty("pluginGroup").get()
@@ -37,6 +39,16 @@ sourceSets {
     }
 }
 
+// The benchmarks in src/jmh run the plugin classes against the same IntelliJ Platform jars the plugin compiles with
+configurations {
+    named("jmhCompileClasspath") {
+        extendsFrom(configurations["intellijPlatformClasspath"])
+    }
+    named("jmhRuntimeClasspath") {
+        extendsFrom(configurations["intellijPlatformClasspath"])
+    }
+}
+
 // Dependencies are managed with Gradle version catalog - read more: https://docs.gradle.org/current/userguide/platforms.html#sub:version-catalog
 dependencies {
     // IntelliJ Platform Gradle Plugin Dependencies Extension - read more: https://plugins.jetbrains.com/docs/intellij/tools-intellij-platform-gradle-plugin-dependencies-extension.html
@@ -126,6 +138,13 @@ changelog {
     repositoryUrl = providers.gradleProperty("pluginRepositoryUrl")
 }
 
+// Configure Grammar-Kit Gradle Plugin - read more: https://github.com/JetBrains/gradle-grammar-kit-plugin
+// The lexer is generated on every build with the IntelliJ fork of JFlex and its idea-flex.skeleton, so it always matches AngelScript.flex
+grammarKit {
+    jflexRelease = "1.9.2"
+    grammarKitRelease = "2022.3.2"
+}
+
 // Configure Gradle Kover Plugin - read more: https://github.com/Kotlin/kotlinx-kover#configuration
 kover {
     reports {
@@ -137,6 +156,15 @@ kover {
     }
 }
 
+// Configure JMH Gradle Plugin - read more: https://github.com/melix/jmh-gradle-plugin
+// Run with `./gradlew jmh`, or `./gradlew jmh -PjmhIncludes=LexerBenchmark` for a subset
+jmh {
+    jmhVersion = libs.versions.jmh
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
 tasks {
     wrapper {
         gradleVersion = providers.gradleProperty("gradleVersion").get()
@@ -145,6 +173,20 @@ tasks {
     publishPlugin {
         dependsOn(patchChangelog)
     }
+
+    generateLexer {
+        sourceFile = layout.projectDirectory.file("src/main/AngelScript.flex")
+        targetOutputDir = layout.projectDirectory.dir("src/main/gen/com/github/sashi0034/angelintellij/language")
+        purgeOldFiles = true
+    }
+
+    compileJava {
+        dependsOn(generateLexer)
+    }
+
+    compileKotlin {
+        dependsOn(generateLexer)
+    }
 }
 
 intellijPlatformTesting {
@@ -1,14 +1,25 @@
-const esbuild = require('esbuild');
 const path = require('path');
 const fs = require('fs');
+const lspPatches = require('./lsp-patches');
+
+const bundledPath = path.join(__dirname, 'src', 'main', 'resources', 'js', 'angelscript-language-server.js');
+
+// Apply the IDE-specific server patches from lsp-patches/ to the bundled file
+function applyLspPatches() {
+  let content = fs.readFileSync(bundledPath, 'utf8');
+  console.log('Applying language server patches:');
+  content = lspPatches.applyAll(content);
+  fs.writeFileSync(bundledPath, content);
+}
 
 async function bundle() {
+  const esbuild = require('esbuild');
   try {
     // First, bundle the server
     await esbuild.build({
       entryPoints: [path.join(__dirname, 'unreal-angelscript-lsp', 'language-server', 'out', 'server.js')],
       bundle: true,
-      outfile: path.join(__dirname, 'src', 'main', 'resources', 'js', 'angelscript-language-server.js'),
+      outfile: bundledPath,
       platform: 'node',
       target: 'node14',
       format: 'cjs',
@@ -19,7 +30,6 @@ async function bundle() {
     });
 
     // Patch the bundled file to use stdin/stdout instead of IPC
-    const bundledPath = path.join(__dirname, 'src', 'main', 'resources', 'js', 'angelscript-language-server.js');
     let content = fs.readFileSync(bundledPath, 'utf8');
     
     // Replace the createConnection call to use stdin/stdout
@@ -45,10 +55,24 @@ async function bundle() {
     
     fs.writeFileSync(bundledPath, content);
     console.log('✓ Language server bundled and patched for stdio communication!');
+
+    applyLspPatches();
+    console.log('✓ Language server patches applied!');
   } catch (error) {
     console.error('✗ Bundling failed:', error);
     process.exit(1);
   }
 }
 
-bundle();
+// `node bundle-lsp.js --patch-only` re-applies lsp-patches/ to the existing bundle without rebuilding it
+if (process.argv.includes('--patch-only')) {
+  try {
+    applyLspPatches();
+    console.log('✓ Language server patches applied!');
+  } catch (error) {
+    console.error('✗ Patching failed:', error);
+    process.exit(1);
+  }
+} else {
+  bundle();
+}
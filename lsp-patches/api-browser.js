@@ -0,0 +1,41 @@
+// Supports the IDE's API browser.
+//
+// The angelscript/getAPI* requests wait for the Unreal type database by polling, but never gave
+// up, so every request the IDE cancelled or superseded kept a timer running until Unreal connected.
+// They now answer with an empty result once the polling runs out. When a type database from Unreal
+// changes the known types, angelscript/typeDatabaseChanged tells the IDE to drop what it cached
+// and browse again.
+const { marker, replaceOnce, insertBefore } = require('./patch-utils');
+
+const name = 'api-browser';
+
+function giveUpWaiting(content, resolveCall, emptyResult) {
+  return replaceOnce(content,
+    `      return resolve(${resolveCall});
+    setTimeout(function() {`,
+    `      return resolve(${resolveCall});
+    if (triesLeft <= 0)
+      return resolve(${emptyResult});
+    setTimeout(function() {`,
+    name);
+}
+
+function apply(content) {
+  content = giveUpWaiting(content, 'api_docs.GetAPIList(root)', '[]');
+  content = giveUpWaiting(content, 'api_docs.GetAPISearch(filter)', '[]');
+  content = giveUpWaiting(content, 'api_docs.GetAPIDetails(root)', '""');
+
+  content = insertBefore(content,
+    `  ReResolveAllModules();
+  if (liveChunks.length != 0)
+    SaveTypeCache(settings, liveChunks);
+`,
+    `  ${marker(name)}
+  connection.sendNotification("angelscript/typeDatabaseChanged", { changedChunks: parsed, removedChunks: removedChunks });
+`,
+    name);
+
+  return content;
+}
+
+module.exports = { name, apply };
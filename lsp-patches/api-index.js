@@ -0,0 +1,90 @@
+// Hands the whole searchable Unreal API to the IDE in one request.
+//
+// angelscript/getAPISearch walks every namespace and type for each query, and the answer travels
+// through stdio, so searching a large engine API as the user types is slow. The new
+// angelscript/getAPIIndex request lists every item getAPISearch can find, with the symbol and owner
+// names it matches against, so the IDE can index and search them itself. The answer is keyed by a
+// hash of its content; when the IDE already has the list for that key, the items are left out.
+const { marker, insertBefore } = require('./patch-utils');
+
+const name = 'api-index';
+
+function apply(content) {
+  content = insertBefore(content,
+    `connection.onRequest("angelscript/getAPIDetails", (root) => {
+`,
+    `${marker(name)}
+function GetAPIIndexItems() {
+  let items = [];
+  let searchType = function(type) {
+    let typePrefix = "";
+    let owner = null;
+    if (type instanceof typedb.DBNamespace) {
+      for (let [_, childNamespace] of type.childNamespaces) {
+        if (childNamespace.isShadowingType())
+          continue;
+        searchType(childNamespace);
+      }
+      if (!type.isRootNamespace()) {
+        typePrefix = type.getQualifiedNamespace() + "::";
+        owner = type.name;
+      }
+    } else {
+      typePrefix = type.getQualifiedTypenameInNamespace(null) + ".";
+      owner = type.name;
+    }
+    type.forEachSymbol(function(symbol) {
+      if (symbol instanceof typedb.DBMethod) {
+        if (symbol.isConstructor)
+          return;
+        if (symbol.name.startsWith("op"))
+          return;
+        let symbol_id;
+        if (symbol.containingType)
+          symbol_id = ["method", symbol.containingType.name, symbol.name, symbol.id];
+        else if (symbol.namespace && !symbol.namespace.isRootNamespace())
+          symbol_id = ["function", symbol.namespace.getQualifiedNamespace() + "::" + symbol.name];
+        else
+          symbol_id = ["function", symbol.name];
+        let label = typePrefix + symbol.name + "()";
+        if (symbol.isMixin)
+          label = symbol.args[0].typename + "." + symbol.name + "()";
+        items.push({ type: "function", label: label, id: symbol.id.toString(), data: symbol_id, name: symbol.name, owner: owner });
+      } else if (symbol instanceof typedb.DBProperty) {
+        let symbol_id;
+        if (symbol.containingType)
+          symbol_id = ["property", symbol.containingType.name, symbol.name];
+        else if (symbol.namespace && !symbol.namespace.isRootNamespace())
+          symbol_id = ["global", symbol.namespace.getQualifiedNamespace() + "::" + symbol.name];
+        else
+          symbol_id = ["global", symbol.name];
+        items.push({ type: "property", label: typePrefix + symbol.name, id: typePrefix + symbol.name, data: symbol_id, name: symbol.name, owner: owner });
+      } else if (symbol instanceof typedb.DBType) {
+        if (!symbol.declaredModule && !symbol.isEnum && !symbol.isTemplateInstantiation && !symbol.isTemplateType() && !symbol.isDelegate && !symbol.isEvent)
+          searchType(symbol);
+      }
+    }, false);
+  };
+  searchType(typedb.GetRootNamespace());
+  return items;
+}
+function GetAPIIndex(params) {
+  if (!typedb.HasTypesFromUnreal())
+    return { key: null, items: [] };
+  let items = GetAPIIndexItems();
+  let json = JSON.stringify(items);
+  let key = require("crypto").createHash("sha1").update(json).digest("hex").substring(0, 16);
+  if (params && params.knownKey == key)
+    return { key: key, items: null };
+  return { key: key, items: items };
+}
+connection.onRequest("angelscript/getAPIIndex", (params) => {
+  return GetAPIIndex(params);
+});
+`,
+    name);
+
+  return content;
+}
+
+module.exports = { name, apply };
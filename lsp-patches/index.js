@@ -0,0 +1,28 @@
+// Ordered list of patches applied to the bundled language server by bundle-lsp.js.
+const { isApplied } = require('./patch-utils');
+
+const patches = [
+  require('./workspace-folders'),
+  require('./type-database-cache'),
+  require('./offline-mode'),
+  require('./prioritized-indexing'),
+  require('./semantic-tokens'),
+  require('./api-browser'),
+  require('./api-index'),
+  require('./server-stats'),
+  require('./unreal-reconnect'),
+];
+
+function applyAll(content) {
+  for (const patch of patches) {
+    if (isApplied(content, patch.name)) {
+      console.log(`  - ${patch.name} (already applied)`);
+      continue;
+    }
+    content = patch.apply(content);
+    console.log(`  + ${patch.name}`);
+  }
+  return content;
+}
+
+module.exports = { applyAll };
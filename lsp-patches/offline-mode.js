@@ -0,0 +1,82 @@
+// Lets the server run without an Unreal editor.
+//
+// With ANGELSCRIPT_OFFLINE=1 the server never connects to 127.0.0.1:27099. Types come from the
+// exported database in ANGELSCRIPT_TYPE_DATABASE, or else from the workspace's type cache; without
+// either, scripts are resolved against their own declarations only.
+//
+// ANGELSCRIPT_RECORD_UNREAL=<file> writes everything Unreal sends on a connection to <file>, for
+// replaying with unreal-standin.js. The angelscript/exportTypeDatabase request copies the
+// workspace's cached type database to a file that can be used as ANGELSCRIPT_TYPE_DATABASE.
+const { marker, replaceOnce, insertAfter, insertBefore } = require('./patch-utils');
+
+const name = 'offline-mode';
+
+function apply(content) {
+  content = replaceOnce(content,
+    `connect_unreal();
+var shouldSendDiagnosticRelatedInformation`,
+    `${marker(name)}
+var UnrealOffline = process.env.ANGELSCRIPT_OFFLINE == "1";
+var OfflineTypeDatabase = process.env.ANGELSCRIPT_TYPE_DATABASE || null;
+var UnrealRecordingFile = process.env.ANGELSCRIPT_RECORD_UNREAL || null;
+var UnrealRecordingSocket = null;
+function RecordUnrealData(data) {
+  if (!UnrealRecordingFile)
+    return;
+  try {
+    if (UnrealRecordingSocket !== unreal) {
+      // Every connection starts a new recording
+      UnrealRecordingSocket = unreal;
+      require("fs").writeFileSync(UnrealRecordingFile, data);
+    } else {
+      require("fs").appendFileSync(UnrealRecordingFile, data);
+    }
+  } catch (e) {
+    connection.console.log("Could not record Unreal data to " + UnrealRecordingFile + ": " + e);
+    UnrealRecordingFile = null;
+  }
+}
+if (!UnrealOffline)
+  connect_unreal();
+var shouldSendDiagnosticRelatedInformation`,
+    name);
+
+  content = insertAfter(content,
+    `  unreal.on("data", function(data) {
+`,
+    `    RecordUnrealData(data);
+`,
+    name);
+
+  content = replaceOnce(content,
+    `  LoadCachedTypeDatabase();
+`,
+    `  if (UnrealOffline && OfflineTypeDatabase)
+    LoadCachedTypeDatabase(OfflineTypeDatabase);
+  LoadCachedTypeDatabase();
+  if (UnrealOffline && !typedb.HasTypesFromUnreal()) {
+    connection.console.log("Offline mode without a type database, only script types are available");
+    typedb.FinishTypesFromUnreal();
+    typedb.AddPrimitiveTypes(scriptfiles.GetScriptSettings().floatIsFloat64);
+  }
+`,
+    name);
+
+  content = insertBefore(content, 'connection.listen();', `connection.onRequest("angelscript/exportTypeDatabase", function(params) {
+  let source = GetTypeCacheFile();
+  if (!source || !params || !params.path)
+    return false;
+  try {
+    require("fs").copyFileSync(source, params.path);
+    return true;
+  } catch (e) {
+    connection.console.log("Could not export type database to " + params.path + ": " + e);
+    return false;
+  }
+});
+`, name);
+
+  return content;
+}
+
+module.exports = { name, apply };
@@ -0,0 +1,32 @@
+// Helpers shared by the language server patches in this directory.
+//
+// Every patch is applied to the esbuild output of the upstream server. Patches locate their
+// insertion point by an exact anchor string and fail loudly when the anchor is missing, so an
+// upstream change that breaks a patch is noticed at bundle time instead of at runtime.
+
+function marker(name) {
+  return `/* angel-intellij patch: ${name} */`;
+}
+
+function isApplied(content, name) {
+  return content.includes(marker(name));
+}
+
+function replaceOnce(content, anchor, replacement, name) {
+  const index = content.indexOf(anchor);
+  if (index === -1)
+    throw new Error(`Patch '${name}': anchor not found: ${JSON.stringify(anchor.slice(0, 80))}`);
+  if (content.indexOf(anchor, index + anchor.length) !== -1)
+    throw new Error(`Patch '${name}': anchor is not unique: ${JSON.stringify(anchor.slice(0, 80))}`);
+  return content.slice(0, index) + replacement + content.slice(index + anchor.length);
+}
+
+function insertBefore(content, anchor, code, name) {
+  return replaceOnce(content, anchor, code + anchor, name);
+}
+
+function insertAfter(content, anchor, code, name) {
+  return replaceOnce(content, anchor, anchor + code, name);
+}
+
+module.exports = { marker, isApplied, replaceOnce, insertBefore, insertAfter };
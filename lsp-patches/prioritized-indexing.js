@@ -0,0 +1,154 @@
+// Services the documents the user is working on before the rest of the workspace.
+//
+// Upstream indexes modules in glob order, so an open file can wait behind thousands of unrelated
+// scripts for its diagnostics. The IDE reports its selected, open and recently edited documents
+// with the angelscript/prioritizeModules notification (most important first); opened and edited
+// documents are added on their own as well. Every queue tick, and every step of a full re-resolve,
+// first brings those modules as far along as the current stage allows.
+//
+// Indexing progress is reported through window/workDoneProgress, which the IDE shows as a
+// background task.
+const { marker, replaceOnce, insertAfter, insertBefore } = require('./patch-utils');
+
+const name = 'prioritized-indexing';
+
+function apply(content) {
+  content = replaceOnce(content,
+    `function TickQueues() {
+  IsServicingQueues = true;
+`,
+    `function TickQueues() {
+  if (!IsServicingQueues)
+    BeginIndexingProgress();
+  IsServicingQueues = true;
+  TickPriorityModules();
+  ReportIndexingProgress();
+`,
+    name);
+
+  content = insertAfter(content,
+    `    IsServicingQueues = false;
+`,
+    `    EndIndexingProgress();
+`,
+    name);
+
+  content = insertAfter(content,
+    `  function ReResolveModules() {
+`,
+    `    TickPriorityModules();
+`,
+    name);
+
+  content = insertAfter(content,
+    `  asmodule.isOpened = true;
+`,
+    `  PrioritizeModule(asmodule.uri);
+`,
+    name);
+
+  content = insertAfter(content,
+    `  scriptfiles.UpdateModuleFromContentChanges(asmodule, params.contentChanges);
+`,
+    `  PrioritizeModule(asmodule.uri);
+`,
+    name);
+
+  content = insertBefore(content, 'function TickQueues() {', `${marker(name)}
+var MaxPriorityModules = 50;
+var PriorityModulesPerTick = 5;
+var PriorityModuleUris = [];
+var IndexingProgress = null;
+var IndexingProgressInterval = 250;
+function PrioritizeModule(uri) {
+  let index = PriorityModuleUris.indexOf(uri);
+  if (index != -1)
+    PriorityModuleUris.splice(index, 1);
+  PriorityModuleUris.unshift(uri);
+  if (PriorityModuleUris.length > MaxPriorityModules)
+    PriorityModuleUris.length = MaxPriorityModules;
+}
+function TickPriorityModules() {
+  let budget = PriorityModulesPerTick;
+  let canResolve = CanResolveModules() && LoadQueue.length == 0 && ParseQueue.length == 0;
+  for (let uri of PriorityModuleUris) {
+    if (budget <= 0)
+      return;
+    let asmodule = scriptfiles.GetModuleByUri(uri);
+    if (!asmodule)
+      continue;
+    if (!asmodule.loaded)
+      scriptfiles.UpdateModuleFromDisk(asmodule);
+    if (!asmodule.parsed) {
+      scriptfiles.ParseModuleAndDependencies(asmodule);
+      budget -= 1;
+    }
+    // Resolving needs every module's declarations, so it waits until the whole workspace is parsed
+    if (canResolve && !asmodule.resolved) {
+      scriptfiles.PostProcessModuleTypesAndDependencies(asmodule);
+      scriptfiles.ResolveModule(asmodule);
+      scriptdiagnostics.UpdateScriptModuleDiagnostics(asmodule, IsServicingQueues);
+      budget -= 1;
+    }
+  }
+}
+function GetIndexingStage() {
+  if (LoadQueue.length != 0)
+    return { base: 0, weight: 10, index: LoadQueueIndex, count: LoadQueue.length, message: "Loading" };
+  if (ParseQueue.length != 0)
+    return { base: 10, weight: 40, index: ParseQueueIndex, count: ParseQueue.length, message: "Parsing" };
+  if (!CanResolveModules())
+    return { base: 50, weight: 0, index: 0, count: 0, message: "Waiting for the Unreal type database" };
+  if (PostProcessTypesQueue.length != 0)
+    return { base: 50, weight: 10, index: PostProcessTypesQueueIndex, count: PostProcessTypesQueue.length, message: "Processing types of" };
+  return { base: 60, weight: 40, index: ResolveQueueIndex, count: ResolveQueue.length, message: "Resolving" };
+}
+function BeginIndexingProgress() {
+  let progress = { reporter: null, ended: false, lastReport: 0 };
+  IndexingProgress = progress;
+  connection.window.createWorkDoneProgress().then(function(reporter) {
+    // Small workspaces can be done before the client has answered
+    if (progress.ended)
+      return;
+    progress.reporter = reporter;
+    reporter.begin("Indexing AngelScript", 0, "Loading scripts", false);
+  }, function() {
+  });
+}
+function ReportIndexingProgress() {
+  let progress = IndexingProgress;
+  if (!progress || !progress.reporter)
+    return;
+  let now = Date.now();
+  if (now - progress.lastReport < IndexingProgressInterval)
+    return;
+  progress.lastReport = now;
+  let stage = GetIndexingStage();
+  let percentage = stage.base + (stage.count != 0 ? stage.weight * stage.index / stage.count : 0);
+  let message = stage.count != 0 ? stage.message + " " + stage.index + "/" + stage.count + " scripts" : stage.message;
+  progress.reporter.report(Math.floor(percentage), message);
+}
+function EndIndexingProgress() {
+  let progress = IndexingProgress;
+  IndexingProgress = null;
+  if (!progress)
+    return;
+  progress.ended = true;
+  if (progress.reporter)
+    progress.reporter.done();
+}
+`, name);
+
+  content = insertBefore(content, 'connection.listen();', `connection.onNotification("angelscript/prioritizeModules", function(params) {
+  if (!params || !Array.isArray(params.uris))
+    return;
+  PriorityModuleUris = [];
+  for (let uri of params.uris.slice(0, MaxPriorityModules))
+    PriorityModuleUris.push(scriptfiles.NormalizeUri(uri));
+});
+`, name);
+
+  return content;
+}
+
+module.exports = { name, apply };
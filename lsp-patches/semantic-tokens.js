@@ -0,0 +1,126 @@
+// Serves real semantic token deltas and viewport ranges.
+//
+// Upstream announces full/delta support but its delta handler returns the whole token array every
+// time, and it keeps a single previous result for all documents. The last full or delta result is
+// now kept per module, and a delta request whose previousResultId matches it gets a single edit
+// covering the tokens that changed. textDocument/semanticTokens/range is served as well, so the IDE
+// can recolour just the visible lines of a large script while the user is typing.
+const { marker, replaceOnce, insertBefore } = require('./patch-utils');
+
+const name = 'semantic-tokens';
+
+function apply(content) {
+  content = replaceOnce(content,
+    `        range: false,
+        full: {
+          delta: true
+        }`,
+    `        range: true,
+        full: {
+          delta: true
+        }`,
+    name);
+
+  content = replaceOnce(content,
+    `connection.languages.semanticTokens.onDelta(function(params) {
+  if (!CanResolveModules())
+    return WaitForResolveSymbols(params);
+  let asmodule = scriptfiles.GetModuleByUri(params.textDocument.uri);
+  scriptfiles.ParseModuleAndDependencies(asmodule);
+  scriptfiles.PostProcessModuleTypesAndDependencies(asmodule);
+  scriptfiles.ResolveModule(asmodule);
+  let delta = scriptsemantics.HighlightSymbolsDelta(asmodule, params.previousResultId);
+  return delta;
+});
+connection.languages.semanticTokens.on(function(params) {
+  return WaitForResolveSymbols(params);
+});
+`,
+    `${marker(name)}
+var SemanticTokenResults = new Map();
+var NextSemanticTokensResultId = 1;
+function StoreSemanticTokens(uri, tokens) {
+  if (!tokens)
+    return tokens;
+  let result = { resultId: String(NextSemanticTokensResultId++), data: tokens.data };
+  SemanticTokenResults.set(scriptfiles.NormalizeUri(uri), result);
+  return result;
+}
+function DiffSemanticTokens(previous, current) {
+  let start = 0;
+  let end = 0;
+  while (start < previous.length && start < current.length && previous[start] === current[start])
+    start += 1;
+  while (end < previous.length - start && end < current.length - start && previous[previous.length - 1 - end] === current[current.length - 1 - end])
+    end += 1;
+  if (start == previous.length && start == current.length)
+    return [];
+  return [{ start: start, deleteCount: previous.length - start - end, data: current.slice(start, current.length - end) }];
+}
+function SliceSemanticTokens(data, range) {
+  let sliced = [];
+  let line = 0;
+  let char = 0;
+  let prevLine = 0;
+  let prevChar = 0;
+  for (let i = 0; i < data.length; i += 5) {
+    line += data[i];
+    char = data[i] == 0 ? char + data[i + 1] : data[i + 1];
+    if (line < range.start.line || (line == range.start.line && char < range.start.character))
+      continue;
+    if (line > range.end.line || (line == range.end.line && char >= range.end.character))
+      break;
+    let deltaLine = sliced.length == 0 ? line : line - prevLine;
+    sliced.push(deltaLine, deltaLine == 0 ? char - prevChar : char, data[i + 2], data[i + 3], data[i + 4]);
+    prevLine = line;
+    prevChar = char;
+  }
+  return sliced;
+}
+function ResolveSemanticTokens(params) {
+  if (!CanResolveModules())
+    return WaitForResolveSymbols(params);
+  let asmodule = scriptfiles.GetModuleByUri(params.textDocument.uri);
+  if (!asmodule)
+    return null;
+  scriptfiles.ParseModuleAndDependencies(asmodule);
+  scriptfiles.PostProcessModuleTypesAndDependencies(asmodule);
+  scriptfiles.ResolveModule(asmodule);
+  return scriptsemantics.HighlightSymbols(asmodule);
+}
+connection.languages.semanticTokens.onDelta(function(params) {
+  let previous = SemanticTokenResults.get(scriptfiles.NormalizeUri(params.textDocument.uri));
+  return Promise.resolve(ResolveSemanticTokens(params)).then(function(tokens) {
+    let result = StoreSemanticTokens(params.textDocument.uri, tokens);
+    if (!result || !previous || previous.resultId != params.previousResultId)
+      return result;
+    return { resultId: result.resultId, edits: DiffSemanticTokens(previous.data, result.data) };
+  });
+});
+connection.languages.semanticTokens.on(function(params) {
+  return Promise.resolve(WaitForResolveSymbols(params)).then(function(tokens) {
+    return StoreSemanticTokens(params.textDocument.uri, tokens);
+  });
+});
+connection.languages.semanticTokens.onRange(function(params) {
+  return Promise.resolve(ResolveSemanticTokens(params)).then(function(tokens) {
+    return tokens ? { data: SliceSemanticTokens(tokens.data, params.range) } : tokens;
+  });
+});
+`,
+    name);
+
+  content = replaceOnce(content,
+    `connection.onDidCloseTextDocument(function(params) {
+  let asmodule = scriptfiles.GetModuleByUri(params.textDocument.uri);
+`,
+    `connection.onDidCloseTextDocument(function(params) {
+  SemanticTokenResults.delete(scriptfiles.NormalizeUri(params.textDocument.uri));
+  let asmodule = scriptfiles.GetModuleByUri(params.textDocument.uri);
+`,
+    name);
+
+  return content;
+}
+
+module.exports = { name, apply };
@@ -0,0 +1,95 @@
+// Reports the indexing queues and memory use of the server to the IDE.
+//
+// The IDE only sees whether the server process is running; it cannot tell a server that is busy
+// resolving thousands of scripts, or close to running out of heap, from one that is idle. Once a
+// second while the queues are being serviced, and every ten seconds otherwise, the server sends an
+// angelscript/stats notification with the remaining entries of each queue, how many modules are
+// parsed and resolved, the number of Unreal types and the Node heap.
+const { marker, insertAfter, insertBefore } = require('./patch-utils');
+
+const name = 'server-stats';
+
+function apply(content) {
+  content = insertAfter(content,
+    `connection.onInitialize((_params) => {
+`,
+    `  StartServerStats();
+`,
+    name);
+
+  content = insertBefore(content, `connection.listen();
+`, `${marker(name)}
+var ServerStatsInterval = 1000;
+var ServerStatsIdleInterval = 10000;
+var ServerStatsTimer = null;
+var LastServerStatsIndexing = false;
+var LastServerStatsTime = 0;
+var ServerHeapLimit = require("v8").getHeapStatistics().heap_size_limit;
+var UnrealTypeCount = { typesById: -1, count: 0 };
+function CountUnrealTypes() {
+  let types = typedb.GetAllTypesById();
+  // Recounted only when types were added or removed
+  if (types.size != UnrealTypeCount.typesById) {
+    let count = 0;
+    for (let [_, type] of types) {
+      if (!type.declaredModule)
+        count += 1;
+    }
+    UnrealTypeCount = { typesById: types.size, count: count };
+  }
+  return UnrealTypeCount.count;
+}
+function GetServerStats() {
+  let modules = 0;
+  let parsed = 0;
+  let resolved = 0;
+  for (let [_, asmodule] of scriptfiles.ModuleDatabase) {
+    if (!asmodule.exists)
+      continue;
+    modules += 1;
+    if (asmodule.parsed)
+      parsed += 1;
+    if (asmodule.resolved)
+      resolved += 1;
+  }
+  return {
+    indexing: IsServicingQueues,
+    stage: IsServicingQueues ? GetIndexingStage().message : null,
+    loadQueue: LoadQueue.length - LoadQueueIndex,
+    parseQueue: ParseQueue.length - ParseQueueIndex,
+    postProcessTypesQueue: PostProcessTypesQueue.length - PostProcessTypesQueueIndex,
+    resolveQueue: ResolveQueue.length - ResolveQueueIndex,
+    modules: modules,
+    modulesParsed: parsed,
+    modulesResolved: resolved,
+    hasUnrealTypes: typedb.HasTypesFromUnreal(),
+    unrealTypes: CountUnrealTypes(),
+  };
+}
+function SendServerStats() {
+  let now = Date.now();
+  // The report that indexing ended goes out right away
+  if (!IsServicingQueues && !LastServerStatsIndexing && now - LastServerStatsTime < ServerStatsIdleInterval)
+    return;
+  let stats = GetServerStats();
+  let memory = process.memoryUsage();
+  stats.heapUsed = memory.heapUsed;
+  stats.heapTotal = memory.heapTotal;
+  stats.heapLimit = ServerHeapLimit;
+  stats.rss = memory.rss;
+  LastServerStatsIndexing = IsServicingQueues;
+  LastServerStatsTime = now;
+  connection.sendNotification("angelscript/stats", stats);
+}
+function StartServerStats() {
+  if (ServerStatsTimer)
+    return;
+  ServerStatsTimer = setInterval(SendServerStats, ServerStatsInterval);
+  ServerStatsTimer.unref();
+}
+`, name);
+
+  return content;
+}
+
+module.exports = { name, apply };
@@ -0,0 +1,266 @@
+// Persists the Unreal type database between server runs.
+//
+// The DebugDatabase chunks received from Unreal are stored per workspace as a deflated binary file
+// in ANGELSCRIPT_TYPE_CACHE_DIR (set by the IDE). On the next start the cached chunks are loaded
+// right after initialize, so resolution and completion work before Unreal has answered.
+// When the live database arrives, chunks whose hash matches a cached chunk are skipped, types
+// that only the cache knew about are removed, and modules are re-resolved only if anything changed.
+//
+// File layout: "ASTC" | uint32 format version | deflateRaw(payload)
+//   payload: uint32 settings length | settings JSON | uint32 chunk count |
+//            per chunk: 20 byte sha1 | uint32 length | chunk JSON (utf8)
+const { marker, replaceOnce, insertAfter, insertBefore } = require('./patch-utils');
+
+const name = 'type-database-cache';
+
+function apply(content) {
+  content = replaceOnce(content,
+    `        let dbStr = msg.readString();
+        let dbObj = JSON.parse(dbStr);
+        typedb.AddTypesFromUnreal(dbObj);
+`,
+    `        let dbStr = msg.readString();
+        AddUnrealTypeChunk(dbStr);
+`,
+    name);
+
+  content = replaceOnce(content,
+    `          clearTimeout(ReceivingTypesTimeout);
+        typedb.FinishTypesFromUnreal();
+        let scriptSettings = scriptfiles.GetScriptSettings();
+        typedb.AddPrimitiveTypes(scriptSettings.floatIsFloat64);
+        ReResolveAllModules();
+`,
+    `          clearTimeout(ReceivingTypesTimeout);
+        FinishUnrealTypeChunks();
+`,
+    name);
+
+  content = replaceOnce(content,
+    `function DetectUnrealTypeListTimeout() {
+  typedb.FinishTypesFromUnreal();
+  let scriptSettings = scriptfiles.GetScriptSettings();
+  typedb.AddPrimitiveTypes(scriptSettings.floatIsFloat64);
+  ReResolveAllModules();
+}
+`,
+    `function DetectUnrealTypeListTimeout() {
+  FinishUnrealTypeChunks();
+}
+`,
+    name);
+
+  content = insertAfter(content,
+    `  connection.console.log("Workspace roots: " + Roots);
+`,
+    `  LoadCachedTypeDatabase();
+`,
+    name);
+
+  content = insertBefore(content, 'function DetectUnrealTypeListTimeout() {', `${marker(name)}
+var TypeCacheDir = process.env.ANGELSCRIPT_TYPE_CACHE_DIR || null;
+var TypeCacheFormatVersion = 1;
+var TypeCacheChunks = null;
+var TypeCacheSettings = null;
+var LiveTypeChunks = [];
+var LiveTypeChunksReused = 0;
+var LiveTypeChunksParsed = 0;
+function HashTypeChunk(dbStr) {
+  return require("crypto").createHash("sha1").update(dbStr).digest();
+}
+function GetTypeCacheFile() {
+  if (!TypeCacheDir || RootUris.length == 0)
+    return null;
+  let key = HashTypeChunk(RootUris.slice().sort().join("\\n")).toString("hex").substring(0, 16);
+  return require("path").join(TypeCacheDir, key + ".typedb");
+}
+function GetTypeCacheSettings() {
+  return {
+    script: Object.assign({}, scriptfiles.GetScriptSettings()),
+    engineSupportsCreateBlueprint: !!scriptlenses.GetCodeLensSettings().engineSupportsCreateBlueprint
+  };
+}
+function EncodeTypeCache(settings, chunks) {
+  let parts = [];
+  let settingsBuffer = Buffer.from(JSON.stringify(settings), "utf8");
+  let header = Buffer.alloc(4);
+  header.writeUInt32LE(settingsBuffer.length, 0);
+  parts.push(header, settingsBuffer);
+  let count = Buffer.alloc(4);
+  count.writeUInt32LE(chunks.length, 0);
+  parts.push(count);
+  for (let chunk of chunks) {
+    let json = Buffer.from(chunk.json, "utf8");
+    let length = Buffer.alloc(4);
+    length.writeUInt32LE(json.length, 0);
+    parts.push(chunk.hash, length, json);
+  }
+  let prefix = Buffer.alloc(8);
+  prefix.write("ASTC", 0, "ascii");
+  prefix.writeUInt32LE(TypeCacheFormatVersion, 4);
+  return [prefix, Buffer.concat(parts)];
+}
+function DecodeTypeCache(data) {
+  if (data.length < 8 || data.toString("ascii", 0, 4) != "ASTC" || data.readUInt32LE(4) != TypeCacheFormatVersion)
+    throw new Error("unknown format");
+  let payload = require("zlib").inflateRawSync(data.subarray(8));
+  let offset = 0;
+  let settingsLength = payload.readUInt32LE(offset);
+  offset += 4;
+  let settings = JSON.parse(payload.toString("utf8", offset, offset + settingsLength));
+  offset += settingsLength;
+  let chunkCount = payload.readUInt32LE(offset);
+  offset += 4;
+  let chunks = [];
+  for (let i = 0; i < chunkCount; ++i) {
+    let hash = payload.subarray(offset, offset + 20);
+    offset += 20;
+    let length = payload.readUInt32LE(offset);
+    offset += 4;
+    chunks.push({ hash, json: payload.toString("utf8", offset, offset + length) });
+    offset += length;
+  }
+  return { settings, chunks };
+}
+function LoadCachedTypeDatabase(file) {
+  if (typedb.HasTypesFromUnreal())
+    return;
+  file = file || GetTypeCacheFile();
+  if (!file)
+    return;
+  let data;
+  try {
+    data = require("fs").readFileSync(file);
+  } catch (e) {
+    return;
+  }
+  let start = Date.now();
+  try {
+    let cache = DecodeTypeCache(data);
+    Object.assign(scriptfiles.GetScriptSettings(), cache.settings.script);
+    scriptlenses.GetCodeLensSettings().engineSupportsCreateBlueprint = cache.settings.engineSupportsCreateBlueprint;
+    let chunks = new Map();
+    for (let chunk of cache.chunks) {
+      let dbObj = JSON.parse(chunk.json);
+      typedb.AddTypesFromUnreal(dbObj);
+      chunks.set(chunk.hash.toString("hex"), Object.keys(dbObj));
+    }
+    typedb.FinishTypesFromUnreal();
+    typedb.AddPrimitiveTypes(scriptfiles.GetScriptSettings().floatIsFloat64);
+    TypeCacheChunks = chunks;
+    TypeCacheSettings = JSON.stringify(cache.settings);
+    connection.console.log("Loaded cached Unreal type database (" + cache.chunks.length + " chunks) in " + (Date.now() - start) + " ms");
+  } catch (e) {
+    connection.console.log("Ignoring unreadable type database cache " + file + ": " + e);
+  }
+}
+function AddUnrealTypeChunk(dbStr) {
+  let hash = HashTypeChunk(dbStr);
+  let hex = hash.toString("hex");
+  let chunk = { hash, hex, json: dbStr, keys: null };
+  LiveTypeChunks.push(chunk);
+  if (TypeCacheChunks && TypeCacheChunks.has(hex)) {
+    // Already in the database, either from the cache file or from an earlier connection
+    chunk.keys = TypeCacheChunks.get(hex);
+    LiveTypeChunksReused += 1;
+    return;
+  }
+  let dbObj = JSON.parse(dbStr);
+  typedb.AddTypesFromUnreal(dbObj);
+  chunk.keys = Object.keys(dbObj);
+  LiveTypeChunksParsed += 1;
+}
+function RemoveStaleUnrealType(key) {
+  if (key.startsWith("__")) {
+    let type = typedb.GetTypeByName(key.substring(2));
+    if (type && type.isEnum && !type.declaredModule) {
+      typedb.RemoveTypeFromDatabase(type);
+      return;
+    }
+    let ns = typedb.LookupNamespace(null, key.substring(2));
+    if (ns)
+      ns.removeSymbolsDeclaredIn(null, ~typedb.DBAllowSymbol.Types);
+  } else {
+    let type = typedb.GetTypeByName(key);
+    if (type && !type.declaredModule)
+      typedb.RemoveTypeFromDatabase(type);
+  }
+}
+function FinishUnrealTypeChunks() {
+  let liveChunks = LiveTypeChunks;
+  let reused = LiveTypeChunksReused;
+  let parsed = LiveTypeChunksParsed;
+  LiveTypeChunks = [];
+  LiveTypeChunksReused = 0;
+  LiveTypeChunksParsed = 0;
+
+  let settings = GetTypeCacheSettings();
+  let settingsJson = JSON.stringify(settings);
+  let hadTypes = typedb.HasTypesFromUnreal();
+  let liveHashes = new Set(liveChunks.map((chunk) => chunk.hex));
+  let removedChunks = 0;
+  if (TypeCacheChunks && liveChunks.length != 0) {
+    let liveKeys = new Set();
+    for (let chunk of liveChunks) {
+      if (!TypeCacheChunks.has(chunk.hex)) {
+        for (let key of chunk.keys)
+          liveKeys.add(key);
+      }
+    }
+    for (let [hex, keys] of TypeCacheChunks) {
+      if (liveHashes.has(hex))
+        continue;
+      removedChunks += 1;
+      for (let key of keys) {
+        if (!liveKeys.has(key))
+          RemoveStaleUnrealType(key);
+      }
+    }
+  }
+  let changed = !hadTypes || parsed != 0 || removedChunks != 0 || settingsJson != TypeCacheSettings;
+
+  typedb.FinishTypesFromUnreal();
+  typedb.AddPrimitiveTypes(settings.script.floatIsFloat64);
+  if (liveChunks.length != 0) {
+    TypeCacheChunks = new Map(liveChunks.map((chunk) => [chunk.hex, chunk.keys]));
+    TypeCacheSettings = settingsJson;
+  }
+
+  if (!changed) {
+    connection.console.log("Unreal type database matches the cached copy (" + reused + " chunks)");
+    return;
+  }
+  connection.console.log("Unreal type database: " + parsed + " chunks changed, " + reused + " reused, " + removedChunks + " removed");
+  ReResolveAllModules();
+  if (liveChunks.length != 0)
+    SaveTypeCache(settings, liveChunks);
+}
+function SaveTypeCache(settings, chunks) {
+  let file = GetTypeCacheFile();
+  if (!file)
+    return;
+  let fs = require("fs");
+  let [prefix, payload] = EncodeTypeCache(settings, chunks);
+  require("zlib").deflateRaw(payload, function(err, compressed) {
+    if (err)
+      return;
+    let tempFile = file + "." + process.pid + ".tmp";
+    try {
+      fs.mkdirSync(TypeCacheDir, { recursive: true });
+      fs.writeFileSync(tempFile, Buffer.concat([prefix, compressed]));
+      fs.renameSync(tempFile, file);
+    } catch (e) {
+      try {
+        fs.unlinkSync(tempFile);
+      } catch (ignored) {
+      }
+      connection.console.log("Could not write type database cache " + file + ": " + e);
+    }
+  });
+}
+`, name);
+
+  return content;
+}
+
+module.exports = { name, apply };
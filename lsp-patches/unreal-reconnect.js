@@ -0,0 +1,110 @@
+// Backs off reconnecting to the Unreal editor and lets the IDE wake the reconnect.
+//
+// Upstream retries the Unreal connection every five seconds for as long as the server runs, so an
+// IDE with the editor closed all day keeps opening sockets for every open project. Failed attempts
+// now wait twice as long each time, from two seconds up to five minutes, with jitter so that
+// servers of several projects do not retry in lockstep. A connection that was established and then
+// lost starts over at two seconds.
+//
+// The IDE sends angelscript/wakeUnrealConnection when an Unreal editor process appears or the user
+// asks for it, which retries at once and starts the backoff over. The server reports whether it is
+// connected with angelscript/unrealConnection, so the IDE can tell a running server that waits for
+// Unreal from a fully connected one.
+const { marker, replaceOnce, insertAfter, insertBefore } = require('./patch-utils');
+
+const name = 'unreal-reconnect';
+
+const retry = `      if (!reconnectTimeoutId)
+        reconnectTimeoutId = setTimeout(connect_unreal, 5e3);
+`;
+
+function apply(content) {
+  for (const event of ['error', 'close']) {
+    content = replaceOnce(content,
+      `  unreal.on("${event}", function() {
+    if (unreal != null) {
+      unreal.destroy();
+      unreal = null;
+${retry}`,
+      `  unreal.on("${event}", function() {
+    if (unreal != null) {
+      unreal.destroy();
+      unreal = null;
+      ScheduleUnrealReconnect();
+`,
+      name);
+  }
+
+  content = insertAfter(content,
+    `  unreal.connect(port, hostname, function() {
+`,
+    `    OnUnrealConnected();
+`,
+    name);
+
+  content = insertAfter(content,
+    `connection.onInitialize((_params) => {
+`,
+    `  StartUnrealConnectionStatus();
+`,
+    name);
+
+  content = insertBefore(content, `var reconnectTimeoutId = void 0;
+`, `${marker(name)}
+var UnrealReconnectMinDelay = 2e3;
+var UnrealReconnectMaxDelay = 3e5;
+var UnrealReconnectAttempts = 0;
+var UnrealConnected = false;
+var UnrealConnectionStatusReady = false;
+function ScheduleUnrealReconnect() {
+  if (UnrealConnected) {
+    // Lost an established connection, e.g. the editor restarts
+    UnrealConnected = false;
+    UnrealReconnectAttempts = 0;
+  }
+  if (reconnectTimeoutId)
+    return;
+  let delay = Math.min(UnrealReconnectMaxDelay, UnrealReconnectMinDelay * Math.pow(2, UnrealReconnectAttempts));
+  delay = Math.round(delay / 2 + Math.random() * delay / 2);
+  UnrealReconnectAttempts += 1;
+  reconnectTimeoutId = setTimeout(connect_unreal, delay);
+  SendUnrealConnectionStatus(delay);
+}
+function OnUnrealConnected() {
+  UnrealConnected = true;
+  UnrealReconnectAttempts = 0;
+  SendUnrealConnectionStatus(null);
+}
+function WakeUnrealConnection(reason) {
+  if (UnrealOffline || UnrealConnected)
+    return;
+  connection.console.log("Reconnecting to Unreal now: " + reason);
+  UnrealReconnectAttempts = 0;
+  connect_unreal();
+}
+function SendUnrealConnectionStatus(retryDelay) {
+  if (!UnrealConnectionStatusReady)
+    return;
+  connection.sendNotification("angelscript/unrealConnection", {
+    connected: UnrealConnected,
+    offline: UnrealOffline,
+    attempts: UnrealReconnectAttempts,
+    retryInMs: retryDelay,
+  });
+}
+function StartUnrealConnectionStatus() {
+  // After the answer to initialize
+  setTimeout(function() {
+    UnrealConnectionStatusReady = true;
+    SendUnrealConnectionStatus(null);
+  }, 0);
+}
+connection.onNotification("angelscript/wakeUnrealConnection", function(params) {
+  WakeUnrealConnection(params && params.reason || "requested by the IDE");
+});
+`, name);
+
+  return content;
+}
+
+module.exports = { name, apply };
@@ -0,0 +1,68 @@
+// Lets the server pick up workspace folders added or removed after initialization.
+//
+// The IDE can run one shared server process for several projects; every project that attaches
+// later is announced through workspace/didChangeWorkspaceFolders instead of a new initialize.
+const { marker, insertAfter, insertBefore } = require('./patch-utils');
+
+const name = 'workspace-folders';
+
+function apply(content) {
+  content = insertAfter(content,
+    '      typeHierarchyProvider: true',
+    `,
+      workspace: {
+        workspaceFolders: { supported: true, changeNotifications: true }
+      }`,
+    name);
+
+  content = insertBefore(content, 'connection.listen();', `${marker(name)}
+connection.onInitialized(function() {
+  connection.onNotification("workspace/didChangeWorkspaceFolders", function(params) {
+    let event = params && params.event;
+    if (!event)
+      return;
+    for (let Workspace of event.removed || []) {
+      let RemovedUri = decodeURIComponent(Workspace.uri);
+      let index = RootUris.indexOf(RemovedUri);
+      if (index != -1)
+        RootUris.splice(index, 1);
+      // Drop the folder's script types so they no longer show up for the remaining workspaces
+      for (let asmodule of scriptfiles.GetAllLoadedModules()) {
+        if (!decodeURIComponent(asmodule.uri).startsWith(RemovedUri) || asmodule.isOpened)
+          continue;
+        scriptfiles.UpdateModuleFromContent(asmodule, "");
+        scriptfiles.ParseModule(asmodule);
+        asmodule.exists = false;
+      }
+      connection.console.log("Removed workspace root: " + RemovedUri);
+    }
+    let Added = event.added || [];
+    if (Added.length == 0)
+      return;
+    let GlobsRemaining = Added.length;
+    for (let Workspace of Added) {
+      let RootPath = vscode_uri_1.URI.parse(Workspace.uri).fsPath;
+      RootUris.push(decodeURIComponent(Workspace.uri));
+      connection.console.log("Added workspace root: " + RootPath);
+      let globOptions = {
+        ignore: (settings == null ? void 0 : settings.scriptIgnorePatterns) || []
+      };
+      glob(RootPath + "/**/*.as", globOptions, function(err, files) {
+        for (let file of files || []) {
+          let uri = getFileUri(file);
+          let asmodule = scriptfiles.GetOrCreateModule(getModuleName(uri), file, uri);
+          LoadQueue.push(asmodule);
+        }
+        GlobsRemaining -= 1;
+        if (GlobsRemaining <= 0 && !IsServicingQueues)
+          TickQueues();
+      });
+    }
+  });
+});
+`, name);
+
+  return content;
+}
+
+module.exports = { name, apply };
@@ -0,0 +1,93 @@
+package com.github.sashi0034.angelintellij.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates Unreal-style AngelScript source for the benchmarks.
+ * The output only depends on the size and seed, so runs on different machines lex the same text.
+ */
+final class AngelScriptCorpus {
+    private static final String[] TYPES = {"float", "int", "bool", "FVector", "FRotator", "FName", "FString", "double", "uint8"};
+    private static final String[] BASES = {"AActor", "UActorComponent", "UObject", "APawn", "UUserWidget"};
+    private static final String[] SPECIFIERS = {"EditAnywhere", "BlueprintReadWrite", "VisibleAnywhere", "Replicated", "EditDefaultsOnly"};
+
+    private AngelScriptCorpus() {
+    }
+
+    /**
+     * Builds a corpus of at least {@code sizeKb} kilobytes made of independent top-level declarations.
+     */
+    static String generate(int sizeKb, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(sizeKb * 1024 + 4096);
+        int index = 0;
+        while (text.length() < sizeKb * 1024) {
+            if (index % 7 == 6) {
+                appendEnum(text, index, random);
+            } else {
+                appendClass(text, index, random);
+            }
+            index++;
+        }
+        return text.toString();
+    }
+
+    private static void appendClass(StringBuilder text, int index, Random random) {
+        String type = TYPES[random.nextInt(TYPES.length)];
+        text.append("// Generated script class ").append(index).append('\n');
+        text.append("/**\n * Moves along the recorded points and reports its state.\n * Written by the benchmark corpus generator.\n */\n");
+        text.append("UCLASS(Abstract)\n");
+        text.append("class AGenerated").append(index).append(" : ").append(BASES[random.nextInt(BASES.length)]).append("\n{\n");
+
+        int properties = 2 + random.nextInt(4);
+        for (int i = 0; i < properties; i++) {
+            text.append("    UPROPERTY(").append(SPECIFIERS[random.nextInt(SPECIFIERS.length)])
+                    .append(", Category = \"Generated|Movement\")\n");
+            text.append("    ").append(TYPES[random.nextInt(TYPES.length)]).append(" Value").append(i)
+                    .append(" = ").append(literal(random)).append(";\n\n");
+        }
+        text.append("    UPROPERTY()\n    TArray<FVector> Points;\n\n");
+        text.append("    default bReplicates = ").append(random.nextBoolean()).append(";\n\n");
+
+        text.append("    UFUNCTION(BlueprintOverride)\n    void Tick(float DeltaSeconds)\n    {\n");
+        text.append("        FVector Location = GetActorLocation();\n");
+        text.append("        for (int i = 0, Count = Points.Num(); i < Count; ++i)\n        {\n");
+        text.append("            if (Points[i].Size() >= ").append(literal(random)).append(" && !bHidden)\n");
+        text.append("                Location += Points[i] * DeltaSeconds;\n");
+        text.append("            else if (Count % 2 == 0 || Value0 != 0)\n");
+        text.append("                Location.Z -= 1.5e2 * (i << 1) / (Count + 1);\n");
+        text.append("        }\n");
+        text.append("        ").append(type).append(" Local = Cast<").append(type).append(">(Value0);\n");
+        text.append("        Print(\"Tick \\\"").append(index).append("\\\": \" + Location.ToString(), Duration = 0.0);\n");
+        text.append("        SetActorLocation(Location); // keep in sync with the mesh\n");
+        text.append("    }\n\n");
+
+        text.append("    UFUNCTION()\n    private bool IsNear(const FVector& In Other, float Radius = 100.0) const\n    {\n");
+        text.append("        /* squared to avoid the sqrt */\n");
+        text.append("        return (Other - GetActorLocation()).SizeSquared() <= Radius * Radius;\n");
+        text.append("    }\n}\n\n");
+    }
+
+    private static void appendEnum(StringBuilder text, int index, Random random) {
+        text.append("enum EGeneratedState").append(index).append("\n{\n");
+        int values = 3 + random.nextInt(5);
+        for (int i = 0; i < values; i++) {
+            text.append("    State").append(i);
+            if (random.nextBoolean()) {
+                text.append(" = 0x").append(Integer.toHexString(1 << i));
+            }
+            text.append(",\n");
+        }
+        text.append("}\n\n");
+    }
+
+    private static String literal(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> Integer.toString(random.nextInt(1000));
+            case 1 -> random.nextInt(1000) + "." + random.nextInt(100);
+            case 2 -> "0x" + Integer.toHexString(random.nextInt(0xFFFF));
+            case 3 -> random.nextInt(10) + ".0e" + random.nextInt(5);
+            default -> "0b" + Integer.toBinaryString(random.nextInt(64));
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.sashi0034.angelintellij.benchmark;
+
+import com.github.sashi0034.angelintellij.editor.AngelScriptSyntaxHighlighter;
+import com.intellij.lexer.Lexer;
+import com.intellij.psi.tree.IElementType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AngelScriptSyntaxHighlighter#getTokenHighlights} per token, on its own and together with
+ * the lexer that feeds it, which is the work the editor highlighter does for every token of a file.
+ * Uses the tokens counter of {@link LexerBenchmark} for tokens/sec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HighlighterBenchmark {
+    @Param({"64"})
+    public int corpusKb;
+
+    private final AngelScriptSyntaxHighlighter highlighter = new AngelScriptSyntaxHighlighter();
+    private final Lexer lexer = highlighter.getHighlightingLexer();
+    private String text;
+    private IElementType[] tokenTypes;
+
+    @Setup
+    public void setUp() {
+        text = AngelScriptCorpus.generate(corpusKb, 42);
+        List<IElementType> types = new ArrayList<>();
+        lexer.start(text);
+        while (lexer.getTokenType() != null) {
+            types.add(lexer.getTokenType());
+            lexer.advance();
+        }
+        tokenTypes = types.toArray(IElementType[]::new);
+    }
+
+    @Benchmark
+    public void tokenHighlights(LexerBenchmark.TokenCounter counter, Blackhole blackhole) {
+        for (IElementType type : tokenTypes) {
+            blackhole.consume(highlighter.getTokenHighlights(type));
+        }
+        counter.tokens += tokenTypes.length;
+    }
+
+    @Benchmark
+    public void lexAndHighlight(LexerBenchmark.TokenCounter counter, Blackhole blackhole) {
+        lexer.start(text);
+        int tokens = 0;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            blackhole.consume(highlighter.getTokenHighlights(type));
+            lexer.advance();
+            tokens++;
+        }
+        counter.tokens += tokens;
+    }
+}
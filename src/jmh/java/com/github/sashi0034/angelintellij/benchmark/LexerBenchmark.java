@@ -0,0 +1,117 @@
+package com.github.sashi0034.angelintellij.benchmark;
+
+import com.github.sashi0034.angelintellij.language.AngelScriptLexerAdapter;
+import com.intellij.psi.tree.IElementType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generated JFlex lexer through {@link AngelScriptLexerAdapter}, the lexer the editor
+ * highlighter and the parser definition use.
+ *
+ * <p>{@code fullFile} lexes a whole corpus like opening a file does. {@code incremental} restarts at a
+ * recorded token start in a state the lexer reports as restartable, with that state, and lexes a
+ * {@value #RESTART_WINDOW}-character window, like the editor highlighter does after a change. The {@code tokens} counter gives tokens/sec;
+ * run with the gc profiler (the default in the build) for allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LexerBenchmark {
+    static final int RESTART_WINDOW = 2048;
+    private static final int RESTART_POINTS = 1024;
+
+    @Param({"64", "1024"})
+    public int corpusKb;
+
+    private String text;
+    private int[] restartOffsets;
+    private int[] restartStates;
+    private int nextRestart;
+    private final AngelScriptLexerAdapter lexer = new AngelScriptLexerAdapter();
+
+    /**
+     * Tokens lexed per second, next to the operations per second JMH reports anyway.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class TokenCounter {
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokens = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = AngelScriptCorpus.generate(corpusKb, 42);
+
+        List<int[]> tokenStarts = new ArrayList<>();
+        lexer.start(text);
+        while (lexer.getTokenType() != null) {
+            // The editor highlighter never restarts inside Unreal macro arguments
+            if (lexer.isRestartableState(lexer.getState())) {
+                tokenStarts.add(new int[]{lexer.getTokenStart(), lexer.getState()});
+            }
+            lexer.advance();
+        }
+
+        Random random = new Random(7);
+        restartOffsets = new int[RESTART_POINTS];
+        restartStates = new int[RESTART_POINTS];
+        for (int i = 0; i < RESTART_POINTS; i++) {
+            int[] start = tokenStarts.get(random.nextInt(tokenStarts.size()));
+            restartOffsets[i] = start[0];
+            restartStates[i] = start[1];
+        }
+    }
+
+    @Benchmark
+    public void fullFile(TokenCounter counter, Blackhole blackhole) {
+        lexer.start(text);
+        counter.tokens += drain(blackhole);
+    }
+
+    @Benchmark
+    public void incremental(TokenCounter counter, Blackhole blackhole) {
+        int restart = nextRestart;
+        nextRestart = (restart + 1) % RESTART_POINTS;
+        int start = restartOffsets[restart];
+        lexer.start(text, start, Math.min(text.length(), start + RESTART_WINDOW), restartStates[restart]);
+        counter.tokens += drain(blackhole);
+    }
+
+    private int drain(Blackhole blackhole) {
+        int tokens = 0;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            blackhole.consume(type);
+            blackhole.consume(lexer.getTokenEnd());
+            lexer.advance();
+            tokens++;
+        }
+        return tokens;
+    }
+}
@@ -4,7 +4,7 @@ package com.github.sashi0034.angelintellij.parser;
 import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.PsiBuilder.Marker;
 import static com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes.*;
-import static com.intellij.lang.parser.GeneratedParserUtilBase.*;
+import static com.github.sashi0034.angelintellij.parser.AngelScriptParserUtil.*;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.tree.TokenSet;
@@ -32,11 +32,1267 @@ public class AngelScriptParser implements PsiParser, LightPsiParser {
   }
 
   static boolean parse_root_(IElementType t, PsiBuilder b, int l) {
-    return script(b, l + 1);
+    boolean r;
+    if (t == STATEMENT_BLOCK) {
+      r = statement_block(b, l + 1);
+    }
+    else {
+      r = script(b, l + 1);
+    }
+    return r;
+  }
+
+  /* ********************************************************** */
+  // 'private' | 'protected'
+  static boolean access_modifier_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "access_modifier_")) return false;
+    boolean r;
+    r = consumeToken(b, "private");
+    if (!r) r = consumeToken(b, "protected");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // UNREAL_MACRO '(' annotation_item_* ')'
+  public static boolean annotation(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation")) return false;
+    if (!nextTokenIs(b, UNREAL_MACRO)) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, ANNOTATION, null);
+    r = consumeToken(b, UNREAL_MACRO);
+    r = r && consumeToken(b, "(");
+    p = r; // pin = 2
+    r = r && report_error_(b, annotation_2(b, l + 1));
+    r = p && consumeToken(b, ")") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation_item_*
+  private static boolean annotation_2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation_2")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!annotation_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "annotation_2", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // '(' annotation_item_* ')' | !')' token_
+  static boolean annotation_item_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation_item_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = annotation_item__0(b, l + 1);
+    if (!r) r = annotation_item__1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // '(' annotation_item_* ')'
+  private static boolean annotation_item__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation_item__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "(");
+    r = r && annotation_item__0_1(b, l + 1);
+    r = r && consumeToken(b, ")");
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // annotation_item_*
+  private static boolean annotation_item__0_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation_item__0_1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!annotation_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "annotation_item__0_1", c)) break;
+    }
+    return true;
+  }
+
+  // !')' token_
+  private static boolean annotation_item__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation_item__1")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = annotation_item__1_0(b, l + 1);
+    r = r && token_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !')'
+  private static boolean annotation_item__1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "annotation_item__1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !consumeToken(b, ")");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // ':' type_reference (',' type_reference)*
+  static boolean base_class_list_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "base_class_list_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, ":");
+    p = r; // pin = 1
+    r = r && report_error_(b, type_reference(b, l + 1));
+    r = p && base_class_list__2(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // (',' type_reference)*
+  private static boolean base_class_list__2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "base_class_list__2")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!base_class_list__2_0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "base_class_list__2", c)) break;
+    }
+    return true;
+  }
+
+  // ',' type_reference
+  private static boolean base_class_list__2_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "base_class_list__2_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, ",");
+    r = r && type_reference(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // !('}' | <<eof>>) (lazy_statement_block_ | variable_declaration | token_)
+  static boolean block_item_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "block_item_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = block_item__0(b, l + 1);
+    r = r && block_item__1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !('}' | <<eof>>)
+  private static boolean block_item__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "block_item__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !block_item__0_0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // '}' | <<eof>>
+  private static boolean block_item__0_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "block_item__0_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "}");
+    if (!r) r = eof(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // lazy_statement_block_ | variable_declaration | token_
+  private static boolean block_item__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "block_item__1")) return false;
+    boolean r;
+    r = lazy_statement_block_(b, l + 1);
+    if (!r) r = variable_declaration(b, l + 1);
+    if (!r) r = token_(b, l + 1);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // '{' (braced_ | !'}' token_)* '}'
+  static boolean braced_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "braced_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "{");
+    r = r && braced__1(b, l + 1);
+    r = r && consumeToken(b, "}");
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // (braced_ | !'}' token_)*
+  private static boolean braced__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "braced__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!braced__1_0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "braced__1", c)) break;
+    }
+    return true;
+  }
+
+  // braced_ | !'}' token_
+  private static boolean braced__1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "braced__1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = braced_(b, l + 1);
+    if (!r) r = braced__1_0_1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !'}' token_
+  private static boolean braced__1_0_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "braced__1_0_1")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = braced__1_0_1_0(b, l + 1);
+    r = r && token_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !'}'
+  private static boolean braced__1_0_1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "braced__1_0_1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !consumeToken(b, "}");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // '{' member_item_* '}'
+  static boolean class_body_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_body_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, "{");
+    p = r; // pin = 1
+    r = r && report_error_(b, class_body__1(b, l + 1));
+    r = p && consumeToken(b, "}") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // member_item_*
+  private static boolean class_body__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_body__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!member_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "class_body__1", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // annotation? class_modifier_* 'class' class_header_ class_body_
+  public static boolean class_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, CLASS_DECLARATION, "<class declaration>");
+    r = class_declaration_0(b, l + 1);
+    r = r && class_declaration_1(b, l + 1);
+    r = r && consumeToken(b, "class");
+    p = r; // pin = 3
+    r = r && report_error_(b, class_header_(b, l + 1));
+    r = p && class_body_(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation?
+  private static boolean class_declaration_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_declaration_0")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  // class_modifier_*
+  private static boolean class_declaration_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_declaration_1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!class_modifier_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "class_declaration_1", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER base_class_list_? &'{'
+  static boolean class_header_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_header_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, null, "<class name>");
+    r = consumeToken(b, IDENTIFIER);
+    p = r; // pin = 1
+    r = r && report_error_(b, class_header__1(b, l + 1));
+    r = p && class_header__2(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, AngelScriptParser::declaration_recover_);
+    return r || p;
+  }
+
+  // base_class_list_?
+  private static boolean class_header__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_header__1")) return false;
+    base_class_list_(b, l + 1);
+    return true;
+  }
+
+  // &'{'
+  private static boolean class_header__2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_header__2")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _AND_);
+    r = consumeToken(b, "{");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // 'abstract' | 'final' | 'shared' | 'mixin'
+  static boolean class_modifier_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "class_modifier_")) return false;
+    boolean r;
+    r = consumeToken(b, "abstract");
+    if (!r) r = consumeToken(b, "final");
+    if (!r) r = consumeToken(b, "shared");
+    if (!r) r = consumeToken(b, "mixin");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // namespace_declaration
+  //       | class_declaration
+  //       | struct_declaration
+  //       | enum_declaration
+  //       | delegate_declaration
+  //       | function_declaration
+  //       | variable_declaration
+  static boolean declaration_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "declaration_")) return false;
+    boolean r;
+    r = namespace_declaration(b, l + 1);
+    if (!r) r = class_declaration(b, l + 1);
+    if (!r) r = struct_declaration(b, l + 1);
+    if (!r) r = enum_declaration(b, l + 1);
+    if (!r) r = delegate_declaration(b, l + 1);
+    if (!r) r = function_declaration(b, l + 1);
+    if (!r) r = variable_declaration(b, l + 1);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // !(';' | '{' | '}' | UNREAL_MACRO)
+  static boolean declaration_recover_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "declaration_recover_")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !declaration_recover__0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // ';' | '{' | '}' | UNREAL_MACRO
+  private static boolean declaration_recover__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "declaration_recover__0")) return false;
+    boolean r;
+    r = consumeToken(b, ";");
+    if (!r) r = consumeToken(b, "{");
+    if (!r) r = consumeToken(b, "}");
+    if (!r) r = consumeToken(b, UNREAL_MACRO);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // annotation? ('delegate' | 'event') delegate_header_ ';'
+  public static boolean delegate_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "delegate_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, DELEGATE_DECLARATION, "<delegate declaration>");
+    r = delegate_declaration_0(b, l + 1);
+    r = r && delegate_declaration_1(b, l + 1);
+    p = r; // pin = 2
+    r = r && report_error_(b, delegate_header_(b, l + 1));
+    r = p && consumeToken(b, ";") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation?
+  private static boolean delegate_declaration_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "delegate_declaration_0")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  // 'delegate' | 'event'
+  private static boolean delegate_declaration_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "delegate_declaration_1")) return false;
+    boolean r;
+    r = consumeToken(b, "delegate");
+    if (!r) r = consumeToken(b, "event");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // type_reference IDENTIFIER parameter_list
+  static boolean delegate_header_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "delegate_header_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = type_reference(b, l + 1);
+    p = r; // pin = 1
+    r = r && report_error_(b, consumeToken(b, IDENTIFIER));
+    r = p && parameter_list(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, AngelScriptParser::declaration_recover_);
+    return r || p;
+  }
+
+  /* ********************************************************** */
+  // '{' enum_item_* '}'
+  static boolean enum_body_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_body_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, "{");
+    p = r; // pin = 1
+    r = r && report_error_(b, enum_body__1(b, l + 1));
+    r = p && consumeToken(b, "}") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // enum_item_*
+  private static boolean enum_body__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_body__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!enum_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "enum_body__1", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // annotation? 'enum' enum_header_ enum_body_
+  public static boolean enum_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, ENUM_DECLARATION, "<enum declaration>");
+    r = enum_declaration_0(b, l + 1);
+    r = r && consumeToken(b, "enum");
+    p = r; // pin = 2
+    r = r && report_error_(b, enum_header_(b, l + 1));
+    r = p && enum_body_(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation?
+  private static boolean enum_declaration_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_declaration_0")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER &'{'
+  static boolean enum_header_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_header_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, null, "<enum name>");
+    r = consumeToken(b, IDENTIFIER);
+    p = r; // pin = 1
+    r = r && enum_header__1(b, l + 1);
+    exit_section_(b, l, m, r, p, AngelScriptParser::declaration_recover_);
+    return r || p;
+  }
+
+  // &'{'
+  private static boolean enum_header__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_header__1")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _AND_);
+    r = consumeToken(b, "{");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // '=' initializer_
+  static boolean enum_initializer_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_initializer_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, "=");
+    p = r; // pin = 1
+    r = r && initializer_(b, l + 1);
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  /* ********************************************************** */
+  // enum_value | !('}' | <<eof>>) token_
+  static boolean enum_item_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_item_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = enum_value(b, l + 1);
+    if (!r) r = enum_item__1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !('}' | <<eof>>) token_
+  private static boolean enum_item__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_item__1")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = enum_item__1_0(b, l + 1);
+    r = r && token_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !('}' | <<eof>>)
+  private static boolean enum_item__1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_item__1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !enum_item__1_0_0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // '}' | <<eof>>
+  private static boolean enum_item__1_0_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_item__1_0_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "}");
+    if (!r) r = eof(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER annotation? enum_initializer_?
+  public static boolean enum_value(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_value")) return false;
+    if (!nextTokenIs(b, IDENTIFIER)) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, IDENTIFIER);
+    r = r && enum_value_1(b, l + 1);
+    r = r && enum_value_2(b, l + 1);
+    exit_section_(b, m, ENUM_VALUE, r);
+    return r;
+  }
+
+  // annotation?
+  private static boolean enum_value_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_value_1")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  // enum_initializer_?
+  private static boolean enum_value_2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "enum_value_2")) return false;
+    enum_initializer_(b, l + 1);
+    return true;
+  }
+
+  /* ********************************************************** */
+  // ';' | lazy_statement_block_
+  static boolean function_body_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "function_body_")) return false;
+    boolean r;
+    r = consumeToken(b, ";");
+    if (!r) r = lazy_statement_block_(b, l + 1);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // annotation? access_modifier_* type_reference IDENTIFIER parameter_list function_qualifier_* function_body_
+  public static boolean function_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "function_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, FUNCTION_DECLARATION, "<function declaration>");
+    r = function_declaration_0(b, l + 1);
+    r = r && function_declaration_1(b, l + 1);
+    r = r && type_reference(b, l + 1);
+    r = r && consumeToken(b, IDENTIFIER);
+    r = r && parameter_list(b, l + 1);
+    p = r; // pin = 5
+    r = r && report_error_(b, function_declaration_5(b, l + 1));
+    r = p && function_body_(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation?
+  private static boolean function_declaration_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "function_declaration_0")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  // access_modifier_*
+  private static boolean function_declaration_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "function_declaration_1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!access_modifier_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "function_declaration_1", c)) break;
+    }
+    return true;
+  }
+
+  // function_qualifier_*
+  private static boolean function_declaration_5(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "function_declaration_5")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!function_qualifier_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "function_declaration_5", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // 'const' | 'override' | 'final' | 'property' | 'no_discard' | 'allow_discard'
+  static boolean function_qualifier_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "function_qualifier_")) return false;
+    boolean r;
+    r = consumeToken(b, "const");
+    if (!r) r = consumeToken(b, "override");
+    if (!r) r = consumeToken(b, "final");
+    if (!r) r = consumeToken(b, "property");
+    if (!r) r = consumeToken(b, "no_discard");
+    if (!r) r = consumeToken(b, "allow_discard");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // (parenthesized_ | braced_ | !(';' | ',' | ')' | '{' | '}') token_)+
+  static boolean initializer_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "initializer_")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NONE_, null, "<initializer>");
+    r = initializer__0(b, l + 1);
+    while (r) {
+      int c = current_position_(b);
+      if (!initializer__0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "initializer_", c)) break;
+    }
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // parenthesized_ | braced_ | !(';' | ',' | ')' | '{' | '}') token_
+  private static boolean initializer__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "initializer__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = parenthesized_(b, l + 1);
+    if (!r) r = braced_(b, l + 1);
+    if (!r) r = initializer__0_2(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !(';' | ',' | ')' | '{' | '}') token_
+  private static boolean initializer__0_2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "initializer__0_2")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = initializer__0_2_0(b, l + 1);
+    r = r && token_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !(';' | ',' | ')' | '{' | '}')
+  private static boolean initializer__0_2_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "initializer__0_2_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !initializer__0_2_0_0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // ';' | ',' | ')' | '{' | '}'
+  private static boolean initializer__0_2_0_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "initializer__0_2_0_0")) return false;
+    boolean r;
+    r = consumeToken(b, ";");
+    if (!r) r = consumeToken(b, ",");
+    if (!r) r = consumeToken(b, ")");
+    if (!r) r = consumeToken(b, "{");
+    if (!r) r = consumeToken(b, "}");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // <<lazyStatementBlock>>
+  static boolean lazy_statement_block_(PsiBuilder b, int l) {
+    return lazyStatementBlock(b, l + 1);
+  }
+
+  /* ********************************************************** */
+  // enum_declaration | delegate_declaration | function_declaration | variable_declaration
+  static boolean member_declaration_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "member_declaration_")) return false;
+    boolean r;
+    r = enum_declaration(b, l + 1);
+    if (!r) r = delegate_declaration(b, l + 1);
+    if (!r) r = function_declaration(b, l + 1);
+    if (!r) r = variable_declaration(b, l + 1);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // !('}' | <<eof>>) (member_declaration_ | token_)
+  static boolean member_item_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "member_item_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = member_item__0(b, l + 1);
+    r = r && member_item__1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !('}' | <<eof>>)
+  private static boolean member_item__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "member_item__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !member_item__0_0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // '}' | <<eof>>
+  private static boolean member_item__0_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "member_item__0_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "}");
+    if (!r) r = eof(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // member_declaration_ | token_
+  private static boolean member_item__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "member_item__1")) return false;
+    boolean r;
+    r = member_declaration_(b, l + 1);
+    if (!r) r = token_(b, l + 1);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // '{' namespace_item_* '}'
+  static boolean namespace_body_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_body_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, "{");
+    p = r; // pin = 1
+    r = r && report_error_(b, namespace_body__1(b, l + 1));
+    r = p && consumeToken(b, "}") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // namespace_item_*
+  private static boolean namespace_body__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_body__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!namespace_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "namespace_body__1", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // 'namespace' namespace_name_ namespace_body_
+  public static boolean namespace_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, NAMESPACE_DECLARATION, "<namespace declaration>");
+    r = consumeToken(b, "namespace");
+    p = r; // pin = 1
+    r = r && report_error_(b, namespace_name_(b, l + 1));
+    r = p && namespace_body_(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  /* ********************************************************** */
+  // !('}' | <<eof>>) script_item_
+  static boolean namespace_item_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_item_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = namespace_item__0(b, l + 1);
+    r = r && script_item_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !('}' | <<eof>>)
+  private static boolean namespace_item__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_item__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !namespace_item__0_0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // '}' | <<eof>>
+  private static boolean namespace_item__0_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_item__0_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "}");
+    if (!r) r = eof(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER ('::' IDENTIFIER)* &'{'
+  static boolean namespace_name_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_name_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, null, "<namespace name>");
+    r = consumeToken(b, IDENTIFIER);
+    p = r; // pin = 1
+    r = r && report_error_(b, namespace_name__1(b, l + 1));
+    r = p && namespace_name__2(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, AngelScriptParser::declaration_recover_);
+    return r || p;
+  }
+
+  // ('::' IDENTIFIER)*
+  private static boolean namespace_name__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_name__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!namespace_name__1_0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "namespace_name__1", c)) break;
+    }
+    return true;
+  }
+
+  // '::' IDENTIFIER
+  private static boolean namespace_name__1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_name__1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "::");
+    r = r && consumeToken(b, IDENTIFIER);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // &'{'
+  private static boolean namespace_name__2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "namespace_name__2")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _AND_);
+    r = consumeToken(b, "{");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // type_reference IDENTIFIER? parameter_default_?
+  public static boolean parameter(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, PARAMETER, "<parameter>");
+    r = type_reference(b, l + 1);
+    p = r; // pin = 1
+    r = r && report_error_(b, parameter_1(b, l + 1));
+    r = p && parameter_2(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // IDENTIFIER?
+  private static boolean parameter_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_1")) return false;
+    consumeToken(b, IDENTIFIER);
+    return true;
+  }
+
+  // parameter_default_?
+  private static boolean parameter_2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_2")) return false;
+    parameter_default_(b, l + 1);
+    return true;
+  }
+
+  /* ********************************************************** */
+  // '=' initializer_
+  static boolean parameter_default_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_default_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, "=");
+    p = r; // pin = 1
+    r = r && initializer_(b, l + 1);
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  /* ********************************************************** */
+  // '(' parameter_list_items_? ')'
+  public static boolean parameter_list(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, PARAMETER_LIST, "<parameter list>");
+    r = consumeToken(b, "(");
+    p = r; // pin = 1
+    r = r && report_error_(b, parameter_list_1(b, l + 1));
+    r = p && consumeToken(b, ")") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // parameter_list_items_?
+  private static boolean parameter_list_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_1")) return false;
+    parameter_list_items_(b, l + 1);
+    return true;
+  }
+
+  /* ********************************************************** */
+  // parameter parameter_list_tail_* &')'
+  static boolean parameter_list_items_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_items_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = parameter(b, l + 1);
+    p = r; // pin = 1
+    r = r && report_error_(b, parameter_list_items__1(b, l + 1));
+    r = p && parameter_list_items__2(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, AngelScriptParser::parameter_list_recover_);
+    return r || p;
+  }
+
+  // parameter_list_tail_*
+  private static boolean parameter_list_items__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_items__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!parameter_list_tail_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "parameter_list_items__1", c)) break;
+    }
+    return true;
+  }
+
+  // &')'
+  private static boolean parameter_list_items__2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_items__2")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _AND_);
+    r = consumeToken(b, ")");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // !(')' | ';' | '{' | '}')
+  static boolean parameter_list_recover_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_recover_")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !parameter_list_recover__0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // ')' | ';' | '{' | '}'
+  private static boolean parameter_list_recover__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_recover__0")) return false;
+    boolean r;
+    r = consumeToken(b, ")");
+    if (!r) r = consumeToken(b, ";");
+    if (!r) r = consumeToken(b, "{");
+    if (!r) r = consumeToken(b, "}");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // ',' parameter
+  static boolean parameter_list_tail_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parameter_list_tail_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, ",");
+    p = r; // pin = 1
+    r = r && parameter(b, l + 1);
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  /* ********************************************************** */
+  // '(' (parenthesized_ | !')' token_)* ')'
+  static boolean parenthesized_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parenthesized_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "(");
+    r = r && parenthesized__1(b, l + 1);
+    r = r && consumeToken(b, ")");
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // (parenthesized_ | !')' token_)*
+  private static boolean parenthesized__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parenthesized__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!parenthesized__1_0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "parenthesized__1", c)) break;
+    }
+    return true;
+  }
+
+  // parenthesized_ | !')' token_
+  private static boolean parenthesized__1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parenthesized__1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = parenthesized_(b, l + 1);
+    if (!r) r = parenthesized__1_0_1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !')' token_
+  private static boolean parenthesized__1_0_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parenthesized__1_0_1")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = parenthesized__1_0_1_0(b, l + 1);
+    r = r && token_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // !')'
+  private static boolean parenthesized__1_0_1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "parenthesized__1_0_1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NOT_);
+    r = !consumeToken(b, ")");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // 'void' | 'bool' | 'int' | 'int8' | 'int16' | 'int32' | 'int64'
+  //       | 'uint' | 'uint8' | 'uint16' | 'uint32' | 'uint64' | 'float' | 'double' | 'auto'
+  static boolean primitive_type_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "primitive_type_")) return false;
+    boolean r;
+    r = consumeToken(b, "void");
+    if (!r) r = consumeToken(b, "bool");
+    if (!r) r = consumeToken(b, "int");
+    if (!r) r = consumeToken(b, "int8");
+    if (!r) r = consumeToken(b, "int16");
+    if (!r) r = consumeToken(b, "int32");
+    if (!r) r = consumeToken(b, "int64");
+    if (!r) r = consumeToken(b, "uint");
+    if (!r) r = consumeToken(b, "uint8");
+    if (!r) r = consumeToken(b, "uint16");
+    if (!r) r = consumeToken(b, "uint32");
+    if (!r) r = consumeToken(b, "uint64");
+    if (!r) r = consumeToken(b, "float");
+    if (!r) r = consumeToken(b, "double");
+    if (!r) r = consumeToken(b, "auto");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // script_item_*
+  static boolean script(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "script")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!script_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "script", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // declaration_ | token_
+  static boolean script_item_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "script_item_")) return false;
+    boolean r;
+    r = declaration_(b, l + 1);
+    if (!r) r = token_(b, l + 1);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // '{' block_item_* '}'
+  public static boolean statement_block(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "statement_block")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _NONE_, STATEMENT_BLOCK, "<statement block>");
+    r = consumeToken(b, "{");
+    r = r && statement_block_1(b, l + 1);
+    r = r && consumeToken(b, "}");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // block_item_*
+  private static boolean statement_block_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "statement_block_1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!block_item_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "statement_block_1", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // annotation? 'struct' struct_header_ class_body_
+  public static boolean struct_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "struct_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, STRUCT_DECLARATION, "<struct declaration>");
+    r = struct_declaration_0(b, l + 1);
+    r = r && consumeToken(b, "struct");
+    p = r; // pin = 2
+    r = r && report_error_(b, struct_header_(b, l + 1));
+    r = p && class_body_(b, l + 1) && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation?
+  private static boolean struct_declaration_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "struct_declaration_0")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER &'{'
+  static boolean struct_header_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "struct_header_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, null, "<struct name>");
+    r = consumeToken(b, IDENTIFIER);
+    p = r; // pin = 1
+    r = r && struct_header__1(b, l + 1);
+    exit_section_(b, l, m, r, p, AngelScriptParser::declaration_recover_);
+    return r || p;
+  }
+
+  // &'{'
+  private static boolean struct_header__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "struct_header__1")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _AND_);
+    r = consumeToken(b, "{");
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // '<' template_token_* ('>' | '>>' | '>>>')
+  static boolean template_arguments_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "template_arguments_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "<");
+    r = r && template_arguments__1(b, l + 1);
+    r = r && template_arguments__2(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // template_token_*
+  private static boolean template_arguments__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "template_arguments__1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!template_token_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "template_arguments__1", c)) break;
+    }
+    return true;
+  }
+
+  // '>' | '>>' | '>>>'
+  private static boolean template_arguments__2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "template_arguments__2")) return false;
+    boolean r;
+    r = consumeToken(b, ">");
+    if (!r) r = consumeToken(b, ">>");
+    if (!r) r = consumeToken(b, ">>>");
+    return r;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER | KEYWORD | '::' | ',' | '<' | '&' | '@' | '*' | '?'
+  static boolean template_token_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "template_token_")) return false;
+    boolean r;
+    r = consumeToken(b, IDENTIFIER);
+    if (!r) r = consumeToken(b, KEYWORD);
+    if (!r) r = consumeToken(b, "::");
+    if (!r) r = consumeToken(b, ",");
+    if (!r) r = consumeToken(b, "<");
+    if (!r) r = consumeToken(b, "&");
+    if (!r) r = consumeToken(b, "@");
+    if (!r) r = consumeToken(b, "*");
+    if (!r) r = consumeToken(b, "?");
+    return r;
   }
 
   /* ********************************************************** */
-  // PLUS
+  // KEYWORD
+  //       | UNREAL_KEYWORD
+  //       | UNREAL_MACRO
+  //       | UNREAL_SPECIFIER
+  //       | IDENTIFIER
+  //       | NUMBER
+  //       | STRING
+  //       | NAME_STRING
+  //       | FORMAT_STRING
+  //       | COMMENT
+  //       | UNKNOWN
+  //       // Operators and punctuation stay plain leaves
+  //       | PLUS
   //       | ADD_ASSIGN
   //       | INC
   //       | MINUS
@@ -88,11 +1344,21 @@ public class AngelScriptParser implements PsiParser, LightPsiParser {
   //       | NOT
   //       | NOT_EQUAL
   //       | NOT_IS
-  public static boolean marks(PsiBuilder b, int l) {
-    if (!recursion_guard_(b, l, "marks")) return false;
+  static boolean token_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "token_")) return false;
     boolean r;
-    Marker m = enter_section_(b, l, _NONE_, MARKS, "<marks>");
-    r = consumeToken(b, PLUS);
+    r = consumeToken(b, KEYWORD);
+    if (!r) r = consumeToken(b, UNREAL_KEYWORD);
+    if (!r) r = consumeToken(b, UNREAL_MACRO);
+    if (!r) r = consumeToken(b, UNREAL_SPECIFIER);
+    if (!r) r = consumeToken(b, IDENTIFIER);
+    if (!r) r = consumeToken(b, NUMBER);
+    if (!r) r = consumeToken(b, STRING);
+    if (!r) r = consumeToken(b, NAME_STRING);
+    if (!r) r = consumeToken(b, FORMAT_STRING);
+    if (!r) r = consumeToken(b, COMMENT);
+    if (!r) r = consumeToken(b, UNKNOWN);
+    if (!r) r = consumeToken(b, PLUS);
     if (!r) r = consumeToken(b, ADD_ASSIGN);
     if (!r) r = consumeToken(b, INC);
     if (!r) r = consumeToken(b, MINUS);
@@ -144,43 +1410,264 @@ public class AngelScriptParser implements PsiParser, LightPsiParser {
     if (!r) r = consumeToken(b, NOT);
     if (!r) r = consumeToken(b, NOT_EQUAL);
     if (!r) r = consumeToken(b, NOT_IS);
-    exit_section_(b, l, m, r, false, null);
     return r;
   }
 
   /* ********************************************************** */
-  // script_item_*
-  static boolean script(PsiBuilder b, int l) {
-    if (!recursion_guard_(b, l, "script")) return false;
+  // IDENTIFIER ('::' IDENTIFIER)* | primitive_type_ | '?'
+  static boolean type_name_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_name_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = type_name__0(b, l + 1);
+    if (!r) r = primitive_type_(b, l + 1);
+    if (!r) r = consumeToken(b, "?");
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // IDENTIFIER ('::' IDENTIFIER)*
+  private static boolean type_name__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_name__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, IDENTIFIER);
+    r = r && type_name__0_1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // ('::' IDENTIFIER)*
+  private static boolean type_name__0_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_name__0_1")) return false;
     while (true) {
       int c = current_position_(b);
-      if (!script_item_(b, l + 1)) break;
-      if (!empty_element_parsed_guard_(b, "script", c)) break;
+      if (!type_name__0_1_0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "type_name__0_1", c)) break;
     }
     return true;
   }
 
+  // '::' IDENTIFIER
+  private static boolean type_name__0_1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_name__0_1_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "::");
+    r = r && consumeToken(b, IDENTIFIER);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
   /* ********************************************************** */
-  // marks
-  //       | KEYWORD
-  //       | IDENTIFIER
-  //       | NUMBER
-  //       | STRING
-  //       | COMMENT
-  //       | ';'
-  //       | UNKNOWN
-  static boolean script_item_(PsiBuilder b, int l) {
-    if (!recursion_guard_(b, l, "script_item_")) return false;
+  // 'const'? type_name_ template_arguments_? type_suffix_*
+  public static boolean type_reference(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_reference")) return false;
     boolean r;
-    r = marks(b, l + 1);
-    if (!r) r = consumeToken(b, KEYWORD);
-    if (!r) r = consumeToken(b, IDENTIFIER);
-    if (!r) r = consumeToken(b, NUMBER);
-    if (!r) r = consumeToken(b, STRING);
-    if (!r) r = consumeToken(b, COMMENT);
+    Marker m = enter_section_(b, l, _NONE_, TYPE_REFERENCE, "<type reference>");
+    r = type_reference_0(b, l + 1);
+    r = r && type_name_(b, l + 1);
+    r = r && type_reference_2(b, l + 1);
+    r = r && type_reference_3(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // 'const'?
+  private static boolean type_reference_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_reference_0")) return false;
+    consumeToken(b, "const");
+    return true;
+  }
+
+  // template_arguments_?
+  private static boolean type_reference_2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_reference_2")) return false;
+    template_arguments_(b, l + 1);
+    return true;
+  }
+
+  // type_suffix_*
+  private static boolean type_reference_3(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_reference_3")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!type_suffix_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "type_reference_3", c)) break;
+    }
+    return true;
+  }
+
+  /* ********************************************************** */
+  // '&' ('in' | 'out' | 'inout')? | '@' | '[' ']'
+  static boolean type_suffix_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_suffix_")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = type_suffix__0(b, l + 1);
+    if (!r) r = consumeToken(b, "@");
+    if (!r) r = type_suffix__2(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // '&' ('in' | 'out' | 'inout')?
+  private static boolean type_suffix__0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_suffix__0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "&");
+    r = r && type_suffix__0_1(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  // ('in' | 'out' | 'inout')?
+  private static boolean type_suffix__0_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_suffix__0_1")) return false;
+    type_suffix__0_1_0(b, l + 1);
+    return true;
+  }
+
+  // 'in' | 'out' | 'inout'
+  private static boolean type_suffix__0_1_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_suffix__0_1_0")) return false;
+    boolean r;
+    r = consumeToken(b, "in");
+    if (!r) r = consumeToken(b, "out");
+    if (!r) r = consumeToken(b, "inout");
+    return r;
+  }
+
+  // '[' ']'
+  private static boolean type_suffix__2(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "type_suffix__2")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, "[");
+    r = r && consumeToken(b, "]");
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // annotation? access_modifier_* type_reference IDENTIFIER &('=' | ',' | ';') variable_initializer_? (',' variable_declarator_)* ';'
+  public static boolean variable_declaration(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_, VARIABLE_DECLARATION, "<variable declaration>");
+    r = variable_declaration_0(b, l + 1);
+    r = r && variable_declaration_1(b, l + 1);
+    r = r && type_reference(b, l + 1);
+    r = r && consumeToken(b, IDENTIFIER);
+    r = r && variable_declaration_4(b, l + 1);
+    p = r; // pin = 5
+    r = r && report_error_(b, variable_declaration_5(b, l + 1));
+    r = p && report_error_(b, variable_declaration_6(b, l + 1)) && r;
+    r = p && consumeToken(b, ";") && r;
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // annotation?
+  private static boolean variable_declaration_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_0")) return false;
+    annotation(b, l + 1);
+    return true;
+  }
+
+  // access_modifier_*
+  private static boolean variable_declaration_1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_1")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!access_modifier_(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "variable_declaration_1", c)) break;
+    }
+    return true;
+  }
+
+  // &('=' | ',' | ';')
+  private static boolean variable_declaration_4(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_4")) return false;
+    boolean r;
+    Marker m = enter_section_(b, l, _AND_);
+    r = variable_declaration_4_0(b, l + 1);
+    exit_section_(b, l, m, r, false, null);
+    return r;
+  }
+
+  // '=' | ',' | ';'
+  private static boolean variable_declaration_4_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_4_0")) return false;
+    boolean r;
+    r = consumeToken(b, "=");
+    if (!r) r = consumeToken(b, ",");
     if (!r) r = consumeToken(b, ";");
-    if (!r) r = consumeToken(b, UNKNOWN);
     return r;
   }
 
+  // variable_initializer_?
+  private static boolean variable_declaration_5(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_5")) return false;
+    variable_initializer_(b, l + 1);
+    return true;
+  }
+
+  // (',' variable_declarator_)*
+  private static boolean variable_declaration_6(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_6")) return false;
+    while (true) {
+      int c = current_position_(b);
+      if (!variable_declaration_6_0(b, l + 1)) break;
+      if (!empty_element_parsed_guard_(b, "variable_declaration_6", c)) break;
+    }
+    return true;
+  }
+
+  // ',' variable_declarator_
+  private static boolean variable_declaration_6_0(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declaration_6_0")) return false;
+    boolean r;
+    Marker m = enter_section_(b);
+    r = consumeToken(b, ",");
+    r = r && variable_declarator_(b, l + 1);
+    exit_section_(b, m, null, r);
+    return r;
+  }
+
+  /* ********************************************************** */
+  // IDENTIFIER variable_initializer_?
+  static boolean variable_declarator_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declarator_")) return false;
+    if (!nextTokenIs(b, IDENTIFIER)) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, IDENTIFIER);
+    p = r; // pin = 1
+    r = r && variable_declarator__1(b, l + 1);
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
+  // variable_initializer_?
+  private static boolean variable_declarator__1(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_declarator__1")) return false;
+    variable_initializer_(b, l + 1);
+    return true;
+  }
+
+  /* ********************************************************** */
+  // '=' initializer_
+  static boolean variable_initializer_(PsiBuilder b, int l) {
+    if (!recursion_guard_(b, l, "variable_initializer_")) return false;
+    boolean r, p;
+    Marker m = enter_section_(b, l, _NONE_);
+    r = consumeToken(b, "=");
+    p = r; // pin = 1
+    r = r && initializer_(b, l + 1);
+    exit_section_(b, l, m, r, p, null);
+    return r || p;
+  }
+
 }
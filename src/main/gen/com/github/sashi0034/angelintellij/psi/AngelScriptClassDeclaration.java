@@ -0,0 +1,30 @@
+// This is a generated file. Not intended for manual editing.
+package com.github.sashi0034.angelintellij.psi;
+
+import java.util.List;
+import org.jetbrains.annotations.*;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptDeclarationStub;
+
+public interface AngelScriptClassDeclaration extends AngelScriptNamedElement, StubBasedPsiElement<AngelScriptDeclarationStub> {
+
+  @Nullable
+  AngelScriptAnnotation getAnnotation();
+
+  @NotNull
+  List<AngelScriptDelegateDeclaration> getDelegateDeclarationList();
+
+  @NotNull
+  List<AngelScriptEnumDeclaration> getEnumDeclarationList();
+
+  @NotNull
+  List<AngelScriptFunctionDeclaration> getFunctionDeclarationList();
+
+  @NotNull
+  List<AngelScriptTypeReference> getTypeReferenceList();
+
+  @NotNull
+  List<AngelScriptVariableDeclaration> getVariableDeclarationList();
+
+}
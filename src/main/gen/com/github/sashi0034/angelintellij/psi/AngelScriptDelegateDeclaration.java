@@ -0,0 +1,21 @@
+// This is a generated file. Not intended for manual editing.
+package com.github.sashi0034.angelintellij.psi;
+
+import java.util.List;
+import org.jetbrains.annotations.*;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptDeclarationStub;
+
+public interface AngelScriptDelegateDeclaration extends AngelScriptNamedElement, StubBasedPsiElement<AngelScriptDeclarationStub> {
+
+  @Nullable
+  AngelScriptAnnotation getAnnotation();
+
+  @Nullable
+  AngelScriptParameterList getParameterList();
+
+  @Nullable
+  AngelScriptTypeReference getTypeReference();
+
+}
@@ -0,0 +1,13 @@
+// This is a generated file. Not intended for manual editing.
+package com.github.sashi0034.angelintellij.psi;
+
+import java.util.List;
+import org.jetbrains.annotations.*;
+import com.intellij.psi.PsiElement;
+
+public interface AngelScriptEnumValue extends PsiElement {
+
+  @Nullable
+  AngelScriptAnnotation getAnnotation();
+
+}
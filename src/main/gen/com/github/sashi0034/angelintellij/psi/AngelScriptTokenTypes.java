@@ -4,11 +4,24 @@ package com.github.sashi0034.angelintellij.psi;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.PsiElement;
 import com.intellij.lang.ASTNode;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptStubElementTypes;
 import com.github.sashi0034.angelintellij.psi.impl.*;
 
 public interface AngelScriptTokenTypes {
 
-  IElementType MARKS = new AngelScriptElementType("MARKS");
+  IElementType ANNOTATION = new AngelScriptElementType("ANNOTATION");
+  IElementType CLASS_DECLARATION = AngelScriptStubElementTypes.factory("CLASS_DECLARATION");
+  IElementType DELEGATE_DECLARATION = AngelScriptStubElementTypes.factory("DELEGATE_DECLARATION");
+  IElementType ENUM_DECLARATION = AngelScriptStubElementTypes.factory("ENUM_DECLARATION");
+  IElementType ENUM_VALUE = new AngelScriptElementType("ENUM_VALUE");
+  IElementType FUNCTION_DECLARATION = AngelScriptStubElementTypes.factory("FUNCTION_DECLARATION");
+  IElementType NAMESPACE_DECLARATION = AngelScriptStubElementTypes.factory("NAMESPACE_DECLARATION");
+  IElementType PARAMETER = new AngelScriptElementType("PARAMETER");
+  IElementType PARAMETER_LIST = new AngelScriptElementType("PARAMETER_LIST");
+  IElementType STATEMENT_BLOCK = AngelScriptStatementBlockElementType.factory("STATEMENT_BLOCK");
+  IElementType STRUCT_DECLARATION = AngelScriptStubElementTypes.factory("STRUCT_DECLARATION");
+  IElementType TYPE_REFERENCE = new AngelScriptElementType("TYPE_REFERENCE");
+  IElementType VARIABLE_DECLARATION = AngelScriptStubElementTypes.factory("VARIABLE_DECLARATION");
 
   IElementType ADD_ASSIGN = new AngelScriptTokenType("ADD_ASSIGN");
   IElementType AMP = new AngelScriptTokenType("AMP");
@@ -31,6 +44,7 @@ public interface AngelScriptTokenTypes {
   IElementType END_STATEMENT = new AngelScriptTokenType("END_STATEMENT");
   IElementType END_STATEMENT_BLOCK = new AngelScriptTokenType("END_STATEMENT_BLOCK");
   IElementType EQUAL = new AngelScriptTokenType("EQUAL");
+  IElementType FORMAT_STRING = new AngelScriptTokenType("FORMAT_STRING");
   IElementType GREATER_THAN = new AngelScriptTokenType("GREATER_THAN");
   IElementType GREATER_THAN_OR_EQUAL = new AngelScriptTokenType("GREATER_THAN_OR_EQUAL");
   IElementType IDENTIFIER = new AngelScriptTokenType("IDENTIFIER");
@@ -42,6 +56,7 @@ public interface AngelScriptTokenTypes {
   IElementType MINUS = new AngelScriptTokenType("MINUS");
   IElementType MOD_ASSIGN = new AngelScriptTokenType("MOD_ASSIGN");
   IElementType MUL_ASSIGN = new AngelScriptTokenType("MUL_ASSIGN");
+  IElementType NAME_STRING = new AngelScriptTokenType("NAME_STRING");
   IElementType NOT = new AngelScriptTokenType("NOT");
   IElementType NOT_EQUAL = new AngelScriptTokenType("NOT_EQUAL");
   IElementType NOT_IS = new AngelScriptTokenType("NOT_IS");
@@ -65,6 +80,9 @@ public interface AngelScriptTokenTypes {
   IElementType STRING = new AngelScriptTokenType("STRING");
   IElementType SUB_ASSIGN = new AngelScriptTokenType("SUB_ASSIGN");
   IElementType UNKNOWN = new AngelScriptTokenType("UNKNOWN");
+  IElementType UNREAL_KEYWORD = new AngelScriptTokenType("UNREAL_KEYWORD");
+  IElementType UNREAL_MACRO = new AngelScriptTokenType("UNREAL_MACRO");
+  IElementType UNREAL_SPECIFIER = new AngelScriptTokenType("UNREAL_SPECIFIER");
   IElementType VARIADIC = new AngelScriptTokenType("VARIADIC");
   IElementType XOR = new AngelScriptTokenType("XOR");
   IElementType XOR_ASSIGN = new AngelScriptTokenType("XOR_ASSIGN");
@@ -72,8 +90,44 @@ public interface AngelScriptTokenTypes {
   class Factory {
     public static PsiElement createElement(ASTNode node) {
       IElementType type = node.getElementType();
-      if (type == MARKS) {
-        return new AngelScriptMarksImpl(node);
+      if (type == ANNOTATION) {
+        return new AngelScriptAnnotationImpl(node);
+      }
+      else if (type == CLASS_DECLARATION) {
+        return new AngelScriptClassDeclarationImpl(node);
+      }
+      else if (type == DELEGATE_DECLARATION) {
+        return new AngelScriptDelegateDeclarationImpl(node);
+      }
+      else if (type == ENUM_DECLARATION) {
+        return new AngelScriptEnumDeclarationImpl(node);
+      }
+      else if (type == ENUM_VALUE) {
+        return new AngelScriptEnumValueImpl(node);
+      }
+      else if (type == FUNCTION_DECLARATION) {
+        return new AngelScriptFunctionDeclarationImpl(node);
+      }
+      else if (type == NAMESPACE_DECLARATION) {
+        return new AngelScriptNamespaceDeclarationImpl(node);
+      }
+      else if (type == PARAMETER) {
+        return new AngelScriptParameterImpl(node);
+      }
+      else if (type == PARAMETER_LIST) {
+        return new AngelScriptParameterListImpl(node);
+      }
+      else if (type == STATEMENT_BLOCK) {
+        return new AngelScriptStatementBlockImpl(node);
+      }
+      else if (type == STRUCT_DECLARATION) {
+        return new AngelScriptStructDeclarationImpl(node);
+      }
+      else if (type == TYPE_REFERENCE) {
+        return new AngelScriptTypeReferenceImpl(node);
+      }
+      else if (type == VARIABLE_DECLARATION) {
+        return new AngelScriptVariableDeclarationImpl(node);
       }
       throw new AssertionError("Unknown element type: " + type);
     }
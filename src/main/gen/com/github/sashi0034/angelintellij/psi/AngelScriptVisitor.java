@@ -7,7 +7,59 @@ import com.intellij.psi.PsiElement;
 
 public class AngelScriptVisitor extends PsiElementVisitor {
 
-  public void visitMarks(@NotNull AngelScriptMarks o) {
+  public void visitAnnotation(@NotNull AngelScriptAnnotation o) {
+    visitPsiElement(o);
+  }
+
+  public void visitClassDeclaration(@NotNull AngelScriptClassDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitDelegateDeclaration(@NotNull AngelScriptDelegateDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitEnumDeclaration(@NotNull AngelScriptEnumDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitEnumValue(@NotNull AngelScriptEnumValue o) {
+    visitPsiElement(o);
+  }
+
+  public void visitFunctionDeclaration(@NotNull AngelScriptFunctionDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitNamespaceDeclaration(@NotNull AngelScriptNamespaceDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitParameter(@NotNull AngelScriptParameter o) {
+    visitPsiElement(o);
+  }
+
+  public void visitParameterList(@NotNull AngelScriptParameterList o) {
+    visitPsiElement(o);
+  }
+
+  public void visitStatementBlock(@NotNull AngelScriptStatementBlock o) {
+    visitPsiElement(o);
+  }
+
+  public void visitStructDeclaration(@NotNull AngelScriptStructDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitTypeReference(@NotNull AngelScriptTypeReference o) {
+    visitPsiElement(o);
+  }
+
+  public void visitVariableDeclaration(@NotNull AngelScriptVariableDeclaration o) {
+    visitNamedElement(o);
+  }
+
+  public void visitNamedElement(@NotNull AngelScriptNamedElement o) {
     visitPsiElement(o);
   }
 
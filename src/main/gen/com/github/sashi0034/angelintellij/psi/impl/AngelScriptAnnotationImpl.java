@@ -11,14 +11,14 @@ import static com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes.*;
 import com.intellij.extapi.psi.ASTWrapperPsiElement;
 import com.github.sashi0034.angelintellij.psi.*;
 
-public class AngelScriptMarksImpl extends ASTWrapperPsiElement implements AngelScriptMarks {
+public class AngelScriptAnnotationImpl extends ASTWrapperPsiElement implements AngelScriptAnnotation {
 
-  public AngelScriptMarksImpl(@NotNull ASTNode node) {
+  public AngelScriptAnnotationImpl(@NotNull ASTNode node) {
     super(node);
   }
 
   public void accept(@NotNull AngelScriptVisitor visitor) {
-    visitor.visitMarks(this);
+    visitor.visitAnnotation(this);
   }
 
   @Override
@@ -0,0 +1,53 @@
+// This is a generated file. Not intended for manual editing.
+package com.github.sashi0034.angelintellij.psi.impl;
+
+import java.util.List;
+import org.jetbrains.annotations.*;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import static com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes.*;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptDeclarationStub;
+import com.github.sashi0034.angelintellij.psi.*;
+import com.intellij.psi.stubs.IStubElementType;
+
+public class AngelScriptFunctionDeclarationImpl extends AngelScriptStubbedElementImpl<AngelScriptDeclarationStub> implements AngelScriptFunctionDeclaration {
+
+  public AngelScriptFunctionDeclarationImpl(ASTNode node) {
+    super(node);
+  }
+
+  public AngelScriptFunctionDeclarationImpl(AngelScriptDeclarationStub stub, IStubElementType stubType) {
+    super(stub, stubType);
+  }
+
+  public void accept(@NotNull AngelScriptVisitor visitor) {
+    visitor.visitFunctionDeclaration(this);
+  }
+
+  @Override
+  public void accept(@NotNull PsiElementVisitor visitor) {
+    if (visitor instanceof AngelScriptVisitor) accept((AngelScriptVisitor)visitor);
+    else super.accept(visitor);
+  }
+
+  @Override
+  @Nullable
+  public AngelScriptAnnotation getAnnotation() {
+    return PsiTreeUtil.getChildOfType(this, AngelScriptAnnotation.class);
+  }
+
+  @Override
+  @NotNull
+  public AngelScriptParameterList getParameterList() {
+    return notNullChild(PsiTreeUtil.getChildOfType(this, AngelScriptParameterList.class));
+  }
+
+  @Override
+  @NotNull
+  public AngelScriptTypeReference getTypeReference() {
+    return notNullChild(PsiTreeUtil.getChildOfType(this, AngelScriptTypeReference.class));
+  }
+
+}
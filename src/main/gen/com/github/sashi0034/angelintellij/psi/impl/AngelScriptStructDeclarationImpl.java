@@ -0,0 +1,65 @@
+// This is a generated file. Not intended for manual editing.
+package com.github.sashi0034.angelintellij.psi.impl;
+
+import java.util.List;
+import org.jetbrains.annotations.*;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import static com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes.*;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptDeclarationStub;
+import com.github.sashi0034.angelintellij.psi.*;
+import com.intellij.psi.stubs.IStubElementType;
+
+public class AngelScriptStructDeclarationImpl extends AngelScriptStubbedElementImpl<AngelScriptDeclarationStub> implements AngelScriptStructDeclaration {
+
+  public AngelScriptStructDeclarationImpl(ASTNode node) {
+    super(node);
+  }
+
+  public AngelScriptStructDeclarationImpl(AngelScriptDeclarationStub stub, IStubElementType stubType) {
+    super(stub, stubType);
+  }
+
+  public void accept(@NotNull AngelScriptVisitor visitor) {
+    visitor.visitStructDeclaration(this);
+  }
+
+  @Override
+  public void accept(@NotNull PsiElementVisitor visitor) {
+    if (visitor instanceof AngelScriptVisitor) accept((AngelScriptVisitor)visitor);
+    else super.accept(visitor);
+  }
+
+  @Override
+  @Nullable
+  public AngelScriptAnnotation getAnnotation() {
+    return PsiTreeUtil.getChildOfType(this, AngelScriptAnnotation.class);
+  }
+
+  @Override
+  @NotNull
+  public List<AngelScriptDelegateDeclaration> getDelegateDeclarationList() {
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, AngelScriptDelegateDeclaration.class);
+  }
+
+  @Override
+  @NotNull
+  public List<AngelScriptEnumDeclaration> getEnumDeclarationList() {
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, AngelScriptEnumDeclaration.class);
+  }
+
+  @Override
+  @NotNull
+  public List<AngelScriptFunctionDeclaration> getFunctionDeclarationList() {
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, AngelScriptFunctionDeclaration.class);
+  }
+
+  @Override
+  @NotNull
+  public List<AngelScriptVariableDeclaration> getVariableDeclarationList() {
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, AngelScriptVariableDeclaration.class);
+  }
+
+}
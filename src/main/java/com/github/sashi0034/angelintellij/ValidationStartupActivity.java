@@ -1,5 +1,6 @@
 package com.github.sashi0034.angelintellij;
 
+import com.github.sashi0034.angelintellij.lsp.NodeRuntimeService;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
@@ -11,8 +12,6 @@ import kotlin.coroutines.Continuation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-
 public class ValidationStartupActivity implements ProjectActivity {
     public static final String GROUP_ID = "angelintellij";
 
@@ -26,17 +25,12 @@ public class ValidationStartupActivity implements ProjectActivity {
 
 class NodeChecker {
     public static void checkNodeInstallation() {
-        try {
-            // Execute "node -v" to get the Node.js version
-            ProcessBuilder pb = new ProcessBuilder("node", "-v");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
+        // Discovery runs once per IDE session in the background; later projects get the cached result
+        NodeRuntimeService.getInstance().resolveAsync().thenAccept(runtime -> {
+            if (runtime == null) {
                 showNodeNotInstalled();
             }
-        } catch (IOException | InterruptedException e) {
-            showNodeNotInstalled();
-        }
+        });
     }
 
     private static void showNodeNotInstalled() {
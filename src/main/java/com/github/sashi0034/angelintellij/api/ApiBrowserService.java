@@ -0,0 +1,221 @@
+package com.github.sashi0034.angelintellij.api;
+
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiIndex;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiIndexParams;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServerFactory;
+import com.google.gson.JsonArray;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.Topic;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Answers the API browser from the language server's {@code angelscript/getAPI*} requests, with the
+ * documentation of recently viewed items cached until Unreal sends a changed type database.
+ * <p>
+ * Searches are answered from a local {@link ApiSearchIndex} of the whole API once it is available. On first use
+ * the server is asked whether the API is still the one of the last engine build; the index is read from disk
+ * only once the server confirms its key, otherwise the server sends the items.
+ * <p>
+ * Cancelling a returned future cancels the request on the server as well.
+ */
+public final class ApiBrowserService {
+    private static final Logger LOG = Logger.getInstance(ApiBrowserService.class);
+
+    static final int MAX_CACHED_DETAILS = 512;
+
+    public interface Listener {
+        /**
+         * The known API changed; browsed namespaces, search results and documentation are outdated.
+         */
+        void apiChanged();
+
+        /**
+         * The user picked an item elsewhere, e.g. in Search Everywhere, to be shown in the browser.
+         */
+        default void itemChosen(@NotNull ApiItem item) {
+        }
+    }
+
+    public static final Topic<Listener> TOPIC = Topic.create("AngelScriptApiChanged", Listener.class);
+
+    private final Project project;
+    private final ApiDetailsCache details = new ApiDetailsCache(MAX_CACHED_DETAILS);
+    private final ApiIndexStore indexStore = ApiIndexStore.getDefault();
+    private final AtomicBoolean indexRequested = new AtomicBoolean();
+    private volatile @Nullable ApiSearchIndex index;
+    private CompletableFuture<?> indexRefresh;
+
+    public ApiBrowserService(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static ApiBrowserService getInstance(@NotNull Project project) {
+        return project.getService(ApiBrowserService.class);
+    }
+
+    /**
+     * Namespaces below the root for an empty {@code namespace}, otherwise the functions and properties
+     * of the namespace.
+     */
+    public @NotNull CompletableFuture<List<ApiItem>> list(@NotNull String namespace) {
+        return request(server -> server.getAPI(namespace), List.of());
+    }
+
+    public @NotNull CompletableFuture<List<ApiItem>> search(@NotNull String filter) {
+        List<ApiItem> found = searchLocally(filter);
+        if (found != null) {
+            return CompletableFuture.completedFuture(found);
+        }
+        return request(server -> server.getAPISearch(filter), List.of());
+    }
+
+    /**
+     * Searches the local index, or returns {@code null} while there is none yet.
+     */
+    public @Nullable List<ApiItem> searchLocally(@NotNull String filter) {
+        if (indexRequested.compareAndSet(false, true)) {
+            ApplicationManager.getApplication().executeOnPooledThread(this::refreshIndex);
+        }
+        ApiSearchIndex current = index;
+        return current != null ? current.search(filter) : null;
+    }
+
+    /**
+     * Markdown documentation of the item, empty if there is none.
+     */
+    public @NotNull CompletableFuture<String> details(@NotNull ApiItem item) {
+        JsonArray data = item.data;
+        if (data == null) {
+            return CompletableFuture.completedFuture("");
+        }
+        String key = data.toString();
+        String cached = details.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        int generation = details.generation();
+        CompletableFuture<String> result = request(server -> server.getAPIDetails(List.of(data)), "");
+        result.thenAccept(text -> {
+            if (text != null) {
+                details.put(key, text, generation);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Forgets the cached documentation and tells the open browsers to load the API again.
+     */
+    public void invalidate() {
+        LOG.debug("AngelScript API changed; dropping " + details.size() + " cached item(s) after "
+                + details.hits() + " hit(s) and " + details.misses() + " miss(es)");
+        details.clear();
+        if (indexRequested.get()) {
+            refreshIndex();
+        }
+        if (!project.isDisposed()) {
+            project.getMessageBus().syncPublisher(TOPIC).apiChanged();
+        }
+    }
+
+    /**
+     * Shows the item in the open API browsers.
+     */
+    public void choose(@NotNull ApiItem item) {
+        project.getMessageBus().syncPublisher(TOPIC).itemChosen(item);
+    }
+
+    private void refreshIndex() {
+        ApiSearchIndex current = index;
+        requestIndex(current != null ? current.getKey() : indexStore.latestKey());
+    }
+
+    private synchronized void requestIndex(@Nullable String knownKey) {
+        if (indexRefresh != null) {
+            indexRefresh.cancel(true);
+        }
+        CompletableFuture<ApiIndex> request = request(server -> server.getAPIIndex(new ApiIndexParams(knownKey)), null);
+        indexRefresh = request;
+        // Not on the thread reading server messages: indexing a large API takes a moment
+        request.thenAcceptAsync(this::useIndex, AppExecutorUtil.getAppExecutorService());
+    }
+
+    private void useIndex(@Nullable ApiIndex answer) {
+        if (answer == null || answer.key == null) {
+            // No Unreal types yet; searches go to the server until it knows which API it has
+            return;
+        }
+        if (answer.items == null) {
+            // The server confirmed the key we already have
+            ApiSearchIndex current = index;
+            if (current == null || !current.getKey().equals(answer.key)) {
+                ApiSearchIndex stored = indexStore.load(answer.key);
+                if (stored == null) {
+                    requestIndex(null);
+                    return;
+                }
+                LOG.info("Loaded AngelScript API index " + stored.getKey() + " with " + stored.size() + " item(s)");
+                replaceIndex(stored);
+            }
+            indexStore.touch(answer.key);
+            return;
+        }
+        long start = System.nanoTime();
+        ApiSearchIndex built = ApiSearchIndex.build(answer.key, answer.items);
+        LOG.info("Indexed " + built.size() + " AngelScript API item(s) for " + built.getKey() + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        replaceIndex(built);
+        indexStore.save(built);
+    }
+
+    private void replaceIndex(@NotNull ApiSearchIndex replacement) {
+        ApiSearchIndex previous = index;
+        index = replacement;
+        if (previous != null && !project.isDisposed()) {
+            // Searches answered from the index of another engine build are outdated
+            project.getMessageBus().syncPublisher(TOPIC).apiChanged();
+        }
+    }
+
+    private <T> CompletableFuture<T> request(Function<AngelScriptLanguageServer, CompletableFuture<T>> call, T empty) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        LanguageServerManager.getInstance(project)
+                .getLanguageServer(AngelScriptLanguageServerFactory.SERVER_ID)
+                .whenComplete((item, error) -> {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    if (item == null || !(item.getServer() instanceof AngelScriptLanguageServer server)) {
+                        result.complete(empty);
+                        return;
+                    }
+                    CompletableFuture<T> request = call.apply(server);
+                    // lsp4j sends $/cancelRequest when its future is cancelled
+                    result.whenComplete((value, failure) -> {
+                        if (result.isCancelled()) {
+                            request.cancel(true);
+                        }
+                    });
+                    request.whenComplete((value, failure) -> {
+                        if (failure != null) {
+                            result.completeExceptionally(failure);
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+                });
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.sashi0034.angelintellij.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used documentation of API items, keyed by the item's details data.
+ * <p>
+ * Every invalidation starts a new generation; answers to requests sent in an older generation are not
+ * stored, so documentation of a replaced type database cannot come back after {@link #clear()}.
+ */
+final class ApiDetailsCache {
+    private final int capacity;
+    private final Map<String, String> entries;
+    private int generation;
+    private int hits;
+    private int misses;
+
+    ApiDetailsCache(int capacity) {
+        this.capacity = capacity;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ApiDetailsCache.this.capacity;
+            }
+        };
+    }
+
+    synchronized @Nullable String get(@NotNull String key) {
+        String details = entries.get(key);
+        if (details != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return details;
+    }
+
+    /**
+     * Generation to hand back to {@link #put} with the answer of a request sent now.
+     */
+    synchronized int generation() {
+        return generation;
+    }
+
+    synchronized void put(@NotNull String key, @NotNull String details, int requestGeneration) {
+        if (requestGeneration == generation) {
+            entries.put(key, details);
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int hits() {
+        return hits;
+    }
+
+    synchronized int misses() {
+        return misses;
+    }
+}
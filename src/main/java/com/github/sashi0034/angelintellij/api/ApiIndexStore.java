@@ -0,0 +1,142 @@
+package com.github.sashi0034.angelintellij.api;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps API search indexes across IDE restarts in {@code <system>/angelscript-api-index/<key>.idx}, where the key
+ * is the server's hash of the Unreal API, so each engine build has its own file. The most recently used
+ * indexes are kept, for switching between engine builds.
+ */
+final class ApiIndexStore {
+    private static final Logger LOG = Logger.getInstance(ApiIndexStore.class);
+
+    private static final String DIR_NAME = "angelscript-api-index";
+    private static final String EXTENSION = ".idx";
+    static final int KEPT_INDEXES = 3;
+
+    private final Path directory;
+
+    ApiIndexStore(@NotNull Path directory) {
+        this.directory = directory;
+    }
+
+    static @NotNull ApiIndexStore getDefault() {
+        return new ApiIndexStore(Path.of(PathManager.getSystemPath(), DIR_NAME));
+    }
+
+    /**
+     * Key of the index used last, or {@code null} if none is stored.
+     */
+    @Nullable String latestKey() {
+        List<Path> files = indexFiles();
+        if (files.isEmpty()) {
+            return null;
+        }
+        String name = files.get(0).getFileName().toString();
+        return name.substring(0, name.length() - EXTENSION.length());
+    }
+
+    /**
+     * The stored index of the given API, or {@code null} if there is none that can be read.
+     */
+    @Nullable ApiSearchIndex load(@NotNull String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            ApiSearchIndex index = ApiSearchIndex.read(in);
+            return index != null && key.equals(index.getKey()) ? index : null;
+        } catch (IOException | RuntimeException e) {
+            LOG.info("Ignoring unreadable AngelScript API index " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    void save(@NotNull ApiSearchIndex index) {
+        Path target = directory.resolve(index.getKey() + EXTENSION);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, index.getKey(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                index.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOG.info("Could not save AngelScript API index " + target + ": " + e.getMessage());
+            return;
+        }
+        pruneOldIndexes();
+    }
+
+    /**
+     * Marks the index as the most recently used one.
+     */
+    void touch(@NotNull String key) {
+        try {
+            Files.setLastModifiedTime(directory.resolve(key + EXTENSION), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOG.debug("Could not touch AngelScript API index " + key, e);
+        }
+    }
+
+    private void pruneOldIndexes() {
+        List<Path> files = indexFiles();
+        for (Path file : files.subList(Math.min(KEPT_INDEXES, files.size()), files.size())) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.debug("Could not remove old AngelScript API index " + file, e);
+            }
+        }
+    }
+
+    // Most recently used first
+    private List<Path> indexFiles() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            entries.forEach(files::add);
+        } catch (IOException e) {
+            LOG.debug("Could not list AngelScript API indexes", e);
+        }
+        files.sort(Comparator.comparing(ApiIndexStore::lastModified).reversed());
+        return files;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.sashi0034.angelintellij.api;
+
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers {@code angelscript/getAPISearch} queries from the list of {@code angelscript/getAPIIndex}, with the
+ * same matching and order as the server.
+ * <p>
+ * Each word of a query must occur in the symbol name, except that words shorter than three characters
+ * before the first longer one must start it; alternatively all words may match the name of the declaring
+ * namespace or type. Candidates come from a trigram index of the lower-case names for the first word, or
+ * from a sorted name table when that word is a short prefix, and are then checked against all words.
+ */
+final class ApiSearchIndex {
+    private static final int FORMAT_VERSION = 1;
+
+    // Server order: functions first, then by label
+    private static final Comparator<ApiItem> ORDER = Comparator
+            .comparing((ApiItem item) -> !isFunction(item))
+            .thenComparing(item -> item.label != null ? item.label : "");
+
+    private final String key;
+    private final ApiItem[] items;
+    private final String[] names;
+    private final int[] byName;
+    private final Map<Long, int[]> trigrams;
+    private final Map<String, int[]> byOwner;
+
+    private ApiSearchIndex(String key, List<ApiItem> sortedItems) {
+        this.key = key;
+        items = sortedItems.toArray(new ApiItem[0]);
+        names = new String[items.length];
+        Map<Long, IntList> trigramLists = new HashMap<>();
+        Map<String, IntList> ownerLists = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            String name = lower(items[i].name);
+            names[i] = name;
+            for (int c = 0; c + 3 <= name.length(); c++) {
+                IntList postings = trigramLists.computeIfAbsent(trigram(name, c), t -> new IntList());
+                // Names repeating a trigram list the item once
+                if (postings.size == 0 || postings.last() != i) {
+                    postings.add(i);
+                }
+            }
+            if (items[i].owner != null) {
+                ownerLists.computeIfAbsent(lower(items[i].owner), o -> new IntList()).add(i);
+            }
+        }
+        trigrams = new HashMap<>(trigramLists.size() * 2);
+        trigramLists.forEach((trigram, postings) -> trigrams.put(trigram, postings.toArray()));
+        byOwner = new HashMap<>(ownerLists.size() * 2);
+        ownerLists.forEach((owner, postings) -> byOwner.put(owner, postings.toArray()));
+        byName = sortedByName(names);
+    }
+
+    static @NotNull ApiSearchIndex build(@NotNull String key, @NotNull List<ApiItem> items) {
+        List<ApiItem> sorted = new ArrayList<>(items);
+        sorted.sort(ORDER);
+        return new ApiSearchIndex(key, sorted);
+    }
+
+    @NotNull String getKey() {
+        return key;
+    }
+
+    int size() {
+        return items.length;
+    }
+
+    /**
+     * Items matching {@code filter} in the order the server would list them.
+     */
+    @NotNull List<ApiItem> search(@NotNull String filter) {
+        String[] words = Arrays.stream(filter.toLowerCase(Locale.ROOT).split(" "))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            return List.of();
+        }
+        BitSet found = new BitSet(items.length);
+        for (Map.Entry<String, int[]> owner : byOwner.entrySet()) {
+            if (matches(owner.getKey(), words)) {
+                for (int item : owner.getValue()) {
+                    found.set(item);
+                }
+            }
+        }
+        String first = words[0];
+        if (first.length() < 3) {
+            for (int i = lowerBound(first); i < byName.length && names[byName[i]].startsWith(first); i++) {
+                if (matches(names[byName[i]], words)) {
+                    found.set(byName[i]);
+                }
+            }
+        } else {
+            for (int item : rarestTrigramPostings(first)) {
+                if (matches(names[item], words)) {
+                    found.set(item);
+                }
+            }
+        }
+        List<ApiItem> result = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result.add(items[i]);
+        }
+        return result;
+    }
+
+    // The server's canComplete
+    private static boolean matches(String name, String[] words) {
+        boolean hadLongMatch = false;
+        for (String word : words) {
+            if (word.length() < 3 && !hadLongMatch) {
+                if (!name.startsWith(word)) {
+                    return false;
+                }
+            } else {
+                hadLongMatch = true;
+                if (!name.contains(word)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private int[] rarestTrigramPostings(String word) {
+        int[] rarest = null;
+        for (int c = 0; c + 3 <= word.length(); c++) {
+            int[] postings = trigrams.get(trigram(word, c));
+            if (postings == null) {
+                return new int[0];
+            }
+            if (rarest == null || postings.length < rarest.length) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = byName.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (names[byName[middle]].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    void write(@NotNull DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(key);
+        out.writeInt(items.length);
+        for (ApiItem item : items) {
+            writeString(out, item.type);
+            writeString(out, item.id);
+            writeString(out, item.label);
+            writeString(out, item.data != null ? item.data.toString() : null);
+            writeString(out, item.name);
+            writeString(out, item.owner);
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #write}, or returns {@code null} if it has another format.
+     */
+    static @Nullable ApiSearchIndex read(@NotNull DataInput in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        String key = in.readUTF();
+        int count = in.readInt();
+        List<ApiItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ApiItem item = new ApiItem();
+            item.type = readString(in);
+            item.id = readString(in);
+            item.label = readString(in);
+            String data = readString(in);
+            item.data = data != null ? JsonParser.parseString(data).getAsJsonArray() : null;
+            item.name = readString(in);
+            item.owner = readString(in);
+            items.add(item);
+        }
+        // Written in search order already
+        return new ApiSearchIndex(key, items);
+    }
+
+    private static void writeString(DataOutput out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static @Nullable String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static boolean isFunction(ApiItem item) {
+        JsonArray data = item.data;
+        return data != null && !data.isEmpty() && "function".equals(data.get(0).getAsString());
+    }
+
+    private static String lower(@Nullable String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static int[] sortedByName(String[] names) {
+        Integer[] order = new Integer[names.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> names[i]));
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -3,12 +3,12 @@ package com.github.sashi0034.angelintellij.editor;
 import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import com.intellij.spellchecker.tokenizer.SpellcheckingStrategy;
 import com.intellij.spellchecker.tokenizer.Tokenizer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
-
 /**
  * Spell checking strategy for AngelScript files.
  * Excludes Unreal Engine specific macros and identifiers from spell checking.
@@ -16,123 +16,35 @@ import java.util.Set;
 public class AngelScriptSpellCheckingStrategy extends SpellcheckingStrategy {
     
     /**
-     * Unreal Engine macros that should be excluded from spell checking.
-     * These are common Unreal-specific identifiers that would be flagged as typos.
+     * Tokens the lexer already classifies as keywords, Unreal macros or macro specifiers.
+     * These are never typos, so they are excluded without looking at their text.
      */
-    private static final Set<String> UNREAL_MACROS = Set.of(
-            // Unreal property macros
-            "UPROPERTY",
-            "UFUNCTION",
-            "UCLASS",
-            "USTRUCT",
-            "UENUM",
-            "UINTERFACE",
-            "UDELEGATE",
-            
-            // Unreal property specifiers (commonly used)
-            "BlueprintReadWrite",
-            "BlueprintReadOnly",
-            "EditAnywhere",
-            "EditDefaultsOnly",
-            "EditInstanceOnly",
-            "VisibleAnywhere",
-            "VisibleDefaultsOnly",
-            "VisibleInstanceOnly",
-            "Category",
-            "BlueprintCallable",
-            "BlueprintPure",
-            "BlueprintImplementableEvent",
-            "BlueprintNativeEvent",
-            "CallInEditor",
-            "Exec",
-            "Server",
-            "Client",
-            "NetMulticast",
-            "Reliable",
-            "Unreliable",
-            "WithValidation",
-            "BlueprintAuthorityOnly",
-            "BlueprintCosmetic",
-            "Transient",
-            "DuplicateTransient",
-            "TextExportTransient",
-            "NonPIEDuplicateTransient",
-            "SaveGame",
-            "AssetRegistrySearchable",
-            "SimpleDisplay",
-            "AdvancedDisplay",
-            "Config",
-            "GlobalConfig",
-            "Localized",
-            "Instanced",
-            "BlueprintAssignable",
-            "Replicated",
-            "ReplicatedUsing",
-            "NotReplicated",
-            "RepSkip",
-            "Interp",
-            "NonTransactional",
-            "NoClear",
-            "EditFixedSize",
-            "NoDestructor",
-            "AutoWeak",
-            
-            // Common Unreal prefixes that might appear in identifiers
-            "UObject",
-            "AActor",
-            "UActorComponent",
-            "USceneComponent",
-            "APawn",
-            "ACharacter",
-            "APlayerController",
-            "UWorld",
-            "FVector",
-            "FRotator",
-            "FTransform",
-            "FString",
-            "FName",
-            "TArray",
-            "TSubclassOf",
-            "TWeakObjectPtr",
-            "TSoftObjectPtr",
-            "FSoftObjectPath"
+    private static final TokenSet NOT_SPELL_CHECKED = TokenSet.create(
+            AngelScriptTokenTypes.KEYWORD,
+            AngelScriptTokenTypes.UNREAL_KEYWORD,
+            AngelScriptTokenTypes.UNREAL_MACRO,
+            AngelScriptTokenTypes.UNREAL_SPECIFIER
     );
-    
+
     @NotNull
     @Override
     public Tokenizer<?> getTokenizer(PsiElement element) {
-        // Skip spell checking for identifiers that match Unreal macros
         if (element instanceof LeafPsiElement) {
-            LeafPsiElement leaf = (LeafPsiElement) element;
-            
-            // Check if this is an identifier token
-            if (leaf.getElementType() == AngelScriptTokenTypes.IDENTIFIER) {
-                String text = leaf.getText();
-                
-                // Skip spell checking if this matches a known Unreal macro
-                if (UNREAL_MACROS.contains(text)) {
-                    return EMPTY_TOKENIZER;
-                }
-                
-                // Skip spell checking for identifiers starting with common Unreal prefixes
-                if (startsWithUnrealPrefix(text)) {
-                    return EMPTY_TOKENIZER;
-                }
-                
-                // For regular identifiers, enable spell checking
-                return TEXT_TOKENIZER;
-            }
-            
-            // Skip spell checking for keywords
-            if (leaf.getElementType() == AngelScriptTokenTypes.KEYWORD) {
+            IElementType type = ((LeafPsiElement) element).getElementType();
+            if (NOT_SPELL_CHECKED.contains(type)) {
                 return EMPTY_TOKENIZER;
             }
+
+            if (type == AngelScriptTokenTypes.IDENTIFIER) {
+                // Skip spell checking for identifiers starting with common Unreal prefixes
+                return startsWithUnrealPrefix(element.getText()) ? EMPTY_TOKENIZER : TEXT_TOKENIZER;
+            }
         }
-        
+
         // Use default tokenizer for other elements (like comments and strings)
         return super.getTokenizer(element);
     }
-    
+
     /**
      * Check if an identifier starts with a common Unreal Engine prefix.
      * These prefixes indicate Unreal-specific types that shouldn't be spell-checked.
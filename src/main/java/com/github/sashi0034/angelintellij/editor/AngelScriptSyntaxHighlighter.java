@@ -16,8 +16,18 @@ public class AngelScriptSyntaxHighlighter implements SyntaxHighlighter {
 
     public static final TextAttributesKey KEYWORD =
             createTextAttributesKey("ANGELSCRIPT_KEYWORD", DefaultLanguageHighlighterColors.KEYWORD);
+    public static final TextAttributesKey UNREAL_KEYWORD =
+            createTextAttributesKey("ANGELSCRIPT_UNREAL_KEYWORD", KEYWORD);
+    public static final TextAttributesKey UNREAL_MACRO =
+            createTextAttributesKey("ANGELSCRIPT_UNREAL_MACRO", DefaultLanguageHighlighterColors.METADATA);
+    public static final TextAttributesKey UNREAL_SPECIFIER =
+            createTextAttributesKey("ANGELSCRIPT_UNREAL_SPECIFIER", DefaultLanguageHighlighterColors.METADATA);
     public static final TextAttributesKey STRING =
             createTextAttributesKey("ANGELSCRIPT_STRING", DefaultLanguageHighlighterColors.STRING);
+    public static final TextAttributesKey NAME_STRING =
+            createTextAttributesKey("ANGELSCRIPT_NAME_STRING", STRING);
+    public static final TextAttributesKey FORMAT_STRING =
+            createTextAttributesKey("ANGELSCRIPT_FORMAT_STRING", STRING);
     public static final TextAttributesKey NUMBER =
             createTextAttributesKey("ANGELSCRIPT_NUMBER", DefaultLanguageHighlighterColors.NUMBER);
     public static final TextAttributesKey COMMENT =
@@ -40,7 +50,12 @@ public class AngelScriptSyntaxHighlighter implements SyntaxHighlighter {
             createTextAttributesKey("ANGELSCRIPT_DOT", DefaultLanguageHighlighterColors.DOT);
 
     private static final TextAttributesKey[] KEYWORD_KEYS = new TextAttributesKey[]{KEYWORD};
+    private static final TextAttributesKey[] UNREAL_KEYWORD_KEYS = new TextAttributesKey[]{UNREAL_KEYWORD};
+    private static final TextAttributesKey[] UNREAL_MACRO_KEYS = new TextAttributesKey[]{UNREAL_MACRO};
+    private static final TextAttributesKey[] UNREAL_SPECIFIER_KEYS = new TextAttributesKey[]{UNREAL_SPECIFIER};
     private static final TextAttributesKey[] STRING_KEYS = new TextAttributesKey[]{STRING};
+    private static final TextAttributesKey[] NAME_STRING_KEYS = new TextAttributesKey[]{NAME_STRING};
+    private static final TextAttributesKey[] FORMAT_STRING_KEYS = new TextAttributesKey[]{FORMAT_STRING};
     private static final TextAttributesKey[] NUMBER_KEYS = new TextAttributesKey[]{NUMBER};
     private static final TextAttributesKey[] COMMENT_KEYS = new TextAttributesKey[]{COMMENT};
     private static final TextAttributesKey[] OPERATOR_KEYS = new TextAttributesKey[]{OPERATOR};
@@ -62,8 +77,18 @@ public class AngelScriptSyntaxHighlighter implements SyntaxHighlighter {
     public @NotNull TextAttributesKey[] getTokenHighlights(IElementType tokenType) {
         if (tokenType.equals(AngelScriptTokenTypes.KEYWORD)) {
             return KEYWORD_KEYS;
+        } else if (tokenType.equals(AngelScriptTokenTypes.UNREAL_KEYWORD)) {
+            return UNREAL_KEYWORD_KEYS;
+        } else if (tokenType.equals(AngelScriptTokenTypes.UNREAL_MACRO)) {
+            return UNREAL_MACRO_KEYS;
+        } else if (tokenType.equals(AngelScriptTokenTypes.UNREAL_SPECIFIER)) {
+            return UNREAL_SPECIFIER_KEYS;
         } else if (tokenType.equals(AngelScriptTokenTypes.STRING)) {
             return STRING_KEYS;
+        } else if (tokenType.equals(AngelScriptTokenTypes.NAME_STRING)) {
+            return NAME_STRING_KEYS;
+        } else if (tokenType.equals(AngelScriptTokenTypes.FORMAT_STRING)) {
+            return FORMAT_STRING_KEYS;
         } else if (tokenType.equals(AngelScriptTokenTypes.NUMBER)) {
             return NUMBER_KEYS;
         } else if (tokenType.equals(AngelScriptTokenTypes.COMMENT)) {
@@ -8,4 +8,12 @@ public class AngelScriptLanguage extends Language {
     private AngelScriptLanguage() {
         super("angelscript");
     }
+
+    /**
+     * The parser matches keywords like {@code class} by text, so {@code Class} must not match.
+     */
+    @Override
+    public boolean isCaseSensitive() {
+        return true;
+    }
 }
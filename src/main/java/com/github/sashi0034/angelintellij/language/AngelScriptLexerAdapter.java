@@ -1,9 +1,35 @@
 package com.github.sashi0034.angelintellij.language;
 
 import com.intellij.lexer.FlexAdapter;
+import com.intellij.lexer.RestartableLexer;
+import com.intellij.lexer.TokenIterator;
+import org.jetbrains.annotations.NotNull;
 
-public class AngelScriptLexerAdapter extends FlexAdapter {
+/**
+ * The editor highlighter restarts the lexer after an edit only at tokens in a restartable state. Inside Unreal
+ * macro arguments the state depends on the parentheses before it, so relexing goes back to the macro name;
+ * comments and triple-quoted strings are restartable, so an edit in a long one relexes a single line.
+ */
+public class AngelScriptLexerAdapter extends FlexAdapter implements RestartableLexer {
     public AngelScriptLexerAdapter() {
         super(new AngelScriptLexer(null));
     }
+
+    @Override
+    public int getStartState() {
+        return AngelScriptLexer.YYINITIAL;
+    }
+
+    @Override
+    public boolean isRestartableState(int state) {
+        return state == AngelScriptLexer.YYINITIAL
+                || state == AngelScriptLexer.BLOCK_COMMENT
+                || state == AngelScriptLexer.TRIPLE_QUOTE_STRING;
+    }
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState,
+                      TokenIterator tokenIterator) {
+        start(buffer, startOffset, endOffset, initialState);
+    }
 }
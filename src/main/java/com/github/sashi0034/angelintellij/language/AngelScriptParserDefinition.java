@@ -14,18 +14,20 @@ import com.intellij.psi.TokenType;
 import com.intellij.psi.tree.IFileElementType;
 import com.intellij.psi.tree.TokenSet;
 import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptFileElementType;
 
 import org.jetbrains.annotations.NotNull;
 
 public class AngelScriptParserDefinition implements ParserDefinition {
 
-    public static final IFileElementType FILE = new IFileElementType(AngelScriptLanguage.INSTANCE);
+    public static final IFileElementType FILE = new AngelScriptFileElementType();
 
     private static final TokenSet WHITE_SPACES = TokenSet.create(TokenType.WHITE_SPACE);
 
     private static final TokenSet COMMENTS = TokenSet.create(AngelScriptTokenTypes.COMMENT);
 
-    private static final TokenSet STRINGS = TokenSet.create(AngelScriptTokenTypes.STRING);
+    private static final TokenSet STRINGS = TokenSet.create(
+            AngelScriptTokenTypes.STRING, AngelScriptTokenTypes.NAME_STRING, AngelScriptTokenTypes.FORMAT_STRING);
 
     @Override
     public @NotNull Lexer createLexer(Project project) {
@@ -1,82 +1,76 @@
 package com.github.sashi0034.angelintellij.lsp;
 
+import com.github.sashi0034.angelintellij.lsp.tokens.SemanticTokensConnection;
 import com.intellij.execution.configurations.GeneralCommandLine;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
 import com.redhat.devtools.lsp4ij.server.OSProcessStreamConnectionProvider;
+import org.jetbrains.annotations.NotNull;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 public class AngelScriptConnectionProvider extends OSProcessStreamConnectionProvider {
     private static final Logger LOG = Logger.getInstance(AngelScriptConnectionProvider.class);
     
-    public AngelScriptConnectionProvider() {
-        LOG.info("Initializing AngelScript Language Server connection");
-        
-        InputStream input = getClass().getResourceAsStream("/js/angelscript-language-server.js");
-        if (input == null) {
-            String error = "Can't find /js/angelscript-language-server.js in resources";
-            LOG.error(error);
-            throw new IllegalStateException(error);
-        }
-
-        try {
-            // Create a temporary file for the language server
-            // deleteOnExit ensures it persists during the IDE session
-            File tempJsFile = File.createTempFile("angelscript-language-server", ".js");
-            tempJsFile.deleteOnExit();
-            
-            LOG.info("Created temporary file for LSP server: " + tempJsFile.getAbsolutePath());
-            
-            try (FileOutputStream fos = new FileOutputStream(tempJsFile)) {
-                input.transferTo(fos);
-                LOG.info("Successfully wrote LSP server to temporary file");
-            } catch (IOException e) {
-                String error = "Failed to write LSP server to temporary file";
-                LOG.error(error, e);
-                throw new IllegalStateException(error, e);
-            }
+    private final Project project;
+    private SemanticTokensConnection connection;
+    private long serverInstance;
 
-            // Build the command line
-            GeneralCommandLine commandLine = new GeneralCommandLine("node", tempJsFile.getAbsolutePath());
-            
-            // Set working directory to help with relative paths if needed
-            // commandLine.setWorkDirectory(project.getBasePath());
-            
-            LOG.info("LSP server command: " + commandLine.getCommandLineString());
-            
-            super.setCommandLine(commandLine);
-        } catch (IOException e) {
-            String error = "Failed to create temporary file for LSP server";
-            LOG.error(error, e);
-            throw new IllegalStateException(error, e);
-        }
-        
-        LOG.info("AngelScript Language Server connection initialized successfully");
+    public AngelScriptConnectionProvider(@NotNull Project project) {
+        this.project = project;
     }
-    
+
     @Override
     public void start() {
         LOG.info("Starting AngelScript Language Server process");
         try {
-            ConnectionStateService.getInstance().setState(ConnectionStateService.State.CONNECTING);
+            serverInstance = ConnectionStateService.getInstance(project).startServerInstance();
+
+            // Built on every start so that runtime profile changes apply to restarts as well
+            GeneralCommandLine commandLine = ServerCommandLine.create(project);
+            LOG.info("LSP server command: " + commandLine.getCommandLineString());
+            super.setCommandLine(commandLine);
+
             super.start();
-            ConnectionStateService.getInstance().setState(ConnectionStateService.State.CONNECTED);
+            connection = new SemanticTokensConnection(project, super.getInputStream(), super.getOutputStream(),
+                    WireMeterService.getInstance(project).getMeter());
+            ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.WAITING_FOR_UNREAL);
+            Long pid = getPid();
+            ProcessHandle process = pid != null ? ProcessHandle.of(pid).orElse(null) : null;
+            if (process != null) {
+                ServerSupervisor.getInstance(project).serverStarted(serverInstance, process);
+                ServerMemoryWatchdog.getInstance(project).watch(serverInstance, process);
+            }
             LOG.info("AngelScript Language Server process started successfully");
         } catch (Exception e) {
-            ConnectionStateService.getInstance().setState(ConnectionStateService.State.DISCONNECTED);
+            ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.DISCONNECTED);
+            ServerSupervisor.getInstance(project).serverFailedToStart(serverInstance, e);
             LOG.error("Failed to start AngelScript Language Server", e);
             throw new RuntimeException("Failed to start AngelScript Language Server", e);
         }
     }
     
+    @Override
+    public InputStream getInputStream() {
+        return connection != null ? connection.getInputStream() : null;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return connection != null ? connection.getOutputStream() : null;
+    }
+
     @Override
     public void stop() {
         LOG.info("Stopping AngelScript Language Server");
+        ServerSupervisor.getInstance(project).serverStopping(serverInstance);
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
         super.stop();
-        ConnectionStateService.getInstance().setState(ConnectionStateService.State.DISCONNECTED);
+        ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.DISCONNECTED);
         LOG.info("AngelScript Language Server stopped");
     }
 }
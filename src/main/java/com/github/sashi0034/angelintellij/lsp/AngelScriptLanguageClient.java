@@ -1,10 +1,112 @@
 package com.github.sashi0034.angelintellij.lsp;
 
+import com.github.sashi0034.angelintellij.api.ApiBrowserService;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
+import com.redhat.devtools.lsp4ij.ServerStatus;
 import com.redhat.devtools.lsp4ij.client.LanguageClientImpl;
+import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public class AngelScriptLanguageClient extends LanguageClientImpl {
+    private final ModulePriorityReporter priorityReporter;
+    private final WantSaveHandler wantSaveHandler;
+    // The server instance whose connection reports this client receives
+    private volatile long serverInstance;
+
     public AngelScriptLanguageClient(Project project) {
         super(project);
+        priorityReporter = new ModulePriorityReporter(project, this::getLanguageServer);
+        Disposer.register(this, priorityReporter);
+        wantSaveHandler = new WantSaveHandler(project);
+        Disposer.register(this, wantSaveHandler);
+        // lsp4ij creates the client after the connection provider started its server
+        serverInstance = ConnectionStateService.getInstance(project).getServerInstance();
+    }
+
+    /**
+     * Sent after the server edits a script, e.g. a literal asset, so that Unreal hot-reloads it.
+     */
+    @JsonNotification("angelscript/wantSave")
+    public void wantSave(List<String> uris) {
+        if (uris != null && !uris.isEmpty()) {
+            wantSaveHandler.request(uris);
+        }
+    }
+
+    @Override
+    public void handleServerStatusChanged(ServerStatus serverStatus) {
+        super.handleServerStatusChanged(serverStatus);
+        if (serverStatus == ServerStatus.started) {
+            serverInstance = ConnectionStateService.getInstance(getProject()).getServerInstance();
+            // Point the initial indexing at the files already open in the editor
+            priorityReporter.reset();
+            priorityReporter.scheduleReport();
+            // A new server may know other types than the previous one
+            ApiBrowserService.getInstance(getProject()).invalidate();
+            LanguageServerManager.getInstance(getProject())
+                    .getLanguageServer(AngelScriptLanguageServerFactory.SERVER_ID)
+                    .thenAccept(AngelScriptLanguageClient::useSemanticTokensLegend);
+        } else if (serverStatus == ServerStatus.stopped) {
+            ServerStatsService.getInstance(getProject()).update(null);
+        }
+    }
+
+    /**
+     * Sent when a type database from Unreal added, changed or removed types.
+     */
+    @JsonNotification("angelscript/typeDatabaseChanged")
+    public void typeDatabaseChanged(TypeDatabaseChangedParams params) {
+        ApiBrowserService.getInstance(getProject()).invalidate();
+    }
+
+    /**
+     * Sent periodically with the indexing queues and heap of the server.
+     */
+    @JsonNotification("angelscript/stats")
+    public void stats(ServerStatsService.Stats stats) {
+        ServerStatsService.getInstance(getProject()).update(stats);
+    }
+
+    /**
+     * Sent when the server connects to or loses the Unreal editor, and before each reconnect attempt.
+     */
+    @JsonNotification("angelscript/unrealConnection")
+    public void unrealConnection(UnrealConnectionParams params) {
+        boolean waiting = !params.connected && !params.offline;
+        ConnectionStateService.getInstance(getProject()).setState(serverInstance, waiting
+                ? ConnectionStateService.State.WAITING_FOR_UNREAL
+                : ConnectionStateService.State.CONNECTED);
+        if (waiting) {
+            UnrealEditorWatcher.getInstance().watch();
+        }
+    }
+
+    private static void useSemanticTokensLegend(@Nullable LanguageServerItem server) {
+        ServerCapabilities capabilities = server != null ? server.getServerCapabilities() : null;
+        SemanticTokensWithRegistrationOptions semanticTokens = capabilities != null ? capabilities.getSemanticTokensProvider() : null;
+        if (semanticTokens != null && semanticTokens.getLegend() != null) {
+            AngelScriptSemanticTokensColorProvider.useLegend(semanticTokens.getLegend());
+        }
+    }
+
+    public static class TypeDatabaseChangedParams {
+        public int changedChunks;
+        public int removedChunks;
+    }
+
+    public static class UnrealConnectionParams {
+        public boolean connected;
+        public boolean offline;
+        /** Failed attempts since the last connection */
+        public int attempts;
+        /** Delay until the next attempt, {@code null} when none is scheduled */
+        public @Nullable Integer retryInMs;
     }
 }
@@ -0,0 +1,116 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.google.gson.JsonArray;
+import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
+import org.eclipse.lsp4j.services.LanguageServer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Requests the bundled server understands on top of the standard protocol.
+ */
+public interface AngelScriptLanguageServer extends LanguageServer {
+
+    /**
+     * Copies the workspace's cached Unreal type database to {@code params.path}.
+     * Completes with {@code false} when there is no cached database to export.
+     */
+    @JsonRequest("angelscript/exportTypeDatabase")
+    CompletableFuture<Boolean> exportTypeDatabase(ExportTypeDatabaseParams params);
+
+    /**
+     * Makes the server index these documents before the rest of the workspace, most important first.
+     * Replaces the previously reported list.
+     */
+    @JsonNotification("angelscript/prioritizeModules")
+    void prioritizeModules(PrioritizeModulesParams params);
+
+    /**
+     * Lists the child namespaces of the root namespace, or the functions and properties of the
+     * namespace {@code root} names.
+     */
+    @JsonRequest("angelscript/getAPI")
+    CompletableFuture<List<ApiItem>> getAPI(String root);
+
+    /**
+     * Finds the functions and properties whose name, or whose namespace or type name, matches all
+     * words of {@code filter}.
+     */
+    @JsonRequest("angelscript/getAPISearch")
+    CompletableFuture<List<ApiItem>> getAPISearch(String filter);
+
+    /**
+     * Documentation of an item as markdown, empty if there is none. The server spreads array
+     * parameters, so the item's {@link ApiItem#data} has to be the only element of {@code data}.
+     */
+    @JsonRequest("angelscript/getAPIDetails")
+    CompletableFuture<String> getAPIDetails(List<JsonArray> data);
+
+    /**
+     * Every item {@link #getAPISearch} can find, with the names it matches against. The items are left out
+     * when {@code params.knownKey} is the key of the current list.
+     */
+    @JsonRequest("angelscript/getAPIIndex")
+    CompletableFuture<ApiIndex> getAPIIndex(ApiIndexParams params);
+
+    /**
+     * Retries the connection to the Unreal editor now instead of after the current backoff delay.
+     */
+    @JsonNotification("angelscript/wakeUnrealConnection")
+    void wakeUnrealConnection(WakeUnrealConnectionParams params);
+
+    class ExportTypeDatabaseParams {
+        public final String path;
+
+        public ExportTypeDatabaseParams(String path) {
+            this.path = path;
+        }
+    }
+
+    class PrioritizeModulesParams {
+        public final List<String> uris;
+
+        public PrioritizeModulesParams(List<String> uris) {
+            this.uris = uris;
+        }
+    }
+
+    class WakeUnrealConnectionParams {
+        /** Logged by the server */
+        public final String reason;
+
+        public WakeUnrealConnectionParams(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    class ApiItem {
+        /** {@code namespace}, {@code function} or {@code property} */
+        public String type;
+        public String id;
+        public String label;
+        /** Identifies the item to {@link #getAPIDetails} */
+        public JsonArray data;
+        /** Symbol name, only listed by {@link #getAPIIndex} */
+        public String name;
+        /** Name of the namespace or type declaring the symbol, only listed by {@link #getAPIIndex} */
+        public String owner;
+    }
+
+    class ApiIndexParams {
+        public final String knownKey;
+
+        public ApiIndexParams(String knownKey) {
+            this.knownKey = knownKey;
+        }
+    }
+
+    class ApiIndex {
+        /** Hash of the listed items; {@code null} while the server has no Unreal types */
+        public String key;
+        /** {@code null} when the caller already has the list for {@link #key} */
+        public List<ApiItem> items;
+    }
+}
@@ -1,15 +1,25 @@
 package com.github.sashi0034.angelintellij.lsp;
 
+import com.github.sashi0034.angelintellij.lsp.shared.SharedServerConnectionProvider;
+import com.github.sashi0034.angelintellij.settings.AngelScriptSettings;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
 import com.redhat.devtools.lsp4ij.LanguageServerFactory;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
 import com.redhat.devtools.lsp4ij.client.LanguageClientImpl;
 import com.redhat.devtools.lsp4ij.server.StreamConnectionProvider;
+import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.NotNull;
 
 public class AngelScriptLanguageServerFactory implements LanguageServerFactory {
+    public static final String SERVER_ID = "angelScriptLanguageServer";
+
     @Override
     public @NotNull StreamConnectionProvider createConnectionProvider(@NotNull Project project) {
-        return new AngelScriptConnectionProvider();
+        if (AngelScriptSettings.getInstance().getState().sharedServer) {
+            return new SharedServerConnectionProvider(project);
+        }
+        return new AngelScriptConnectionProvider(project);
     }
 
     @Override // If you need to provide client specific features
@@ -17,9 +27,19 @@ public class AngelScriptLanguageServerFactory implements LanguageServerFactory {
         return new AngelScriptLanguageClient(project);
     }
 
-//    @Override // If you need to expose a custom server API
-//    public @NotNull Class<? extends LanguageServer> getServerInterface() {
-//        return AngelScriptCustomServer.class;
-//    }
-}
+    @Override
+    public @NotNull Class<? extends LanguageServer> getServerInterface() {
+        return AngelScriptLanguageServer.class;
+    }
 
+    /**
+     * Restarts the language server of every open project, e.g. after a setting that affects how it is launched changed.
+     */
+    public static void restartServers() {
+        for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+            LanguageServerManager manager = LanguageServerManager.getInstance(project);
+            manager.stop(SERVER_ID);
+            manager.start(SERVER_ID);
+        }
+    }
+}
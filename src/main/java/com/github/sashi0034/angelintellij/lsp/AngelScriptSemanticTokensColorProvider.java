@@ -4,29 +4,74 @@ import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.SemanticTokensColorsProvider;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.SemanticTokensHighlightingColors;
-import org.eclipse.lsp4j.SemanticTokenModifiers;
 import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
+import static com.github.sashi0034.angelintellij.lsp.SemanticTokensKeyTable.DECLARATION;
+import static com.github.sashi0034.angelintellij.lsp.SemanticTokensKeyTable.DEFAULT_LIBRARY;
+import static com.github.sashi0034.angelintellij.lsp.SemanticTokensKeyTable.READONLY;
+import static com.github.sashi0034.angelintellij.lsp.SemanticTokensKeyTable.STATIC;
+
 // Reference: https://github.com/redhat-developer/lsp4ij/blob/main/src/main/java/com/redhat/devtools/lsp4ij/features/semanticTokens/DefaultSemanticTokensColorsProvider.java
 
+/**
+ * Maps semantic tokens through a {@link SemanticTokensKeyTable} resolved from the legend of the running server,
+ * so that highlighting a token is a lookup instead of a string switch over its type and modifiers.
+ */
 public class AngelScriptSemanticTokensColorProvider implements SemanticTokensColorsProvider {
 
+    /**
+     * Token types handled by {@link #resolve}, kept in the table even when the legend does not announce them.
+     */
+    static final List<String> KNOWN_TOKEN_TYPES = List.of(
+            SemanticTokenTypes.Namespace, SemanticTokenTypes.Class, SemanticTokenTypes.Enum,
+            SemanticTokenTypes.Interface, SemanticTokenTypes.Struct, SemanticTokenTypes.TypeParameter,
+            SemanticTokenTypes.Type, SemanticTokenTypes.Parameter, SemanticTokenTypes.Variable,
+            SemanticTokenTypes.Property, SemanticTokenTypes.EnumMember, SemanticTokenTypes.Decorator,
+            SemanticTokenTypes.Event, SemanticTokenTypes.Function, SemanticTokenTypes.Method,
+            SemanticTokenTypes.Macro, "directive", "label", SemanticTokenTypes.Comment, SemanticTokenTypes.String,
+            SemanticTokenTypes.Keyword, "builtin", SemanticTokenTypes.Number, SemanticTokenTypes.Regexp,
+            SemanticTokenTypes.Modifier, SemanticTokenTypes.Operator);
+
+    // One server process per legend; shared servers announce the same legend to every project
+    private static volatile SemanticTokensKeyTable table = SemanticTokensKeyTable.create(List.of(), List.of());
+
+    /**
+     * Rebuilds the table for the legend a server announced in its initialize result. Does nothing if the
+     * current table already belongs to an equal legend.
+     */
+    static void useLegend(@NotNull SemanticTokensLegend legend) {
+        SemanticTokensKeyTable current = table;
+        if (!current.isFor(legend.getTokenTypes(), legend.getTokenModifiers())) {
+            table = SemanticTokensKeyTable.create(legend.getTokenTypes(), legend.getTokenModifiers());
+        }
+    }
+
+    static @NotNull SemanticTokensKeyTable getTable() {
+        return table;
+    }
 
     @Override
     public @Nullable TextAttributesKey getTextAttributesKey(@NotNull String tokenType,
                                                             @NotNull List<String> tokenModifiers,
                                                             @NotNull PsiFile file) {
+        return table.get(tokenType, tokenModifiers);
+    }
+
+    /**
+     * Maps a token type and the {@link SemanticTokensKeyTable} flags of its modifiers to a key. Only called while
+     * building a table.
+     */
+    static @Nullable TextAttributesKey resolve(@NotNull String tokenType, int modifiers) {
         switch (tokenType) {
 
             // namespace: for identifiers that declare or reference a namespace, module, or package.
             case SemanticTokenTypes.Namespace:
-                if (hasTokenModifiers(tokenModifiers,
-                        SemanticTokenModifiers.Declaration,
-                        SemanticTokenModifiers.Definition)) {
+                if ((modifiers & DECLARATION) != 0) {
                     // with declaration, definition modifiers
                     return SemanticTokensHighlightingColors.NAMESPACE_DECLARATION;
                 }
@@ -35,9 +80,7 @@ public class AngelScriptSemanticTokensColorProvider implements SemanticTokensCol
 
             // class: for identifiers that declare or reference a class type.
             case SemanticTokenTypes.Class:
-                if (hasTokenModifiers(tokenModifiers,
-                        SemanticTokenModifiers.Declaration,
-                        SemanticTokenModifiers.Definition)) {
+                if ((modifiers & DECLARATION) != 0) {
                     // with declaration, definition modifiers
                     return SemanticTokensHighlightingColors.CLASS_DECLARATION;
                 }
@@ -70,15 +113,15 @@ public class AngelScriptSemanticTokensColorProvider implements SemanticTokensCol
 
             // variable: for identifiers that declare or reference a local or global variable.
             case SemanticTokenTypes.Variable:
-                if (hasTokenModifiers(tokenModifiers, SemanticTokenModifiers.Static)) {
-                    if (hasTokenModifiers(tokenModifiers, SemanticTokenModifiers.Readonly)) {
+                if ((modifiers & STATIC) != 0) {
+                    if ((modifiers & READONLY) != 0) {
                         // with static, readonly modifiers
                         return SemanticTokensHighlightingColors.STATIC_READONLY_VARIABLE;
                     }
                     // with static readonly modifiers
                     return SemanticTokensHighlightingColors.STATIC_VARIABLE;
                 }
-                if (hasTokenModifiers(tokenModifiers, SemanticTokenModifiers.Readonly)) {
+                if ((modifiers & READONLY) != 0) {
                     // with readonly modifiers
                     return SemanticTokensHighlightingColors.READONLY_VARIABLE;
                 }
@@ -87,15 +130,15 @@ public class AngelScriptSemanticTokensColorProvider implements SemanticTokensCol
 
             // property: for identifiers that declare or reference a member property, member field, or member variable.
             case SemanticTokenTypes.Property:
-                if (hasTokenModifiers(tokenModifiers, SemanticTokenModifiers.Static)) {
-                    if (hasTokenModifiers(tokenModifiers, SemanticTokenModifiers.Readonly)) {
+                if ((modifiers & STATIC) != 0) {
+                    if ((modifiers & READONLY) != 0) {
                         // with static, readonly modifiers
                         return SemanticTokensHighlightingColors.STATIC_READONLY_PROPERTY;
                     }
                     // with static readonly modifiers
                     return SemanticTokensHighlightingColors.STATIC_PROPERTY;
                 }
-                if (hasTokenModifiers(tokenModifiers, SemanticTokenModifiers.Readonly)) {
+                if ((modifiers & READONLY) != 0) {
                     // with readonly modifiers
                     return SemanticTokensHighlightingColors.READONLY_PROPERTY;
                 }
@@ -116,14 +159,11 @@ public class AngelScriptSemanticTokensColorProvider implements SemanticTokensCol
 
             // function: for identifiers that declare a function.
             case SemanticTokenTypes.Function:
-                if (hasTokenModifiers(tokenModifiers,
-                        SemanticTokenModifiers.DefaultLibrary)) {
+                if ((modifiers & DEFAULT_LIBRARY) != 0) {
                     // with defaultLibrary modifiers
                     return SemanticTokensHighlightingColors.DEFAULT_LIBRARY_FUNCTION;
                 }
-                if (hasTokenModifiers(tokenModifiers,
-                        SemanticTokenModifiers.Declaration,
-                        SemanticTokenModifiers.Definition)) {
+                if ((modifiers & DECLARATION) != 0) {
                     // with declaration, definition modifiers
                     return SemanticTokensHighlightingColors.FUNCTION_DECLARATION;
                 }
@@ -132,14 +172,11 @@ public class AngelScriptSemanticTokensColorProvider implements SemanticTokensCol
 
             // method: for identifiers that declare a member function or method.
             case SemanticTokenTypes.Method: {
-                if (hasTokenModifiers(tokenModifiers,
-                        SemanticTokenModifiers.Declaration,
-                        SemanticTokenModifiers.Definition)) {
+                if ((modifiers & DECLARATION) != 0) {
                     // with declaration, definition modifiers
                     return SemanticTokensHighlightingColors.METHOD_DECLARATION;
                 }
-                if (hasTokenModifiers(tokenModifiers,
-                        SemanticTokenModifiers.Static)) {
+                if ((modifiers & STATIC) != 0) {
                     // with static modifiers
                     return SemanticTokensHighlightingColors.STATIC_METHOD;
                 }
@@ -190,17 +227,4 @@ public class AngelScriptSemanticTokensColorProvider implements SemanticTokensCol
         }
         return null;
     }
-
-    protected boolean hasTokenModifiers(List<String> tokenModifiers, String... checkedTokenModifiers) {
-        if (tokenModifiers.isEmpty()) {
-            return false;
-        }
-        for (var modifier : checkedTokenModifiers) {
-            if (tokenModifiers.contains(modifier)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-}
\ No newline at end of file
+}
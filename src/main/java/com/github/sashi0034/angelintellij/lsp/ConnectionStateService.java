@@ -2,37 +2,130 @@ package com.github.sashi0034.angelintellij.lsp;
 
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-public class ConnectionStateService {
-    public enum State { DISCONNECTED, CONNECTING, CONNECTED }
+/**
+ * Connection state of the project's language server: whether it runs and whether it is connected to Unreal.
+ * <p>
+ * Every start of the server is a new instance, and updates from an instance that has been replaced since,
+ * e.g. the stop of the previous process or its late notifications, are ignored. The state changes several
+ * times while a server starts, so listeners get only the latest state, on the EDT and at most once every
+ * {@link #DELIVERY_INTERVAL_MS}.
+ */
+public final class ConnectionStateService implements Disposable {
+    private static final Logger LOG = Logger.getInstance(ConnectionStateService.class);
+
+    /**
+     * {@code WAITING_FOR_UNREAL}: the language server runs but is not connected to the Unreal editor.
+     * In offline mode the server does not wait for Unreal and counts as {@code CONNECTED}.
+     */
+    public enum State { DISCONNECTED, CONNECTING, WAITING_FOR_UNREAL, CONNECTED }
 
     public interface Listener {
+        /**
+         * Called on the EDT with the latest state.
+         */
         void onStateChanged(State state);
     }
 
     public static final Topic<Listener> TOPIC = Topic.create("AngelScriptConnectionState", Listener.class);
 
-    private final AtomicReference<State> state = new AtomicReference<>(State.DISCONNECTED);
+    // Changes within this delay are delivered together
+    static final long COALESCE_DELAY_MS = 50;
+    static final long DELIVERY_INTERVAL_MS = 250;
+
+    private final Project project;
+    private State state = State.DISCONNECTED;
+    private long instance;
+    private State delivered = State.DISCONNECTED;
+    private long lastDeliveryNanos;
+    private ScheduledFuture<?> pendingDelivery;
 
-    public static ConnectionStateService getInstance() {
-        return ApplicationManager.getApplication().getService(ConnectionStateService.class);
+    public ConnectionStateService(@NotNull Project project) {
+        this.project = project;
+        lastDeliveryNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(DELIVERY_INTERVAL_MS);
     }
 
-    public State getState() {
-        return state.get();
+    public static ConnectionStateService getInstance(@NotNull Project project) {
+        return project.getService(ConnectionStateService.class);
     }
 
-    public void setState(State newState) {
-        State old = state.getAndSet(newState);
-        if (old != newState) {
-            ApplicationManager.getApplication().getMessageBus().syncPublisher(TOPIC).onStateChanged(newState);
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * The server instance that started last.
+     */
+    public synchronized long getServerInstance() {
+        return instance;
+    }
+
+    /**
+     * Replaces the current server instance with a new one in {@code CONNECTING} state.
+     *
+     * @return the new instance, to pass to {@link #setState}
+     */
+    public synchronized long startServerInstance() {
+        instance++;
+        update(State.CONNECTING);
+        return instance;
+    }
+
+    /**
+     * Sets the state of the given server instance, unless a newer instance replaced it.
+     */
+    public synchronized void setState(long serverInstance, State newState) {
+        if (serverInstance != instance) {
+            LOG.debug("Ignoring " + newState + " of replaced AngelScript server instance " + serverInstance);
+            return;
         }
+        update(newState);
     }
 
-    public void subscribe(Listener listener, Disposable parent) {
-        ApplicationManager.getApplication().getMessageBus().connect(parent).subscribe(TOPIC, listener);
+    private void update(State newState) {
+        if (state == newState) {
+            return;
+        }
+        state = newState;
+        if (pendingDelivery == null) {
+            long sinceLastMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastDeliveryNanos);
+            pendingDelivery = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+                    () -> ApplicationManager.getApplication().invokeLater(this::deliver, project.getDisposed()),
+                    Math.max(COALESCE_DELAY_MS, DELIVERY_INTERVAL_MS - sinceLastMs), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes the latest state unless listeners already got it. Runs on the EDT.
+     */
+    void deliver() {
+        State latest;
+        synchronized (this) {
+            pendingDelivery = null;
+            lastDeliveryNanos = System.nanoTime();
+            if (state == delivered) {
+                return;
+            }
+            latest = delivered = state;
+        }
+        if (!project.isDisposed()) {
+            project.getMessageBus().syncPublisher(TOPIC).onStateChanged(latest);
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (pendingDelivery != null) {
+            pendingDelivery.cancel(false);
+            pendingDelivery = null;
+        }
     }
 }
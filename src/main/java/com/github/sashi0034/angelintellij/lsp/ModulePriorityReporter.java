@@ -0,0 +1,127 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.fileEditor.ex.IdeDocumentHistory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Tells the language server which scripts to index first: the selected editors, then the other open
+ * editors, then recently edited files. Reported when the server starts and whenever the editors change.
+ */
+final class ModulePriorityReporter implements Disposable {
+    private static final Logger LOG = Logger.getInstance(ModulePriorityReporter.class);
+
+    private static final int MAX_URIS = 50;
+    private static final long REPORT_DELAY_MS = 300;
+
+    private final Project project;
+    private final Supplier<@Nullable LanguageServer> server;
+    private ScheduledFuture<?> pendingReport;
+    private List<String> lastReported = List.of();
+
+    ModulePriorityReporter(@NotNull Project project, @NotNull Supplier<@Nullable LanguageServer> server) {
+        this.project = project;
+        this.server = server;
+        project.getMessageBus().connect(this).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER,
+                new FileEditorManagerListener() {
+                    @Override
+                    public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+                        scheduleReport();
+                    }
+
+                    @Override
+                    public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+                        scheduleReport();
+                    }
+                });
+    }
+
+    /**
+     * Reports the current documents shortly, coalescing the bursts of editor events a tab switch causes.
+     */
+    synchronized void scheduleReport() {
+        if (pendingReport != null) {
+            pendingReport.cancel(false);
+        }
+        pendingReport = AppExecutorUtil.getAppScheduledExecutorService()
+                .schedule(this::report, REPORT_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Forgets what was last reported, so the next report reaches a freshly started server.
+     */
+    synchronized void reset() {
+        lastReported = List.of();
+    }
+
+    private void report() {
+        if (project.isDisposed()) {
+            return;
+        }
+        LanguageServer languageServer = server.get();
+        if (!(languageServer instanceof AngelScriptLanguageServer angelScriptServer)) {
+            return;
+        }
+        List<String> uris = ReadAction.compute(() -> collectUris(project));
+        synchronized (this) {
+            if (uris.isEmpty() || uris.equals(lastReported)) {
+                return;
+            }
+            lastReported = uris;
+        }
+        LOG.debug("Prioritizing " + uris.size() + " AngelScript module(s)");
+        angelScriptServer.prioritizeModules(new AngelScriptLanguageServer.PrioritizeModulesParams(uris));
+    }
+
+    static @NotNull List<String> collectUris(@NotNull Project project) {
+        if (project.isDisposed()) {
+            return List.of();
+        }
+        FileEditorManager editors = FileEditorManager.getInstance(project);
+        Set<VirtualFile> files = new LinkedHashSet<>(List.of(editors.getSelectedFiles()));
+        files.addAll(List.of(editors.getOpenFiles()));
+        // Most recently changed last
+        List<VirtualFile> changed = IdeDocumentHistory.getInstance(project).getChangedFiles();
+        for (int i = changed.size() - 1; i >= 0; i--) {
+            files.add(changed.get(i));
+        }
+
+        List<String> uris = new ArrayList<>();
+        for (VirtualFile file : files) {
+            if (uris.size() >= MAX_URIS) {
+                break;
+            }
+            if (file.isValid() && !file.isDirectory() && "as".equals(file.getExtension())) {
+                uris.add(LSPIJUtils.toUri(file).toASCIIString());
+            }
+        }
+        return uris;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (pendingReport != null) {
+            pendingReport.cancel(false);
+            pendingReport = null;
+        }
+    }
+}
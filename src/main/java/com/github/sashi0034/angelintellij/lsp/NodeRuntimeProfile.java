@@ -0,0 +1,183 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.github.sashi0034.angelintellij.settings.AngelScriptSettings;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * V8 heap and GC flags passed to the Node.js process running the language server.
+ * <p>
+ * A value of {@code 0} leaves the corresponding limit at the Node.js default.
+ */
+public final class NodeRuntimeProfile {
+    private static final Logger LOG = Logger.getInstance(NodeRuntimeProfile.class);
+
+    // The Unreal type database alone needs about this much, regardless of the script count
+    static final int BASE_OLD_SPACE_MB = 1024;
+    static final int OLD_SPACE_MB_PER_SCRIPT = 2;
+    static final int MAX_AUTO_OLD_SPACE_MB = 8192;
+
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(
+            "Binaries", "Intermediate", "Saved", "DerivedDataCache", "node_modules");
+
+    private final int maxOldSpaceMb;
+    private final int maxSemiSpaceMb;
+    private final boolean exposeGc;
+    private final boolean jitless;
+
+    public NodeRuntimeProfile(int maxOldSpaceMb, int maxSemiSpaceMb, boolean exposeGc, boolean jitless) {
+        this.maxOldSpaceMb = maxOldSpaceMb;
+        this.maxSemiSpaceMb = maxSemiSpaceMb;
+        this.exposeGc = exposeGc;
+        this.jitless = jitless;
+    }
+
+    /**
+     * Builds the profile from the settings, sizing the heap from the project's script count when auto-sizing is on.
+     */
+    public static @NotNull NodeRuntimeProfile fromSettings(@Nullable Project project) {
+        AngelScriptSettings.State state = AngelScriptSettings.getInstance().getState();
+        if (!state.autoSizeHeap) {
+            return new NodeRuntimeProfile(state.maxOldSpaceSizeMb, state.maxSemiSpaceSizeMb, state.exposeGc, state.jitless);
+        }
+        int scriptCount = project != null ? countScripts(project) : 0;
+        NodeRuntimeProfile sized = autoSized(scriptCount, getPhysicalMemoryMb());
+        LOG.info("Auto-sized language server heap for " + scriptCount + " script files: "
+                + sized.maxOldSpaceMb + " MB old space, " + sized.maxSemiSpaceMb + " MB semi space");
+        return new NodeRuntimeProfile(sized.maxOldSpaceMb, sized.maxSemiSpaceMb, state.exposeGc, state.jitless);
+    }
+
+    /**
+     * Heap limits for a workspace with the given number of {@code .as} files, never claiming more than half
+     * of the machine's memory.
+     */
+    static @NotNull NodeRuntimeProfile autoSized(int scriptCount, long physicalMemoryMb) {
+        int oldSpace = BASE_OLD_SPACE_MB + scriptCount * OLD_SPACE_MB_PER_SCRIPT;
+        oldSpace = roundUp(oldSpace, 256);
+        oldSpace = Math.min(oldSpace, MAX_AUTO_OLD_SPACE_MB);
+        if (physicalMemoryMb > 0) {
+            oldSpace = (int) Math.max(BASE_OLD_SPACE_MB / 2, Math.min(oldSpace, physicalMemoryMb / 2));
+        }
+
+        // A larger young generation lets the parse-heavy startup finish with fewer scavenges
+        int semiSpace;
+        if (scriptCount >= 2000) {
+            semiSpace = 64;
+        } else if (scriptCount >= 500) {
+            semiSpace = 32;
+        } else {
+            semiSpace = 16;
+        }
+        return new NodeRuntimeProfile(oldSpace, semiSpace, false, false);
+    }
+
+    /**
+     * Node.js arguments to place before the script path.
+     */
+    public @NotNull List<String> toNodeArguments() {
+        List<String> arguments = new ArrayList<>();
+        if (maxOldSpaceMb > 0) {
+            arguments.add("--max-old-space-size=" + maxOldSpaceMb);
+        }
+        if (maxSemiSpaceMb > 0) {
+            arguments.add("--max-semi-space-size=" + maxSemiSpaceMb);
+        }
+        if (exposeGc) {
+            arguments.add("--expose-gc");
+        }
+        if (jitless) {
+            arguments.add("--jitless");
+        }
+        return arguments;
+    }
+
+    public int getMaxOldSpaceMb() {
+        return maxOldSpaceMb;
+    }
+
+    public int getMaxSemiSpaceMb() {
+        return maxSemiSpaceMb;
+    }
+
+    public boolean isExposeGc() {
+        return exposeGc;
+    }
+
+    public boolean isJitless() {
+        return jitless;
+    }
+
+    private static int countScripts(Project project) {
+        if (!DumbService.isDumb(project)) {
+            try {
+                return ReadAction.compute(() ->
+                        FilenameIndex.getAllFilesByExt(project, "as", GlobalSearchScope.projectScope(project)).size());
+            } catch (IndexNotReadyException e) {
+                // Indexing started in the meantime, count on disk instead
+            }
+        }
+        String basePath = project.getBasePath();
+        return basePath != null ? countScriptsOnDisk(Path.of(basePath)) : 0;
+    }
+
+    static int countScriptsOnDisk(Path root) {
+        int[] count = {0};
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                    if (!dir.equals(root) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (file.getFileName().toString().endsWith(".as")) {
+                        count[0]++;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.debug("Could not count script files below " + root, e);
+        }
+        return count[0];
+    }
+
+    private static long getPhysicalMemoryMb() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getTotalMemorySize() / (1024 * 1024);
+        }
+        return 0;
+    }
+
+    private static int roundUp(int value, int step) {
+        return (value + step - 1) / step * step;
+    }
+}
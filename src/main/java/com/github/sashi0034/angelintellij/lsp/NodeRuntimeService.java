@@ -0,0 +1,233 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds the Node.js runtime that runs the language server.
+ * Discovery runs once per IDE session on a pooled thread; every project and every server start reuse its result.
+ */
+public final class NodeRuntimeService {
+    private static final Logger LOG = Logger.getInstance(NodeRuntimeService.class);
+
+    /**
+     * Oldest Node.js the bundled server is built for.
+     */
+    static final int MIN_MAJOR_VERSION = 14;
+
+    private static final long PROBE_TIMEOUT_MS = 5000;
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^v?(\\d+)\\.(\\d+)\\.(\\d+)");
+
+    /**
+     * A Node.js installation that answered {@code node -v}.
+     */
+    public record NodeRuntime(@NotNull Path executable, @NotNull String version, int major, int minor) {
+        /**
+         * Node.js 22.1+ has the built-in module compile cache the warm-start bootstrap prefers.
+         */
+        public boolean hasModuleCompileCache() {
+            return major > 22 || (major == 22 && minor >= 1);
+        }
+
+        public boolean isSupported() {
+            return major >= MIN_MAJOR_VERSION;
+        }
+    }
+
+    private CompletableFuture<@Nullable NodeRuntime> resolution;
+
+    public static NodeRuntimeService getInstance() {
+        return ApplicationManager.getApplication().getService(NodeRuntimeService.class);
+    }
+
+    /**
+     * Starts discovery on the first call and returns its result; completes with {@code null} if there is no Node.js.
+     */
+    public synchronized @NotNull CompletableFuture<@Nullable NodeRuntime> resolveAsync() {
+        if (resolution == null) {
+            resolution = CompletableFuture.supplyAsync(NodeRuntimeService::discover, AppExecutorUtil.getAppExecutorService());
+        }
+        return resolution;
+    }
+
+    /**
+     * Waits for discovery. Only for callers that already run off the EDT, like a server start.
+     * Discovers again if the cached executable went away, e.g. after a version manager switched versions.
+     */
+    public @Nullable NodeRuntime getRuntime() {
+        NodeRuntime runtime = resolveAsync().join();
+        if (runtime != null && !Files.isExecutable(runtime.executable())) {
+            LOG.info("Node.js at " + runtime.executable() + " is gone, looking for it again");
+            invalidate();
+            runtime = resolveAsync().join();
+        }
+        return runtime;
+    }
+
+    /**
+     * Forgets the discovered runtime so the next request looks again.
+     */
+    public synchronized void invalidate() {
+        resolution = null;
+    }
+
+    private static @Nullable NodeRuntime discover() {
+        long start = System.nanoTime();
+        String home = System.getProperty("user.home");
+        NodeRuntime runtime = discover(
+                findOnPath(System.getenv("PATH"), SystemInfo.isWindows),
+                findInKnownLocations(home != null ? Path.of(home) : null, SystemInfo.isWindows));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (runtime == null) {
+            LOG.info("No Node.js installation found (" + elapsedMs + " ms)");
+        } else {
+            LOG.info("Using Node.js " + runtime.version() + " at " + runtime.executable() + " (" + elapsedMs + " ms)");
+        }
+        return runtime;
+    }
+
+    /**
+     * Picks the first working runtime on PATH, like a shell would; otherwise the newest one installed in a
+     * well-known location, which covers IDEs started from a desktop launcher with a minimal PATH.
+     */
+    static @Nullable NodeRuntime discover(@NotNull List<Path> pathCandidates, @NotNull List<Path> knownLocations) {
+        for (Path candidate : pathCandidates) {
+            NodeRuntime runtime = probe(candidate);
+            if (runtime != null && runtime.isSupported()) {
+                return runtime;
+            }
+        }
+        NodeRuntime newest = null;
+        for (Path candidate : knownLocations) {
+            NodeRuntime runtime = probe(candidate);
+            if (runtime != null && runtime.isSupported() && (newest == null || compare(runtime, newest) > 0)) {
+                newest = runtime;
+            }
+        }
+        return newest;
+    }
+
+    private static int compare(NodeRuntime a, NodeRuntime b) {
+        return a.major() != b.major() ? Integer.compare(a.major(), b.major()) : Integer.compare(a.minor(), b.minor());
+    }
+
+    static @NotNull List<Path> findOnPath(@Nullable String pathVariable, boolean windows) {
+        List<Path> candidates = new ArrayList<>();
+        if (pathVariable == null) {
+            return candidates;
+        }
+        String executableName = windows ? "node.exe" : "node";
+        for (String entry : pathVariable.split(File.pathSeparator)) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            try {
+                Path candidate = Path.of(entry.trim()).resolve(executableName);
+                if (Files.isRegularFile(candidate) && !candidates.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Malformed PATH entry
+            }
+        }
+        return candidates;
+    }
+
+    static @NotNull List<Path> findInKnownLocations(@Nullable Path home, boolean windows) {
+        List<Path> candidates = new ArrayList<>();
+        if (windows) {
+            addIfPresent(candidates, envPath("ProgramFiles", "nodejs", "node.exe"));
+            addIfPresent(candidates, envPath("NVM_SYMLINK", "node.exe"));
+            addVersionDirectories(candidates, envPath("NVM_HOME"), "node.exe");
+            addIfPresent(candidates, envPath("LOCALAPPDATA", "Volta", "bin", "node.exe"));
+        } else {
+            addIfPresent(candidates, Path.of("/usr/local/bin/node"));
+            addIfPresent(candidates, Path.of("/opt/homebrew/bin/node"));
+            addIfPresent(candidates, Path.of("/usr/bin/node"));
+            if (home != null) {
+                addIfPresent(candidates, home.resolve(".volta/bin/node"));
+                addVersionDirectories(candidates, home.resolve(".nvm/versions/node"), "bin/node");
+                addVersionDirectories(candidates, home.resolve(".local/share/fnm/node-versions"), "installation/bin/node");
+            }
+        }
+        return candidates;
+    }
+
+    private static @Nullable Path envPath(String variable, String... more) {
+        String value = System.getenv(variable);
+        return value == null || value.isBlank() ? null : Path.of(value, more);
+    }
+
+    private static void addIfPresent(List<Path> candidates, @Nullable Path candidate) {
+        if (candidate != null && Files.isRegularFile(candidate) && !candidates.contains(candidate)) {
+            candidates.add(candidate);
+        }
+    }
+
+    private static void addVersionDirectories(List<Path> candidates, @Nullable Path root, String executable) {
+        if (root == null || !Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> versions = Files.list(root)) {
+            versions.sorted()
+                    .forEach(version -> addIfPresent(candidates, version.resolve(executable)));
+        } catch (IOException e) {
+            LOG.debug("Could not list " + root, e);
+        }
+    }
+
+    /**
+     * Runs {@code <executable> -v}; {@code null} if it does not answer with a version in time.
+     */
+    static @Nullable NodeRuntime probe(@NotNull Path executable) {
+        try {
+            Process process = new ProcessBuilder(executable.toString(), "-v")
+                    .redirectErrorStream(true)
+                    .start();
+            process.getOutputStream().close();
+            if (!process.waitFor(PROBE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                LOG.info(executable + " -v did not answer in time");
+                return null;
+            }
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            return process.exitValue() == 0 ? parse(executable, output) : null;
+        } catch (IOException e) {
+            LOG.debug("Could not run " + executable, e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    static @Nullable NodeRuntime parse(@NotNull Path executable, @NotNull String versionOutput) {
+        Matcher matcher = VERSION_PATTERN.matcher(versionOutput.trim());
+        if (!matcher.find()) {
+            return null;
+        }
+        return new NodeRuntime(executable, "v" + matcher.group(1) + "." + matcher.group(2) + "." + matcher.group(3),
+                Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
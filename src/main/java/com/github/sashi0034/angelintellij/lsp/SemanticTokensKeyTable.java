@@ -0,0 +1,113 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link TextAttributesKey} of every (token type, modifiers) combination of one semantic tokens legend,
+ * resolved once when the legend is known.
+ * <p>
+ * Types are numbered as in the legend, followed by the types {@link AngelScriptSemanticTokensColorProvider}
+ * knows but the legend does not announce. Only the modifiers the mapping looks at matter, so they are folded
+ * into a few flags and a key is found at {@code type * FLAG_COMBINATIONS + flags}.
+ */
+final class SemanticTokensKeyTable {
+    // Declaration and definition select the same keys, so they share a flag
+    static final int DECLARATION = 1;
+    static final int STATIC = 1 << 1;
+    static final int READONLY = 1 << 2;
+    static final int DEFAULT_LIBRARY = 1 << 3;
+    private static final int FLAG_COMBINATIONS = 1 << 4;
+
+    private static final Map<String, Integer> MODIFIER_FLAGS = Map.of(
+            SemanticTokenModifiers.Declaration, DECLARATION,
+            SemanticTokenModifiers.Definition, DECLARATION,
+            SemanticTokenModifiers.Static, STATIC,
+            SemanticTokenModifiers.Readonly, READONLY,
+            SemanticTokenModifiers.DefaultLibrary, DEFAULT_LIBRARY);
+
+    private final List<String> legendTypes;
+    private final List<String> legendModifiers;
+    private final Map<String, Integer> typeIndices;
+    private final int[] legendModifierFlags;
+    private final TextAttributesKey[] keys;
+
+    private SemanticTokensKeyTable(List<String> legendTypes, List<String> legendModifiers) {
+        this.legendTypes = List.copyOf(legendTypes);
+        this.legendModifiers = List.copyOf(legendModifiers);
+
+        List<String> types = new ArrayList<>(legendTypes);
+        for (String type : AngelScriptSemanticTokensColorProvider.KNOWN_TOKEN_TYPES) {
+            if (!types.contains(type)) {
+                types.add(type);
+            }
+        }
+        typeIndices = new HashMap<>(types.size() * 2);
+        for (int i = types.size() - 1; i >= 0; i--) {
+            // A type listed twice resolves to its first index, like the legend lookup of the client
+            typeIndices.put(types.get(i), i);
+        }
+
+        legendModifierFlags = new int[legendModifiers.size()];
+        for (int i = 0; i < legendModifierFlags.length; i++) {
+            legendModifierFlags[i] = MODIFIER_FLAGS.getOrDefault(legendModifiers.get(i), 0);
+        }
+
+        keys = new TextAttributesKey[types.size() * FLAG_COMBINATIONS];
+        for (int type = 0; type < types.size(); type++) {
+            for (int flags = 0; flags < FLAG_COMBINATIONS; flags++) {
+                keys[type * FLAG_COMBINATIONS + flags] = AngelScriptSemanticTokensColorProvider.resolve(types.get(type), flags);
+            }
+        }
+    }
+
+    static @NotNull SemanticTokensKeyTable create(@NotNull List<String> tokenTypes, @NotNull List<String> tokenModifiers) {
+        return new SemanticTokensKeyTable(tokenTypes, tokenModifiers);
+    }
+
+    boolean isFor(@NotNull List<String> tokenTypes, @NotNull List<String> tokenModifiers) {
+        return legendTypes.equals(tokenTypes) && legendModifiers.equals(tokenModifiers);
+    }
+
+    /**
+     * Looks up a token as encoded on the wire: its index into the legend types and its legend modifier bitmask.
+     */
+    @Nullable TextAttributesKey get(int typeIndex, int modifierBits) {
+        if (typeIndex < 0 || typeIndex >= legendTypes.size()) {
+            return null;
+        }
+        int flags = 0;
+        for (int bits = modifierBits; bits != 0; bits &= bits - 1) {
+            int modifier = Integer.numberOfTrailingZeros(bits);
+            if (modifier < legendModifierFlags.length) {
+                flags |= legendModifierFlags[modifier];
+            }
+        }
+        return keys[typeIndex * FLAG_COMBINATIONS + flags];
+    }
+
+    /**
+     * Looks up a token the client already decoded into the legend strings.
+     */
+    @Nullable TextAttributesKey get(@NotNull String tokenType, @NotNull List<String> tokenModifiers) {
+        Integer typeIndex = typeIndices.get(tokenType);
+        if (typeIndex == null) {
+            return null;
+        }
+        int flags = 0;
+        for (int i = 0, count = tokenModifiers.size(); i < count; i++) {
+            Integer flag = MODIFIER_FLAGS.get(tokenModifiers.get(i));
+            if (flag != null) {
+                flags |= flag;
+            }
+        }
+        return keys[typeIndex * FLAG_COMBINATIONS + flags];
+    }
+}
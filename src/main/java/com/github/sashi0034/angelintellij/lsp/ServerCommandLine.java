@@ -0,0 +1,75 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.github.sashi0034.angelintellij.settings.AngelScriptSettings;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * Builds the command line that launches the bundled language server.
+ * Both the per-project and the shared connection providers start the server through here.
+ */
+public final class ServerCommandLine {
+    static final String TYPE_CACHE_DIR_ENV = "ANGELSCRIPT_TYPE_CACHE_DIR";
+    static final String OFFLINE_ENV = "ANGELSCRIPT_OFFLINE";
+    static final String TYPE_DATABASE_ENV = "ANGELSCRIPT_TYPE_DATABASE";
+    private static final String NODE_COMPILE_CACHE_ENV = "NODE_COMPILE_CACHE";
+    private static final String TYPE_CACHE_DIR_NAME = "angelscript-typedb";
+
+    private ServerCommandLine() {
+    }
+
+    /**
+     * Directory the server persists the Unreal type database in, one file per workspace.
+     * Kept outside the script cache so it survives plugin updates.
+     */
+    public static @NotNull Path getTypeCacheDir() {
+        return Path.of(PathManager.getSystemPath(), TYPE_CACHE_DIR_NAME);
+    }
+
+    /**
+     * Builds the command line with the runtime profile from the current settings, so every (re)start picks up changes.
+     *
+     * @param project project used to size the heap, or {@code null} to use the defaults
+     */
+    public static @NotNull GeneralCommandLine create(@Nullable Project project) {
+        AngelScriptSettings.State settings = AngelScriptSettings.getInstance().getState();
+
+        // Reuse the script extracted by an earlier start instead of copying it out of the jar again
+        Path serverScript = ServerScriptCache.getServerScript();
+
+        // The runtime found at IDE startup; plain "node" still gives a readable error when there is none
+        NodeRuntimeService.NodeRuntime runtime = NodeRuntimeService.getInstance().getRuntime();
+        GeneralCommandLine commandLine = new GeneralCommandLine(runtime != null ? runtime.executable().toString() : "node");
+        commandLine.addParameters(NodeRuntimeProfile.fromSettings(project).toNodeArguments());
+        if (settings.warmStart && runtime != null && runtime.hasModuleCompileCache()) {
+            // Node.js keeps the compile cache itself, no bootstrap needed
+            commandLine.addParameter(serverScript.toString());
+            commandLine.withEnvironment(NODE_COMPILE_CACHE_ENV, ServerScriptCache.getCodeCacheDir().toString());
+        } else if (settings.warmStart) {
+            // The bootstrap loads the script through the V8 code cache stored next to it
+            commandLine.addParameter(ServerScriptCache.getBootstrapScript().toString());
+            commandLine.addParameter(serverScript.toString());
+            commandLine.addParameter(ServerScriptCache.getCodeCacheDir().toString());
+        } else {
+            commandLine.addParameter(serverScript.toString());
+        }
+
+        if (settings.cacheTypeDatabase) {
+            // Lets the server start with the Unreal types it received last time
+            commandLine.withEnvironment(TYPE_CACHE_DIR_ENV, getTypeCacheDir().toString());
+        }
+        if (settings.offlineMode) {
+            // The server skips the Unreal connection and serves the types it has on disk
+            commandLine.withEnvironment(OFFLINE_ENV, "1");
+            if (settings.offlineTypeDatabase != null && !settings.offlineTypeDatabase.isBlank()) {
+                commandLine.withEnvironment(TYPE_DATABASE_ENV, settings.offlineTypeDatabase);
+            }
+        }
+        return commandLine;
+    }
+}
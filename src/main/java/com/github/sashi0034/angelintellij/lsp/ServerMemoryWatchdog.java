@@ -0,0 +1,183 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.github.sashi0034.angelintellij.settings.AngelScriptSettings;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restarts the project's language server once its process grows past
+ * {@link AngelScriptSettings.State#recycleServerRssMb}, instead of letting the machine swap.
+ * <p>
+ * A server grows slowly over a day of edits and Unreal hot reloads. Its resident memory is sampled every
+ * {@link #SAMPLE_INTERVAL_MS}, from {@code /proc/<pid>/status} on Linux and from the server's own
+ * {@code angelscript/stats} reports elsewhere. Past the threshold the restart waits for a quiet moment: the
+ * server is not indexing and the IDE sent it nothing since the previous sample. Past
+ * {@link #FORCE_RECYCLE_FACTOR} times the threshold it does not wait. The new server reloads the type
+ * database and the V8 code cache from disk, and lsp4ij reopens the open documents.
+ * <p>
+ * Only servers with a process of their own are recycled; the shared server would drop every project at once.
+ */
+public final class ServerMemoryWatchdog implements Disposable {
+    private static final Logger LOG = Logger.getInstance(ServerMemoryWatchdog.class);
+
+    static final long SAMPLE_INTERVAL_MS = 30_000;
+    static final double FORCE_RECYCLE_FACTOR = 1.5;
+    // A younger server is not recycled; it grows while indexing and would be recycled over and over
+    static final long MIN_UPTIME_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Project project;
+    private long instance = -1;
+    private @Nullable ProcessHandle process;
+    private long startedAt;
+    private long lastMessagesToServer = -1;
+    private long rssBytes = -1;
+    private int recycles;
+    private @Nullable ScheduledFuture<?> nextSample;
+
+    public ServerMemoryWatchdog(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static ServerMemoryWatchdog getInstance(@NotNull Project project) {
+        return project.getService(ServerMemoryWatchdog.class);
+    }
+
+    /**
+     * Samples the process of a newly started server instance until it exits.
+     */
+    public synchronized void watch(long serverInstance, @NotNull ProcessHandle serverProcess) {
+        instance = serverInstance;
+        process = serverProcess;
+        startedAt = System.currentTimeMillis();
+        lastMessagesToServer = -1;
+        rssBytes = -1;
+        if (nextSample != null) {
+            nextSample.cancel(false);
+        }
+        nextSample = AppExecutorUtil.getAppScheduledExecutorService()
+                .schedule(this::sample, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Resident memory of the server process at the last sample, or {@code -1} if unknown.
+     */
+    public synchronized long getRssBytes() {
+        return rssBytes;
+    }
+
+    /**
+     * Servers restarted for their memory since the IDE started.
+     */
+    public synchronized int getRecycles() {
+        return recycles;
+    }
+
+    private void sample() {
+        long sampledInstance;
+        ProcessHandle sampled;
+        long uptimeMs;
+        synchronized (this) {
+            nextSample = null;
+            sampledInstance = instance;
+            sampled = process;
+            uptimeMs = System.currentTimeMillis() - startedAt;
+        }
+        if (sampled == null || !sampled.isAlive() || project.isDisposed()) {
+            return;
+        }
+
+        long rss = readRss(sampled.pid());
+        ServerStatsService.Stats stats = ServerStatsService.getInstance(project).getStats();
+        if (rss < 0 && stats != null) {
+            rss = stats.rss;
+        }
+        long messagesToServer = WireMeterService.getInstance(project).getMeter().snapshot().messagesToServer();
+        long thresholdBytes = AngelScriptSettings.getInstance().getState().recycleServerRssMb * 1024L * 1024L;
+
+        boolean recycle;
+        synchronized (this) {
+            if (sampledInstance != instance) {
+                return;
+            }
+            boolean quiet = messagesToServer == lastMessagesToServer && (stats == null || !stats.indexing);
+            lastMessagesToServer = messagesToServer;
+            rssBytes = rss;
+            recycle = shouldRecycle(rss, thresholdBytes, uptimeMs, quiet);
+            if (recycle) {
+                recycles++;
+                process = null;
+            } else {
+                nextSample = AppExecutorUtil.getAppScheduledExecutorService()
+                        .schedule(this::sample, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (recycle) {
+            LOG.info("Restarting AngelScript Language Server: process uses " + StringUtil.formatFileSize(rss)
+                    + " after " + StringUtil.formatDuration(uptimeMs) + ", above " + StringUtil.formatFileSize(thresholdBytes));
+            LanguageServerManager manager = LanguageServerManager.getInstance(project);
+            manager.stop(AngelScriptLanguageServerFactory.SERVER_ID);
+            manager.start(AngelScriptLanguageServerFactory.SERVER_ID);
+        }
+    }
+
+    static boolean shouldRecycle(long rssBytes, long thresholdBytes, long uptimeMs, boolean quiet) {
+        if (thresholdBytes <= 0 || rssBytes < thresholdBytes || uptimeMs < MIN_UPTIME_MS) {
+            return false;
+        }
+        return quiet || rssBytes >= thresholdBytes * FORCE_RECYCLE_FACTOR;
+    }
+
+    /**
+     * Resident memory of a process from {@code /proc}, or {@code -1} where there is none.
+     */
+    static long readRss(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            return parseVmRss(Files.readString(status));
+        } catch (IOException e) {
+            LOG.debug("Cannot read " + status, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the {@code VmRSS:  123456 kB} line of a {@code /proc/<pid>/status} file, in bytes.
+     */
+    static long parseVmRss(@NotNull String status) {
+        for (String line : status.split("\n")) {
+            if (line.startsWith("VmRSS:")) {
+                String[] fields = line.substring("VmRSS:".length()).trim().split("\\s+");
+                try {
+                    return Long.parseLong(fields[0]) * 1024;
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (nextSample != null) {
+            nextSample.cancel(false);
+            nextSample = null;
+        }
+        process = null;
+    }
+}
@@ -0,0 +1,328 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManagerCore;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.extensions.PluginId;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent extraction cache for the bundled language server script and its warm-start bootstrap.
+ * <p>
+ * The scripts are extracted once into {@code <system>/angelscript-lsp/<plugin version>-<content hash>/} and reused by
+ * every later server start, in every project and every IDE process sharing the same system directory.
+ * Extraction goes through a temporary file and an atomic rename, so concurrent writers can never expose a
+ * partially written script. The V8 code cache written by the bootstrap lives in the same directory, so it is
+ * dropped together with the script it was compiled from.
+ */
+final class ServerScriptCache {
+    private static final Logger LOG = Logger.getInstance(ServerScriptCache.class);
+
+    static final String SERVER_RESOURCE = "/js/angelscript-language-server.js";
+    static final String SERVER_FILE_NAME = "angelscript-language-server.js";
+    static final String BOOTSTRAP_RESOURCE = "/js/angelscript-lsp-bootstrap.js";
+    static final String BOOTSTRAP_FILE_NAME = "angelscript-lsp-bootstrap.js";
+    static final String CODE_CACHE_DIR_NAME = "code-cache";
+    static final String LOCK_FILE_NAME = ".lock";
+    // Entries of plugin versions that wrote no lock file are kept while anything in them changed more recently
+    static final long UNLOCKED_ENTRY_MAX_AGE_MS = TimeUnit.DAYS.toMillis(7);
+
+    private static final String PLUGIN_ID = "api.haus.unreal-angelscript";
+    private static final String CACHE_DIR_NAME = "angelscript-lsp";
+
+    private static final Map<String, String> RESOURCE_FILES = Map.of(
+            SERVER_RESOURCE, SERVER_FILE_NAME,
+            BOOTSTRAP_RESOURCE, BOOTSTRAP_FILE_NAME);
+
+    private static final Map<String, byte[]> resourceDigests = new HashMap<>();
+    private static long serverResourceSize = -1;
+    private static volatile Path validatedScript;
+    // Shared locks on the entries this IDE process runs servers from, held until it exits
+    private static final Map<Path, FileChannel> heldLocks = new HashMap<>();
+
+    private ServerScriptCache() {
+    }
+
+    /**
+     * Returns the extracted server script, extracting it on first use.
+     * After the first successful validation in this IDE session only the file size is re-checked.
+     */
+    static @NotNull Path getServerScript() {
+        Path script = validatedScript;
+        if (script != null && isSameSize(script)) {
+            return script;
+        }
+        synchronized (ServerScriptCache.class) {
+            script = validatedScript;
+            if (script != null && isSameSize(script)) {
+                return script;
+            }
+            Path cacheRoot = Path.of(PathManager.getSystemPath(), CACHE_DIR_NAME);
+            script = extractTo(cacheRoot, getPluginVersion());
+            lockEntry(script.getParent());
+            validatedScript = script;
+            return script;
+        }
+    }
+
+    /**
+     * Returns the warm-start bootstrap extracted next to the server script.
+     */
+    static @NotNull Path getBootstrapScript() {
+        return getServerScript().resolveSibling(BOOTSTRAP_FILE_NAME);
+    }
+
+    /**
+     * Returns the directory the bootstrap keeps the V8 code cache of the server script in.
+     */
+    static @NotNull Path getCodeCacheDir() {
+        return getServerScript().resolveSibling(CODE_CACHE_DIR_NAME);
+    }
+
+    /**
+     * Extracts the server scripts below {@code cacheRoot}, reusing existing copies when their content hash matches.
+     *
+     * @return the extracted server script
+     */
+    static synchronized @NotNull Path extractTo(@NotNull Path cacheRoot, @NotNull String pluginVersion) {
+        MessageDigest combined = newDigest();
+        combined.update(getResourceDigest(SERVER_RESOURCE));
+        combined.update(getResourceDigest(BOOTSTRAP_RESOURCE));
+        String key = sanitize(pluginVersion) + "-" + HexFormat.of().formatHex(combined.digest(), 0, 8);
+        Path dir = cacheRoot.resolve(key);
+
+        try {
+            for (Map.Entry<String, String> resource : RESOURCE_FILES.entrySet()) {
+                extractResource(resource.getKey(), dir.resolve(resource.getValue()));
+            }
+            Path lockFile = dir.resolve(LOCK_FILE_NAME);
+            if (!Files.exists(lockFile)) {
+                Files.createFile(lockFile);
+            }
+        } catch (IOException e) {
+            String error = "Failed to extract LSP server script to " + dir;
+            LOG.error(error, e);
+            throw new IllegalStateException(error, e);
+        }
+
+        pruneStaleEntries(cacheRoot, key);
+        return dir.resolve(SERVER_FILE_NAME);
+    }
+
+    private static void extractResource(String resource, Path target) throws IOException {
+        byte[] digest = getResourceDigest(resource);
+        if (Files.isRegularFile(target) && Arrays.equals(digest, digestOf(target))) {
+            LOG.info("Reusing cached LSP server script: " + target);
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (InputStream input = openResource(resource)) {
+                Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (!Arrays.equals(digest, digestOf(temp))) {
+                throw new IOException("Extracted " + resource + " does not match the bundled resource");
+            }
+            moveIntoPlace(temp, target, digest);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOG.info("Extracted LSP server script to cache: " + target);
+    }
+
+    private static void moveIntoPlace(Path temp, Path target, byte[] digest) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // Another process may hold the target open (Windows); its copy is valid if the hash matches
+            if (!Files.isRegularFile(target) || !Arrays.equals(digest, digestOf(target))) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Holds a shared lock on a cache entry for the rest of the IDE session, so that IDE processes running
+     * other plugin versions do not prune it while servers run from it.
+     */
+    static synchronized void lockEntry(@NotNull Path dir) {
+        if (heldLocks.containsKey(dir)) {
+            return;
+        }
+        try {
+            FileChannel channel = FileChannel.open(dir.resolve(LOCK_FILE_NAME),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                channel.lock(0, Long.MAX_VALUE, true);
+                heldLocks.put(dir, channel);
+            } catch (IOException | OverlappingFileLockException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            LOG.debug("Could not lock LSP server cache entry " + dir, e);
+        }
+    }
+
+    /**
+     * Removes cache entries left behind by other plugin versions, unless another IDE process holds their lock.
+     * Entries without a lock file come from plugin versions that did not lock them; they are only removed once
+     * nothing in them changed for {@link #UNLOCKED_ENTRY_MAX_AGE_MS}.
+     */
+    private static void pruneStaleEntries(Path cacheRoot, String currentKey) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheRoot)) {
+            for (Path entry : entries) {
+                if (!Files.isDirectory(entry) || entry.getFileName().toString().equals(currentKey) || isInUse(entry)) {
+                    continue;
+                }
+                deleteRecursively(entry);
+                LOG.info("Removed stale LSP server cache entry: " + entry);
+            }
+        } catch (IOException e) {
+            LOG.debug("Could not prune LSP server cache", e);
+        }
+    }
+
+    private static boolean isInUse(Path entry) throws IOException {
+        Path lockFile = entry.resolve(LOCK_FILE_NAME);
+        if (!Files.exists(lockFile)) {
+            return lastModified(entry) > System.currentTimeMillis() - UNLOCKED_ENTRY_MAX_AGE_MS;
+        }
+        synchronized (ServerScriptCache.class) {
+            if (heldLocks.containsKey(entry)) {
+                return true;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return true;
+            }
+            lock.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        }
+    }
+
+    private static long lastModified(Path path) throws IOException {
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(path)) {
+                for (Path child : children) {
+                    modified = Math.max(modified, lastModified(child));
+                }
+            }
+        }
+        return modified;
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(path)) {
+                for (Path child : children) {
+                    deleteRecursively(child);
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private static boolean isSameSize(Path script) {
+        try {
+            return Files.size(script) == serverResourceSize
+                    && Files.isRegularFile(script.resolveSibling(BOOTSTRAP_FILE_NAME));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static synchronized byte[] getResourceDigest(String resource) {
+        byte[] digest = resourceDigests.get(resource);
+        if (digest == null) {
+            try (InputStream input = openResource(resource)) {
+                MessageDigest sha = newDigest();
+                byte[] buffer = new byte[64 * 1024];
+                long size = 0;
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    sha.update(buffer, 0, read);
+                    size += read;
+                }
+                digest = sha.digest();
+                resourceDigests.put(resource, digest);
+                if (resource.equals(SERVER_RESOURCE)) {
+                    serverResourceSize = size;
+                }
+            } catch (IOException e) {
+                String error = "Failed to read " + resource + " from resources";
+                LOG.error(error, e);
+                throw new IllegalStateException(error, e);
+            }
+        }
+        return digest;
+    }
+
+    private static InputStream openResource(String resource) {
+        InputStream input = ServerScriptCache.class.getResourceAsStream(resource);
+        if (input == null) {
+            String error = "Can't find " + resource + " in resources";
+            LOG.error(error);
+            throw new IllegalStateException(error);
+        }
+        return input;
+    }
+
+    private static byte[] digestOf(Path file) throws IOException {
+        MessageDigest sha = newDigest();
+        try (InputStream input = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                sha.update(buffer, 0, read);
+            }
+        }
+        return sha.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String getPluginVersion() {
+        IdeaPluginDescriptor plugin = PluginManagerCore.getPlugin(PluginId.getId(PLUGIN_ID));
+        return plugin != null && plugin.getVersion() != null ? plugin.getVersion() : "dev";
+    }
+
+    private static String sanitize(String version) {
+        return version.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
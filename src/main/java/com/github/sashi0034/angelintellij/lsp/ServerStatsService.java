@@ -0,0 +1,135 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The latest {@code angelscript/stats} report of the project's language server: indexing queues, modules
+ * and Node heap. The server sends one every second while indexing and every ten seconds otherwise.
+ * <p>
+ * Reports arrive on the language server's reader thread. Like {@link ConnectionStateService}, listeners get only the
+ * latest report, on the EDT and at most once every {@link #DELIVERY_INTERVAL_MS}.
+ */
+public final class ServerStatsService implements Disposable {
+    // Heap use above this share of the limit is shown as memory pressure
+    public static final double HIGH_HEAP_USE = 0.8;
+
+    public interface Listener {
+        /**
+         * Called on the EDT with the latest report, or {@code null} when the server stopped.
+         */
+        void statsChanged(@Nullable Stats stats);
+    }
+
+    public static final Topic<Listener> TOPIC = Topic.create("AngelScriptServerStats", Listener.class);
+
+    static final long DELIVERY_INTERVAL_MS = ConnectionStateService.DELIVERY_INTERVAL_MS;
+
+    private final Project project;
+    private volatile @Nullable Stats stats;
+    private boolean delivered = true;
+    private long lastDeliveryNanos;
+    private @Nullable ScheduledFuture<?> pendingDelivery;
+
+    public ServerStatsService(@NotNull Project project) {
+        this.project = project;
+        lastDeliveryNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(DELIVERY_INTERVAL_MS);
+    }
+
+    public static ServerStatsService getInstance(@NotNull Project project) {
+        return project.getService(ServerStatsService.class);
+    }
+
+    public @Nullable Stats getStats() {
+        return stats;
+    }
+
+    public synchronized void update(@Nullable Stats newStats) {
+        stats = newStats;
+        delivered = false;
+        if (pendingDelivery == null) {
+            long sinceLastMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastDeliveryNanos);
+            pendingDelivery = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+                    () -> ApplicationManager.getApplication().invokeLater(this::deliver, project.getDisposed()),
+                    Math.max(0, DELIVERY_INTERVAL_MS - sinceLastMs), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes the latest report unless listeners already got it. Runs on the EDT.
+     */
+    void deliver() {
+        Stats latest;
+        synchronized (this) {
+            pendingDelivery = null;
+            lastDeliveryNanos = System.nanoTime();
+            if (delivered) {
+                return;
+            }
+            delivered = true;
+            latest = stats;
+        }
+        if (!project.isDisposed()) {
+            project.getMessageBus().syncPublisher(TOPIC).statsChanged(latest);
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (pendingDelivery != null) {
+            pendingDelivery.cancel(false);
+            pendingDelivery = null;
+        }
+    }
+
+    /**
+     * As sent by the server; queue sizes count the modules still waiting in each queue.
+     */
+    public static class Stats {
+        public boolean indexing;
+        public @Nullable String stage;
+        public int loadQueue;
+        public int parseQueue;
+        public int postProcessTypesQueue;
+        public int resolveQueue;
+        public int modules;
+        public int modulesParsed;
+        public int modulesResolved;
+        public boolean hasUnrealTypes;
+        public int unrealTypes;
+        public long heapUsed;
+        public long heapTotal;
+        public long heapLimit;
+        public long rss;
+
+        public int queued() {
+            return loadQueue + parseQueue + postProcessTypesQueue + resolveQueue;
+        }
+
+        public double heapUse() {
+            return heapLimit > 0 ? (double) heapUsed / heapLimit : 0;
+        }
+
+        public boolean isUnderMemoryPressure() {
+            return heapUse() >= HIGH_HEAP_USE;
+        }
+
+        /**
+         * Short summary for the status bar, e.g. "Parsing, 2010 queued" or "2990/3000 modules resolved".
+         */
+        public @NotNull String describe() {
+            if (indexing) {
+                return (stage != null ? stage : "Indexing") + ", " + queued() + " queued";
+            }
+            return modulesResolved + "/" + modules + " modules resolved";
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restarts the project's language server when its process dies, e.g. out of memory on a huge type database.
+ * <p>
+ * Each crash in a row doubles the delay before the restart, from {@link #MIN_RESTART_DELAY_MS} up to
+ * {@link #MAX_RESTART_DELAY_MS}. After more than {@link #RESTART_BUDGET} crashes within {@link #BUDGET_WINDOW_MS}
+ * the server stays stopped until it is started again by hand. A restart recovers within seconds: lsp4ij opens the
+ * documents of the open editors again, unsaved changes included, the open scripts are indexed first, and the
+ * type database and the V8 code cache load from disk instead of waiting for Unreal.
+ */
+public final class ServerSupervisor implements Disposable {
+    private static final Logger LOG = Logger.getInstance(ServerSupervisor.class);
+
+    static final long MIN_RESTART_DELAY_MS = 1_000;
+    static final long MAX_RESTART_DELAY_MS = 60_000;
+    static final int RESTART_BUDGET = 5;
+    static final long BUDGET_WINDOW_MS = TimeUnit.MINUTES.toMillis(10);
+    // A server that ran this long before crashing restarts without delay from earlier crashes
+    static final long STABLE_UPTIME_MS = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * @param time   when the crash was noticed, in epoch milliseconds
+     * @param reason e.g. "exited with code 134 after 12 min 3 s, heap at 97% of 2 GB"
+     */
+    public record Crash(long time, @NotNull String reason) {
+    }
+
+    /**
+     * @param crashes   crashes and failed starts since the IDE started
+     * @param restarts  restarts made by the supervisor
+     * @param lastCrash the most recent crash, if any
+     * @param gaveUp    whether the restart budget is used up and the server stays stopped
+     * @param restartAt when the pending restart happens, in epoch milliseconds, or 0 if none is pending
+     */
+    public record Stats(int crashes, int restarts, @Nullable Crash lastCrash, boolean gaveUp, long restartAt) {
+        /**
+         * Short summary for the status bar, empty while the server never crashed.
+         */
+        public @NotNull String describe() {
+            if (lastCrash == null) {
+                return "";
+            }
+            String text = "crashed " + (crashes == 1 ? "once" : crashes + " times") + ", last " + lastCrash.reason();
+            if (gaveUp) {
+                return text + "; not restarting anymore";
+            }
+            return restartAt > 0 ? text + "; restarting" : text;
+        }
+    }
+
+    private final Project project;
+    private final Deque<Long> recentCrashes = new ArrayDeque<>();
+    private long instance = -1;
+    private long startedAt;
+    private boolean stopping;
+    private @Nullable ProcessHandle process;
+    private int crashesInRow;
+    private int crashes;
+    private int restarts;
+    private @Nullable Crash lastCrash;
+    private boolean gaveUp;
+    private @Nullable ScheduledFuture<?> pendingRestart;
+    private long restartAt;
+    private boolean restarting;
+
+    public ServerSupervisor(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static ServerSupervisor getInstance(@NotNull Project project) {
+        return project.getService(ServerSupervisor.class);
+    }
+
+    public synchronized @NotNull Stats getStats() {
+        return new Stats(crashes, restarts, lastCrash, gaveUp, restartAt);
+    }
+
+    /**
+     * Supervises a server instance whose process is started by the IDE; the exit code is part of the crash reason.
+     */
+    public void serverStarted(long serverInstance, @NotNull Process process) {
+        serverStarted(serverInstance, process.toHandle(), process.onExit().thenApply(Process::exitValue));
+    }
+
+    /**
+     * Supervises a server instance from its process handle, for processes started by lsp4ij.
+     */
+    public void serverStarted(long serverInstance, @NotNull ProcessHandle process) {
+        serverStarted(serverInstance, process, process.onExit().thenApply(handle -> (Integer) null));
+    }
+
+    private void serverStarted(long serverInstance, @NotNull ProcessHandle process, @NotNull CompletableFuture<Integer> exit) {
+        synchronized (this) {
+            if (!restarting && gaveUp) {
+                // Started again by hand
+                gaveUp = false;
+                recentCrashes.clear();
+            }
+            restarting = false;
+            cancelRestart();
+            instance = serverInstance;
+            startedAt = System.currentTimeMillis();
+            stopping = false;
+            this.process = process;
+        }
+        exit.whenComplete((exitCode, error) -> onExit(serverInstance, exitCode));
+    }
+
+    /**
+     * Call before stopping a server on purpose, so that its exit does not count as a crash. Stopping a server
+     * whose process is already gone, as lsp4ij does after it noticed the crash, does not prevent the restart.
+     * The process is asked directly, since lsp4ij may notice the crash before the exit callback ran.
+     */
+    public synchronized void serverStopping(long serverInstance) {
+        if (serverInstance == instance && process != null && process.isAlive()) {
+            stopping = true;
+        }
+    }
+
+    public void serverFailedToStart(long serverInstance, @NotNull Exception error) {
+        crashed(serverInstance, "failed to start: " + error.getMessage(), 0);
+    }
+
+    private void onExit(long serverInstance, @Nullable Integer exitCode) {
+        String reason;
+        long uptimeMs;
+        synchronized (this) {
+            if (serverInstance != instance) {
+                return;
+            }
+            process = null;
+            if (stopping) {
+                return;
+            }
+            uptimeMs = System.currentTimeMillis() - startedAt;
+            reason = describeExit(exitCode, uptimeMs, ServerStatsService.getInstance(project).getStats());
+        }
+        crashed(serverInstance, reason, uptimeMs);
+    }
+
+    static @NotNull String describeExit(@Nullable Integer exitCode, long uptimeMs, @Nullable ServerStatsService.Stats stats) {
+        String reason = (exitCode != null ? "exited with code " + exitCode : "exited") + " after "
+                + StringUtil.formatDuration(uptimeMs);
+        if (stats != null && stats.heapLimit > 0) {
+            reason += ", heap at " + Math.round(stats.heapUse() * 100) + "% of " + StringUtil.formatFileSize(stats.heapLimit);
+        }
+        return reason;
+    }
+
+    synchronized void crashed(long serverInstance, @NotNull String reason, long uptimeMs) {
+        if (project.isDisposed()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        crashes++;
+        lastCrash = new Crash(now, reason);
+        recentCrashes.addLast(now);
+        while (recentCrashes.getFirst() < now - BUDGET_WINDOW_MS) {
+            recentCrashes.removeFirst();
+        }
+        LOG.warn("AngelScript Language Server " + reason);
+        ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.DISCONNECTED);
+
+        if (recentCrashes.size() > RESTART_BUDGET) {
+            gaveUp = true;
+            restarting = false;
+            // The restart for the previous crash would otherwise look like a start by hand and reset the budget
+            cancelRestart();
+            LOG.warn("AngelScript Language Server crashed " + recentCrashes.size() + " times within "
+                    + StringUtil.formatDuration(BUDGET_WINDOW_MS) + ", not restarting it anymore");
+            return;
+        }
+        if (uptimeMs >= STABLE_UPTIME_MS) {
+            crashesInRow = 0;
+        }
+        long delay = restartDelay(crashesInRow++);
+        LOG.info("Restarting AngelScript Language Server in " + delay + " ms");
+        cancelRestart();
+        restarting = true;
+        restartAt = now + delay;
+        pendingRestart = AppExecutorUtil.getAppScheduledExecutorService()
+                .schedule(this::restart, delay, TimeUnit.MILLISECONDS);
+    }
+
+    static long restartDelay(int crashesInRow) {
+        return Math.min(MAX_RESTART_DELAY_MS, MIN_RESTART_DELAY_MS << Math.min(crashesInRow, 16));
+    }
+
+    private void restart() {
+        synchronized (this) {
+            if (pendingRestart == null) {
+                return;
+            }
+            pendingRestart = null;
+            restartAt = 0;
+            restarts++;
+        }
+        if (!project.isDisposed()) {
+            LanguageServerManager.getInstance(project).start(AngelScriptLanguageServerFactory.SERVER_ID);
+        }
+    }
+
+    synchronized boolean isRestartPending() {
+        return pendingRestart != null;
+    }
+
+    private void cancelRestart() {
+        if (pendingRestart != null) {
+            pendingRestart.cancel(false);
+            pendingRestart = null;
+        }
+        restartAt = 0;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        cancelRestart();
+        if (crashes > 0) {
+            LOG.info("AngelScript Language Server: " + getStats());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
+import com.redhat.devtools.lsp4ij.ServerStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Wakes the language servers' Unreal reconnect as soon as an Unreal editor process starts, so that they can
+ * back off far between attempts while the editor is closed.
+ * <p>
+ * The process list is only scanned while a project's server waits for Unreal, every few seconds while the IDE is
+ * in the foreground and less often otherwise. Editors that were already running when the scans started do
+ * not wake the servers; they have been tried already.
+ */
+public final class UnrealEditorWatcher implements Disposable {
+    private static final Logger LOG = Logger.getInstance(UnrealEditorWatcher.class);
+
+    static final long SCAN_INTERVAL_MS = 5_000;
+    static final long BACKGROUND_SCAN_INTERVAL_MS = 30_000;
+    private static final String[] EDITOR_NAMES = {"unrealeditor", "ue4editor", "ue5editor"};
+
+    private @Nullable ScheduledFuture<?> nextScan;
+    private @Nullable Set<Long> knownEditors;
+
+    public static UnrealEditorWatcher getInstance() {
+        return ApplicationManager.getApplication().getService(UnrealEditorWatcher.class);
+    }
+
+    /**
+     * Asks the project's language server to retry the Unreal connection now. Does not start a server.
+     */
+    public static void wake(@NotNull Project project, @NotNull String reason) {
+        LanguageServerManager manager = LanguageServerManager.getInstance(project);
+        if (manager.getServerStatus(AngelScriptLanguageServerFactory.SERVER_ID) != ServerStatus.started) {
+            return;
+        }
+        manager.getLanguageServer(AngelScriptLanguageServerFactory.SERVER_ID)
+                .thenAccept(item -> {
+                    if (item != null && item.getServer() instanceof AngelScriptLanguageServer server) {
+                        server.wakeUnrealConnection(new AngelScriptLanguageServer.WakeUnrealConnectionParams(reason));
+                    }
+                });
+    }
+
+    /**
+     * Scans for editors starting until no open project's server waits for Unreal anymore.
+     */
+    public synchronized void watch() {
+        if (nextScan == null) {
+            knownEditors = null;
+            schedule(0);
+        }
+    }
+
+    private static List<Project> findWaitingProjects() {
+        List<Project> waiting = new ArrayList<>();
+        for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+            if (!project.isDisposed() && ConnectionStateService.getInstance(project).getState()
+                    == ConnectionStateService.State.WAITING_FOR_UNREAL) {
+                waiting.add(project);
+            }
+        }
+        return waiting;
+    }
+
+    private void schedule(long delayMs) {
+        nextScan = AppExecutorUtil.getAppScheduledExecutorService().schedule(this::scan, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void scan() {
+        List<Project> waiting = findWaitingProjects();
+        Set<Long> editors = waiting.isEmpty() ? Set.of() : findEditors();
+        boolean started;
+        synchronized (this) {
+            if (nextScan == null) {
+                return;
+            }
+            if (waiting.isEmpty()) {
+                nextScan = null;
+                return;
+            }
+            started = knownEditors != null && !knownEditors.containsAll(editors);
+            knownEditors = editors;
+            schedule(ApplicationManager.getApplication().isActive() ? SCAN_INTERVAL_MS : BACKGROUND_SCAN_INTERVAL_MS);
+        }
+        if (started) {
+            LOG.info("Unreal editor started, reconnecting the AngelScript language servers");
+            for (Project project : waiting) {
+                wake(project, "Unreal editor started");
+            }
+        }
+    }
+
+    private static Set<Long> findEditors() {
+        return ProcessHandle.allProcesses()
+                .filter(process -> process.info().command().map(UnrealEditorWatcher::isUnrealEditor).orElse(false))
+                .map(ProcessHandle::pid)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    static boolean isUnrealEditor(@NotNull String command) {
+        String name = command.substring(Math.max(command.lastIndexOf('/'), command.lastIndexOf('\\')) + 1)
+                .toLowerCase(Locale.ROOT);
+        for (String editor : EDITOR_NAMES) {
+            // Also UnrealEditor.exe and UE4Editor-Linux-DebugGame, but not the commandlet runner UnrealEditor-Cmd
+            if (name.equals(editor) || name.startsWith(editor + ".")
+                    || name.startsWith(editor + "-") && !name.startsWith(editor + "-cmd")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (nextScan != null) {
+            nextScan.cancel(false);
+            nextScan = null;
+        }
+    }
+}
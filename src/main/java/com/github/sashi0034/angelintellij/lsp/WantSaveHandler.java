@@ -0,0 +1,129 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the documents the server asks for with {@code angelscript/wantSave}, so that Unreal hot-reloads them.
+ * <p>
+ * Every save makes Unreal recompile, and a refactoring can send one notification per edited file. Requests
+ * arriving within {@link #SAVE_DELAY_MS} of each other are saved together, and only documents that are
+ * still unsaved by then are written.
+ */
+final class WantSaveHandler implements Disposable {
+    private static final Logger LOG = Logger.getInstance(WantSaveHandler.class);
+
+    static final long SAVE_DELAY_MS = 250;
+
+    /**
+     * @param requests       {@code angelscript/wantSave} notifications received
+     * @param saves          batches that wrote at least one document, each one hot-reload in Unreal
+     * @param savedDocuments documents written
+     */
+    record Stats(int requests, int saves, int savedDocuments) {
+        /**
+         * Hot-reloads saved compared to writing the documents of every notification on its own.
+         */
+        int avoidedReloads() {
+            return requests - saves;
+        }
+    }
+
+    private final Project project;
+    private final Set<String> pendingUris = new LinkedHashSet<>();
+    private ScheduledFuture<?> pendingSave;
+    private int requests;
+    private int saves;
+    private int savedDocuments;
+
+    WantSaveHandler(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Saves the documents shortly, together with any others requested in the meantime.
+     */
+    synchronized void request(@NotNull List<String> uris) {
+        requests++;
+        pendingUris.addAll(uris);
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        pendingSave = AppExecutorUtil.getAppScheduledExecutorService()
+                .schedule(this::scheduleFlush, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized @NotNull Stats getStats() {
+        return new Stats(requests, saves, savedDocuments);
+    }
+
+    private void scheduleFlush() {
+        // Queued behind the workspace edits that usually precede the request
+        ApplicationManager.getApplication().invokeLater(this::flush, project.getDisposed());
+    }
+
+    /**
+     * Writes the requested documents that are unsaved. Runs on the EDT.
+     */
+    void flush() {
+        List<String> uris;
+        synchronized (this) {
+            uris = new ArrayList<>(pendingUris);
+            pendingUris.clear();
+            pendingSave = null;
+        }
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        List<Document> unsaved = new ArrayList<>();
+        for (String uri : uris) {
+            VirtualFile file = LSPIJUtils.findResourceFor(uri);
+            Document document = file != null ? documentManager.getCachedDocument(file) : null;
+            if (document != null && documentManager.isDocumentUnsaved(document)) {
+                unsaved.add(document);
+            }
+        }
+        if (unsaved.isEmpty()) {
+            return;
+        }
+        WriteAction.run(() -> {
+            for (Document document : unsaved) {
+                documentManager.saveDocument(document);
+            }
+        });
+        Stats stats;
+        synchronized (this) {
+            saves++;
+            savedDocuments += unsaved.size();
+            stats = getStats();
+        }
+        LOG.debug("Saved " + unsaved.size() + " AngelScript document(s) for hot reload; " + stats);
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+            pendingSave = null;
+        }
+        if (requests > 0) {
+            Stats stats = getStats();
+            LOG.info("AngelScript wantSave: " + stats.requests() + " request(s) saved in " + stats.saves()
+                    + " batch(es), avoiding " + stats.avoidedReloads() + " hot reload(s)");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.sashi0034.angelintellij.lsp;
+
+import com.github.sashi0034.angelintellij.lsp.wire.WireMeter;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@link WireMeter} of a project's language server connection. It is kept across server restarts, so the
+ * numbers cover the whole IDE session unless reset.
+ */
+public final class WireMeterService {
+    private final WireMeter meter = new WireMeter();
+
+    public static WireMeterService getInstance(@NotNull Project project) {
+        return project.getService(WireMeterService.class);
+    }
+
+    public @NotNull WireMeter getMeter() {
+        return meter;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.sashi0034.angelintellij.lsp.action;
+
+import com.github.sashi0034.angelintellij.ValidationStartupActivity;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServerFactory;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.redhat.devtools.lsp4ij.LanguageServerManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Saves the Unreal type database the language server received to a file, for use in offline mode
+ * on machines without the Unreal editor.
+ */
+public class ExportTypeDatabaseAction extends AnAction implements DumbAware {
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(
+                "Export Unreal Type Database",
+                "The file can be used as the type database of the AngelScript offline mode",
+                "typedb");
+        VirtualFileWrapper target = FileChooserFactory.getInstance()
+                .createSaveFileDialog(descriptor, project)
+                .save("unreal.typedb");
+        if (target == null) {
+            return;
+        }
+        String path = target.getFile().getAbsolutePath();
+
+        LanguageServerManager.getInstance(project)
+                .getLanguageServer(AngelScriptLanguageServerFactory.SERVER_ID)
+                .thenCompose(item -> {
+                    if (item == null) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    AngelScriptLanguageServer server = (AngelScriptLanguageServer) item.getServer();
+                    return server.exportTypeDatabase(new AngelScriptLanguageServer.ExportTypeDatabaseParams(path));
+                })
+                .whenComplete((exported, error) -> {
+                    if (error == null && Boolean.TRUE.equals(exported)) {
+                        notify(project, "Unreal type database exported to " + path, NotificationType.INFORMATION);
+                    } else {
+                        notify(project, "No Unreal type database to export. Connect to the Unreal editor once with "
+                                + "the type database cache enabled.", NotificationType.WARNING);
+                    }
+                });
+    }
+
+    private static void notify(Project project, String content, NotificationType type) {
+        Notifications.Bus.notify(
+                new Notification(ValidationStartupActivity.GROUP_ID, "AngelScript", content, type),
+                project);
+    }
+}
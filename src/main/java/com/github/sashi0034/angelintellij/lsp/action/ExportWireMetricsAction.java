@@ -0,0 +1,77 @@
+package com.github.sashi0034.angelintellij.lsp.action;
+
+import com.github.sashi0034.angelintellij.ValidationStartupActivity;
+import com.github.sashi0034.angelintellij.lsp.WireMeterService;
+import com.github.sashi0034.angelintellij.lsp.wire.WireMeter;
+import com.google.gson.GsonBuilder;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Saves a JSON snapshot of the project's LSP traffic counts and latencies, for comparing runs or attaching
+ * to a bug report.
+ */
+public class ExportWireMetricsAction extends AnAction implements DumbAware {
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project != null) {
+            export(project);
+        }
+    }
+
+    public static void export(@NotNull Project project) {
+        // Taken before the dialog so that it shows what the user was looking at
+        WireMeter.Snapshot snapshot = WireMeterService.getInstance(project).getMeter().snapshot();
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(
+                "Export LSP Wire Metrics",
+                "Message counts, sizes and latencies per LSP method",
+                "json");
+        VirtualFileWrapper target = FileChooserFactory.getInstance()
+                .createSaveFileDialog(descriptor, project)
+                .save("angelscript-lsp-metrics.json");
+        if (target == null) {
+            return;
+        }
+        try {
+            Files.writeString(target.getFile().toPath(), toJson(snapshot), StandardCharsets.UTF_8);
+            notify(project, "LSP wire metrics exported to " + target.getFile().getAbsolutePath(), NotificationType.INFORMATION);
+        } catch (IOException ex) {
+            notify(project, "Could not export LSP wire metrics: " + ex.getMessage(), NotificationType.WARNING);
+        }
+    }
+
+    public static @NotNull String toJson(@NotNull WireMeter.Snapshot snapshot) {
+        return new GsonBuilder().setPrettyPrinting().create().toJson(snapshot.toJson());
+    }
+
+    private static void notify(Project project, String content, NotificationType type) {
+        Notifications.Bus.notify(
+                new Notification(ValidationStartupActivity.GROUP_ID, "AngelScript", content, type),
+                project);
+    }
+}
@@ -0,0 +1,463 @@
+package com.github.sashi0034.angelintellij.lsp.shared;
+
+import com.github.sashi0034.angelintellij.lsp.wire.LspFrames;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes the LSP traffic of several IDE projects through one language server process.
+ * <p>
+ * Only the first project's {@code initialize} reaches the server. Every later project receives the cached
+ * initialize result and is announced to the server through {@code workspace/didChangeWorkspaceFolders}.
+ * Request ids are rewritten per session so that responses can be routed back, and server notifications
+ * that carry a document URI are delivered to the project owning that URI.
+ * {@code shutdown}/{@code exit} never reach the server; {@link SharedServerPool} owns the process lifetime.
+ */
+final class LspMultiplexer {
+    private static final Logger LOG = Logger.getInstance(LspMultiplexer.class);
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+    private record PendingRequest(SharedServerSession session, JsonElement originalId, String method) {
+    }
+
+    private record WaitingInitialize(SharedServerSession session, JsonElement id, JsonObject message) {
+    }
+
+    private final Process process;
+    private final OutputStream serverInput;
+    private final Runnable onIdle;
+    private final Runnable onTerminated;
+
+    private final List<SharedServerSession> sessions = new CopyOnWriteArrayList<>();
+    private final Map<String, PendingRequest> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextRequestId = new AtomicLong();
+
+    // Guarded by initLock
+    private final Object initLock = new Object();
+    private @Nullable SharedServerSession initializingSession;
+    private @Nullable JsonObject initializeResponse;
+    private boolean serverInitialized;
+    private final List<WaitingInitialize> waitingInitialize = new ArrayList<>();
+    private final List<JsonObject> afterServerInitialized = new ArrayList<>();
+
+    LspMultiplexer(@NotNull Process process, @NotNull Runnable onIdle, @NotNull Runnable onTerminated) {
+        this.process = process;
+        this.serverInput = process.getOutputStream();
+        this.onIdle = onIdle;
+        this.onTerminated = onTerminated;
+
+        ApplicationManager.getApplication().executeOnPooledThread(this::readServerMessages);
+        ApplicationManager.getApplication().executeOnPooledThread(this::drainServerErrors);
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    boolean hasSessions() {
+        return !sessions.isEmpty();
+    }
+
+    @NotNull Process getProcess() {
+        return process;
+    }
+
+    @NotNull SharedServerSession attach(int sessionId, @NotNull String name) {
+        SharedServerSession session = new SharedServerSession(sessionId, name, this);
+        sessions.add(session);
+        LOG.info("Attached '" + name + "' to shared AngelScript Language Server (" + sessions.size() + " session(s))");
+        return session;
+    }
+
+    void detach(@NotNull SharedServerSession session) {
+        if (!session.markClosed()) {
+            return;
+        }
+        sessions.remove(session);
+        // The initialize response still answers the projects waiting for it
+        pending.values().removeIf(request -> request.session() == session && !"initialize".equals(request.method()));
+        if (!session.getWorkspaceFolders().isEmpty() && !session.isShutDown()) {
+            sendWorkspaceFoldersChanged(List.of(), session.getWorkspaceFolders());
+        }
+        synchronized (initLock) {
+            if (session == initializingSession && initializeResponse != null && !serverInitialized) {
+                // The project went away between initialize and initialized; complete the handshake for the others
+                sendInitializedToServer();
+            }
+        }
+        session.closeInput();
+        LOG.info("Detached '" + session.getName() + "' from shared AngelScript Language Server ("
+                + sessions.size() + " session(s) left)");
+        if (sessions.isEmpty()) {
+            onIdle.run();
+        }
+    }
+
+    void destroy() {
+        process.destroy();
+    }
+
+    void onClientMessage(@NotNull SharedServerSession session, byte @NotNull [] body) {
+        JsonObject message = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+        String method = message.has("method") ? message.get("method").getAsString() : null;
+        JsonElement id = message.get("id");
+
+        if (method == null) {
+            // Response to a request the server sent to this session
+            writeToServer(body);
+        } else if (id == null) {
+            onClientNotification(session, method, message, body);
+        } else {
+            onClientRequest(session, method, id, message);
+        }
+    }
+
+    private void onClientRequest(SharedServerSession session, String method, JsonElement id, JsonObject message) {
+        switch (method) {
+            case "initialize" -> {
+                session.setWorkspaceFolders(extractWorkspaceFolders(message.getAsJsonObject("params")));
+                synchronized (initLock) {
+                    if (initializeResponse != null) {
+                        replyWithCachedInitialize(session, id);
+                    } else if (initializingSession != null) {
+                        waitingInitialize.add(new WaitingInitialize(session, id, message));
+                    } else {
+                        initializingSession = session;
+                        forwardRequest(session, id, method, message);
+                    }
+                }
+            }
+            case "shutdown" -> {
+                // The server stays up for the other projects; just forget this project's folders
+                session.markShutDown();
+                sendWorkspaceFoldersChanged(List.of(), session.getWorkspaceFolders());
+                respond(session, id, JsonNull.INSTANCE);
+            }
+            default -> forwardRequest(session, id, method, message);
+        }
+    }
+
+    private void onClientNotification(SharedServerSession session, String method, JsonObject message, byte[] body) {
+        switch (method) {
+            case "initialized" -> {
+                synchronized (initLock) {
+                    if (session == initializingSession && !serverInitialized) {
+                        writeToServer(body);
+                        onServerInitialized();
+                    }
+                }
+            }
+            case "exit" -> detach(session);
+            case "$/cancelRequest" -> {
+                JsonObject params = message.getAsJsonObject("params");
+                String serverId = params != null && params.has("id")
+                        ? session.findServerRequestId(params.get("id").toString())
+                        : null;
+                if (serverId != null) {
+                    params.addProperty("id", serverId);
+                    writeToServer(message);
+                }
+            }
+            default -> writeToServer(body);
+        }
+    }
+
+    private void forwardRequest(SharedServerSession session, JsonElement id, String method, JsonObject message) {
+        String serverId = session.getId() + ":" + nextRequestId.incrementAndGet();
+        pending.put(serverId, new PendingRequest(session, id, method));
+        session.rememberServerRequestId(id.toString(), serverId);
+        message.addProperty("id", serverId);
+        writeToServer(message);
+    }
+
+    private void replyWithCachedInitialize(SharedServerSession session, JsonElement id) {
+        JsonObject response = initializeResponse.deepCopy();
+        response.add("id", id);
+        session.deliver(response);
+        sendWorkspaceFoldersChanged(session.getWorkspaceFolders(), List.of());
+    }
+
+    private void respond(SharedServerSession session, JsonElement id, JsonElement result) {
+        JsonObject response = new JsonObject();
+        response.addProperty("jsonrpc", "2.0");
+        response.add("id", id);
+        response.add("result", result);
+        session.deliver(response);
+    }
+
+    private void readServerMessages() {
+        try (InputStream input = new BufferedInputStream(process.getInputStream())) {
+            byte[] body;
+            while ((body = LspFrames.read(input)) != null) {
+                try {
+                    onServerMessage(JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject());
+                } catch (RuntimeException e) {
+                    LOG.warn("Dropping malformed message from shared AngelScript Language Server", e);
+                }
+            }
+        } catch (IOException e) {
+            LOG.info("Shared AngelScript Language Server stream closed: " + e.getMessage());
+        } finally {
+            LOG.info("Shared AngelScript Language Server terminated");
+            for (SharedServerSession session : sessions) {
+                session.markClosed();
+                session.closeInput();
+            }
+            sessions.clear();
+            pending.clear();
+            onTerminated.run();
+        }
+    }
+
+    private void drainServerErrors() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOG.info("[shared server] " + line);
+            }
+        } catch (IOException ignored) {
+            // Process ended
+        }
+    }
+
+    private void onServerMessage(JsonObject message) {
+        String method = message.has("method") ? message.get("method").getAsString() : null;
+        JsonElement id = message.get("id");
+
+        if (method == null) {
+            onServerResponse(id, message);
+        } else if (id != null) {
+            // Server-initiated request: answered by the first project, like $/progress that follows it
+            SharedServerSession primary = getPrimarySession();
+            if (primary != null) {
+                primary.deliver(message);
+            } else {
+                JsonObject response = new JsonObject();
+                response.addProperty("jsonrpc", "2.0");
+                response.add("id", id);
+                response.add("result", JsonNull.INSTANCE);
+                writeToServer(response);
+            }
+        } else {
+            routeNotification(method, message);
+        }
+    }
+
+    private void onServerResponse(@Nullable JsonElement id, JsonObject message) {
+        PendingRequest request = id != null ? pending.remove(id.getAsString()) : null;
+        if (request == null) {
+            LOG.debug("Dropping response without a waiting session: " + id);
+            return;
+        }
+        SharedServerSession session = request.session();
+        session.forgetServerRequestId(request.originalId().toString());
+        message.add("id", request.originalId());
+
+        if (!"initialize".equals(request.method())) {
+            session.deliver(message);
+            return;
+        }
+
+        synchronized (initLock) {
+            if (message.has("result")) {
+                initializeResponse = message.deepCopy();
+                initializeResponse.remove("id");
+            } else {
+                initializingSession = null;
+            }
+            session.deliver(message);
+            if (session.isClosed() && initializeResponse != null && !serverInitialized) {
+                sendInitializedToServer();
+            }
+            if (initializeResponse != null) {
+                for (WaitingInitialize waiting : waitingInitialize) {
+                    replyWithCachedInitialize(waiting.session(), waiting.id());
+                }
+                waitingInitialize.clear();
+            } else {
+                initializeNextWaiting();
+            }
+        }
+    }
+
+    // Called with initLock held. The failed initialize may have been caused by the first project's own
+    // parameters, so the next waiting project sends its initialize to the server instead of sharing the error.
+    private void initializeNextWaiting() {
+        while (!waitingInitialize.isEmpty()) {
+            WaitingInitialize next = waitingInitialize.remove(0);
+            if (!next.session().isClosed()) {
+                initializingSession = next.session();
+                forwardRequest(next.session(), next.id(), "initialize", next.message());
+                return;
+            }
+        }
+    }
+
+    private void routeNotification(String method, JsonObject message) {
+        String uri = findDocumentUri(message.get("params"));
+        if (uri != null) {
+            SharedServerSession owner = findSessionForUri(uri);
+            if (owner != null) {
+                owner.deliver(message);
+            }
+            return;
+        }
+        if (method.equals("$/progress") || method.equals("window/showMessage")) {
+            SharedServerSession primary = getPrimarySession();
+            if (primary != null) {
+                primary.deliver(message);
+            }
+            return;
+        }
+        for (SharedServerSession session : sessions) {
+            session.deliver(message);
+        }
+    }
+
+    private static @Nullable String findDocumentUri(@Nullable JsonElement params) {
+        if (params == null) {
+            return null;
+        }
+        if (params.isJsonObject()) {
+            JsonElement uri = params.getAsJsonObject().get("uri");
+            return uri != null && uri.isJsonPrimitive() ? uri.getAsString() : null;
+        }
+        if (params.isJsonArray()) {
+            // angelscript/wantSave sends a plain list of document URIs
+            JsonArray array = params.getAsJsonArray();
+            if (!array.isEmpty() && array.get(0).isJsonPrimitive()) {
+                return array.get(0).getAsString();
+            }
+        }
+        return null;
+    }
+
+    private @Nullable SharedServerSession findSessionForUri(String uri) {
+        SharedServerSession best = null;
+        int bestLength = -1;
+        for (SharedServerSession session : sessions) {
+            for (JsonObject folder : session.getWorkspaceFolders()) {
+                String folderUri = folder.get("uri").getAsString();
+                if (isInFolder(uri, folderUri) && folderUri.length() > bestLength) {
+                    best = session;
+                    bestLength = folderUri.length();
+                }
+            }
+        }
+        return best != null ? best : getPrimarySession();
+    }
+
+    static boolean isInFolder(@NotNull String uri, @NotNull String folderUri) {
+        // file:///ws/game2/x.as is not in file:///ws/game
+        String folder = folderUri.endsWith("/") ? folderUri : folderUri + "/";
+        return uri.startsWith(folder) || uri.equals(folderUri);
+    }
+
+    private @Nullable SharedServerSession getPrimarySession() {
+        for (SharedServerSession session : sessions) {
+            if (!session.isClosed()) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    private static List<JsonObject> extractWorkspaceFolders(@Nullable JsonObject params) {
+        List<JsonObject> folders = new ArrayList<>();
+        if (params == null) {
+            return folders;
+        }
+        JsonElement workspaceFolders = params.get("workspaceFolders");
+        if (workspaceFolders != null && workspaceFolders.isJsonArray()) {
+            for (JsonElement folder : workspaceFolders.getAsJsonArray()) {
+                folders.add(folder.getAsJsonObject());
+            }
+        } else if (params.has("rootUri") && !params.get("rootUri").isJsonNull()) {
+            JsonObject folder = new JsonObject();
+            String rootUri = params.get("rootUri").getAsString();
+            folder.addProperty("uri", rootUri);
+            folder.addProperty("name", rootUri.substring(rootUri.lastIndexOf('/') + 1));
+            folders.add(folder);
+        }
+        return folders;
+    }
+
+    private void sendWorkspaceFoldersChanged(List<JsonObject> added, List<JsonObject> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        JsonObject event = new JsonObject();
+        event.add("added", GSON.toJsonTree(added));
+        event.add("removed", GSON.toJsonTree(removed));
+        JsonObject params = new JsonObject();
+        params.add("event", event);
+        JsonObject notification = new JsonObject();
+        notification.addProperty("jsonrpc", "2.0");
+        notification.addProperty("method", "workspace/didChangeWorkspaceFolders");
+        notification.add("params", params);
+
+        synchronized (initLock) {
+            if (!serverInitialized) {
+                afterServerInitialized.add(notification);
+                return;
+            }
+        }
+        writeToServer(notification);
+    }
+
+    private void sendInitializedToServer() {
+        JsonObject notification = new JsonObject();
+        notification.addProperty("jsonrpc", "2.0");
+        notification.addProperty("method", "initialized");
+        notification.add("params", new JsonObject());
+        writeToServer(notification);
+        onServerInitialized();
+    }
+
+    // Called with initLock held
+    private void onServerInitialized() {
+        serverInitialized = true;
+        for (JsonObject notification : afterServerInitialized) {
+            writeToServer(notification);
+        }
+        afterServerInitialized.clear();
+    }
+
+    private void writeToServer(JsonObject message) {
+        writeToServer(GSON.toJson(message).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeToServer(byte[] body) {
+        synchronized (serverInput) {
+            try {
+                LspFrames.write(serverInput, body);
+            } catch (IOException e) {
+                LOG.warn("Failed to write to shared AngelScript Language Server", e);
+            }
+        }
+    }
+}
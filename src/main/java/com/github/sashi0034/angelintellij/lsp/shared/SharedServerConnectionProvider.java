@@ -0,0 +1,74 @@
+package com.github.sashi0034.angelintellij.lsp.shared;
+
+import com.github.sashi0034.angelintellij.lsp.ConnectionStateService;
+import com.github.sashi0034.angelintellij.lsp.ServerSupervisor;
+import com.github.sashi0034.angelintellij.lsp.WireMeterService;
+import com.github.sashi0034.angelintellij.lsp.tokens.SemanticTokensConnection;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.redhat.devtools.lsp4ij.server.StreamConnectionProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Connects a project to the language server process shared through {@link SharedServerPool}
+ * instead of starting a process of its own.
+ */
+public class SharedServerConnectionProvider implements StreamConnectionProvider {
+    private static final Logger LOG = Logger.getInstance(SharedServerConnectionProvider.class);
+
+    private final Project project;
+    private SharedServerSession session;
+    private SemanticTokensConnection connection;
+    private long serverInstance;
+
+    public SharedServerConnectionProvider(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void start() {
+        LOG.info("Attaching '" + project.getName() + "' to the shared AngelScript Language Server");
+        try {
+            serverInstance = ConnectionStateService.getInstance(project).startServerInstance();
+            session = SharedServerPool.getInstance().attach(project);
+            connection = new SemanticTokensConnection(project, session.getInputStream(), session.getOutputStream(),
+                    WireMeterService.getInstance(project).getMeter());
+            ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.WAITING_FOR_UNREAL);
+            // Every attached project restarts on its own; the first one to attach starts the new process
+            ServerSupervisor.getInstance(project).serverStarted(serverInstance, session.getProcess());
+        } catch (Exception e) {
+            ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.DISCONNECTED);
+            ServerSupervisor.getInstance(project).serverFailedToStart(serverInstance, e);
+            LOG.error("Failed to attach to the shared AngelScript Language Server", e);
+            throw new RuntimeException("Failed to attach to the shared AngelScript Language Server", e);
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return connection != null ? connection.getInputStream() : null;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return connection != null ? connection.getOutputStream() : null;
+    }
+
+    @Override
+    public void stop() {
+        LOG.info("Detaching '" + project.getName() + "' from the shared AngelScript Language Server");
+        ServerSupervisor.getInstance(project).serverStopping(serverInstance);
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+        ConnectionStateService.getInstance(project).setState(serverInstance, ConnectionStateService.State.DISCONNECTED);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.sashi0034.angelintellij.lsp.shared;
+
+import com.github.sashi0034.angelintellij.lsp.ServerCommandLine;
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-level owner of the language server process shared by all open projects.
+ * <p>
+ * The process is started by the first project that attaches and kept alive for a short grace period after
+ * the last project detaches, so closing and reopening a project does not pay for a new type database load.
+ */
+public final class SharedServerPool implements Disposable {
+    private static final Logger LOG = Logger.getInstance(SharedServerPool.class);
+    private static final long IDLE_SHUTDOWN_SECONDS = 60;
+
+    private @Nullable LspMultiplexer multiplexer;
+    private @Nullable ScheduledFuture<?> idleShutdown;
+    private int nextSessionId;
+
+    public static SharedServerPool getInstance() {
+        return ApplicationManager.getApplication().getService(SharedServerPool.class);
+    }
+
+    /**
+     * Attaches a project to the shared server, starting the process if none is running.
+     */
+    public synchronized @NotNull SharedServerSession attach(@NotNull Project project) throws ExecutionException {
+        cancelIdleShutdown();
+        if (multiplexer == null || !multiplexer.isAlive()) {
+            GeneralCommandLine commandLine = ServerCommandLine.create(project);
+            LOG.info("Starting shared AngelScript Language Server: " + commandLine.getCommandLineString());
+            Process process = commandLine.createProcess();
+            multiplexer = new LspMultiplexer(process, this::onIdle, this::onTerminated);
+        }
+        return multiplexer.attach(++nextSessionId, project.getName());
+    }
+
+    private synchronized void onIdle() {
+        cancelIdleShutdown();
+        LOG.info("No project uses the shared AngelScript Language Server, stopping it in " + IDLE_SHUTDOWN_SECONDS + "s");
+        idleShutdown = AppExecutorUtil.getAppScheduledExecutorService()
+                .schedule(this::stopIfIdle, IDLE_SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private synchronized void stopIfIdle() {
+        idleShutdown = null;
+        if (multiplexer != null && !multiplexer.hasSessions()) {
+            LOG.info("Stopping idle shared AngelScript Language Server");
+            multiplexer.destroy();
+            multiplexer = null;
+        }
+    }
+
+    private synchronized void onTerminated() {
+        // A replacement may already be running if the old process was stopped while idle
+        if (multiplexer != null && !multiplexer.isAlive()) {
+            cancelIdleShutdown();
+            multiplexer = null;
+        }
+    }
+
+    private void cancelIdleShutdown() {
+        if (idleShutdown != null) {
+            idleShutdown.cancel(false);
+            idleShutdown = null;
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        cancelIdleShutdown();
+        if (multiplexer != null) {
+            multiplexer.destroy();
+            multiplexer = null;
+        }
+    }
+}
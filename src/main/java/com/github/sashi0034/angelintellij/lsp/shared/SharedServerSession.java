@@ -0,0 +1,136 @@
+package com.github.sashi0034.angelintellij.lsp.shared;
+
+import com.github.sashi0034.angelintellij.lsp.wire.FrameQueueInputStream;
+import com.github.sashi0034.angelintellij.lsp.wire.LspFrames;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One project's view of the shared language server: a pair of streams for lsp4ij plus the
+ * state the multiplexer needs to route messages for that project.
+ */
+public final class SharedServerSession {
+    private static final Logger LOG = Logger.getInstance(SharedServerSession.class);
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+    private final int id;
+    private final String name;
+    private final LspMultiplexer multiplexer;
+    private final FrameQueueInputStream input = new FrameQueueInputStream();
+    private final LspFrames.Decoder decoder = new LspFrames.Decoder();
+    private final OutputStream output = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            if (closed.get()) {
+                throw new IOException("Shared AngelScript Language Server session is closed");
+            }
+            for (byte[] body : decoder.append(b, off, len)) {
+                try {
+                    multiplexer.onClientMessage(SharedServerSession.this, body);
+                } catch (RuntimeException e) {
+                    LOG.warn("Dropping malformed message from '" + name + "'", e);
+                }
+            }
+        }
+    };
+
+    // Client request id (JSON form) → id used on the server side, for $/cancelRequest
+    private final Map<String, String> serverRequestIds = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile List<JsonObject> workspaceFolders = List.of();
+    private volatile boolean shutDown;
+
+    SharedServerSession(int id, @NotNull String name, @NotNull LspMultiplexer multiplexer) {
+        this.id = id;
+        this.name = name;
+        this.multiplexer = multiplexer;
+    }
+
+    public @NotNull InputStream getInputStream() {
+        return input;
+    }
+
+    public @NotNull OutputStream getOutputStream() {
+        return output;
+    }
+
+    public @NotNull Process getProcess() {
+        return multiplexer.getProcess();
+    }
+
+    /**
+     * Detaches this project from the shared server. The process itself is left to {@link SharedServerPool}.
+     */
+    public void close() {
+        multiplexer.detach(this);
+    }
+
+    int getId() {
+        return id;
+    }
+
+    @NotNull String getName() {
+        return name;
+    }
+
+    void deliver(@NotNull JsonObject message) {
+        input.offerFrame(GSON.toJson(message).getBytes(StandardCharsets.UTF_8));
+    }
+
+    void closeInput() {
+        input.close();
+    }
+
+    boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void markShutDown() {
+        shutDown = true;
+    }
+
+    boolean isShutDown() {
+        return shutDown;
+    }
+
+    @NotNull List<JsonObject> getWorkspaceFolders() {
+        return workspaceFolders;
+    }
+
+    void setWorkspaceFolders(@NotNull List<JsonObject> folders) {
+        workspaceFolders = List.copyOf(folders);
+    }
+
+    void rememberServerRequestId(String clientId, String serverId) {
+        serverRequestIds.put(clientId, serverId);
+    }
+
+    void forgetServerRequestId(String clientId) {
+        serverRequestIds.remove(clientId);
+    }
+
+    String findServerRequestId(String clientId) {
+        return serverRequestIds.get(clientId);
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.sashi0034.angelintellij.lsp.tokens;
+
+import com.github.sashi0034.angelintellij.lsp.wire.FrameQueueInputStream;
+import com.github.sashi0034.angelintellij.lsp.wire.LspFrames;
+import com.github.sashi0034.angelintellij.lsp.wire.WireMeter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Puts a {@link SemanticTokensStrategy} between lsp4ij and the streams of a language server connection.
+ * <p>
+ * Only messages that can concern semantic tokens are parsed, as told by their top-level {@code id} and
+ * {@code method}; everything else is passed on as it came.
+ * Every message is counted in a {@link WireMeter} as lsp4ij sends or receives it.
+ */
+public final class SemanticTokensConnection {
+    private static final Logger LOG = Logger.getInstance(SemanticTokensConnection.class);
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+    private final InputStream serverOutput;
+    private final OutputStream serverInput;
+    private final FrameQueueInputStream input = new FrameQueueInputStream();
+    private final LspFrames.Decoder decoder = new LspFrames.Decoder();
+    private final ViewportTracker viewports;
+    private final SemanticTokensStrategy strategy;
+    private final WireMeter meter;
+    private final OutputStream output = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            for (byte[] body : decoder.append(b, off, len)) {
+                onClientMessage(body);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverInput.close();
+        }
+    };
+
+    public SemanticTokensConnection(@NotNull Project project, @NotNull InputStream serverOutput, @NotNull OutputStream serverInput,
+                                    @NotNull WireMeter meter) {
+        this.serverOutput = serverOutput;
+        this.serverInput = serverInput;
+        this.meter = meter;
+        viewports = new ViewportTracker(project);
+        strategy = new SemanticTokensStrategy(viewports::get, this::deliver,
+                AppExecutorUtil.getAppScheduledExecutorService(), System::currentTimeMillis);
+        ApplicationManager.getApplication().executeOnPooledThread(this::readServerMessages);
+    }
+
+    public @NotNull InputStream getInputStream() {
+        return input;
+    }
+
+    public @NotNull OutputStream getOutputStream() {
+        return output;
+    }
+
+    public @NotNull SemanticTokensStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void close() {
+        strategy.dispose();
+        Disposer.dispose(viewports);
+        input.close();
+    }
+
+    private void onClientMessage(byte[] body) throws IOException {
+        WireMeter.Envelope envelope = WireMeter.Envelope.scan(body);
+        meter.toServer(body, envelope);
+        if (!concernsTokens(envelope)) {
+            writeToServer(body);
+            return;
+        }
+        JsonObject message;
+        try {
+            message = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (RuntimeException e) {
+            writeToServer(body);
+            return;
+        }
+        JsonObject forwarded = strategy.onClientMessage(message);
+        if (forwarded != null) {
+            writeToServer(GSON.toJson(forwarded).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void readServerMessages() {
+        try (InputStream stream = new BufferedInputStream(serverOutput)) {
+            byte[] body;
+            while ((body = LspFrames.read(stream)) != null) {
+                // Large answers like angelscript/getAPIIndex are never parsed here
+                WireMeter.Envelope envelope = WireMeter.Envelope.scan(body);
+                if (envelope.method() == null && envelope.id() != null && strategy.isAwaitingResponse(envelope.id())) {
+                    try {
+                        JsonObject message = JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+                        JsonObject rewritten = strategy.onServerMessage(message);
+                        if (rewritten != null) {
+                            body = GSON.toJson(rewritten).getBytes(StandardCharsets.UTF_8);
+                        }
+                    } catch (RuntimeException e) {
+                        LOG.warn("Passing on a language server response the semantic tokens strategy could not read", e);
+                    }
+                }
+                meter.fromServer(body, envelope);
+                input.offerFrame(body);
+            }
+        } catch (IOException e) {
+            LOG.info("AngelScript Language Server stream closed: " + e.getMessage());
+        } finally {
+            input.close();
+        }
+    }
+
+    private void deliver(JsonObject message) {
+        byte[] body = GSON.toJson(message).getBytes(StandardCharsets.UTF_8);
+        meter.fromServer(body);
+        input.offerFrame(body);
+    }
+
+    private void writeToServer(byte[] body) throws IOException {
+        synchronized (serverInput) {
+            LspFrames.write(serverInput, body);
+        }
+    }
+
+    // Document sync, semantic token requests, initialize, and answers to injected refresh requests
+    static boolean concernsTokens(@NotNull WireMeter.Envelope envelope) {
+        String method = envelope.method();
+        if (method == null) {
+            String id = envelope.id();
+            return id != null && id.startsWith("\"" + SemanticTokensStrategy.REFRESH_ID_PREFIX);
+        }
+        return method.startsWith("textDocument/did") || method.equals(SemanticTokensStrategy.FULL)
+                || method.equals("initialize");
+    }
+}
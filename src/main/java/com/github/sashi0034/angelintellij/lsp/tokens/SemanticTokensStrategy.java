@@ -0,0 +1,547 @@
+package com.github.sashi0034.angelintellij.lsp.tokens;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides how the semantic tokens of a document are fetched from the language server.
+ * <p>
+ * lsp4ij always asks for {@code textDocument/semanticTokens/full}. Those requests are rewritten on their way to
+ * the server, and the answers are turned back into full results before lsp4ij sees them:
+ * <ul>
+ *     <li>While a large document is being edited and every line changed since its last tokens is visible,
+ *     only the visible lines are requested with {@code semanticTokens/range}. The tokens outside the viewport
+ *     are kept from the previous result, shifted by the number of lines the edits added or removed.</li>
+ *     <li>Otherwise, once the server has a previous result for the document, {@code semanticTokens/full/delta}
+ *     transfers only the tokens that changed.</li>
+ *     <li>The first request of a document is sent as a full request.</li>
+ * </ul>
+ * When editing stops for {@link #IDLE_DELAY_MS}, documents last coloured from a range are refreshed through
+ * an injected {@code workspace/semanticTokens/refresh}, so the whole file is recoloured while idle.
+ */
+public final class SemanticTokensStrategy {
+    private static final Logger LOG = Logger.getInstance(SemanticTokensStrategy.class);
+
+    static final String FULL = "textDocument/semanticTokens/full";
+    static final String DELTA = "textDocument/semanticTokens/full/delta";
+    static final String RANGE = "textDocument/semanticTokens/range";
+    private static final String REFRESH = "workspace/semanticTokens/refresh";
+    static final String REFRESH_ID_PREFIX = "angelscript-semantic-tokens-refresh-";
+
+    static final int LARGE_DOCUMENT_LINES = 2000;
+    static final long IDLE_DELAY_MS = 1500;
+
+    /**
+     * How many requests of each kind were sent and how many tokens they transferred, next to the number of
+     * tokens handed to lsp4ij, which is what full requests alone would have transferred.
+     */
+    public record Stats(int fullRequests, int deltaRequests, int rangeRequests, long tokensReceived, long tokensDelivered) {
+    }
+
+    /**
+     * The lines of a document that changed since some point, as the number of untouched lines at the top and
+     * at the bottom of the document.
+     */
+    private static final class ChangedLines {
+        int top = Integer.MAX_VALUE;
+        int bottom = Integer.MAX_VALUE;
+
+        boolean isEmpty() {
+            return top == Integer.MAX_VALUE;
+        }
+    }
+
+    private static final class Document {
+        int lineCount = 1;
+        long lastEdit;
+        // Last full or delta result, the base of the next delta
+        @Nullable String resultId;
+        int @Nullable [] serverData;
+        // Tokens lsp4ij has, with the line count and changes since then
+        int @Nullable [] shownData;
+        int shownLineCount;
+        ChangedLines changed = new ChangedLines();
+        boolean partial;
+        final List<ChangedLines> trackers = new ArrayList<>();
+
+        ChangedLines track() {
+            ChangedLines lines = new ChangedLines();
+            trackers.add(lines);
+            return lines;
+        }
+    }
+
+    private record Pending(String uri, String method, ChangedLines sinceRequest, int lineCount,
+                           int firstLine, int lastLine) {
+    }
+
+    private final Function<String, int @Nullable []> viewport;
+    private final Consumer<JsonObject> toClient;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Map<String, Pending> pending = new HashMap<>();
+    private @Nullable String initializeId;
+    private boolean serverDelta;
+    private boolean serverRange;
+    private @Nullable ScheduledFuture<?> refresh;
+    private int nextRefreshId;
+    private int fullRequests;
+    private int deltaRequests;
+    private int rangeRequests;
+    private long tokensReceived;
+    private long tokensDelivered;
+
+    /**
+     * @param viewport first and last visible line of a document URI, or {@code null} if it is not shown
+     * @param toClient delivers a message to lsp4ij as if the server had sent it
+     */
+    public SemanticTokensStrategy(@NotNull Function<String, int @Nullable []> viewport,
+                                  @NotNull Consumer<JsonObject> toClient,
+                                  @NotNull ScheduledExecutorService scheduler,
+                                  @NotNull LongSupplier clock) {
+        this.viewport = viewport;
+        this.toClient = toClient;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    public synchronized @NotNull Stats getStats() {
+        return new Stats(fullRequests, deltaRequests, rangeRequests, tokensReceived, tokensDelivered);
+    }
+
+    /**
+     * Handles a message from lsp4ij to the server.
+     *
+     * @return the message to send to the server, possibly rewritten, or {@code null} to drop it
+     */
+    public synchronized @Nullable JsonObject onClientMessage(@NotNull JsonObject message) {
+        String method = message.has("method") ? message.get("method").getAsString() : null;
+        JsonElement id = message.get("id");
+        if (method == null) {
+            // Answer to a refresh injected by this strategy
+            boolean refreshAnswer = id != null && id.isJsonPrimitive() && id.getAsString().startsWith(REFRESH_ID_PREFIX);
+            return refreshAnswer ? null : message;
+        }
+        JsonObject params = message.getAsJsonObject("params");
+        switch (method) {
+            case "initialize" -> initializeId = id != null ? id.toString() : null;
+            case "textDocument/didOpen" -> {
+                JsonObject textDocument = params.getAsJsonObject("textDocument");
+                Document document = new Document();
+                document.lineCount = countLines(textDocument.get("text").getAsString());
+                documents.put(textDocument.get("uri").getAsString(), document);
+            }
+            case "textDocument/didChange" -> {
+                Document document = documents.get(uri(params));
+                if (document != null) {
+                    for (JsonElement change : params.getAsJsonArray("contentChanges")) {
+                        applyChange(document, change.getAsJsonObject());
+                    }
+                    document.lastEdit = clock.getAsLong();
+                }
+            }
+            case "textDocument/didClose" -> documents.remove(uri(params));
+            case FULL -> {
+                if (id != null) {
+                    return rewriteFullRequest(message, id, uri(params));
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Whether the server response with the given id, as written in the message, concerns this strategy;
+     * others need not be parsed.
+     */
+    public synchronized boolean isAwaitingResponse(@NotNull String id) {
+        return id.equals(initializeId) || pending.containsKey(id);
+    }
+
+    /**
+     * Handles a message from the server to lsp4ij.
+     *
+     * @return the answer for lsp4ij if a delta or range answer was turned into a full result, {@code null} if
+     * the message goes to lsp4ij unchanged
+     */
+    public synchronized @Nullable JsonObject onServerMessage(@NotNull JsonObject message) {
+        if (message.has("method") || !message.has("id")) {
+            return null;
+        }
+        String id = message.get("id").toString();
+        if (id.equals(initializeId)) {
+            initializeId = null;
+            readCapabilities(message);
+            return null;
+        }
+        Pending request = pending.remove(id);
+        if (request == null) {
+            return null;
+        }
+        Document document = documents.get(request.uri());
+        if (document != null) {
+            document.trackers.remove(request.sinceRequest());
+        }
+        JsonElement result = message.get("result");
+        if (document == null || result == null || !result.isJsonObject()) {
+            if (document != null) {
+                // Errors and cancellations leave no base to build on
+                document.resultId = null;
+                document.serverData = null;
+            }
+            return null;
+        }
+
+        JsonObject tokens = result.getAsJsonObject();
+        int[] data;
+        switch (request.method()) {
+            case RANGE -> {
+                int[] range = toInts(tokens.getAsJsonArray("data"));
+                tokensReceived += range.length / 5;
+                data = mergeRange(document, request, range);
+                document.partial = true;
+                scheduleRefresh();
+            }
+            case DELTA -> {
+                if (tokens.has("edits")) {
+                    JsonArray edits = tokens.getAsJsonArray("edits");
+                    tokensReceived += countEditTokens(edits);
+                    data = applyEdits(document.serverData, edits);
+                } else {
+                    data = toInts(tokens.getAsJsonArray("data"));
+                    tokensReceived += data.length / 5;
+                }
+                document.resultId = tokens.has("resultId") ? tokens.get("resultId").getAsString() : null;
+                document.serverData = data;
+                document.partial = false;
+            }
+            default -> {
+                data = toInts(tokens.getAsJsonArray("data"));
+                tokensReceived += data.length / 5;
+                document.resultId = tokens.has("resultId") ? tokens.get("resultId").getAsString() : null;
+                document.serverData = data;
+                document.partial = false;
+            }
+        }
+        tokensDelivered += data.length / 5;
+        document.shownData = data;
+        document.shownLineCount = request.lineCount();
+        document.changed = request.sinceRequest();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Semantic tokens of " + request.uri() + " by " + request.method() + ": " + getStats());
+        }
+
+        JsonObject full = new JsonObject();
+        if (document.resultId != null) {
+            full.addProperty("resultId", document.resultId);
+        }
+        full.add("data", toJson(data));
+        message.add("result", full);
+        return message;
+    }
+
+    public synchronized void dispose() {
+        if (refresh != null) {
+            refresh.cancel(false);
+            refresh = null;
+        }
+        Stats stats = getStats();
+        if (stats.fullRequests() + stats.deltaRequests() + stats.rangeRequests() > 0) {
+            LOG.info("Semantic tokens: " + stats.fullRequests() + " full, " + stats.deltaRequests() + " delta and "
+                    + stats.rangeRequests() + " range requests transferred " + stats.tokensReceived()
+                    + " tokens for " + stats.tokensDelivered() + " delivered");
+        }
+    }
+
+    private JsonObject rewriteFullRequest(JsonObject message, JsonElement id, String uri) {
+        Document document = documents.get(uri);
+        if (document == null) {
+            fullRequests++;
+            return message;
+        }
+        ChangedLines sinceRequest = document.track();
+        int[] visible = viewport.apply(uri);
+        boolean editing = clock.getAsLong() - document.lastEdit < IDLE_DELAY_MS;
+        JsonObject params = message.getAsJsonObject("params");
+
+        if (serverRange && editing && visible != null && document.shownData != null
+                && document.lineCount >= LARGE_DOCUMENT_LINES && coversChanges(document, visible)) {
+            int firstLine = visible[0];
+            int lastLine = Math.min(visible[1], document.lineCount - 1);
+            params.add("range", range(firstLine, lastLine + 1));
+            message.addProperty("method", RANGE);
+            pending.put(id.toString(), new Pending(uri, RANGE, sinceRequest, document.lineCount, firstLine, lastLine));
+            rangeRequests++;
+        } else if (serverDelta && document.resultId != null && document.serverData != null) {
+            params.addProperty("previousResultId", document.resultId);
+            message.addProperty("method", DELTA);
+            pending.put(id.toString(), new Pending(uri, DELTA, sinceRequest, document.lineCount, 0, 0));
+            deltaRequests++;
+        } else {
+            pending.put(id.toString(), new Pending(uri, FULL, sinceRequest, document.lineCount, 0, 0));
+            fullRequests++;
+        }
+        return message;
+    }
+
+    private static boolean coversChanges(Document document, int[] visible) {
+        ChangedLines changed = document.changed;
+        if (changed.isEmpty()) {
+            return false;
+        }
+        int lastChanged = document.lineCount - 1 - changed.bottom;
+        return visible[0] <= changed.top && visible[1] >= lastChanged;
+    }
+
+    private void readCapabilities(JsonObject response) {
+        JsonObject result = response.getAsJsonObject("result");
+        JsonObject capabilities = result != null ? result.getAsJsonObject("capabilities") : null;
+        JsonElement provider = capabilities != null ? capabilities.get("semanticTokensProvider") : null;
+        if (provider == null || !provider.isJsonObject()) {
+            return;
+        }
+        JsonElement range = provider.getAsJsonObject().get("range");
+        serverRange = range != null && (range.isJsonObject() || range.getAsBoolean());
+        JsonElement full = provider.getAsJsonObject().get("full");
+        serverDelta = full != null && full.isJsonObject() && full.getAsJsonObject().has("delta")
+                && full.getAsJsonObject().get("delta").getAsBoolean();
+    }
+
+    private void scheduleRefresh() {
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
+        refresh = scheduler.schedule(this::refreshWhenIdle, IDLE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void refreshWhenIdle() {
+        refresh = null;
+        long now = clock.getAsLong();
+        boolean anyPartial = false;
+        for (Document document : documents.values()) {
+            if (!document.partial) {
+                continue;
+            }
+            long idleIn = document.lastEdit + IDLE_DELAY_MS - now;
+            if (idleIn > 0) {
+                refresh = scheduler.schedule(this::refreshWhenIdle, idleIn, TimeUnit.MILLISECONDS);
+                return;
+            }
+            anyPartial = true;
+        }
+        if (anyPartial) {
+            JsonObject request = new JsonObject();
+            request.addProperty("jsonrpc", "2.0");
+            request.addProperty("id", REFRESH_ID_PREFIX + ++nextRefreshId);
+            request.addProperty("method", REFRESH);
+            toClient.accept(request);
+        }
+    }
+
+    private static void applyChange(Document document, JsonObject change) {
+        String text = change.get("text").getAsString();
+        JsonObject range = change.getAsJsonObject("range");
+        int lineCountBefore = document.lineCount;
+        int top;
+        int bottom;
+        if (range == null) {
+            top = 0;
+            bottom = 0;
+            document.lineCount = countLines(text);
+        } else {
+            int startLine = range.getAsJsonObject("start").get("line").getAsInt();
+            int endLine = range.getAsJsonObject("end").get("line").getAsInt();
+            top = startLine;
+            bottom = Math.max(0, lineCountBefore - 1 - endLine);
+            document.lineCount += countLines(text) - 1 - (endLine - startLine);
+        }
+        update(document.changed, top, bottom);
+        for (ChangedLines tracker : document.trackers) {
+            update(tracker, top, bottom);
+        }
+    }
+
+    private static void update(ChangedLines lines, int top, int bottom) {
+        lines.top = Math.min(lines.top, top);
+        lines.bottom = Math.min(lines.bottom, bottom);
+    }
+
+    /**
+     * Builds the full tokens of a document from the tokens of its visible lines and the previous tokens around them.
+     */
+    private static int[] mergeRange(Document document, Pending request, int[] range) {
+        int[] shown = document.shownData != null ? document.shownData : new int[0];
+        int shift = request.lineCount() - document.shownLineCount;
+        Encoder encoder = new Encoder(shown.length + range.length);
+        boolean rangeAdded = false;
+        int line = 0;
+        int character = 0;
+        for (int index = 0; index < shown.length; index += 5) {
+            line += shown[index];
+            character = shown[index] == 0 ? character + shown[index + 1] : shown[index + 1];
+            if (line < request.firstLine()) {
+                encoder.push(line, character, shown, index);
+                continue;
+            }
+            if (!rangeAdded) {
+                encoder.pushAll(range);
+                rangeAdded = true;
+            }
+            // Below the viewport every line is unchanged, only moved by the lines the edits added or removed
+            if (line + shift > request.lastLine()) {
+                encoder.push(line + shift, character, shown, index);
+            }
+        }
+        if (!rangeAdded) {
+            encoder.pushAll(range);
+        }
+        return encoder.toArray();
+    }
+
+    private static int[] applyEdits(int @Nullable [] data, JsonArray edits) {
+        int[] previous = data != null ? data : new int[0];
+        List<JsonObject> sorted = new ArrayList<>(edits.size());
+        for (JsonElement edit : edits) {
+            sorted.add(edit.getAsJsonObject());
+        }
+        sorted.sort((a, b) -> Integer.compare(a.get("start").getAsInt(), b.get("start").getAsInt()));
+
+        int length = previous.length;
+        for (JsonObject edit : sorted) {
+            length += (edit.has("data") ? edit.getAsJsonArray("data").size() : 0) - edit.get("deleteCount").getAsInt();
+        }
+        int[] result = new int[length];
+        int from = 0;
+        int to = 0;
+        for (JsonObject edit : sorted) {
+            int start = edit.get("start").getAsInt();
+            System.arraycopy(previous, from, result, to, start - from);
+            to += start - from;
+            if (edit.has("data")) {
+                for (JsonElement value : edit.getAsJsonArray("data")) {
+                    result[to++] = value.getAsInt();
+                }
+            }
+            from = start + edit.get("deleteCount").getAsInt();
+        }
+        System.arraycopy(previous, from, result, to, previous.length - from);
+        return result;
+    }
+
+    private static long countEditTokens(JsonArray edits) {
+        long values = 0;
+        for (JsonElement edit : edits) {
+            JsonObject object = edit.getAsJsonObject();
+            values += object.has("data") ? object.getAsJsonArray("data").size() : 0;
+        }
+        return values / 5;
+    }
+
+    private static int countLines(String text) {
+        int lines = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static String uri(JsonObject params) {
+        return params.getAsJsonObject("textDocument").get("uri").getAsString();
+    }
+
+    private static JsonObject range(int startLine, int endLine) {
+        JsonObject range = new JsonObject();
+        range.add("start", position(startLine));
+        range.add("end", position(endLine));
+        return range;
+    }
+
+    private static JsonObject position(int line) {
+        JsonObject position = new JsonObject();
+        position.addProperty("line", line);
+        position.addProperty("character", 0);
+        return position;
+    }
+
+    private static int[] toInts(@Nullable JsonArray array) {
+        if (array == null) {
+            return new int[0];
+        }
+        int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).getAsInt();
+        }
+        return values;
+    }
+
+    /**
+     * Writes tokens at absolute positions in the relative encoding of the protocol.
+     */
+    private static final class Encoder {
+        private int[] data;
+        private int size;
+        private int previousLine;
+        private int previousCharacter;
+
+        Encoder(int capacity) {
+            data = new int[capacity];
+        }
+
+        void push(int line, int character, int[] source, int index) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + 5));
+            }
+            data[size] = line - previousLine;
+            data[size + 1] = line == previousLine ? character - previousCharacter : character;
+            System.arraycopy(source, index + 2, data, size + 2, 3);
+            size += 5;
+            previousLine = line;
+            previousCharacter = character;
+        }
+
+        void pushAll(int[] encoded) {
+            int line = 0;
+            int character = 0;
+            for (int index = 0; index < encoded.length; index += 5) {
+                line += encoded[index];
+                character = encoded[index] == 0 ? character + encoded[index + 1] : encoded[index + 1];
+                push(line, character, encoded, index);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    private static JsonArray toJson(int[] values) {
+        JsonArray array = new JsonArray(values.length);
+        for (int value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.sashi0034.angelintellij.lsp.tokens;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the visible lines of the project's editors by document URI, so that they can be read from the
+ * threads that talk to the language server. Updated on the EDT whenever an editor scrolls or is resized.
+ */
+final class ViewportTracker implements Disposable {
+    private final Project project;
+    private final Map<String, int[]> viewports = new ConcurrentHashMap<>();
+
+    ViewportTracker(@NotNull Project project) {
+        this.project = project;
+        EditorFactory editorFactory = EditorFactory.getInstance();
+        editorFactory.getEventMulticaster().addVisibleAreaListener(event -> update(event.getEditor()), this);
+        editorFactory.addEditorFactoryListener(new EditorFactoryListener() {
+            @Override
+            public void editorReleased(@NotNull EditorFactoryEvent event) {
+                String uri = uriOf(event.getEditor());
+                if (uri != null) {
+                    viewports.remove(uri);
+                }
+            }
+        }, this);
+        ApplicationManager.getApplication().invokeLater(() -> {
+            for (Editor editor : editorFactory.getAllEditors()) {
+                update(editor);
+            }
+        }, project.getDisposed());
+    }
+
+    /**
+     * First and last visible line of the document, or {@code null} if no editor of the project shows it.
+     */
+    int @Nullable [] get(@NotNull String uri) {
+        return viewports.get(normalize(uri));
+    }
+
+    private void update(Editor editor) {
+        if (editor.getProject() != project || editor.isDisposed()) {
+            return;
+        }
+        String uri = uriOf(editor);
+        if (uri == null) {
+            return;
+        }
+        Rectangle area = editor.getScrollingModel().getVisibleArea();
+        if (area.height <= 0) {
+            return;
+        }
+        int first = editor.xyToLogicalPosition(area.getLocation()).line;
+        int last = editor.xyToLogicalPosition(new Point(area.x, area.y + area.height)).line;
+        // With several editors of one document, the one scrolled last is where the user works
+        viewports.put(uri, new int[]{first, last});
+    }
+
+    private static @Nullable String uriOf(Editor editor) {
+        VirtualFile file = FileDocumentManager.getInstance().getFile(editor.getDocument());
+        return file != null ? normalize(LSPIJUtils.toUri(file).toASCIIString()) : null;
+    }
+
+    private static String normalize(String uri) {
+        try {
+            return URI.create(uri).normalize().toASCIIString();
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        viewports.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.sashi0034.angelintellij.lsp.wire;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Input stream fed with complete LSP frames from another thread.
+ * Closing it makes the reading side see the end of the stream once the queued frames are consumed.
+ */
+public final class FrameQueueInputStream extends InputStream {
+    private static final byte[] END = new byte[0];
+
+    private final LinkedBlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private byte[] current = new byte[0];
+    private int position;
+    private volatile boolean closed;
+
+    /**
+     * Queues one message body, framed with its {@code Content-Length} header.
+     */
+    public synchronized void offerFrame(byte @NotNull [] body) {
+        if (closed) {
+            return;
+        }
+        queue.add(LspFrames.header(body.length));
+        queue.add(body);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n == -1 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NotNull [] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (position >= current.length) {
+            if (current == END) {
+                return -1;
+            }
+            try {
+                current = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            position = 0;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            queue.add(END);
+        }
+    }
+}
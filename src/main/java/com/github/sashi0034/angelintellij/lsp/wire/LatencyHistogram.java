@@ -0,0 +1,71 @@
+package com.github.sashi0034.angelintellij.lsp.wire;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Latencies in power-of-two millisecond buckets, from under 1 ms up to 32 s and more. Percentiles are the
+ * upper bound of the bucket they fall into, capped at the largest latency seen. Not thread-safe.
+ */
+public final class LatencyHistogram {
+    static final int BUCKETS = 17;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        buckets[bucketOf(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public @NotNull Stats stats() {
+        return new Stats(count, totalNanos, maxNanos, buckets.clone());
+    }
+
+    /**
+     * Upper bound of a bucket in milliseconds; the last bucket has none.
+     */
+    public static long upperBoundMs(int bucket) {
+        return bucket < BUCKETS - 1 ? 1L << bucket : Long.MAX_VALUE;
+    }
+
+    static int bucketOf(long nanos) {
+        long ms = nanos / 1_000_000;
+        // 0 ms -> 0, 1 ms -> 1, 2..3 ms -> 2, 4..7 ms -> 3, ...
+        int bucket = 64 - Long.numberOfLeadingZeros(ms);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    public record Stats(long count, long totalNanos, long maxNanos, long @NotNull [] buckets) {
+        public double meanMs() {
+            return count > 0 ? round(totalNanos / 1e6 / count) : 0;
+        }
+
+        public double maxMs() {
+            return round(maxNanos / 1e6);
+        }
+
+        public double percentileMs(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundMs(i), maxMs());
+                }
+            }
+            return maxMs();
+        }
+
+        private static double round(double ms) {
+            return Math.round(ms * 100) / 100.0;
+        }
+    }
+}
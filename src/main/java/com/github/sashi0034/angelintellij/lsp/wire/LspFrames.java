@@ -0,0 +1,133 @@
+package com.github.sashi0034.angelintellij.lsp.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reading and writing of LSP base protocol frames ({@code Content-Length} header followed by a JSON body).
+ */
+public final class LspFrames {
+    private static final String CONTENT_LENGTH = "content-length:";
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private LspFrames() {
+    }
+
+    /**
+     * Reads the body of the next frame, or returns {@code null} at the end of the stream.
+     */
+    public static byte @Nullable [] read(@NotNull InputStream input) throws IOException {
+        int contentLength = -1;
+        StringBuilder line = new StringBuilder();
+        boolean sawAnyByte = false;
+        while (true) {
+            int c = input.read();
+            if (c == -1) {
+                if (!sawAnyByte) {
+                    return null;
+                }
+                throw new EOFException("Stream ended inside an LSP header");
+            }
+            sawAnyByte = true;
+            if (c == '\n') {
+                String header = line.toString().trim();
+                line.setLength(0);
+                if (header.isEmpty()) {
+                    if (contentLength >= 0) {
+                        break;
+                    }
+                    continue;
+                }
+                if (header.toLowerCase().startsWith(CONTENT_LENGTH)) {
+                    contentLength = Integer.parseInt(header.substring(CONTENT_LENGTH.length()).trim());
+                }
+            } else {
+                line.append((char) c);
+            }
+        }
+        byte[] body = input.readNBytes(contentLength);
+        if (body.length != contentLength) {
+            throw new EOFException("Stream ended inside an LSP message body");
+        }
+        return body;
+    }
+
+    /**
+     * Writes one complete frame. Callers sharing a stream must synchronize on it.
+     */
+    public static void write(@NotNull OutputStream output, byte @NotNull [] body) throws IOException {
+        output.write(header(body.length));
+        output.write(body);
+        output.flush();
+    }
+
+    public static byte @NotNull [] header(int contentLength) {
+        return ("Content-Length: " + contentLength + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Incremental frame decoder for bytes that arrive through {@link OutputStream#write} calls,
+     * where a single frame may be split across several writes.
+     */
+    public static final class Decoder {
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        public synchronized @NotNull List<byte[]> append(byte @NotNull [] bytes, int offset, int length) {
+            pending.write(bytes, offset, length);
+            List<byte[]> frames = new ArrayList<>(1);
+            byte[] buffer = pending.toByteArray();
+            int start = 0;
+            while (true) {
+                int headerEnd = indexOf(buffer, HEADER_END, start);
+                if (headerEnd < 0) {
+                    break;
+                }
+                int contentLength = parseContentLength(buffer, start, headerEnd);
+                int bodyStart = headerEnd + HEADER_END.length;
+                if (buffer.length - bodyStart < contentLength) {
+                    break;
+                }
+                frames.add(Arrays.copyOfRange(buffer, bodyStart, bodyStart + contentLength));
+                start = bodyStart + contentLength;
+            }
+            if (start > 0) {
+                pending.reset();
+                pending.write(buffer, start, buffer.length - start);
+            }
+            return frames;
+        }
+
+        private static int parseContentLength(byte[] buffer, int from, int to) {
+            String headers = new String(buffer, from, to - from, StandardCharsets.US_ASCII);
+            for (String header : headers.split("\r\n")) {
+                if (header.toLowerCase().startsWith(CONTENT_LENGTH)) {
+                    return Integer.parseInt(header.substring(CONTENT_LENGTH.length()).trim());
+                }
+            }
+            throw new IllegalStateException("LSP frame without Content-Length header: " + headers);
+        }
+
+        private static int indexOf(byte[] buffer, byte[] needle, int from) {
+            outer:
+            for (int i = from; i <= buffer.length - needle.length; i++) {
+                for (int j = 0; j < needle.length; j++) {
+                    if (buffer[i + j] != needle[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+}
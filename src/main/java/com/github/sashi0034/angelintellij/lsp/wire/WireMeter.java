@@ -0,0 +1,377 @@
+package com.github.sashi0034.angelintellij.lsp.wire;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the LSP messages between lsp4ij and the language server: messages and body bytes per method and
+ * direction, and the time from each request to its response.
+ * <p>
+ * Frames are not parsed; only the top-level {@code id} and {@code method} members are picked out of the
+ * body, which usually ends the scan before the parameters or the result. Latencies are measured where
+ * lsp4ij hands over and receives the messages, so they cover the server and the pipes but not lsp4ij.
+ * Requests from the server are timed too, which measures the IDE's answers.
+ */
+public final class WireMeter {
+    // Requests that are never answered are dropped beyond this many
+    private static final int MAX_PENDING = 1024;
+
+    public enum Origin {CLIENT, SERVER}
+
+    private final LongSupplier nanoClock;
+    private long startNanos;
+    private final Map<String, MethodCounter> methods = new HashMap<>();
+    private final Map<String, Pending> pendingFromClient = pendingMap();
+    private final Map<String, Pending> pendingFromServer = pendingMap();
+    private long messagesToServer;
+    private long bytesToServer;
+    private long messagesFromServer;
+    private long bytesFromServer;
+    private long unmatchedResponses;
+
+    public WireMeter() {
+        this(System::nanoTime);
+    }
+
+    public WireMeter(@NotNull LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Records a message body lsp4ij sends to the server.
+     */
+    public void toServer(byte @NotNull [] body) {
+        toServer(body, Envelope.scan(body));
+    }
+
+    /**
+     * Records a message body lsp4ij sends to the server, whose envelope the caller scanned already.
+     */
+    public void toServer(byte @NotNull [] body, @NotNull Envelope envelope) {
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            messagesToServer++;
+            bytesToServer += body.length;
+            record(envelope, body.length, now, true, pendingFromClient, pendingFromServer, Origin.CLIENT);
+        }
+    }
+
+    /**
+     * Records a message body the server sends to lsp4ij.
+     */
+    public void fromServer(byte @NotNull [] body) {
+        fromServer(body, Envelope.scan(body));
+    }
+
+    /**
+     * Records a message body the server sends to lsp4ij, whose envelope the caller scanned already.
+     */
+    public void fromServer(byte @NotNull [] body, @NotNull Envelope envelope) {
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            messagesFromServer++;
+            bytesFromServer += body.length;
+            record(envelope, body.length, now, false, pendingFromServer, pendingFromClient, Origin.SERVER);
+        }
+    }
+
+    private void record(Envelope envelope, int bytes, long now, boolean toServer,
+                        Map<String, Pending> sentRequests, Map<String, Pending> receivedRequests, Origin origin) {
+        String method = envelope.method;
+        if (method == null) {
+            // A response, to a request that went the other way
+            Pending request = envelope.id != null ? receivedRequests.remove(envelope.id) : null;
+            if (request == null) {
+                unmatchedResponses++;
+                return;
+            }
+            MethodCounter counter = request.counter;
+            counter.count(toServer, bytes);
+            counter.latency.record(now - request.sentNanos);
+            return;
+        }
+        MethodCounter counter = methods.computeIfAbsent(method, m -> new MethodCounter(origin));
+        counter.count(toServer, bytes);
+        if (envelope.id != null) {
+            counter.requests++;
+            sentRequests.put(envelope.id, new Pending(counter, now));
+        } else {
+            counter.notifications++;
+        }
+    }
+
+    public synchronized @NotNull Snapshot snapshot() {
+        List<MethodStats> stats = new ArrayList<>(methods.size());
+        methods.forEach((method, counter) -> stats.add(counter.toStats(method)));
+        stats.sort(Comparator.comparingLong(MethodStats::totalBytes).reversed());
+        return new Snapshot((nanoClock.getAsLong() - startNanos) / 1_000_000, messagesToServer, bytesToServer,
+                messagesFromServer, bytesFromServer, pendingFromClient.size() + pendingFromServer.size(),
+                unmatchedResponses, List.copyOf(stats));
+    }
+
+    public synchronized void reset() {
+        startNanos = nanoClock.getAsLong();
+        methods.clear();
+        pendingFromClient.clear();
+        pendingFromServer.clear();
+        messagesToServer = 0;
+        bytesToServer = 0;
+        messagesFromServer = 0;
+        bytesFromServer = 0;
+        unmatchedResponses = 0;
+    }
+
+    public record Snapshot(long elapsedMs, long messagesToServer, long bytesToServer, long messagesFromServer,
+                           long bytesFromServer, int pendingRequests, long unmatchedResponses,
+                           @NotNull List<MethodStats> methods) {
+        public double bytesPerSecond() {
+            return elapsedMs > 0 ? (bytesToServer + bytesFromServer) * 1000.0 / elapsedMs : 0;
+        }
+
+        public @NotNull JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("elapsedMs", elapsedMs);
+            json.addProperty("messagesToServer", messagesToServer);
+            json.addProperty("bytesToServer", bytesToServer);
+            json.addProperty("messagesFromServer", messagesFromServer);
+            json.addProperty("bytesFromServer", bytesFromServer);
+            json.addProperty("bytesPerSecond", Math.round(bytesPerSecond()));
+            json.addProperty("pendingRequests", pendingRequests);
+            json.addProperty("unmatchedResponses", unmatchedResponses);
+            JsonObject byMethod = new JsonObject();
+            for (MethodStats method : methods) {
+                byMethod.add(method.method(), method.toJson());
+            }
+            json.add("methods", byMethod);
+            return json;
+        }
+    }
+
+    /**
+     * Messages of one method; responses count towards the method of their request.
+     */
+    public record MethodStats(@NotNull String method, @NotNull Origin origin, long requests, long notifications,
+                              long messagesToServer, long bytesToServer, long messagesFromServer,
+                              long bytesFromServer, @NotNull LatencyHistogram.Stats latency) {
+        public long totalBytes() {
+            return bytesToServer + bytesFromServer;
+        }
+
+        @NotNull JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("origin", origin.name().toLowerCase(Locale.ROOT));
+            json.addProperty("requests", requests);
+            json.addProperty("notifications", notifications);
+            json.addProperty("messagesToServer", messagesToServer);
+            json.addProperty("bytesToServer", bytesToServer);
+            json.addProperty("messagesFromServer", messagesFromServer);
+            json.addProperty("bytesFromServer", bytesFromServer);
+            if (latency.count() > 0) {
+                JsonObject times = new JsonObject();
+                times.addProperty("count", latency.count());
+                times.addProperty("meanMs", latency.meanMs());
+                times.addProperty("p50Ms", latency.percentileMs(0.5));
+                times.addProperty("p90Ms", latency.percentileMs(0.9));
+                times.addProperty("p99Ms", latency.percentileMs(0.99));
+                times.addProperty("maxMs", latency.maxMs());
+                JsonArray buckets = new JsonArray();
+                long[] counts = latency.buckets();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        JsonObject bucket = new JsonObject();
+                        bucket.addProperty("upToMs", LatencyHistogram.upperBoundMs(i));
+                        bucket.addProperty("count", counts[i]);
+                        buckets.add(bucket);
+                    }
+                }
+                times.add("buckets", buckets);
+                json.add("latency", times);
+            }
+            return json;
+        }
+    }
+
+    private record Pending(MethodCounter counter, long sentNanos) {
+    }
+
+    private static final class MethodCounter {
+        final Origin origin;
+        final LatencyHistogram latency = new LatencyHistogram();
+        long requests;
+        long notifications;
+        long messagesToServer;
+        long bytesToServer;
+        long messagesFromServer;
+        long bytesFromServer;
+
+        MethodCounter(Origin origin) {
+            this.origin = origin;
+        }
+
+        void count(boolean toServer, int bytes) {
+            if (toServer) {
+                messagesToServer++;
+                bytesToServer += bytes;
+            } else {
+                messagesFromServer++;
+                bytesFromServer += bytes;
+            }
+        }
+
+        MethodStats toStats(String method) {
+            return new MethodStats(method, origin, requests, notifications, messagesToServer, bytesToServer,
+                    messagesFromServer, bytesFromServer, latency.stats());
+        }
+    }
+
+    private static Map<String, Pending> pendingMap() {
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pending> eldest) {
+                return size() > MAX_PENDING;
+            }
+        };
+    }
+
+    /**
+     * The top-level {@code id} and {@code method} of a JSON-RPC message, read without parsing the rest.
+     */
+    public record Envelope(@Nullable String id, @Nullable String method) {
+        private static final Envelope NONE = new Envelope(null, null);
+
+        public static @NotNull Envelope scan(byte @NotNull [] body) {
+            try {
+                return new Scanner(body).envelope();
+            } catch (IndexOutOfBoundsException e) {
+                return NONE;
+            }
+        }
+    }
+
+    private static final class Scanner {
+        private final byte[] body;
+        private int position;
+
+        Scanner(byte[] body) {
+            this.body = body;
+        }
+
+        Envelope envelope() {
+            skipWhitespace();
+            if (body[position++] != '{') {
+                return Envelope.NONE;
+            }
+            String id = null;
+            String method = null;
+            while (true) {
+                skipWhitespace();
+                if (body[position] == '}') {
+                    break;
+                }
+                String key = readString();
+                skipWhitespace();
+                position++; // ':'
+                skipWhitespace();
+                switch (key) {
+                    case "id" -> id = body[position] == 'n' ? skipValueAsNull() : readRawValue();
+                    case "method" -> method = readString();
+                    case "result", "error" -> {
+                        // Responses have no method, and their id usually comes first
+                        if (id != null) {
+                            return new Envelope(id, null);
+                        }
+                        skipValue();
+                    }
+                    default -> skipValue();
+                }
+                if (id != null && method != null) {
+                    break;
+                }
+                skipWhitespace();
+                if (body[position] == ',') {
+                    position++;
+                }
+            }
+            return new Envelope(id, method);
+        }
+
+        private String skipValueAsNull() {
+            skipValue();
+            return null;
+        }
+
+        // Numbers and strings alike, as written, so that 1 and "1" stay apart
+        private String readRawValue() {
+            int start = position;
+            skipValue();
+            return new String(body, start, position - start, StandardCharsets.UTF_8);
+        }
+
+        private String readString() {
+            int start = ++position;
+            boolean escaped = false;
+            while (body[position] != '"') {
+                if (body[position] == '\\') {
+                    escaped = true;
+                    position++;
+                }
+                position++;
+            }
+            String text = new String(body, start, position - start, StandardCharsets.UTF_8);
+            position++;
+            return escaped ? text.replace("\\/", "/") : text;
+        }
+
+        private void skipValue() {
+            byte first = body[position];
+            if (first == '"') {
+                readString();
+                return;
+            }
+            if (first != '{' && first != '[') {
+                while (position < body.length && body[position] != ',' && body[position] != '}'
+                        && body[position] != ']' && !isWhitespace(body[position])) {
+                    position++;
+                }
+                return;
+            }
+            int depth = 0;
+            do {
+                byte c = body[position];
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                position++;
+            } while (depth > 0);
+        }
+
+        private void skipWhitespace() {
+            while (isWhitespace(body[position])) {
+                position++;
+            }
+        }
+
+        private static boolean isWhitespace(byte c) {
+            return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+        }
+    }
+}
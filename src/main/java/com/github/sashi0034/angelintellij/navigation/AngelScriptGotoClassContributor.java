@@ -0,0 +1,37 @@
+package com.github.sashi0034.angelintellij.navigation;
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptClassNameIndex;
+import com.intellij.navigation.GotoClassContributor;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Go to Class over script classes, structs, enums and delegates.
+ */
+public class AngelScriptGotoClassContributor extends AngelScriptIndexContributor implements GotoClassContributor {
+    public AngelScriptGotoClassContributor() {
+        super(List.of(AngelScriptClassNameIndex.KEY));
+    }
+
+    @Override
+    public @Nullable String getQualifiedName(@NotNull NavigationItem item) {
+        if (!(item instanceof AngelScriptNamedElement element)) return null;
+        StringBuilder name = new StringBuilder(String.valueOf(element.getName()));
+        for (AngelScriptNamedElement container = PsiTreeUtil.getStubOrPsiParentOfType(element, AngelScriptNamedElement.class);
+             container != null;
+             container = PsiTreeUtil.getStubOrPsiParentOfType(container, AngelScriptNamedElement.class)) {
+            name.insert(0, container.getName() + getQualifiedNameSeparator());
+        }
+        return name.toString();
+    }
+
+    @Override
+    public @NotNull String getQualifiedNameSeparator() {
+        return "::";
+    }
+}
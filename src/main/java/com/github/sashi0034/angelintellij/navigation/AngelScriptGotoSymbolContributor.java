@@ -0,0 +1,21 @@
+package com.github.sashi0034.angelintellij.navigation;
+
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptClassNameIndex;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptFunctionNameIndex;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptNamespaceIndex;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptPropertyNameIndex;
+
+import java.util.List;
+
+/**
+ * Go to Symbol over every indexed declaration: types, functions, properties and namespaces.
+ */
+public class AngelScriptGotoSymbolContributor extends AngelScriptIndexContributor {
+    public AngelScriptGotoSymbolContributor() {
+        super(List.of(
+                AngelScriptClassNameIndex.KEY,
+                AngelScriptFunctionNameIndex.KEY,
+                AngelScriptPropertyNameIndex.KEY,
+                AngelScriptNamespaceIndex.KEY));
+    }
+}
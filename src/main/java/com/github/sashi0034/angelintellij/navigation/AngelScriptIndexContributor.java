@@ -0,0 +1,47 @@
+package com.github.sashi0034.angelintellij.navigation;
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement;
+import com.intellij.navigation.ChooseByNameContributorEx;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.util.Processor;
+import com.intellij.util.indexing.FindSymbolParameters;
+import com.intellij.util.indexing.IdFilter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Answers a Go to dialog from the declaration stub indexes, so it works before the language server has loaded the scripts.
+ */
+abstract class AngelScriptIndexContributor implements ChooseByNameContributorEx {
+    private final List<StubIndexKey<String, AngelScriptNamedElement>> keys;
+
+    AngelScriptIndexContributor(@NotNull List<StubIndexKey<String, AngelScriptNamedElement>> keys) {
+        this.keys = keys;
+    }
+
+    @Override
+    public void processNames(@NotNull Processor<? super String> processor,
+                             @NotNull GlobalSearchScope scope,
+                             @Nullable IdFilter filter) {
+        for (StubIndexKey<String, AngelScriptNamedElement> key : keys) {
+            if (!StubIndex.getInstance().processAllKeys(key, processor, scope, filter)) return;
+        }
+    }
+
+    @Override
+    public void processElementsWithName(@NotNull String name,
+                                        @NotNull Processor<? super NavigationItem> processor,
+                                        @NotNull FindSymbolParameters parameters) {
+        for (StubIndexKey<String, AngelScriptNamedElement> key : keys) {
+            boolean proceed = StubIndex.getInstance().processElements(
+                    key, name, parameters.getProject(), parameters.getSearchScope(), parameters.getIdFilter(),
+                    AngelScriptNamedElement.class, processor);
+            if (!proceed) return;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.sashi0034.angelintellij.parser;
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.parser.GeneratedParserUtilBase;
+import com.intellij.psi.tree.IElementType;
+
+/**
+ * External rules of {@code AngelScript.bnf}.
+ */
+public class AngelScriptParserUtil extends GeneratedParserUtilBase {
+
+    /**
+     * Consumes a balanced {@code { ... }} without parsing it and collapses it into a
+     * {@link AngelScriptTokenTypes#STATEMENT_BLOCK} chameleon, which is parsed on first access.
+     * If the braces are not closed, only the opening brace is consumed and reported, so an unfinished body does not
+     * swallow the rest of the file and the declarations after it are parsed as if it ended there.
+     */
+    public static boolean lazyStatementBlock(PsiBuilder b, int level) {
+        if (b.getTokenType() != AngelScriptTokenTypes.START_STATEMENT_BLOCK) {
+            addVariant(b, "{");
+            return false;
+        }
+        PsiBuilder.Marker block = b.mark();
+        int depth = 0;
+        while (!b.eof()) {
+            IElementType type = b.getTokenType();
+            b.advanceLexer();
+            if (type == AngelScriptTokenTypes.START_STATEMENT_BLOCK) {
+                depth++;
+            } else if (type == AngelScriptTokenTypes.END_STATEMENT_BLOCK && --depth == 0) {
+                block.collapse(AngelScriptTokenTypes.STATEMENT_BLOCK);
+                return true;
+            }
+        }
+        block.rollbackTo();
+        PsiBuilder.Marker brace = b.mark();
+        b.advanceLexer();
+        brace.error("Unclosed function body");
+        return true;
+    }
+}
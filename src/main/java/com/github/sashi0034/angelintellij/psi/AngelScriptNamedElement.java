@@ -0,0 +1,13 @@
+package com.github.sashi0034.angelintellij.psi;
+
+import com.intellij.psi.NavigatablePsiElement;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A declaration with a name, which is what the stub indexes and Go to Class/Symbol work with.
+ */
+public interface AngelScriptNamedElement extends NavigatablePsiElement {
+    @Nullable
+    PsiElement getNameIdentifier();
+}
@@ -0,0 +1,57 @@
+package com.github.sashi0034.angelintellij.psi;
+
+import com.github.sashi0034.angelintellij.language.AngelScriptLanguage;
+import com.github.sashi0034.angelintellij.language.AngelScriptLexerAdapter;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A function body. It is parsed lazily, and an edit inside its braces reparses only this block instead of the whole file.
+ */
+public class AngelScriptStatementBlockElementType extends IReparseableElementType {
+    public AngelScriptStatementBlockElementType(@NotNull @NonNls String debugName) {
+        super(debugName, AngelScriptLanguage.INSTANCE);
+    }
+
+    /**
+     * Creates {@code STATEMENT_BLOCK}, the {@code elementTypeFactory} of {@code statement_block} in {@code AngelScript.bnf}.
+     */
+    public static @NotNull IElementType factory(@NotNull @NonNls String name) {
+        return new AngelScriptStatementBlockElementType(name);
+    }
+
+    @Override
+    public boolean isParsable(@Nullable ASTNode parent, @NotNull CharSequence buffer,
+                              @NotNull Language fileLanguage, @NotNull Project project) {
+        return isBalancedBlock(buffer);
+    }
+
+    /**
+     * Whether the text is still exactly one {@code { ... }} block whose braces all lex as braces.
+     * An edit that opens a comment or string running past the closing brace fails this check and falls back to a wider reparse.
+     */
+    static boolean isBalancedBlock(@NotNull CharSequence buffer) {
+        Lexer lexer = new AngelScriptLexerAdapter();
+        lexer.start(buffer);
+        if (lexer.getTokenType() != AngelScriptTokenTypes.START_STATEMENT_BLOCK) return false;
+        int depth = 0;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            if (depth == 0 && lexer.getTokenStart() > 0) return false;
+            if (type == AngelScriptTokenTypes.START_STATEMENT_BLOCK) {
+                depth++;
+            } else if (type == AngelScriptTokenTypes.END_STATEMENT_BLOCK) {
+                depth--;
+            }
+            lexer.advance();
+        }
+        return depth == 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.sashi0034.angelintellij.psi.impl;
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement;
+import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes;
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptDeclarationStub;
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.ASTNode;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Base of the stubbed declarations. The name is read from the stub when there is one, so
+ * navigation from the indexes does not load the AST of the target file.
+ */
+public abstract class AngelScriptStubbedElementImpl<T extends AngelScriptDeclarationStub>
+        extends StubBasedPsiElementBase<T> implements AngelScriptNamedElement {
+
+    public AngelScriptStubbedElementImpl(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    public AngelScriptStubbedElementImpl(@NotNull T stub, @NotNull IStubElementType<?, ?> type) {
+        super(stub, type);
+    }
+
+    @Override
+    public @Nullable PsiElement getNameIdentifier() {
+        return findChildByType(AngelScriptTokenTypes.IDENTIFIER);
+    }
+
+    @Override
+    public @Nullable String getName() {
+        T stub = getGreenStub();
+        if (stub != null) return stub.getName();
+        PsiElement identifier = getNameIdentifier();
+        return identifier != null ? identifier.getText() : null;
+    }
+
+    @Override
+    public int getTextOffset() {
+        PsiElement identifier = getNameIdentifier();
+        return identifier != null ? identifier.getTextOffset() : super.getTextOffset();
+    }
+
+    @Override
+    protected @Nullable Icon getElementIcon(int flags) {
+        return iconOf(getElementType());
+    }
+
+    @Override
+    public ItemPresentation getPresentation() {
+        return new ItemPresentation() {
+            @Override
+            public @Nullable String getPresentableText() {
+                return getName();
+            }
+
+            @Override
+            public @Nullable String getLocationString() {
+                AngelScriptNamedElement container = getStubOrPsiParentOfType(AngelScriptNamedElement.class);
+                return container != null ? container.getName() : getContainingFile().getName();
+            }
+
+            @Override
+            public @Nullable Icon getIcon(boolean unused) {
+                return iconOf(getElementType());
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getElementType() + ")";
+    }
+
+    private static @Nullable Icon iconOf(@NotNull IElementType type) {
+        if (type == AngelScriptTokenTypes.CLASS_DECLARATION) return AllIcons.Nodes.Class;
+        if (type == AngelScriptTokenTypes.STRUCT_DECLARATION) return AllIcons.Nodes.Record;
+        if (type == AngelScriptTokenTypes.ENUM_DECLARATION) return AllIcons.Nodes.Enum;
+        if (type == AngelScriptTokenTypes.DELEGATE_DECLARATION) return AllIcons.Nodes.Lambda;
+        if (type == AngelScriptTokenTypes.FUNCTION_DECLARATION) return AllIcons.Nodes.Method;
+        if (type == AngelScriptTokenTypes.VARIABLE_DECLARATION) return AllIcons.Nodes.Field;
+        if (type == AngelScriptTokenTypes.NAMESPACE_DECLARATION) return AllIcons.Nodes.Package;
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.sashi0034.angelintellij.psi.stubs;
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Names of classes, structs, enums and delegates.
+ */
+public class AngelScriptClassNameIndex extends StringStubIndexExtension<AngelScriptNamedElement> {
+    public static final StubIndexKey<String, AngelScriptNamedElement> KEY = StubIndexKey.createIndexKey("angelscript.class");
+
+    @Override
+    public @NotNull StubIndexKey<String, AngelScriptNamedElement> getKey() {
+        return KEY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.sashi0034.angelintellij.psi.stubs;
+
+import com.github.sashi0034.angelintellij.language.AngelScriptLanguage;
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubIndexKey;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+
+/**
+ * Element type of a stubbed declaration, recording its name in one of the name indexes.
+ */
+public class AngelScriptDeclarationElementType extends IStubElementType<AngelScriptDeclarationStub, AngelScriptNamedElement> {
+    private final BiFunction<AngelScriptDeclarationStub, IStubElementType<?, ?>, AngelScriptNamedElement> psiFactory;
+    private final StubIndexKey<String, AngelScriptNamedElement> indexKey;
+
+    public AngelScriptDeclarationElementType(@NotNull @NonNls String debugName,
+                                             @NotNull BiFunction<AngelScriptDeclarationStub, IStubElementType<?, ?>, AngelScriptNamedElement> psiFactory,
+                                             @NotNull StubIndexKey<String, AngelScriptNamedElement> indexKey) {
+        super(debugName, AngelScriptLanguage.INSTANCE);
+        this.psiFactory = psiFactory;
+        this.indexKey = indexKey;
+    }
+
+    @Override
+    public @NotNull String getExternalId() {
+        return "angelscript." + this;
+    }
+
+    @Override
+    public AngelScriptNamedElement createPsi(@NotNull AngelScriptDeclarationStub stub) {
+        return psiFactory.apply(stub, this);
+    }
+
+    @Override
+    public @NotNull AngelScriptDeclarationStub createStub(@NotNull AngelScriptNamedElement psi, StubElement<?> parentStub) {
+        return new AngelScriptDeclarationStub(parentStub, this, psi.getName());
+    }
+
+    @Override
+    public void serialize(@NotNull AngelScriptDeclarationStub stub, @NotNull StubOutputStream dataStream) throws IOException {
+        dataStream.writeName(stub.getName());
+    }
+
+    @Override
+    public @NotNull AngelScriptDeclarationStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub) throws IOException {
+        return new AngelScriptDeclarationStub(parentStub, this, dataStream.readNameString());
+    }
+
+    @Override
+    public void indexStub(@NotNull AngelScriptDeclarationStub stub, @NotNull IndexSink sink) {
+        String name = stub.getName();
+        if (name != null) sink.occurrence(indexKey, name);
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.sashi0034.angelintellij.psi.stubs;
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stub of any named declaration. The element type tells the kind, so only the name is stored.
+ */
+public class AngelScriptDeclarationStub extends StubBase<AngelScriptNamedElement> {
+    private final @Nullable String name;
+
+    public AngelScriptDeclarationStub(StubElement<?> parent, IStubElementType<?, ?> elementType, @Nullable String name) {
+        super(parent, elementType);
+        this.name = name;
+    }
+
+    public @Nullable String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.sashi0034.angelintellij.psi.stubs;
+
+import com.github.sashi0034.angelintellij.language.AngelScriptLanguage;
+import com.github.sashi0034.angelintellij.psi.AngelScriptFile;
+import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.StubBuilder;
+import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.IStubFileElementType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * File element type that builds the declaration stubs of a script.
+ * Function bodies are skipped, so indexing never parses them and local variables never reach the indexes.
+ */
+public class AngelScriptFileElementType extends IStubFileElementType<PsiFileStub<AngelScriptFile>> {
+    private static final int STUB_VERSION = 2;
+
+    public AngelScriptFileElementType() {
+        super("FILE", AngelScriptLanguage.INSTANCE);
+    }
+
+    @Override
+    public int getStubVersion() {
+        return STUB_VERSION;
+    }
+
+    @Override
+    public @NotNull String getExternalId() {
+        return "angelscript.FILE";
+    }
+
+    @Override
+    public StubBuilder getBuilder() {
+        return new DefaultStubBuilder() {
+            @Override
+            public boolean skipChildProcessingWhenBuildingStubs(@NotNull ASTNode parent, @NotNull ASTNode node) {
+                return node.getElementType() == AngelScriptTokenTypes.STATEMENT_BLOCK;
+            }
+        };
+    }
+}
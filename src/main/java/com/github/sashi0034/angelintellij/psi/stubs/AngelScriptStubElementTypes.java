@@ -0,0 +1,40 @@
+package com.github.sashi0034.angelintellij.psi.stubs;
+
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptClassDeclarationImpl;
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptDelegateDeclarationImpl;
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptEnumDeclarationImpl;
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptFunctionDeclarationImpl;
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptNamespaceDeclarationImpl;
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptStructDeclarationImpl;
+import com.github.sashi0034.angelintellij.psi.impl.AngelScriptVariableDeclarationImpl;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Element type factory of the stubbed declarations in {@code AngelScript.bnf}.
+ * Types, structs, enums and delegates go to the class index, so Go to Class finds all of them.
+ */
+public final class AngelScriptStubElementTypes {
+    private AngelScriptStubElementTypes() {
+    }
+
+    public static @NotNull IElementType factory(@NotNull String name) {
+        return switch (name) {
+            case "CLASS_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptClassDeclarationImpl::new, AngelScriptClassNameIndex.KEY);
+            case "STRUCT_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptStructDeclarationImpl::new, AngelScriptClassNameIndex.KEY);
+            case "ENUM_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptEnumDeclarationImpl::new, AngelScriptClassNameIndex.KEY);
+            case "DELEGATE_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptDelegateDeclarationImpl::new, AngelScriptClassNameIndex.KEY);
+            case "FUNCTION_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptFunctionDeclarationImpl::new, AngelScriptFunctionNameIndex.KEY);
+            case "VARIABLE_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptVariableDeclarationImpl::new, AngelScriptPropertyNameIndex.KEY);
+            case "NAMESPACE_DECLARATION" ->
+                    new AngelScriptDeclarationElementType(name, AngelScriptNamespaceDeclarationImpl::new, AngelScriptNamespaceIndex.KEY);
+            default -> throw new IllegalArgumentException("Unknown element type: " + name);
+        };
+    }
+}
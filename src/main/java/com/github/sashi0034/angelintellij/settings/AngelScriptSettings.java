@@ -0,0 +1,87 @@
+package com.github.sashi0034.angelintellij.settings;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Application-wide AngelScript settings, stored in {@code angelscript.xml}.
+ */
+@State(name = "AngelScriptSettings", storages = @Storage("angelscript.xml"))
+public final class AngelScriptSettings implements PersistentStateComponent<AngelScriptSettings.State> {
+
+    public static class State {
+        /**
+         * Serve every open project from one language server process instead of one process per project.
+         */
+        public boolean sharedServer = false;
+
+        /**
+         * Start the server through the bootstrap that keeps a V8 code cache of the bundled script.
+         */
+        public boolean warmStart = true;
+
+        /**
+         * Persist the Unreal type database and load it on the next start, before Unreal has answered.
+         */
+        public boolean cacheTypeDatabase = true;
+
+        /**
+         * Never connect to the Unreal editor; work from {@link #offlineTypeDatabase} or the cached type database.
+         */
+        public boolean offlineMode = false;
+
+        /**
+         * Exported type database loaded in offline mode, empty to use the workspace's cached one.
+         */
+        public String offlineTypeDatabase = "";
+
+        /**
+         * Size the Node.js heap from the number of script files in the workspace.
+         */
+        public boolean autoSizeHeap = true;
+
+        /**
+         * {@code --max-old-space-size} in MB when not auto-sized, {@code 0} for the Node.js default.
+         */
+        public int maxOldSpaceSizeMb = 0;
+
+        /**
+         * {@code --max-semi-space-size} in MB when not auto-sized, {@code 0} for the Node.js default.
+         */
+        public int maxSemiSpaceSizeMb = 0;
+
+        /**
+         * Start Node.js with {@code --expose-gc}.
+         */
+        public boolean exposeGc = false;
+
+        /**
+         * Start Node.js with {@code --jitless}: slower, but with a noticeably smaller footprint.
+         */
+        public boolean jitless = false;
+
+        /**
+         * Restart a server whose process uses more resident memory than this, in MB; {@code 0} never restarts.
+         */
+        public int recycleServerRssMb = 4096;
+    }
+
+    private State state = new State();
+
+    public static AngelScriptSettings getInstance() {
+        return ApplicationManager.getApplication().getService(AngelScriptSettings.class);
+    }
+
+    @Override
+    public @NotNull State getState() {
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull State state) {
+        this.state = state;
+    }
+}
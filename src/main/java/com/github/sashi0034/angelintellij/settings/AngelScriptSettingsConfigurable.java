@@ -0,0 +1,166 @@
+package com.github.sashi0034.angelintellij.settings;
+
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServerFactory;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+/**
+ * Settings page under Languages &amp; Frameworks → AngelScript.
+ */
+public class AngelScriptSettingsConfigurable implements Configurable {
+    private JPanel panel;
+    private JBCheckBox sharedServer;
+    private JBCheckBox warmStart;
+    private JBCheckBox cacheTypeDatabase;
+    private JBCheckBox offlineMode;
+    private TextFieldWithBrowseButton offlineTypeDatabase;
+    private JBCheckBox autoSizeHeap;
+    private JBIntSpinner maxOldSpaceSize;
+    private JBIntSpinner maxSemiSpaceSize;
+    private JBCheckBox exposeGc;
+    private JBCheckBox jitless;
+    private JBIntSpinner recycleServerRss;
+
+    @Override
+    public @Nls(capitalization = Nls.Capitalization.Title) String getDisplayName() {
+        return "AngelScript";
+    }
+
+    @Override
+    public @Nullable JComponent createComponent() {
+        sharedServer = new JBCheckBox("Share one language server between all open projects");
+        sharedServer.setToolTipText("Projects opened in the same IDE reuse one server process and its Unreal type database");
+
+        warmStart = new JBCheckBox("Warm start: reuse the compiled server code between starts");
+        warmStart.setToolTipText("Keeps a V8 code cache next to the extracted server script");
+
+        cacheTypeDatabase = new JBCheckBox("Cache the Unreal type database between starts");
+        cacheTypeDatabase.setToolTipText("Resolution and completion work right away; the cache is reconciled once Unreal answers");
+
+        offlineMode = new JBCheckBox("Offline: work without the Unreal editor");
+        offlineMode.setToolTipText("The server never connects to Unreal and serves the type database below, or the cached one");
+        offlineTypeDatabase = new TextFieldWithBrowseButton();
+        offlineTypeDatabase.addBrowseFolderListener("Unreal Type Database",
+                "A file saved with Tools | Export Unreal Type Database", null,
+                FileChooserDescriptorFactory.createSingleFileDescriptor("typedb"));
+        offlineMode.addActionListener(e -> updateEnabled());
+
+        autoSizeHeap = new JBCheckBox("Size the heap from the workspace's script count");
+        maxOldSpaceSize = new JBIntSpinner(0, 0, 65536, 256);
+        maxSemiSpaceSize = new JBIntSpinner(0, 0, 1024, 8);
+        exposeGc = new JBCheckBox("Expose GC (--expose-gc)");
+        jitless = new JBCheckBox("Disable the JIT (--jitless, for low-memory machines)");
+        autoSizeHeap.addActionListener(e -> updateEnabled());
+        recycleServerRss = new JBIntSpinner(4096, 0, 262144, 256);
+        recycleServerRss.setToolTipText("The server restarts once it is idle; the type database and open documents are restored");
+
+        panel = FormBuilder.createFormBuilder()
+                .addComponent(sharedServer)
+                .addComponent(warmStart)
+                .addComponent(cacheTypeDatabase)
+                .addComponent(offlineMode)
+                .addLabeledComponent("Type database (empty = cached):", offlineTypeDatabase)
+                .addSeparator()
+                .addComponent(autoSizeHeap)
+                .addLabeledComponent("Max old space (MB, 0 = Node.js default):", maxOldSpaceSize)
+                .addLabeledComponent("Max semi space (MB, 0 = Node.js default):", maxSemiSpaceSize)
+                .addComponent(exposeGc)
+                .addComponent(jitless)
+                .addLabeledComponent("Restart the server above (MB of memory, 0 = never):", recycleServerRss)
+                .addComponentFillVertically(new JPanel(), 0)
+                .getPanel();
+        return panel;
+    }
+
+    private void updateEnabled() {
+        offlineTypeDatabase.setEnabled(offlineMode.isSelected());
+        maxOldSpaceSize.setEnabled(!autoSizeHeap.isSelected());
+        maxSemiSpaceSize.setEnabled(!autoSizeHeap.isSelected());
+    }
+
+    @Override
+    public boolean isModified() {
+        AngelScriptSettings.State state = AngelScriptSettings.getInstance().getState();
+        return isServerModified(state) || recycleServerRss.getNumber() != state.recycleServerRssMb;
+    }
+
+    private boolean isServerModified(AngelScriptSettings.State state) {
+        return sharedServer.isSelected() != state.sharedServer
+                || warmStart.isSelected() != state.warmStart
+                || cacheTypeDatabase.isSelected() != state.cacheTypeDatabase
+                || offlineMode.isSelected() != state.offlineMode
+                || !offlineTypeDatabase.getText().trim().equals(state.offlineTypeDatabase)
+                || isRuntimeModified(state);
+    }
+
+    private boolean isRuntimeModified(AngelScriptSettings.State state) {
+        return autoSizeHeap.isSelected() != state.autoSizeHeap
+                || maxOldSpaceSize.getNumber() != state.maxOldSpaceSizeMb
+                || maxSemiSpaceSize.getNumber() != state.maxSemiSpaceSizeMb
+                || exposeGc.isSelected() != state.exposeGc
+                || jitless.isSelected() != state.jitless;
+    }
+
+    @Override
+    public void apply() {
+        AngelScriptSettings.State state = AngelScriptSettings.getInstance().getState();
+        // The memory threshold applies at the next sample
+        boolean restart = isServerModified(state);
+        state.sharedServer = sharedServer.isSelected();
+        state.warmStart = warmStart.isSelected();
+        state.cacheTypeDatabase = cacheTypeDatabase.isSelected();
+        state.offlineMode = offlineMode.isSelected();
+        state.offlineTypeDatabase = offlineTypeDatabase.getText().trim();
+        state.autoSizeHeap = autoSizeHeap.isSelected();
+        state.maxOldSpaceSizeMb = maxOldSpaceSize.getNumber();
+        state.maxSemiSpaceSizeMb = maxSemiSpaceSize.getNumber();
+        state.exposeGc = exposeGc.isSelected();
+        state.jitless = jitless.isSelected();
+        state.recycleServerRssMb = recycleServerRss.getNumber();
+        if (restart) {
+            AngelScriptLanguageServerFactory.restartServers();
+        }
+    }
+
+    @Override
+    public void reset() {
+        AngelScriptSettings.State state = AngelScriptSettings.getInstance().getState();
+        sharedServer.setSelected(state.sharedServer);
+        warmStart.setSelected(state.warmStart);
+        cacheTypeDatabase.setSelected(state.cacheTypeDatabase);
+        offlineMode.setSelected(state.offlineMode);
+        offlineTypeDatabase.setText(state.offlineTypeDatabase);
+        autoSizeHeap.setSelected(state.autoSizeHeap);
+        maxOldSpaceSize.setNumber(state.maxOldSpaceSizeMb);
+        maxSemiSpaceSize.setNumber(state.maxSemiSpaceSizeMb);
+        exposeGc.setSelected(state.exposeGc);
+        jitless.setSelected(state.jitless);
+        recycleServerRss.setNumber(state.recycleServerRssMb);
+        updateEnabled();
+    }
+
+    @Override
+    public void disposeUIResources() {
+        panel = null;
+        sharedServer = null;
+        warmStart = null;
+        cacheTypeDatabase = null;
+        offlineMode = null;
+        offlineTypeDatabase = null;
+        autoSizeHeap = null;
+        maxOldSpaceSize = null;
+        maxSemiSpaceSize = null;
+        exposeGc = null;
+        jitless = null;
+        recycleServerRss = null;
+    }
+}
@@ -1,31 +1,47 @@
 package com.github.sashi0034.angelintellij.ui;
 
 import com.github.sashi0034.angelintellij.lsp.ConnectionStateService;
+import com.github.sashi0034.angelintellij.lsp.ServerStatsService;
+import com.github.sashi0034.angelintellij.lsp.ServerSupervisor;
+import com.github.sashi0034.angelintellij.lsp.UnrealEditorWatcher;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopup;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.wm.StatusBar;
 import com.intellij.openapi.wm.StatusBarWidget;
 import com.intellij.openapi.wm.impl.status.EditorBasedWidget;
+import com.intellij.ui.awt.RelativePoint;
 import com.intellij.util.Consumer;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Point;
 import java.awt.event.MouseEvent;
 
 public class AngelScriptStatusBarWidget extends EditorBasedWidget implements StatusBarWidget.IconPresentation, Disposable {
-    private volatile ConnectionStateService.State currentState = ConnectionStateService.State.DISCONNECTED;
+    private volatile ConnectionStateService.State currentState;
+    private volatile @Nullable ServerStatsService.Stats stats;
     private StatusBar myBar;
 
     public AngelScriptStatusBarWidget(@NotNull Project project) {
         super(project);
-        ConnectionStateService.getInstance().subscribe(state -> {
+        currentState = ConnectionStateService.getInstance(project).getState();
+        project.getMessageBus().connect(this).subscribe(ConnectionStateService.TOPIC, (ConnectionStateService.Listener) state -> {
             currentState = state;
             if (myBar != null) myBar.updateWidget(ID());
-        }, this);
+        });
+        stats = ServerStatsService.getInstance(project).getStats();
+        project.getMessageBus().connect(this).subscribe(ServerStatsService.TOPIC, (ServerStatsService.Listener) newStats -> {
+            stats = newStats;
+            if (myBar != null) myBar.updateWidget(ID());
+        });
     }
 
     @Override
@@ -51,8 +67,13 @@ public class AngelScriptStatusBarWidget extends EditorBasedWidget implements Sta
 
     @Override
     public @Nullable Icon getIcon() {
+        ServerStatsService.Stats current = stats;
+        if (isServerRunning() && current != null && current.isUnderMemoryPressure()) {
+            return AllIcons.General.Warning;
+        }
         return switch (currentState) {
             case CONNECTED -> AllIcons.General.InspectionsOK;
+            case WAITING_FOR_UNREAL -> AllIcons.General.BalloonWarning;
             case CONNECTING -> AllIcons.General.BalloonInformation;
             case DISCONNECTED -> AllIcons.General.BalloonError;
         };
@@ -60,13 +81,45 @@ public class AngelScriptStatusBarWidget extends EditorBasedWidget implements Sta
 
     @Override
     public @Nullable @NonNls String getTooltipText() {
-        return "AngelScript: " + currentState.name();
+        ServerStatsService.Stats current = stats;
+        String text = currentState == ConnectionStateService.State.WAITING_FOR_UNREAL
+                ? "AngelScript: waiting for the Unreal editor"
+                : "AngelScript: " + currentState.name();
+        if (isServerRunning() && current != null) {
+            text += ", " + current.describe() + ", heap " + Math.round(current.heapUse() * 100) + "%";
+        }
+        String crashes = ServerSupervisor.getInstance(myProject).getStats().describe();
+        if (!crashes.isEmpty()) {
+            text += ", " + crashes;
+        }
+        return text + " (click for details)";
+    }
+
+    private boolean isServerRunning() {
+        return currentState == ConnectionStateService.State.CONNECTED
+                || currentState == ConnectionStateService.State.WAITING_FOR_UNREAL;
     }
 
     @Override
     public @Nullable Consumer<MouseEvent> getClickConsumer() {
         return mouseEvent -> {
-            // TODO: optionally open LSP console or settings
+            if (currentState == ConnectionStateService.State.WAITING_FOR_UNREAL) {
+                UnrealEditorWatcher.wake(myProject, "requested from the status bar");
+            }
+            ServerStatsPanel statsPanel = new ServerStatsPanel(myProject);
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.add(statsPanel, BorderLayout.NORTH);
+            panel.add(new WireMetricsPanel(myProject), BorderLayout.CENTER);
+            JBPopup popup = JBPopupFactory.getInstance()
+                    .createComponentPopupBuilder(panel, null)
+                    .setTitle("AngelScript Language Server")
+                    .setResizable(true)
+                    .setMovable(true)
+                    .setRequestFocus(true)
+                    .createPopup();
+            Disposer.register(popup, statsPanel);
+            Dimension size = panel.getPreferredSize();
+            popup.show(new RelativePoint(mouseEvent.getComponent(), new Point(-size.width / 2, -size.height)));
         };
     }
 }
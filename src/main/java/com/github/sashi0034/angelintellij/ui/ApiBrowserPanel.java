@@ -0,0 +1,368 @@
+package com.github.sashi0034.angelintellij.ui;
+
+import com.github.sashi0034.angelintellij.api.ApiBrowserService;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SearchTextField;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import java.awt.BorderLayout;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Browses the Unreal API the language server knows: namespaces are listed when expanded, long lists are
+ * shown a page at a time, and typing in the search field searches once the user pauses. A new search,
+ * selection or expansion cancels the request it replaces.
+ */
+final class ApiBrowserPanel extends JPanel implements Disposable {
+    static final int PAGE_SIZE = 200;
+    static final long SEARCH_DELAY_MS = 300;
+
+    private static final String LOADING = "Loading...";
+    private static final String NO_DETAILS = "*No documentation available.*";
+
+    /**
+     * The items of a list that are not shown yet.
+     */
+    record MoreItems(List<ApiItem> items, int from) {
+        @Override
+        public String toString() {
+            return "Show " + Math.min(PAGE_SIZE, items.size() - from) + " more of " + (items.size() - from);
+        }
+    }
+
+    private final ApiBrowserService service;
+    private final SearchTextField searchField = new SearchTextField(false);
+    private final DefaultMutableTreeNode browseRoot = new DefaultMutableTreeNode();
+    private final DefaultMutableTreeNode searchRoot = new DefaultMutableTreeNode();
+    private final DefaultTreeModel model = new DefaultTreeModel(browseRoot);
+    private final Tree tree = new Tree(model);
+    private final JEditorPane detailsPane = new JEditorPane("text/html", "");
+    private final Map<DefaultMutableTreeNode, CompletableFuture<List<ApiItem>>> loading = new HashMap<>();
+    private ScheduledFuture<?> pendingSearch;
+    private CompletableFuture<List<ApiItem>> searchRequest;
+    private CompletableFuture<String> detailsRequest;
+    private boolean disposed;
+
+    ApiBrowserPanel(@NotNull Project project) {
+        super(new BorderLayout());
+        service = ApiBrowserService.getInstance(project);
+
+        tree.setRootVisible(false);
+        tree.setShowsRootHandles(true);
+        tree.setCellRenderer(new ItemRenderer());
+        tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                expand((DefaultMutableTreeNode) event.getPath().getLastPathComponent());
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+            }
+        });
+        tree.addTreeSelectionListener(event -> select(tree.getSelectionPath()));
+
+        detailsPane.setEditable(false);
+        detailsPane.setBorder(JBUI.Borders.empty(6));
+
+        searchField.addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                scheduleSearch();
+            }
+        });
+
+        JBSplitter splitter = new JBSplitter(true, 0.65f);
+        splitter.setFirstComponent(ScrollPaneFactory.createScrollPane(tree));
+        splitter.setSecondComponent(ScrollPaneFactory.createScrollPane(detailsPane));
+        add(searchField, BorderLayout.NORTH);
+        add(splitter, BorderLayout.CENTER);
+
+        project.getMessageBus().connect(this).subscribe(ApiBrowserService.TOPIC, new ApiBrowserService.Listener() {
+            @Override
+            public void apiChanged() {
+                ApplicationManager.getApplication().invokeLater(ApiBrowserPanel.this::reload);
+            }
+
+            @Override
+            public void itemChosen(@NotNull ApiItem item) {
+                ApplicationManager.getApplication().invokeLater(() -> choose(item));
+            }
+        });
+        loadRoot();
+    }
+
+    private void loadRoot() {
+        cancelLoading();
+        browseRoot.removeAllChildren();
+        browseRoot.add(new DefaultMutableTreeNode(LOADING, false));
+        model.nodeStructureChanged(browseRoot);
+        load(browseRoot, "", "No Unreal API yet. Connect the Unreal editor or configure an offline type database.");
+    }
+
+    private void reload() {
+        if (disposed) {
+            return;
+        }
+        showDetails("");
+        loadRoot();
+        if (!searchField.getText().isBlank()) {
+            search();
+        }
+    }
+
+    private void choose(ApiItem item) {
+        if (disposed) {
+            return;
+        }
+        searchField.setText(item.name != null ? item.name : item.label);
+        showDetailsOf(item);
+    }
+
+    private void expand(DefaultMutableTreeNode node) {
+        if (node.getUserObject() instanceof ApiItem item && isLoadingPlaceholder(node) && !loading.containsKey(node)) {
+            load(node, item.id, "Empty namespace");
+        }
+    }
+
+    private void load(DefaultMutableTreeNode node, String namespace, String emptyMessage) {
+        CompletableFuture<List<ApiItem>> request = service.list(namespace);
+        loading.put(node, request);
+        whenAnswered(request, () -> loading.get(node) == request, items -> {
+            loading.remove(node);
+            fill(node, items, emptyMessage);
+        });
+    }
+
+    private void scheduleSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+        }
+        pendingSearch = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+                () -> ApplicationManager.getApplication().invokeLater(this::search),
+                SEARCH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void search() {
+        if (disposed) {
+            return;
+        }
+        if (searchRequest != null) {
+            searchRequest.cancel(true);
+            searchRequest = null;
+        }
+        String filter = searchField.getText().trim();
+        if (filter.isEmpty()) {
+            model.setRoot(browseRoot);
+            return;
+        }
+        searchRoot.removeAllChildren();
+        searchRoot.add(new DefaultMutableTreeNode(LOADING, false));
+        model.setRoot(searchRoot);
+
+        CompletableFuture<List<ApiItem>> request = service.search(filter);
+        searchRequest = request;
+        whenAnswered(request, () -> searchRequest == request, items -> fill(searchRoot, items, "Nothing matches '" + filter + "'"));
+    }
+
+    private void select(TreePath path) {
+        if (path == null || !(path.getLastPathComponent() instanceof DefaultMutableTreeNode node)) {
+            return;
+        }
+        if (node.getUserObject() instanceof MoreItems more) {
+            // Not while the tree is notifying about the selection
+            ApplicationManager.getApplication().invokeLater(() -> {
+                if (!disposed && node.getParent() != null) {
+                    showMore(node, more);
+                }
+            });
+            return;
+        }
+        if (node.getUserObject() instanceof ApiItem item) {
+            showDetailsOf(item);
+        }
+    }
+
+    private void showDetailsOf(ApiItem item) {
+        if (detailsRequest != null) {
+            detailsRequest.cancel(true);
+        }
+        CompletableFuture<String> request = service.details(item);
+        detailsRequest = request;
+        if (!request.isDone()) {
+            showDetails(LOADING);
+        }
+        // Blank for items without documentation, null if unknown to the server or the server stopped meanwhile
+        whenAnswered(request, () -> detailsRequest == request,
+                details -> showDetails(details == null || details.isBlank() ? NO_DETAILS : details));
+    }
+
+    private void showMore(DefaultMutableTreeNode moreNode, MoreItems more) {
+        DefaultMutableTreeNode parent = (DefaultMutableTreeNode) moreNode.getParent();
+        int first = parent.getIndex(moreNode);
+        model.removeNodeFromParent(moreNode);
+        appendPage(parent, more.items(), more.from());
+        int[] inserted = new int[parent.getChildCount() - first];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = first + i;
+        }
+        model.nodesWereInserted(parent, inserted);
+        TreePath firstShown = new TreePath(((DefaultMutableTreeNode) parent.getChildAt(first)).getPath());
+        tree.setSelectionPath(firstShown);
+        tree.scrollPathToVisible(firstShown);
+    }
+
+    private void fill(DefaultMutableTreeNode node, List<ApiItem> items, String emptyMessage) {
+        node.removeAllChildren();
+        if (items == null || items.isEmpty()) {
+            node.add(new DefaultMutableTreeNode(emptyMessage, false));
+        } else {
+            appendPage(node, items, 0);
+        }
+        model.nodeStructureChanged(node);
+    }
+
+    private static void appendPage(DefaultMutableTreeNode parent, List<ApiItem> items, int from) {
+        int to = Math.min(items.size(), from + PAGE_SIZE);
+        for (ApiItem item : items.subList(from, to)) {
+            DefaultMutableTreeNode child = new DefaultMutableTreeNode(item, false);
+            if ("namespace".equals(item.type)) {
+                child.setAllowsChildren(true);
+                child.add(new DefaultMutableTreeNode(LOADING, false));
+            }
+            parent.add(child);
+        }
+        if (to < items.size()) {
+            parent.add(new DefaultMutableTreeNode(new MoreItems(items, to), false));
+        }
+    }
+
+    private void showDetails(@NotNull String markdown) {
+        detailsPane.setText(toHtml(markdown));
+        detailsPane.setCaretPosition(0);
+    }
+
+    /**
+     * Runs {@code onAnswer} on the EDT, unless the panel is gone or the request was superseded by then.
+     */
+    private <T> void whenAnswered(CompletableFuture<T> request, BooleanSupplier current,
+                                  Consumer<@Nullable T> onAnswer) {
+        request.whenComplete((value, error) -> {
+            if (request.isCancelled()) {
+                return;
+            }
+            ApplicationManager.getApplication().invokeLater(() -> {
+                if (disposed || !current.getAsBoolean()) {
+                    return;
+                }
+                onAnswer.accept(error == null ? value : null);
+            });
+        });
+    }
+
+    private static boolean isLoadingPlaceholder(DefaultMutableTreeNode node) {
+        return node.getChildCount() == 1
+                && LOADING.equals(((DefaultMutableTreeNode) node.getFirstChild()).getUserObject());
+    }
+
+    private void cancelLoading() {
+        for (CompletableFuture<List<ApiItem>> request : loading.values()) {
+            request.cancel(true);
+        }
+        loading.clear();
+    }
+
+    /**
+     * Renders the markdown the server documents items with: fenced code blocks and emphasis.
+     */
+    static @NotNull String toHtml(@NotNull String markdown) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        boolean inCode = false;
+        for (String line : markdown.split("\n", -1)) {
+            if (line.startsWith("```")) {
+                html.append(inCode ? "</pre>" : "<pre>");
+                inCode = !inCode;
+                continue;
+            }
+            String escaped = StringUtil.escapeXmlEntities(line);
+            if (inCode) {
+                html.append(escaped.replace("\t", "    ")).append('\n');
+            } else if (line.isBlank()) {
+                html.append("<br>");
+            } else {
+                html.append(escaped.replaceAll("\\*\\*(.+?)\\*\\*", "<b>$1</b>").replaceAll("\\*(.+?)\\*", "<i>$1</i>")).append(' ');
+            }
+        }
+        if (inCode) {
+            html.append("</pre>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    static @NotNull Icon iconOf(@NotNull ApiItem item) {
+        return switch (String.valueOf(item.type)) {
+            case "namespace" -> AllIcons.Nodes.Package;
+            case "function" -> AllIcons.Nodes.Function;
+            default -> AllIcons.Nodes.Property;
+        };
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+        }
+        if (searchRequest != null) {
+            searchRequest.cancel(true);
+        }
+        if (detailsRequest != null) {
+            detailsRequest.cancel(true);
+        }
+        cancelLoading();
+    }
+
+    private static final class ItemRenderer extends ColoredTreeCellRenderer {
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded,
+                                          boolean leaf, int row, boolean hasFocus) {
+            Object userObject = ((DefaultMutableTreeNode) value).getUserObject();
+            if (userObject instanceof ApiItem item) {
+                setIcon(iconOf(item));
+                append(item.label != null ? item.label : String.valueOf(item.id));
+            } else if (userObject instanceof MoreItems) {
+                append(userObject.toString(), SimpleTextAttributes.LINK_ATTRIBUTES);
+            } else if (userObject != null) {
+                append(userObject.toString(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        }
+    }
+}
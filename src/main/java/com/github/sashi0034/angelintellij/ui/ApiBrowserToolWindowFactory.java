@@ -0,0 +1,22 @@
+package com.github.sashi0034.angelintellij.ui;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+public class ApiBrowserToolWindowFactory implements ToolWindowFactory, DumbAware {
+    public static final String ID = "AngelScript API";
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        ApiBrowserPanel panel = new ApiBrowserPanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, "", false);
+        Disposer.register(content, panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.sashi0034.angelintellij.ui;
+
+import com.github.sashi0034.angelintellij.api.ApiBrowserService;
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Search Everywhere tab for the Unreal API, answered from the local API index. Until the index is
+ * available, the language server is searched instead.
+ */
+public class ApiSearchEverywhereContributor implements SearchEverywhereContributor<ApiItem> {
+    private static final int MAX_RESULTS = 200;
+    private static final long SERVER_SEARCH_TIMEOUT_MS = 2000;
+
+    private final Project project;
+
+    public ApiSearchEverywhereContributor(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @NotNull String getSearchProviderId() {
+        return ApiSearchEverywhereContributor.class.getSimpleName();
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return "AngelScript API";
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 900;
+    }
+
+    @Override
+    public boolean showInFindResults() {
+        return false;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    public void fetchElements(@NotNull String pattern, @NotNull ProgressIndicator progressIndicator,
+                              @NotNull Processor<? super ApiItem> consumer) {
+        if (pattern.isBlank()) {
+            return;
+        }
+        ApiBrowserService service = ApiBrowserService.getInstance(project);
+        List<ApiItem> found = service.searchLocally(pattern);
+        if (found == null) {
+            found = searchServer(service, pattern, progressIndicator);
+        }
+        for (ApiItem item : found.subList(0, Math.min(MAX_RESULTS, found.size()))) {
+            progressIndicator.checkCanceled();
+            if (!consumer.process(item)) {
+                return;
+            }
+        }
+    }
+
+    private static List<ApiItem> searchServer(ApiBrowserService service, String pattern, ProgressIndicator progressIndicator) {
+        CompletableFuture<List<ApiItem>> request = service.search(pattern);
+        long deadline = System.currentTimeMillis() + SERVER_SEARCH_TIMEOUT_MS;
+        try {
+            while (true) {
+                if (progressIndicator.isCanceled()) {
+                    request.cancel(true);
+                    progressIndicator.checkCanceled();
+                }
+                try {
+                    List<ApiItem> found = request.get(50, TimeUnit.MILLISECONDS);
+                    // The server answers null when it has no Unreal types yet
+                    return found != null ? found : List.of();
+                } catch (TimeoutException e) {
+                    if (System.currentTimeMillis() > deadline) {
+                        request.cancel(true);
+                        return List.of();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.cancel(true);
+            return List.of();
+        } catch (ExecutionException e) {
+            return List.of();
+        }
+    }
+
+    @Override
+    public boolean processSelectedItem(@NotNull ApiItem selected, int modifiers, @NotNull String searchText) {
+        ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow(ApiBrowserToolWindowFactory.ID);
+        if (toolWindow == null) {
+            return false;
+        }
+        // Creates the browser if it was never opened, then shows the item in it
+        toolWindow.activate(() -> ApiBrowserService.getInstance(project).choose(selected));
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super ApiItem> getElementsRenderer() {
+        return new ColoredListCellRenderer<ApiItem>() {
+            @Override
+            protected void customizeCellRenderer(@NotNull JList<? extends ApiItem> list, ApiItem value, int index,
+                                                 boolean selected, boolean hasFocus) {
+                setIcon(ApiBrowserPanel.iconOf(value));
+                append(value.label != null ? value.label : String.valueOf(value.id));
+            }
+        };
+    }
+
+    public @Nullable Object getDataForItem(@NotNull ApiItem element, @NotNull String dataId) {
+        return null;
+    }
+
+    public static class Factory implements SearchEverywhereContributorFactory<ApiItem> {
+        @Override
+        public @NotNull SearchEverywhereContributor<ApiItem> createContributor(@NotNull AnActionEvent initEvent) {
+            return new ApiSearchEverywhereContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.sashi0034.angelintellij.ui;
+
+import com.github.sashi0034.angelintellij.lsp.ServerMemoryWatchdog;
+import com.github.sashi0034.angelintellij.lsp.ServerStatsService;
+import com.github.sashi0034.angelintellij.lsp.ServerStatsService.Stats;
+import com.github.sashi0034.angelintellij.lsp.ServerSupervisor;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.JBColor;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.GridLayout;
+
+/**
+ * Live indexing progress and heap use of the language server, from its {@code angelscript/stats} reports.
+ */
+final class ServerStatsPanel extends JPanel implements Disposable {
+    private final JLabel stage = new JLabel();
+    private final JLabel queues = new JLabel();
+    private final JProgressBar modules = new JProgressBar();
+    private final JProgressBar heap = new JProgressBar();
+    private final JLabel types = new JLabel();
+    private final JLabel crashes = new JLabel();
+    private final Project project;
+
+    ServerStatsPanel(@NotNull Project project) {
+        super(new GridLayout(0, 1, 0, JBUI.scale(2)));
+        this.project = project;
+        setBorder(JBUI.Borders.empty(4, 8));
+        modules.setStringPainted(true);
+        heap.setStringPainted(true);
+        add(stage);
+        add(modules);
+        add(queues);
+        add(heap);
+        add(types);
+        add(crashes);
+
+        project.getMessageBus().connect(this).subscribe(ServerStatsService.TOPIC, (ServerStatsService.Listener) this::show);
+        show(ServerStatsService.getInstance(project).getStats());
+    }
+
+    void show(@Nullable Stats stats) {
+        ServerSupervisor.Stats supervisor = ServerSupervisor.getInstance(project).getStats();
+        int recycles = ServerMemoryWatchdog.getInstance(project).getRecycles();
+        crashes.setText((supervisor.lastCrash() != null ? "Server " + supervisor.describe() : "No server crashes")
+                + (recycles > 0 ? ", restarted " + recycles + "x for its memory use" : ""));
+        if (stats == null) {
+            stage.setText("No report from the language server yet");
+            queues.setText(" ");
+            types.setText(" ");
+            modules.setValue(0);
+            modules.setString("");
+            heap.setValue(0);
+            heap.setString("");
+            return;
+        }
+        stage.setText(stats.indexing ? "Indexing: " + (stats.stage != null ? stats.stage : "") : "Idle");
+        queues.setText(queueText(stats));
+        modules.setMaximum(Math.max(1, stats.modules));
+        modules.setValue(stats.modulesResolved);
+        modules.setString(stats.modulesResolved + " of " + stats.modules + " modules resolved, " + stats.modulesParsed + " parsed");
+        heap.setMaximum(1000);
+        heap.setValue((int) Math.round(stats.heapUse() * 1000));
+        heap.setString(heapText(stats));
+        heap.setForeground(stats.isUnderMemoryPressure() ? JBColor.RED : null);
+        types.setText(stats.hasUnrealTypes ? stats.unrealTypes + " Unreal types" : "Waiting for the Unreal type database");
+    }
+
+    static @NotNull String queueText(@NotNull Stats stats) {
+        return "Queued: " + stats.loadQueue + " to load, " + stats.parseQueue + " to parse, "
+                + stats.postProcessTypesQueue + " to process types, " + stats.resolveQueue + " to resolve";
+    }
+
+    static @NotNull String heapText(@NotNull Stats stats) {
+        return "Heap " + StringUtil.formatFileSize(stats.heapUsed) + " of " + StringUtil.formatFileSize(stats.heapLimit)
+                + " (" + Math.round(stats.heapUse() * 100) + "%), process " + StringUtil.formatFileSize(stats.rss);
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
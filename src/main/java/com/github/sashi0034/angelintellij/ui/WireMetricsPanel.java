@@ -0,0 +1,126 @@
+package com.github.sashi0034.angelintellij.ui;
+
+import com.github.sashi0034.angelintellij.lsp.WireMeterService;
+import com.github.sashi0034.angelintellij.lsp.action.ExportWireMetricsAction;
+import com.github.sashi0034.angelintellij.lsp.wire.LatencyHistogram;
+import com.github.sashi0034.angelintellij.lsp.wire.WireMeter;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.datatransfer.StringSelection;
+import java.util.List;
+
+/**
+ * The LSP traffic of a project as counted by its {@link WireMeter}: totals and throughput, and per method
+ * the messages, bytes and request latencies. Shown from the status bar widget.
+ */
+final class WireMetricsPanel extends JPanel {
+    static final String[] COLUMNS = {"Method", "From", "Messages", "Sent", "Received", "p50 ms", "p90 ms", "p99 ms", "Max ms"};
+
+    private final Project project;
+    private final WireMeter meter;
+    private final JLabel summary = new JLabel();
+    private final MethodTableModel model = new MethodTableModel();
+
+    WireMetricsPanel(@NotNull Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        meter = WireMeterService.getInstance(project).getMeter();
+
+        JBTable table = new JBTable(model);
+        table.getColumnModel().getColumn(0).setPreferredWidth(JBUI.scale(260));
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(button("Refresh", this::refresh));
+        buttons.add(button("Reset", () -> {
+            meter.reset();
+            refresh();
+        }));
+        buttons.add(button("Copy JSON", () -> CopyPasteManager.getInstance().setContents(
+                new StringSelection(ExportWireMetricsAction.toJson(meter.snapshot())))));
+        buttons.add(button("Export JSON...", () -> ExportWireMetricsAction.export(project)));
+
+        summary.setBorder(JBUI.Borders.empty(4, 8));
+        add(summary, BorderLayout.NORTH);
+        add(ScrollPaneFactory.createScrollPane(table), BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+        setPreferredSize(JBUI.size(900, 400));
+        refresh();
+    }
+
+    void refresh() {
+        WireMeter.Snapshot snapshot = meter.snapshot();
+        summary.setText(summarize(snapshot));
+        model.setRows(snapshot.methods());
+    }
+
+    MethodTableModel getModel() {
+        return model;
+    }
+
+    static @NotNull String summarize(@NotNull WireMeter.Snapshot snapshot) {
+        return snapshot.messagesToServer() + " message(s) sent (" + StringUtil.formatFileSize(snapshot.bytesToServer())
+                + "), " + snapshot.messagesFromServer() + " received (" + StringUtil.formatFileSize(snapshot.bytesFromServer())
+                + ") in " + StringUtil.formatDuration(snapshot.elapsedMs()) + ", "
+                + StringUtil.formatFileSize(Math.round(snapshot.bytesPerSecond())) + "/s; "
+                + snapshot.pendingRequests() + " request(s) awaiting an answer";
+    }
+
+    private static JButton button(String text, Runnable action) {
+        JButton button = new JButton(text);
+        button.addActionListener(e -> action.run());
+        return button;
+    }
+
+    static final class MethodTableModel extends AbstractTableModel {
+        private List<WireMeter.MethodStats> rows = List.of();
+
+        void setRows(@NotNull List<WireMeter.MethodStats> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            WireMeter.MethodStats stats = rows.get(row);
+            LatencyHistogram.Stats latency = stats.latency();
+            boolean timed = latency.count() > 0;
+            return switch (column) {
+                case 0 -> stats.method();
+                case 1 -> stats.origin() == WireMeter.Origin.CLIENT ? "IDE" : "Server";
+                case 2 -> stats.messagesToServer() + stats.messagesFromServer();
+                case 3 -> StringUtil.formatFileSize(stats.bytesToServer());
+                case 4 -> StringUtil.formatFileSize(stats.bytesFromServer());
+                case 5 -> timed ? latency.percentileMs(0.5) : "";
+                case 6 -> timed ? latency.percentileMs(0.9) : "";
+                case 7 -> timed ? latency.percentileMs(0.99) : "";
+                case 8 -> timed ? latency.maxMs() : "";
+                default -> "";
+            };
+        }
+    }
+}
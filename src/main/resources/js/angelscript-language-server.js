@@ -41528,6 +41528,58 @@ var IsServicingQueues = false;
 var ReceivingTypesTimeout = null;
 var UnrealTypesTimedOut = false;
 var settings = null;
+/* angel-intellij patch: unreal-reconnect */
+var UnrealReconnectMinDelay = 2e3;
+var UnrealReconnectMaxDelay = 3e5;
+var UnrealReconnectAttempts = 0;
+var UnrealConnected = false;
+var UnrealConnectionStatusReady = false;
+function ScheduleUnrealReconnect() {
+  if (UnrealConnected) {
+    // Lost an established connection, e.g. the editor restarts
+    UnrealConnected = false;
+    UnrealReconnectAttempts = 0;
+  }
+  if (reconnectTimeoutId)
+    return;
+  let delay = Math.min(UnrealReconnectMaxDelay, UnrealReconnectMinDelay * Math.pow(2, UnrealReconnectAttempts));
+  delay = Math.round(delay / 2 + Math.random() * delay / 2);
+  UnrealReconnectAttempts += 1;
+  reconnectTimeoutId = setTimeout(connect_unreal, delay);
+  SendUnrealConnectionStatus(delay);
+}
+function OnUnrealConnected() {
+  UnrealConnected = true;
+  UnrealReconnectAttempts = 0;
+  SendUnrealConnectionStatus(null);
+}
+function WakeUnrealConnection(reason) {
+  if (UnrealOffline || UnrealConnected)
+    return;
+  connection.console.log("Reconnecting to Unreal now: " + reason);
+  UnrealReconnectAttempts = 0;
+  connect_unreal();
+}
+function SendUnrealConnectionStatus(retryDelay) {
+  if (!UnrealConnectionStatusReady)
+    return;
+  connection.sendNotification("angelscript/unrealConnection", {
+    connected: UnrealConnected,
+    offline: UnrealOffline,
+    attempts: UnrealReconnectAttempts,
+    retryInMs: retryDelay,
+  });
+}
+function StartUnrealConnectionStatus() {
+  // After the answer to initialize
+  setTimeout(function() {
+    UnrealConnectionStatusReady = true;
+    SendUnrealConnectionStatus(null);
+  }, 0);
+}
+connection.onNotification("angelscript/wakeUnrealConnection", function(params) {
+  WakeUnrealConnection(params && params.reason || "requested by the IDE");
+});
 var reconnectTimeoutId = void 0;
 function connect_unreal() {
   if (reconnectTimeoutId) {
@@ -41541,6 +41593,7 @@ function connect_unreal() {
   }
   unreal = new net_1.Socket();
   unreal.on("data", function(data) {
+    RecordUnrealData(data);
     let messages = (0, unreal_buffers_1.readMessages)(data);
     for (let msg of messages) {
       if (msg.type == unreal_buffers_1.MessageType.Diagnostics) {
@@ -41579,8 +41632,7 @@ function connect_unreal() {
         scriptdiagnostics.UpdateCompileDiagnostics(filename, diagnostics);
       } else if (msg.type == unreal_buffers_1.MessageType.DebugDatabase) {
         let dbStr = msg.readString();
-        let dbObj = JSON.parse(dbStr);
-        typedb.AddTypesFromUnreal(dbObj);
+        AddUnrealTypeChunk(dbStr);
         UnrealTypesTimedOut = false;
         if (ReceivingTypesTimeout)
           clearTimeout(ReceivingTypesTimeout);
@@ -41588,10 +41640,7 @@ function connect_unreal() {
       } else if (msg.type == unreal_buffers_1.MessageType.DebugDatabaseFinished) {
         if (ReceivingTypesTimeout)
           clearTimeout(ReceivingTypesTimeout);
-        typedb.FinishTypesFromUnreal();
-        let scriptSettings = scriptfiles.GetScriptSettings();
-        typedb.AddPrimitiveTypes(scriptSettings.floatIsFloat64);
-        ReResolveAllModules();
+        FinishUnrealTypeChunks();
       } else if (msg.type == unreal_buffers_1.MessageType.AssetDatabase) {
         let version = msg.readInt();
         if (version == 1) {
@@ -41642,19 +41691,18 @@ function connect_unreal() {
     if (unreal != null) {
       unreal.destroy();
       unreal = null;
-      if (!reconnectTimeoutId)
-        reconnectTimeoutId = setTimeout(connect_unreal, 5e3);
+      ScheduleUnrealReconnect();
     }
   });
   unreal.on("close", function() {
     if (unreal != null) {
       unreal.destroy();
       unreal = null;
-      if (!reconnectTimeoutId)
-        reconnectTimeoutId = setTimeout(connect_unreal, 5e3);
+      ScheduleUnrealReconnect();
     }
   });
   unreal.connect(port, hostname, function() {
+    OnUnrealConnected();
     setTimeout(function() {
       if (!unreal)
         return;
@@ -41665,10 +41713,34 @@ function connect_unreal() {
     }, 1e3);
   });
 }
-connect_unreal();
+/* angel-intellij patch: offline-mode */
+var UnrealOffline = process.env.ANGELSCRIPT_OFFLINE == "1";
+var OfflineTypeDatabase = process.env.ANGELSCRIPT_TYPE_DATABASE || null;
+var UnrealRecordingFile = process.env.ANGELSCRIPT_RECORD_UNREAL || null;
+var UnrealRecordingSocket = null;
+function RecordUnrealData(data) {
+  if (!UnrealRecordingFile)
+    return;
+  try {
+    if (UnrealRecordingSocket !== unreal) {
+      // Every connection starts a new recording
+      UnrealRecordingSocket = unreal;
+      require("fs").writeFileSync(UnrealRecordingFile, data);
+    } else {
+      require("fs").appendFileSync(UnrealRecordingFile, data);
+    }
+  } catch (e) {
+    connection.console.log("Could not record Unreal data to " + UnrealRecordingFile + ": " + e);
+    UnrealRecordingFile = null;
+  }
+}
+if (!UnrealOffline)
+  connect_unreal();
 var shouldSendDiagnosticRelatedInformation = false;
 var RootUris = [];
 connection.onInitialize((_params) => {
+  StartUnrealConnectionStatus();
+  StartServerStats();
   shouldSendDiagnosticRelatedInformation = _params.capabilities && _params.capabilities.textDocument && _params.capabilities.textDocument.publishDiagnostics && _params.capabilities.textDocument.publishDiagnostics.relatedInformation;
   let Roots = [];
   if (_params.workspaceFolders == null) {
@@ -41681,6 +41753,14 @@ connection.onInitialize((_params) => {
     }
   }
   connection.console.log("Workspace roots: " + Roots);
+  if (UnrealOffline && OfflineTypeDatabase)
+    LoadCachedTypeDatabase(OfflineTypeDatabase);
+  LoadCachedTypeDatabase();
+  if (UnrealOffline && !typedb.HasTypesFromUnreal()) {
+    connection.console.log("Offline mode without a type database, only script types are available");
+    typedb.FinishTypesFromUnreal();
+    typedb.AddPrimitiveTypes(scriptfiles.GetScriptSettings().floatIsFloat64);
+  }
   let GlobsRemaining = Roots.length;
   for (let RootPath of Roots) {
     let globOptions = {
@@ -41743,7 +41823,7 @@ connection.onInitialize((_params) => {
           tokenTypes: scriptsemantics.SemanticTypeList.map((t) => "as_" + t),
           tokenModifiers: []
         },
-        range: false,
+        range: true,
         full: {
           delta: true
         }
@@ -41751,21 +41831,311 @@ connection.onInitialize((_params) => {
       colorProvider: {
         documentSelector: null
       },
-      typeHierarchyProvider: true
+      typeHierarchyProvider: true,
+      workspace: {
+        workspaceFolders: { supported: true, changeNotifications: true }
+      }
     }
   };
 });
 function DetectUnrealConnectionTimeout() {
   UnrealTypesTimedOut = true;
 }
-function DetectUnrealTypeListTimeout() {
+/* angel-intellij patch: type-database-cache */
+var TypeCacheDir = process.env.ANGELSCRIPT_TYPE_CACHE_DIR || null;
+var TypeCacheFormatVersion = 1;
+var TypeCacheChunks = null;
+var TypeCacheSettings = null;
+var LiveTypeChunks = [];
+var LiveTypeChunksReused = 0;
+var LiveTypeChunksParsed = 0;
+function HashTypeChunk(dbStr) {
+  return require("crypto").createHash("sha1").update(dbStr).digest();
+}
+function GetTypeCacheFile() {
+  if (!TypeCacheDir || RootUris.length == 0)
+    return null;
+  let key = HashTypeChunk(RootUris.slice().sort().join("\n")).toString("hex").substring(0, 16);
+  return require("path").join(TypeCacheDir, key + ".typedb");
+}
+function GetTypeCacheSettings() {
+  return {
+    script: Object.assign({}, scriptfiles.GetScriptSettings()),
+    engineSupportsCreateBlueprint: !!scriptlenses.GetCodeLensSettings().engineSupportsCreateBlueprint
+  };
+}
+function EncodeTypeCache(settings, chunks) {
+  let parts = [];
+  let settingsBuffer = Buffer.from(JSON.stringify(settings), "utf8");
+  let header = Buffer.alloc(4);
+  header.writeUInt32LE(settingsBuffer.length, 0);
+  parts.push(header, settingsBuffer);
+  let count = Buffer.alloc(4);
+  count.writeUInt32LE(chunks.length, 0);
+  parts.push(count);
+  for (let chunk of chunks) {
+    let json = Buffer.from(chunk.json, "utf8");
+    let length = Buffer.alloc(4);
+    length.writeUInt32LE(json.length, 0);
+    parts.push(chunk.hash, length, json);
+  }
+  let prefix = Buffer.alloc(8);
+  prefix.write("ASTC", 0, "ascii");
+  prefix.writeUInt32LE(TypeCacheFormatVersion, 4);
+  return [prefix, Buffer.concat(parts)];
+}
+function DecodeTypeCache(data) {
+  if (data.length < 8 || data.toString("ascii", 0, 4) != "ASTC" || data.readUInt32LE(4) != TypeCacheFormatVersion)
+    throw new Error("unknown format");
+  let payload = require("zlib").inflateRawSync(data.subarray(8));
+  let offset = 0;
+  let settingsLength = payload.readUInt32LE(offset);
+  offset += 4;
+  let settings = JSON.parse(payload.toString("utf8", offset, offset + settingsLength));
+  offset += settingsLength;
+  let chunkCount = payload.readUInt32LE(offset);
+  offset += 4;
+  let chunks = [];
+  for (let i = 0; i < chunkCount; ++i) {
+    let hash = payload.subarray(offset, offset + 20);
+    offset += 20;
+    let length = payload.readUInt32LE(offset);
+    offset += 4;
+    chunks.push({ hash, json: payload.toString("utf8", offset, offset + length) });
+    offset += length;
+  }
+  return { settings, chunks };
+}
+function LoadCachedTypeDatabase(file) {
+  if (typedb.HasTypesFromUnreal())
+    return;
+  file = file || GetTypeCacheFile();
+  if (!file)
+    return;
+  let data;
+  try {
+    data = require("fs").readFileSync(file);
+  } catch (e) {
+    return;
+  }
+  let start = Date.now();
+  try {
+    let cache = DecodeTypeCache(data);
+    Object.assign(scriptfiles.GetScriptSettings(), cache.settings.script);
+    scriptlenses.GetCodeLensSettings().engineSupportsCreateBlueprint = cache.settings.engineSupportsCreateBlueprint;
+    let chunks = new Map();
+    for (let chunk of cache.chunks) {
+      let dbObj = JSON.parse(chunk.json);
+      typedb.AddTypesFromUnreal(dbObj);
+      chunks.set(chunk.hash.toString("hex"), Object.keys(dbObj));
+    }
+    typedb.FinishTypesFromUnreal();
+    typedb.AddPrimitiveTypes(scriptfiles.GetScriptSettings().floatIsFloat64);
+    TypeCacheChunks = chunks;
+    TypeCacheSettings = JSON.stringify(cache.settings);
+    connection.console.log("Loaded cached Unreal type database (" + cache.chunks.length + " chunks) in " + (Date.now() - start) + " ms");
+  } catch (e) {
+    connection.console.log("Ignoring unreadable type database cache " + file + ": " + e);
+  }
+}
+function AddUnrealTypeChunk(dbStr) {
+  let hash = HashTypeChunk(dbStr);
+  let hex = hash.toString("hex");
+  let chunk = { hash, hex, json: dbStr, keys: null };
+  LiveTypeChunks.push(chunk);
+  if (TypeCacheChunks && TypeCacheChunks.has(hex)) {
+    // Already in the database, either from the cache file or from an earlier connection
+    chunk.keys = TypeCacheChunks.get(hex);
+    LiveTypeChunksReused += 1;
+    return;
+  }
+  let dbObj = JSON.parse(dbStr);
+  typedb.AddTypesFromUnreal(dbObj);
+  chunk.keys = Object.keys(dbObj);
+  LiveTypeChunksParsed += 1;
+}
+function RemoveStaleUnrealType(key) {
+  if (key.startsWith("__")) {
+    let type = typedb.GetTypeByName(key.substring(2));
+    if (type && type.isEnum && !type.declaredModule) {
+      typedb.RemoveTypeFromDatabase(type);
+      return;
+    }
+    let ns = typedb.LookupNamespace(null, key.substring(2));
+    if (ns)
+      ns.removeSymbolsDeclaredIn(null, ~typedb.DBAllowSymbol.Types);
+  } else {
+    let type = typedb.GetTypeByName(key);
+    if (type && !type.declaredModule)
+      typedb.RemoveTypeFromDatabase(type);
+  }
+}
+function FinishUnrealTypeChunks() {
+  let liveChunks = LiveTypeChunks;
+  let reused = LiveTypeChunksReused;
+  let parsed = LiveTypeChunksParsed;
+  LiveTypeChunks = [];
+  LiveTypeChunksReused = 0;
+  LiveTypeChunksParsed = 0;
+
+  let settings = GetTypeCacheSettings();
+  let settingsJson = JSON.stringify(settings);
+  let hadTypes = typedb.HasTypesFromUnreal();
+  let liveHashes = new Set(liveChunks.map((chunk) => chunk.hex));
+  let removedChunks = 0;
+  if (TypeCacheChunks && liveChunks.length != 0) {
+    let liveKeys = new Set();
+    for (let chunk of liveChunks) {
+      if (!TypeCacheChunks.has(chunk.hex)) {
+        for (let key of chunk.keys)
+          liveKeys.add(key);
+      }
+    }
+    for (let [hex, keys] of TypeCacheChunks) {
+      if (liveHashes.has(hex))
+        continue;
+      removedChunks += 1;
+      for (let key of keys) {
+        if (!liveKeys.has(key))
+          RemoveStaleUnrealType(key);
+      }
+    }
+  }
+  let changed = !hadTypes || parsed != 0 || removedChunks != 0 || settingsJson != TypeCacheSettings;
+
   typedb.FinishTypesFromUnreal();
-  let scriptSettings = scriptfiles.GetScriptSettings();
-  typedb.AddPrimitiveTypes(scriptSettings.floatIsFloat64);
+  typedb.AddPrimitiveTypes(settings.script.floatIsFloat64);
+  if (liveChunks.length != 0) {
+    TypeCacheChunks = new Map(liveChunks.map((chunk) => [chunk.hex, chunk.keys]));
+    TypeCacheSettings = settingsJson;
+  }
+
+  if (!changed) {
+    connection.console.log("Unreal type database matches the cached copy (" + reused + " chunks)");
+    return;
+  }
+  connection.console.log("Unreal type database: " + parsed + " chunks changed, " + reused + " reused, " + removedChunks + " removed");
+  /* angel-intellij patch: api-browser */
+  connection.sendNotification("angelscript/typeDatabaseChanged", { changedChunks: parsed, removedChunks: removedChunks });
   ReResolveAllModules();
+  if (liveChunks.length != 0)
+    SaveTypeCache(settings, liveChunks);
+}
+function SaveTypeCache(settings, chunks) {
+  let file = GetTypeCacheFile();
+  if (!file)
+    return;
+  let fs = require("fs");
+  let [prefix, payload] = EncodeTypeCache(settings, chunks);
+  require("zlib").deflateRaw(payload, function(err, compressed) {
+    if (err)
+      return;
+    let tempFile = file + "." + process.pid + ".tmp";
+    try {
+      fs.mkdirSync(TypeCacheDir, { recursive: true });
+      fs.writeFileSync(tempFile, Buffer.concat([prefix, compressed]));
+      fs.renameSync(tempFile, file);
+    } catch (e) {
+      try {
+        fs.unlinkSync(tempFile);
+      } catch (ignored) {
+      }
+      connection.console.log("Could not write type database cache " + file + ": " + e);
+    }
+  });
+}
+function DetectUnrealTypeListTimeout() {
+  FinishUnrealTypeChunks();
+}
+/* angel-intellij patch: prioritized-indexing */
+var MaxPriorityModules = 50;
+var PriorityModulesPerTick = 5;
+var PriorityModuleUris = [];
+var IndexingProgress = null;
+var IndexingProgressInterval = 250;
+function PrioritizeModule(uri) {
+  let index = PriorityModuleUris.indexOf(uri);
+  if (index != -1)
+    PriorityModuleUris.splice(index, 1);
+  PriorityModuleUris.unshift(uri);
+  if (PriorityModuleUris.length > MaxPriorityModules)
+    PriorityModuleUris.length = MaxPriorityModules;
+}
+function TickPriorityModules() {
+  let budget = PriorityModulesPerTick;
+  let canResolve = CanResolveModules() && LoadQueue.length == 0 && ParseQueue.length == 0;
+  for (let uri of PriorityModuleUris) {
+    if (budget <= 0)
+      return;
+    let asmodule = scriptfiles.GetModuleByUri(uri);
+    if (!asmodule)
+      continue;
+    if (!asmodule.loaded)
+      scriptfiles.UpdateModuleFromDisk(asmodule);
+    if (!asmodule.parsed) {
+      scriptfiles.ParseModuleAndDependencies(asmodule);
+      budget -= 1;
+    }
+    // Resolving needs every module's declarations, so it waits until the whole workspace is parsed
+    if (canResolve && !asmodule.resolved) {
+      scriptfiles.PostProcessModuleTypesAndDependencies(asmodule);
+      scriptfiles.ResolveModule(asmodule);
+      scriptdiagnostics.UpdateScriptModuleDiagnostics(asmodule, IsServicingQueues);
+      budget -= 1;
+    }
+  }
+}
+function GetIndexingStage() {
+  if (LoadQueue.length != 0)
+    return { base: 0, weight: 10, index: LoadQueueIndex, count: LoadQueue.length, message: "Loading" };
+  if (ParseQueue.length != 0)
+    return { base: 10, weight: 40, index: ParseQueueIndex, count: ParseQueue.length, message: "Parsing" };
+  if (!CanResolveModules())
+    return { base: 50, weight: 0, index: 0, count: 0, message: "Waiting for the Unreal type database" };
+  if (PostProcessTypesQueue.length != 0)
+    return { base: 50, weight: 10, index: PostProcessTypesQueueIndex, count: PostProcessTypesQueue.length, message: "Processing types of" };
+  return { base: 60, weight: 40, index: ResolveQueueIndex, count: ResolveQueue.length, message: "Resolving" };
+}
+function BeginIndexingProgress() {
+  let progress = { reporter: null, ended: false, lastReport: 0 };
+  IndexingProgress = progress;
+  connection.window.createWorkDoneProgress().then(function(reporter) {
+    // Small workspaces can be done before the client has answered
+    if (progress.ended)
+      return;
+    progress.reporter = reporter;
+    reporter.begin("Indexing AngelScript", 0, "Loading scripts", false);
+  }, function() {
+  });
+}
+function ReportIndexingProgress() {
+  let progress = IndexingProgress;
+  if (!progress || !progress.reporter)
+    return;
+  let now = Date.now();
+  if (now - progress.lastReport < IndexingProgressInterval)
+    return;
+  progress.lastReport = now;
+  let stage = GetIndexingStage();
+  let percentage = stage.base + (stage.count != 0 ? stage.weight * stage.index / stage.count : 0);
+  let message = stage.count != 0 ? stage.message + " " + stage.index + "/" + stage.count + " scripts" : stage.message;
+  progress.reporter.report(Math.floor(percentage), message);
+}
+function EndIndexingProgress() {
+  let progress = IndexingProgress;
+  IndexingProgress = null;
+  if (!progress)
+    return;
+  progress.ended = true;
+  if (progress.reporter)
+    progress.reporter.done();
 }
 function TickQueues() {
+  if (!IsServicingQueues)
+    BeginIndexingProgress();
   IsServicingQueues = true;
+  TickPriorityModules();
+  ReportIndexingProgress();
   if (LoadQueueIndex < LoadQueue.length) {
     for (let n = 0; n < 200 && LoadQueueIndex < LoadQueue.length; ++n, ++LoadQueueIndex) {
       if (!LoadQueue[LoadQueueIndex].loaded)
@@ -41813,6 +42183,7 @@ function TickQueues() {
     setTimeout(TickQueues, 1);
   } else {
     IsServicingQueues = false;
+    EndIndexingProgress();
   }
 }
 function DirtyAllDiagnostics() {
@@ -41842,6 +42213,7 @@ function ReResolveAllModules() {
   let moduleList = scriptfiles.GetAllLoadedModules();
   let timerHandle = setInterval(ReResolveModules, 1);
   function ReResolveModules() {
+    TickPriorityModules();
     for (let i = 0; i < 20; ++i) {
       if (moduleIndex >= moduleList.length) {
         clearInterval(timerHandle);
@@ -42136,18 +42508,76 @@ function WaitForResolveSymbols(params) {
   });
   return promise;
 }
-connection.languages.semanticTokens.onDelta(function(params) {
+/* angel-intellij patch: semantic-tokens */
+var SemanticTokenResults = new Map();
+var NextSemanticTokensResultId = 1;
+function StoreSemanticTokens(uri, tokens) {
+  if (!tokens)
+    return tokens;
+  let result = { resultId: String(NextSemanticTokensResultId++), data: tokens.data };
+  SemanticTokenResults.set(scriptfiles.NormalizeUri(uri), result);
+  return result;
+}
+function DiffSemanticTokens(previous, current) {
+  let start = 0;
+  let end = 0;
+  while (start < previous.length && start < current.length && previous[start] === current[start])
+    start += 1;
+  while (end < previous.length - start && end < current.length - start && previous[previous.length - 1 - end] === current[current.length - 1 - end])
+    end += 1;
+  if (start == previous.length && start == current.length)
+    return [];
+  return [{ start: start, deleteCount: previous.length - start - end, data: current.slice(start, current.length - end) }];
+}
+function SliceSemanticTokens(data, range) {
+  let sliced = [];
+  let line = 0;
+  let char = 0;
+  let prevLine = 0;
+  let prevChar = 0;
+  for (let i = 0; i < data.length; i += 5) {
+    line += data[i];
+    char = data[i] == 0 ? char + data[i + 1] : data[i + 1];
+    if (line < range.start.line || (line == range.start.line && char < range.start.character))
+      continue;
+    if (line > range.end.line || (line == range.end.line && char >= range.end.character))
+      break;
+    let deltaLine = sliced.length == 0 ? line : line - prevLine;
+    sliced.push(deltaLine, deltaLine == 0 ? char - prevChar : char, data[i + 2], data[i + 3], data[i + 4]);
+    prevLine = line;
+    prevChar = char;
+  }
+  return sliced;
+}
+function ResolveSemanticTokens(params) {
   if (!CanResolveModules())
     return WaitForResolveSymbols(params);
   let asmodule = scriptfiles.GetModuleByUri(params.textDocument.uri);
+  if (!asmodule)
+    return null;
   scriptfiles.ParseModuleAndDependencies(asmodule);
   scriptfiles.PostProcessModuleTypesAndDependencies(asmodule);
   scriptfiles.ResolveModule(asmodule);
-  let delta = scriptsemantics.HighlightSymbolsDelta(asmodule, params.previousResultId);
-  return delta;
+  return scriptsemantics.HighlightSymbols(asmodule);
+}
+connection.languages.semanticTokens.onDelta(function(params) {
+  let previous = SemanticTokenResults.get(scriptfiles.NormalizeUri(params.textDocument.uri));
+  return Promise.resolve(ResolveSemanticTokens(params)).then(function(tokens) {
+    let result = StoreSemanticTokens(params.textDocument.uri, tokens);
+    if (!result || !previous || previous.resultId != params.previousResultId)
+      return result;
+    return { resultId: result.resultId, edits: DiffSemanticTokens(previous.data, result.data) };
+  });
 });
 connection.languages.semanticTokens.on(function(params) {
-  return WaitForResolveSymbols(params);
+  return Promise.resolve(WaitForResolveSymbols(params)).then(function(tokens) {
+    return StoreSemanticTokens(params.textDocument.uri, tokens);
+  });
+});
+connection.languages.semanticTokens.onRange(function(params) {
+  return Promise.resolve(ResolveSemanticTokens(params)).then(function(tokens) {
+    return tokens ? { data: SliceSemanticTokens(tokens.data, params.range) } : tokens;
+  });
 });
 function getPathName(uri) {
   let pathname = decodeURIComponent(uri.replace("file://", "")).replace(/\//g, "\\");
@@ -42214,6 +42644,8 @@ connection.onRequest("angelscript/getAPI", (root) => {
   function timerFunc(resolve, reject, triesLeft) {
     if (typedb.HasTypesFromUnreal())
       return resolve(api_docs.GetAPIList(root));
+    if (triesLeft <= 0)
+      return resolve([]);
     setTimeout(function() {
       timerFunc(resolve, reject, triesLeft - 1);
     }, 100);
@@ -42229,6 +42661,8 @@ connection.onRequest("angelscript/getAPISearch", (filter) => {
   function timerFunc(resolve, reject, triesLeft) {
     if (typedb.HasTypesFromUnreal())
       return resolve(api_docs.GetAPISearch(filter));
+    if (triesLeft <= 0)
+      return resolve([]);
     setTimeout(function() {
       timerFunc(resolve, reject, triesLeft - 1);
     }, 100);
@@ -42238,12 +42672,82 @@ connection.onRequest("angelscript/getAPISearch", (filter) => {
   });
   return promise;
 });
+/* angel-intellij patch: api-index */
+function GetAPIIndexItems() {
+  let items = [];
+  let searchType = function(type) {
+    let typePrefix = "";
+    let owner = null;
+    if (type instanceof typedb.DBNamespace) {
+      for (let [_, childNamespace] of type.childNamespaces) {
+        if (childNamespace.isShadowingType())
+          continue;
+        searchType(childNamespace);
+      }
+      if (!type.isRootNamespace()) {
+        typePrefix = type.getQualifiedNamespace() + "::";
+        owner = type.name;
+      }
+    } else {
+      typePrefix = type.getQualifiedTypenameInNamespace(null) + ".";
+      owner = type.name;
+    }
+    type.forEachSymbol(function(symbol) {
+      if (symbol instanceof typedb.DBMethod) {
+        if (symbol.isConstructor)
+          return;
+        if (symbol.name.startsWith("op"))
+          return;
+        let symbol_id;
+        if (symbol.containingType)
+          symbol_id = ["method", symbol.containingType.name, symbol.name, symbol.id];
+        else if (symbol.namespace && !symbol.namespace.isRootNamespace())
+          symbol_id = ["function", symbol.namespace.getQualifiedNamespace() + "::" + symbol.name];
+        else
+          symbol_id = ["function", symbol.name];
+        let label = typePrefix + symbol.name + "()";
+        if (symbol.isMixin)
+          label = symbol.args[0].typename + "." + symbol.name + "()";
+        items.push({ type: "function", label: label, id: symbol.id.toString(), data: symbol_id, name: symbol.name, owner: owner });
+      } else if (symbol instanceof typedb.DBProperty) {
+        let symbol_id;
+        if (symbol.containingType)
+          symbol_id = ["property", symbol.containingType.name, symbol.name];
+        else if (symbol.namespace && !symbol.namespace.isRootNamespace())
+          symbol_id = ["global", symbol.namespace.getQualifiedNamespace() + "::" + symbol.name];
+        else
+          symbol_id = ["global", symbol.name];
+        items.push({ type: "property", label: typePrefix + symbol.name, id: typePrefix + symbol.name, data: symbol_id, name: symbol.name, owner: owner });
+      } else if (symbol instanceof typedb.DBType) {
+        if (!symbol.declaredModule && !symbol.isEnum && !symbol.isTemplateInstantiation && !symbol.isTemplateType() && !symbol.isDelegate && !symbol.isEvent)
+          searchType(symbol);
+      }
+    }, false);
+  };
+  searchType(typedb.GetRootNamespace());
+  return items;
+}
+function GetAPIIndex(params) {
+  if (!typedb.HasTypesFromUnreal())
+    return { key: null, items: [] };
+  let items = GetAPIIndexItems();
+  let json = JSON.stringify(items);
+  let key = require("crypto").createHash("sha1").update(json).digest("hex").substring(0, 16);
+  if (params && params.knownKey == key)
+    return { key: key, items: null };
+  return { key: key, items: items };
+}
+connection.onRequest("angelscript/getAPIIndex", (params) => {
+  return GetAPIIndex(params);
+});
 connection.onRequest("angelscript/getAPIDetails", (root) => {
   if (typedb.HasTypesFromUnreal())
     return api_docs.GetAPIDetails(root);
   function timerFunc(resolve, reject, triesLeft) {
     if (typedb.HasTypesFromUnreal())
       return resolve(api_docs.GetAPIDetails(root));
+    if (triesLeft <= 0)
+      return resolve("");
     setTimeout(function() {
       timerFunc(resolve, reject, triesLeft - 1);
     }, 100);
@@ -42270,6 +42774,7 @@ connection.onDidChangeTextDocument((params) => {
   if (!asmodule.loaded)
     scriptfiles.UpdateModuleFromDisk(asmodule);
   scriptfiles.UpdateModuleFromContentChanges(asmodule, params.contentChanges);
+  PrioritizeModule(asmodule.uri);
   if (!asmodule.queuedParse) {
     asmodule.queuedParse = setTimeout(function() {
       asmodule.queuedParse = null;
@@ -42296,6 +42801,7 @@ connection.onDidOpenTextDocument(function(params) {
   let modulename = getModuleName(uri);
   let asmodule = scriptfiles.GetOrCreateModule(modulename, getPathName(uri), uri);
   asmodule.isOpened = true;
+  PrioritizeModule(asmodule.uri);
   scriptfiles.UpdateModuleFromContent(asmodule, params.textDocument.text);
   scriptfiles.ParseModuleAndDependencies(asmodule);
   if (CanResolveModules() && ParseQueue.length == 0 && LoadQueue.length == 0) {
@@ -42305,6 +42811,7 @@ connection.onDidOpenTextDocument(function(params) {
   }
 });
 connection.onDidCloseTextDocument(function(params) {
+  SemanticTokenResults.delete(scriptfiles.NormalizeUri(params.textDocument.uri));
   let asmodule = scriptfiles.GetModuleByUri(params.textDocument.uri);
   if (asmodule)
     asmodule.isOpened = false;
@@ -42420,4 +42927,137 @@ connection.languages.typeHierarchy.onSupertypes(function(params) {
 connection.languages.typeHierarchy.onSubtypes(function(params) {
   return typehierarchy.GetTypeHierarchySubtypes(params.item);
 });
+/* angel-intellij patch: workspace-folders */
+connection.onInitialized(function() {
+  connection.onNotification("workspace/didChangeWorkspaceFolders", function(params) {
+    let event = params && params.event;
+    if (!event)
+      return;
+    for (let Workspace of event.removed || []) {
+      let RemovedUri = decodeURIComponent(Workspace.uri);
+      let index = RootUris.indexOf(RemovedUri);
+      if (index != -1)
+        RootUris.splice(index, 1);
+      // Drop the folder's script types so they no longer show up for the remaining workspaces
+      for (let asmodule of scriptfiles.GetAllLoadedModules()) {
+        if (!decodeURIComponent(asmodule.uri).startsWith(RemovedUri) || asmodule.isOpened)
+          continue;
+        scriptfiles.UpdateModuleFromContent(asmodule, "");
+        scriptfiles.ParseModule(asmodule);
+        asmodule.exists = false;
+      }
+      connection.console.log("Removed workspace root: " + RemovedUri);
+    }
+    let Added = event.added || [];
+    if (Added.length == 0)
+      return;
+    let GlobsRemaining = Added.length;
+    for (let Workspace of Added) {
+      let RootPath = vscode_uri_1.URI.parse(Workspace.uri).fsPath;
+      RootUris.push(decodeURIComponent(Workspace.uri));
+      connection.console.log("Added workspace root: " + RootPath);
+      let globOptions = {
+        ignore: (settings == null ? void 0 : settings.scriptIgnorePatterns) || []
+      };
+      glob(RootPath + "/**/*.as", globOptions, function(err, files) {
+        for (let file of files || []) {
+          let uri = getFileUri(file);
+          let asmodule = scriptfiles.GetOrCreateModule(getModuleName(uri), file, uri);
+          LoadQueue.push(asmodule);
+        }
+        GlobsRemaining -= 1;
+        if (GlobsRemaining <= 0 && !IsServicingQueues)
+          TickQueues();
+      });
+    }
+  });
+});
+connection.onRequest("angelscript/exportTypeDatabase", function(params) {
+  let source = GetTypeCacheFile();
+  if (!source || !params || !params.path)
+    return false;
+  try {
+    require("fs").copyFileSync(source, params.path);
+    return true;
+  } catch (e) {
+    connection.console.log("Could not export type database to " + params.path + ": " + e);
+    return false;
+  }
+});
+connection.onNotification("angelscript/prioritizeModules", function(params) {
+  if (!params || !Array.isArray(params.uris))
+    return;
+  PriorityModuleUris = [];
+  for (let uri of params.uris.slice(0, MaxPriorityModules))
+    PriorityModuleUris.push(scriptfiles.NormalizeUri(uri));
+});
+/* angel-intellij patch: server-stats */
+var ServerStatsInterval = 1000;
+var ServerStatsIdleInterval = 10000;
+var ServerStatsTimer = null;
+var LastServerStatsIndexing = false;
+var LastServerStatsTime = 0;
+var ServerHeapLimit = require("v8").getHeapStatistics().heap_size_limit;
+var UnrealTypeCount = { typesById: -1, count: 0 };
+function CountUnrealTypes() {
+  let types = typedb.GetAllTypesById();
+  // Recounted only when types were added or removed
+  if (types.size != UnrealTypeCount.typesById) {
+    let count = 0;
+    for (let [_, type] of types) {
+      if (!type.declaredModule)
+        count += 1;
+    }
+    UnrealTypeCount = { typesById: types.size, count: count };
+  }
+  return UnrealTypeCount.count;
+}
+function GetServerStats() {
+  let modules = 0;
+  let parsed = 0;
+  let resolved = 0;
+  for (let [_, asmodule] of scriptfiles.ModuleDatabase) {
+    if (!asmodule.exists)
+      continue;
+    modules += 1;
+    if (asmodule.parsed)
+      parsed += 1;
+    if (asmodule.resolved)
+      resolved += 1;
+  }
+  return {
+    indexing: IsServicingQueues,
+    stage: IsServicingQueues ? GetIndexingStage().message : null,
+    loadQueue: LoadQueue.length - LoadQueueIndex,
+    parseQueue: ParseQueue.length - ParseQueueIndex,
+    postProcessTypesQueue: PostProcessTypesQueue.length - PostProcessTypesQueueIndex,
+    resolveQueue: ResolveQueue.length - ResolveQueueIndex,
+    modules: modules,
+    modulesParsed: parsed,
+    modulesResolved: resolved,
+    hasUnrealTypes: typedb.HasTypesFromUnreal(),
+    unrealTypes: CountUnrealTypes(),
+  };
+}
+function SendServerStats() {
+  let now = Date.now();
+  // The report that indexing ended goes out right away
+  if (!IsServicingQueues && !LastServerStatsIndexing && now - LastServerStatsTime < ServerStatsIdleInterval)
+    return;
+  let stats = GetServerStats();
+  let memory = process.memoryUsage();
+  stats.heapUsed = memory.heapUsed;
+  stats.heapTotal = memory.heapTotal;
+  stats.heapLimit = ServerHeapLimit;
+  stats.rss = memory.rss;
+  LastServerStatsIndexing = IsServicingQueues;
+  LastServerStatsTime = now;
+  connection.sendNotification("angelscript/stats", stats);
+}
+function StartServerStats() {
+  if (ServerStatsTimer)
+    return;
+  ServerStatsTimer = setInterval(SendServerStats, ServerStatsInterval);
+  ServerStatsTimer.unref();
+}
 connection.listen();
@@ -0,0 +1,88 @@
+// Warm-start loader for the bundled AngelScript language server.
+//
+//   node angelscript-lsp-bootstrap.js <server script> <cache dir> [server arguments...]
+//
+// Loads the server script through a V8 code cache kept in <cache dir>, so later starts skip
+// parsing and compiling the 40k-line bundle. On Node.js 22.1+ the built-in module compile cache
+// is used instead. Any problem with the cache falls back to a plain load of the script.
+"use strict";
+const fs = require("fs");
+const path = require("path");
+const Module = require("module");
+const vm = require("vm");
+
+const scriptPath = path.resolve(process.argv[2]);
+const cacheDir = path.resolve(process.argv[3]);
+
+// Save the cache once initialization has compiled the hot functions, not right after the top-level run
+const CACHE_SAVE_DELAY_MS = 15000;
+
+// The server sees the same argv as when it is started directly
+process.argv.splice(1, 3, scriptPath);
+
+if (typeof Module.enableCompileCache === "function") {
+  try {
+    Module.enableCompileCache(cacheDir);
+  } catch (e) {
+    // Run without the cache
+  }
+  require(scriptPath);
+} else {
+  runWithCodeCache();
+}
+
+function runWithCodeCache() {
+  const source = fs.readFileSync(scriptPath, "utf8");
+  const cacheFile = path.join(cacheDir,
+    path.basename(scriptPath) + "." + process.version + "-" + process.arch + ".v8cache");
+
+  let cachedData;
+  try {
+    cachedData = fs.readFileSync(cacheFile);
+  } catch (e) {
+    cachedData = undefined;
+  }
+
+  let script;
+  try {
+    script = new vm.Script(Module.wrap(source), { filename: scriptPath, cachedData: cachedData });
+  } catch (e) {
+    // Cache data V8 cannot even look at; compile from source
+    cachedData = undefined;
+    script = new vm.Script(Module.wrap(source), { filename: scriptPath });
+  }
+  const needsCache = cachedData === undefined || script.cachedDataRejected;
+
+  const serverModule = new Module(scriptPath, null);
+  serverModule.filename = scriptPath;
+  serverModule.paths = Module._nodeModulePaths(path.dirname(scriptPath));
+  require.cache[scriptPath] = serverModule;
+  process.mainModule = serverModule;
+
+  const wrapper = script.runInThisContext({ displayErrors: true });
+  wrapper.call(serverModule.exports, serverModule.exports, Module.createRequire(scriptPath),
+    serverModule, scriptPath, path.dirname(scriptPath));
+  serverModule.loaded = true;
+
+  if (needsCache) {
+    setTimeout(function() {
+      saveCodeCache(script, cacheFile);
+    }, CACHE_SAVE_DELAY_MS).unref();
+  }
+}
+
+function saveCodeCache(script, cacheFile) {
+  // Write to a private file first so a concurrently starting server never reads a partial cache
+  const tempFile = cacheFile + "." + process.pid + ".tmp";
+  try {
+    fs.mkdirSync(path.dirname(cacheFile), { recursive: true });
+    fs.writeFileSync(tempFile, script.createCachedData());
+    fs.renameSync(tempFile, cacheFile);
+  } catch (e) {
+    try {
+      fs.unlinkSync(tempFile);
+    } catch (ignored) {
+      // Nothing was written
+    }
+  }
+}
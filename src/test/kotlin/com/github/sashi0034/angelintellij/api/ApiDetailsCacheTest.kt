@@ -0,0 +1,53 @@
+package com.github.sashi0034.angelintellij.api
+
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ApiDetailsCacheTest : BasePlatformTestCase() {
+
+    /**
+     * Test that the least recently used documentation is dropped first
+     */
+    fun testEvictsLeastRecentlyUsed() {
+        val cache = ApiDetailsCache(2)
+        cache.put("a", "A", cache.generation())
+        cache.put("b", "B", cache.generation())
+        assertEquals("A", cache.get("a"))
+
+        cache.put("c", "C", cache.generation())
+
+        assertNull(cache.get("b"))
+        assertEquals("A", cache.get("a"))
+        assertEquals("C", cache.get("c"))
+        assertEquals(3, cache.hits())
+        assertEquals(1, cache.misses())
+    }
+
+    /**
+     * Test that answers to requests sent before an invalidation are not cached
+     */
+    fun testClearDropsAnswersFromOlderGeneration() {
+        val cache = ApiDetailsCache(8)
+        cache.put("a", "A", cache.generation())
+        val requestGeneration = cache.generation()
+
+        cache.clear()
+        cache.put("b", "stale", requestGeneration)
+
+        assertEquals(0, cache.size())
+        cache.put("b", "B", cache.generation())
+        assertEquals("B", cache.get("b"))
+    }
+
+    /**
+     * Test that items without details data answer right away without a server
+     */
+    fun testItemWithoutData() {
+        val item = ApiItem()
+        item.type = "namespace"
+        item.label = "Math::"
+
+        assertEquals("", ApiBrowserService.getInstance(project).details(item).getNow(null))
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.sashi0034.angelintellij.api
+
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem
+import com.google.gson.JsonArray
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.nio.file.Files
+import java.nio.file.attribute.FileTime
+
+class ApiSearchIndexTest : BasePlatformTestCase() {
+
+    private val items = listOf(
+        property("AActor", "ActorLocation"),
+        function("AActor", "GetActorLocation"),
+        function("AActor", "SetActorLocation"),
+        function("Math", "Abs"),
+        function(null, "Print"),
+        property(null, "GEngine"),
+    )
+
+    /**
+     * Test that words must occur in the name, with short leading words matching its start
+     */
+    fun testMatchesLikeServer() {
+        val index = ApiSearchIndex.build("key", items)
+
+        assertEquals(listOf("AActor.GetActorLocation()"), labels(index.search("get loc")))
+        assertEquals(listOf("AActor.GetActorLocation()", "AActor.SetActorLocation()", "AActor.ActorLocation"),
+            labels(index.search("actorloc")))
+        assertEquals(listOf("Print()"), labels(index.search("pr")))
+        assertTrue(index.search("vector").isEmpty())
+        assertTrue(index.search("  ").isEmpty())
+    }
+
+    /**
+     * Test that a query naming the owning namespace or type lists all of its members
+     */
+    fun testMatchesOwnerName() {
+        val index = ApiSearchIndex.build("key", items)
+
+        assertEquals(listOf("Math::Abs()"), labels(index.search("math")))
+        assertEquals(listOf("AActor.GetActorLocation()", "AActor.SetActorLocation()", "AActor.ActorLocation"),
+            labels(index.search("aactor")))
+    }
+
+    /**
+     * Test that an index read back from disk answers the same
+     */
+    fun testWriteReadRoundTrip() {
+        val index = ApiSearchIndex.build("key", items)
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { index.write(it) }
+
+        val read = ApiSearchIndex.read(DataInputStream(ByteArrayInputStream(bytes.toByteArray())))!!
+
+        assertEquals("key", read.key)
+        assertEquals(index.size(), read.size())
+        assertEquals(labels(index.search("loc")), labels(read.search("loc")))
+        assertEquals(items[1].data, read.search("getactor").single().data)
+    }
+
+    /**
+     * Test that the store names the most recently used index, loads indexes by key and keeps only a few
+     */
+    fun testStoreKeepsRecentIndexes() {
+        val directory = Files.createTempDirectory("api-index")
+        val store = ApiIndexStore(directory)
+        for (i in 0..ApiIndexStore.KEPT_INDEXES) {
+            store.save(ApiSearchIndex.build("key$i", items))
+            Files.setLastModifiedTime(directory.resolve("key$i.idx"), FileTime.fromMillis(1_000_000L * (i + 1)))
+        }
+        store.touch("key1")
+
+        assertEquals("key1", store.latestKey())
+        assertEquals("key2", store.load("key2")!!.key)
+        assertNull(store.load("other"))
+        store.save(ApiSearchIndex.build("key9", items))
+        assertEquals(ApiIndexStore.KEPT_INDEXES, Files.list(directory).use { it.count() }.toInt())
+        assertTrue(Files.exists(directory.resolve("key1.idx")))
+    }
+
+    private fun labels(found: List<ApiItem>) = found.map { it.label }
+
+    private fun function(owner: String?, name: String) = item("function", owner, name, "$name()")
+
+    private fun property(owner: String?, name: String) = item("property", owner, name, name)
+
+    private fun item(type: String, owner: String?, name: String, suffix: String) = ApiItem().apply {
+        this.type = type
+        this.name = name
+        this.owner = owner
+        label = when {
+            owner == null -> suffix
+            owner == "Math" -> "$owner::$suffix"
+            else -> "$owner.$suffix"
+        }
+        id = label
+        data = JsonArray().apply { add(type); add(name) }
+    }
+}
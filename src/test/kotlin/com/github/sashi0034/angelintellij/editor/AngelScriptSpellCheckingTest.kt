@@ -27,7 +27,7 @@ class AngelScriptSpellCheckingTest : BasePlatformTestCase() {
             override fun visitElement(element: com.intellij.psi.PsiElement) {
                 super.visitElement(element)
                 if (element is LeafPsiElement && 
-                    element.elementType == AngelScriptTokenTypes.IDENTIFIER &&
+                    element.elementType == AngelScriptTokenTypes.UNREAL_MACRO &&
                     element.text == "UPROPERTY") {
                     foundUproperty = true
                     val tokenizer = strategy.getTokenizer(element)
@@ -61,7 +61,7 @@ class AngelScriptSpellCheckingTest : BasePlatformTestCase() {
             override fun visitElement(element: com.intellij.psi.PsiElement) {
                 super.visitElement(element)
                 if (element is LeafPsiElement && 
-                    element.elementType == AngelScriptTokenTypes.IDENTIFIER &&
+                    element.elementType == AngelScriptTokenTypes.UNREAL_MACRO &&
                     element.text == "UFUNCTION") {
                     foundUfunction = true
                     val tokenizer = strategy.getTokenizer(element)
@@ -95,7 +95,7 @@ class AngelScriptSpellCheckingTest : BasePlatformTestCase() {
             override fun visitElement(element: com.intellij.psi.PsiElement) {
                 super.visitElement(element)
                 if (element is LeafPsiElement && 
-                    element.elementType == AngelScriptTokenTypes.IDENTIFIER &&
+                    element.elementType == AngelScriptTokenTypes.UNREAL_SPECIFIER &&
                     element.text == "BlueprintCallable") {
                     foundBlueprintCallable = true
                     val tokenizer = strategy.getTokenizer(element)
@@ -259,7 +259,8 @@ class AngelScriptSpellCheckingTest : BasePlatformTestCase() {
             override fun visitElement(element: com.intellij.psi.PsiElement) {
                 super.visitElement(element)
                 if (element is LeafPsiElement && 
-                    element.elementType == AngelScriptTokenTypes.IDENTIFIER &&
+                    (element.elementType == AngelScriptTokenTypes.UNREAL_MACRO ||
+                        element.elementType == AngelScriptTokenTypes.UNREAL_SPECIFIER) &&
                     element.text in unrealMacros) {
                     foundMacros.add(element.text)
                     val tokenizer = strategy.getTokenizer(element)
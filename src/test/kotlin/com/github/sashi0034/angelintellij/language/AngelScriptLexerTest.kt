@@ -0,0 +1,187 @@
+package com.github.sashi0034.angelintellij.language
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes
+import com.intellij.lexer.Lexer
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.openapi.editor.Document
+import com.intellij.openapi.editor.EditorFactory
+import com.intellij.openapi.editor.colors.EditorColorsManager
+import com.intellij.openapi.editor.ex.util.LexerEditorHighlighter
+import com.intellij.openapi.fileTypes.SyntaxHighlighter
+import com.intellij.openapi.fileTypes.SyntaxHighlighterFactory
+import com.intellij.psi.tree.IElementType
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class AngelScriptLexerTest : BasePlatformTestCase() {
+
+    private data class Token(val type: IElementType, val start: Int, val end: Int, val state: Int)
+
+    private fun lex(text: CharSequence, start: Int = 0, initialState: Int = 0): List<Token> {
+        val lexer = AngelScriptLexerAdapter()
+        lexer.start(text, start, text.length, initialState)
+        val tokens = mutableListOf<Token>()
+        while (lexer.tokenType != null) {
+            tokens += Token(lexer.tokenType!!, lexer.tokenStart, lexer.tokenEnd, lexer.state)
+            lexer.advance()
+        }
+        return tokens
+    }
+
+    private val sample = """
+        /**
+         * Doc comment with a ** run and a / slash
+         */
+        class AExample : AActor
+        {
+            FString Text = ""${'"'}
+                multi "line" string
+            ""${'"'};
+            /* inline */ int Value = 0x1F; // trailing
+        }
+    """.trimIndent()
+
+    /**
+     * Test that block comments and triple-quoted strings are split into line tokens of a single type
+     */
+    fun testMultiLineConstructs() {
+        val tokens = lex(sample)
+
+        val comment = tokens.takeWhile { it.type == AngelScriptTokenTypes.COMMENT }
+        assertEquals(3, comment.size)
+        assertEquals(sample.indexOf("*/") + 2, comment.last().end)
+
+        val strings = tokens.filter { it.type == AngelScriptTokenTypes.STRING }
+        assertEquals(3, strings.size)
+        assertEquals("\"\"\";", sample.substring(strings.last().end - 3, strings.last().end + 1))
+        assertFalse(tokens.any { it.type == AngelScriptTokenTypes.UNKNOWN })
+    }
+
+    /**
+     * Test that unterminated literals and comments never fall back to UNKNOWN tokens
+     */
+    fun testUnterminatedConstructs() {
+        val string = lex("Print(\"open\nint X;")
+        assertEquals(AngelScriptTokenTypes.STRING, string[2].type)
+        assertEquals("\"open".length, string[2].end - string[2].start)
+        assertEquals(AngelScriptTokenTypes.KEYWORD, string[4].type)
+
+        val comment = lex("int X; /* open\n\nint Y;")
+        assertTrue(comment.drop(5).all { it.type == AngelScriptTokenTypes.COMMENT })
+        assertFalse(comment.any { it.type == AngelScriptTokenTypes.UNKNOWN })
+    }
+
+    private val unrealSample = """
+        UCLASS(Abstract)
+        class AMover : AActor
+        {
+            UPROPERTY(EditAnywhere, Category = "Movement", meta = (ClampMin = "0"), ReplicatedUsing = OnRep_Speed)
+            float Speed = 1.0;
+
+            default bReplicates = true;
+
+            UFUNCTION()
+            void Report()
+            {
+                Print(f"Speed {Speed}", Name = n"Mover");
+            }
+        }
+    """.trimIndent()
+
+    private fun typesOf(text: String, vararg types: IElementType): List<String> =
+        lex(text).filter { it.type in types }.map { text.substring(it.start, it.end) }
+
+    /**
+     * Test that Unreal macros, their specifiers, Unreal keywords and name/format literals get their own token types
+     */
+    fun testUnrealTokens() {
+        assertEquals(listOf("UCLASS", "UPROPERTY", "UFUNCTION"), typesOf(unrealSample, AngelScriptTokenTypes.UNREAL_MACRO))
+        assertEquals(
+            listOf("Abstract", "EditAnywhere", "Category", "meta", "ClampMin", "ReplicatedUsing"),
+            typesOf(unrealSample, AngelScriptTokenTypes.UNREAL_SPECIFIER)
+        )
+        assertEquals(listOf("default"), typesOf(unrealSample, AngelScriptTokenTypes.UNREAL_KEYWORD))
+        assertEquals(listOf("f\"Speed {Speed}\""), typesOf(unrealSample, AngelScriptTokenTypes.FORMAT_STRING))
+        assertEquals(listOf("n\"Mover\""), typesOf(unrealSample, AngelScriptTokenTypes.NAME_STRING))
+
+        // Specifier values, and the same words outside a macro, stay identifiers
+        assertTrue(typesOf(unrealSample, AngelScriptTokenTypes.IDENTIFIER).containsAll(listOf("OnRep_Speed", "Speed", "Name")))
+        assertEquals(listOf("Category"), typesOf("int Category;", AngelScriptTokenTypes.IDENTIFIER))
+    }
+
+    private class CountingLexer : AngelScriptLexerAdapter() {
+        var tokens = 0
+
+        override fun advance() {
+            tokens++
+            super.advance()
+        }
+    }
+
+    private class Highlighted(val document: Document, val highlighter: LexerEditorHighlighter, val lexer: CountingLexer)
+
+    /**
+     * A document highlighted like an editor does, with the file's highlighter and a lexer that counts its tokens.
+     */
+    private fun highlight(text: String): Highlighted {
+        val lexer = CountingLexer()
+        val fileHighlighter = SyntaxHighlighterFactory.getSyntaxHighlighter(AngelScriptLanguage.INSTANCE, project, null)!!
+        val syntaxHighlighter = object : SyntaxHighlighter by fileHighlighter {
+            override fun getHighlightingLexer(): Lexer = lexer
+        }
+        val document = EditorFactory.getInstance().createDocument(text)
+        val highlighter = LexerEditorHighlighter(syntaxHighlighter, EditorColorsManager.getInstance().globalScheme)
+        highlighter.setText(document.immutableCharSequence)
+        document.addDocumentListener(highlighter, testRootDisposable)
+        return Highlighted(document, highlighter, lexer)
+    }
+
+    private fun tokensOf(highlighter: LexerEditorHighlighter): List<Triple<IElementType, Int, Int>> {
+        val tokens = mutableListOf<Triple<IElementType, Int, Int>>()
+        val iterator = highlighter.createIterator(0)
+        while (!iterator.atEnd()) {
+            tokens += Triple(iterator.tokenType, iterator.start, iterator.end)
+            iterator.advance()
+        }
+        return tokens
+    }
+
+    private fun tokensOf(text: String) = lex(text).map { Triple(it.type, it.start, it.end) }
+
+    private fun edit(change: () -> Unit) = WriteCommandAction.runWriteCommandAction(project) { change() }
+
+    /**
+     * Test that the editor highlighter, relexing from restartable states only, matches a full lex after edits anywhere
+     */
+    fun testRestartFromAnyToken() {
+        for (text in listOf(sample, unrealSample)) {
+            val highlighted = highlight(text)
+            val document = highlighted.document
+            for (offset in text.indices) {
+                edit { document.insertString(offset, "(") }
+                assertEquals("insert at $offset", tokensOf(document.text), tokensOf(highlighted.highlighter))
+                edit { document.deleteString(offset, offset + 1) }
+                assertEquals("delete at $offset", tokensOf(text), tokensOf(highlighted.highlighter))
+            }
+        }
+    }
+
+    /**
+     * Test that an edit inside a long block comment relexes a few tokens around it, not the rest of the comment
+     */
+    fun testEditInsideCommentIsBounded() {
+        val text = "/*\n" + (0 until 1000).joinToString("") { " * line $it\n" } + " */\nint X;"
+        val highlighted = highlight(text)
+        val document = highlighted.document
+        val fullLex = highlighted.lexer.tokens
+        assertTrue(fullLex > 1000)
+
+        highlighted.lexer.tokens = 0
+        edit { document.insertString(text.indexOf("line 500") + 4, "s") }
+
+        // The highlighter restarts two tokens before the change and stops once the old tokens line up again
+        val relexed = highlighted.lexer.tokens
+        assertTrue("relexed $relexed of $fullLex tokens", relexed in 1..4)
+        assertEquals(tokensOf(document.text), tokensOf(highlighted.highlighter))
+    }
+}
@@ -0,0 +1,186 @@
+package com.github.sashi0034.angelintellij.language
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptClassDeclaration
+import com.github.sashi0034.angelintellij.psi.AngelScriptDelegateDeclaration
+import com.github.sashi0034.angelintellij.psi.AngelScriptEnumDeclaration
+import com.github.sashi0034.angelintellij.psi.AngelScriptEnumValue
+import com.github.sashi0034.angelintellij.psi.AngelScriptFunctionDeclaration
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamespaceDeclaration
+import com.github.sashi0034.angelintellij.psi.AngelScriptStatementBlockElementType
+import com.github.sashi0034.angelintellij.psi.AngelScriptStructDeclaration
+import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes
+import com.github.sashi0034.angelintellij.psi.AngelScriptVariableDeclaration
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.psi.PsiElement
+import com.intellij.psi.PsiErrorElement
+import com.intellij.psi.PsiFile
+import com.intellij.psi.PsiFileFactory
+import com.intellij.psi.impl.DebugUtil
+import com.intellij.psi.impl.source.tree.LazyParseableElement
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class AngelScriptParserTest : BasePlatformTestCase() {
+
+    private val sample = """
+        namespace Movement
+        {
+            delegate void FOnArrived(AActor Actor, int Index);
+        }
+
+        UENUM()
+        enum EMoveState
+        {
+            Idle,
+            Moving = 0x2,
+        }
+
+        USTRUCT()
+        struct FMovePoint
+        {
+            UPROPERTY(EditAnywhere, Category = "Movement")
+            FVector Location;
+        }
+
+        UCLASS(Abstract)
+        class AMover : AActor
+        {
+            UPROPERTY()
+            TArray<FMovePoint> Points;
+
+            UFUNCTION(BlueprintOverride)
+            void Tick(float DeltaSeconds)
+            {
+                for (int i = 0; i < Points.Num(); ++i)
+                {
+                    AddActorWorldOffset(Points[i].Location * DeltaSeconds);
+                }
+            }
+        }
+    """.trimIndent()
+
+    private inline fun <reified T : PsiElement> PsiFile.find(): List<T> =
+        PsiTreeUtil.findChildrenOfType(this, T::class.java).toList()
+
+    /**
+     * Test that every kind of declaration gets its own node and nothing is reported as an error
+     */
+    fun testDeclarations() {
+        val file = myFixture.configureByText("test.as", sample)
+
+        assertEquals(1, file.find<AngelScriptNamespaceDeclaration>().size)
+        assertEquals(1, file.find<AngelScriptDelegateDeclaration>().size)
+        assertEquals(1, file.find<AngelScriptEnumDeclaration>().size)
+        assertEquals(2, file.find<AngelScriptEnumValue>().size)
+        assertEquals(1, file.find<AngelScriptStructDeclaration>().size)
+        assertEquals(1, file.find<AngelScriptClassDeclaration>().size)
+        assertEquals(3, file.find<AngelScriptVariableDeclaration>().size)
+
+        val function = file.find<AngelScriptFunctionDeclaration>().single()
+        assertEquals("UFUNCTION(BlueprintOverride)", function.annotation?.text)
+        assertEquals("(float DeltaSeconds)", function.parameterList.text)
+        assertNull(PsiTreeUtil.findChildOfType(file, PsiErrorElement::class.java))
+    }
+
+    /**
+     * Test that an unfinished function body is reported and the declarations around it are kept
+     */
+    fun testIncompleteCode() {
+        val file = myFixture.configureByText("test.as", "class AMover : AActor\n{\n    void Tick(float DeltaSeconds)\n    {\n        Move(")
+
+        val function = file.find<AngelScriptFunctionDeclaration>().single()
+        assertEquals("(float DeltaSeconds)", function.parameterList.text)
+        assertEquals(1, file.find<AngelScriptClassDeclaration>().size)
+        val errors = PsiTreeUtil.findChildrenOfType(file, PsiErrorElement::class.java).map { it.errorDescription }
+        assertEquals(listOf("Unclosed function body", "'}' expected"), errors)
+        assertEquals(file.textLength, file.node.getChildren(null).sumOf { it.textLength })
+    }
+
+    /**
+     * Test that code which is not a declaration stays flat tokens without errors
+     */
+    fun testUnknownCodeIsNotAnError() {
+        val file = myFixture.configureByText("test.as", "Print(\"Hello\");\nA < B;\nmixin void Move(AActor Self) {}\n}")
+
+        assertEquals(1, file.find<AngelScriptFunctionDeclaration>().size)
+        assertNull(PsiTreeUtil.findChildOfType(file, PsiErrorElement::class.java))
+    }
+
+    /**
+     * Test that a broken declaration reports its error and the declarations after it are parsed as usual
+     */
+    fun testRecoversAfterBrokenDeclaration() {
+        val file = myFixture.configureByText("test.as", """
+            delegate void FOnMoved(int Index, );
+            class AMover oops
+            {
+                int Speed = ;
+                void Tick(float DeltaSeconds b c) {}
+            }
+            UINTERFACE()
+            class UMovable
+            {
+            }
+        """.trimIndent())
+
+        val errors = PsiTreeUtil.findChildrenOfType(file, PsiErrorElement::class.java).map { it.errorDescription }
+        assertEquals(listOf(
+            "<type reference> expected, got ')'",
+            "':' or '{' expected, got 'oops'",
+            "<initializer> expected, got ';'",
+            "')', ',' or '=' expected, got 'b'"), errors)
+        assertEquals(listOf("AMover", "UMovable"), file.find<AngelScriptClassDeclaration>().map { it.name })
+        assertEquals("UINTERFACE()", file.find<AngelScriptClassDeclaration>().last().annotation?.text)
+        assertEquals(1, file.find<AngelScriptDelegateDeclaration>().size)
+        assertEquals("Speed", file.find<AngelScriptVariableDeclaration>().single().name)
+        assertEquals("Tick", file.find<AngelScriptFunctionDeclaration>().single().name)
+    }
+
+    /**
+     * Test that function bodies are lazy and only parsed when their children are accessed
+     */
+    fun testStatementBlockIsLazy() {
+        val file = myFixture.configureByText("test.as", sample)
+
+        // Walk down by direct children only, a recursive search would parse the body on the way
+        val mover = PsiTreeUtil.getChildOfType(file, AngelScriptClassDeclaration::class.java)!!
+        val tick = PsiTreeUtil.getChildOfType(mover, AngelScriptFunctionDeclaration::class.java)!!
+        val body = tick.node.findChildByType(AngelScriptTokenTypes.STATEMENT_BLOCK) as LazyParseableElement
+        assertFalse(body.isParsed)
+
+        assertEquals("{", body.firstChildNode.text)
+        assertTrue(body.isParsed)
+    }
+
+    /**
+     * Test that a block is only reparsed on its own while its text stays one balanced block
+     */
+    fun testIsParsable() {
+        val type = AngelScriptTokenTypes.STATEMENT_BLOCK as AngelScriptStatementBlockElementType
+        assertTrue(type.isParsable(null, "{ int X = 1; { } }", AngelScriptLanguage.INSTANCE, project))
+        assertTrue(type.isParsable(null, "{ Print(\"}\"); }", AngelScriptLanguage.INSTANCE, project))
+        assertFalse(type.isParsable(null, "{ { }", AngelScriptLanguage.INSTANCE, project))
+        assertFalse(type.isParsable(null, "{ } }", AngelScriptLanguage.INSTANCE, project))
+        assertFalse(type.isParsable(null, "{ /* }", AngelScriptLanguage.INSTANCE, project))
+    }
+
+    /**
+     * Test that typing inside a function body leaves the same tree as parsing the new text from scratch
+     */
+    fun testEditInsideBodyMatchesFullParse() {
+        val file = myFixture.configureByText("test.as", sample)
+        val document = myFixture.editor.document
+        val offset = sample.indexOf("AddActorWorldOffset")
+
+        WriteCommandAction.runWriteCommandAction(project) {
+            document.insertString(offset, "float Speed = 2.0;\n")
+        }
+        PsiDocumentManager.getInstance(project).commitDocument(document)
+
+        val fresh = PsiFileFactory.getInstance(project).createFileFromText("test.as", AngelScriptLanguage.INSTANCE, document.text)
+        assertEquals(DebugUtil.psiToString(fresh, true), DebugUtil.psiToString(file, true))
+        assertEquals(4, file.find<AngelScriptVariableDeclaration>().size)
+    }
+}
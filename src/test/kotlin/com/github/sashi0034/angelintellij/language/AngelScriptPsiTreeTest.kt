@@ -0,0 +1,41 @@
+package com.github.sashi0034.angelintellij.language
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptTokenTypes
+import com.intellij.psi.impl.source.tree.CompositeElement
+import com.intellij.psi.impl.source.tree.LeafElement
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class AngelScriptPsiTreeTest : BasePlatformTestCase() {
+
+    /**
+     * Test that operators and punctuation are plain leaves of the enclosing node
+     */
+    fun testPunctuationIsNotWrapped() {
+        val file = myFixture.configureByText(
+            "test.as",
+            """
+            void Tick(float DeltaSeconds)
+            {
+                Speed += DeltaSeconds * 2.0;
+            }
+            """.trimIndent()
+        )
+
+        val nodes = PsiTreeUtil.collectElements(file) { true }.map { it.node }
+        val assignments = nodes.filter { it.elementType == AngelScriptTokenTypes.ADD_ASSIGN }
+
+        assertEquals(1, assignments.size)
+        assertTrue(assignments.single() is LeafElement)
+        assertEquals(AngelScriptTokenTypes.STATEMENT_BLOCK, assignments.single().treeParent.elementType)
+        val words = setOf(AngelScriptTokenTypes.IDENTIFIER, AngelScriptTokenTypes.KEYWORD)
+        assertFalse(
+            "no composite should wrap a single punctuation leaf",
+            nodes.any { node ->
+                val only = node.getChildren(null).singleOrNull()
+                node is CompositeElement && only is LeafElement && only.elementType !in words
+            }
+        )
+    }
+}
@@ -5,6 +5,7 @@ import com.intellij.testFramework.fixtures.BasePlatformTestCase
 import com.redhat.devtools.lsp4ij.features.semanticTokens.SemanticTokensHighlightingColors
 import org.eclipse.lsp4j.SemanticTokenModifiers
 import org.eclipse.lsp4j.SemanticTokenTypes
+import org.eclipse.lsp4j.SemanticTokensLegend
 import org.junit.Assert.*
 
 class AngelScriptSemanticTokensTest : BasePlatformTestCase() {
@@ -396,4 +397,44 @@ class AngelScriptSemanticTokensTest : BasePlatformTestCase() {
         )
         assertNull("Unknown token types should return null", result)
     }
+
+    /**
+     * Test that a table resolved from a legend maps wire indices and modifier bits like the decoded strings
+     */
+    fun testLegendTable() {
+        val types = listOf(SemanticTokenTypes.Variable, SemanticTokenTypes.Function, "as_typename")
+        val modifiers = listOf(SemanticTokenModifiers.Deprecated, SemanticTokenModifiers.Readonly, SemanticTokenModifiers.Static)
+        val table = SemanticTokensKeyTable.create(types, modifiers)
+
+        assertEquals(SemanticTokensHighlightingColors.VARIABLE, table.get(0, 0b001))
+        assertEquals(SemanticTokensHighlightingColors.READONLY_VARIABLE, table.get(0, 0b011))
+        assertEquals(SemanticTokensHighlightingColors.STATIC_READONLY_VARIABLE, table.get(0, 0b110))
+        assertEquals(SemanticTokensHighlightingColors.FUNCTION, table.get(1, 0b100))
+        assertNull(table.get(2, 0))
+        assertNull(table.get(3, 0))
+
+        // Types the provider knows keep their key even when the legend does not announce them
+        assertEquals(SemanticTokensHighlightingColors.CLASS_DECLARATION,
+            table.get(SemanticTokenTypes.Class, listOf(SemanticTokenModifiers.Definition)))
+        assertEquals(SemanticTokensHighlightingColors.STATIC_VARIABLE,
+            table.get(SemanticTokenTypes.Variable, listOf(SemanticTokenModifiers.Static, SemanticTokenModifiers.Deprecated)))
+    }
+
+    /**
+     * Test that the provider only rebuilds its table when a server announces a different legend
+     */
+    fun testUseLegend() {
+        val legend = SemanticTokensLegend(listOf(SemanticTokenTypes.Keyword), listOf(SemanticTokenModifiers.Static))
+        AngelScriptSemanticTokensColorProvider.useLegend(legend)
+        val table = AngelScriptSemanticTokensColorProvider.getTable()
+        assertTrue(table.isFor(legend.tokenTypes, legend.tokenModifiers))
+
+        AngelScriptSemanticTokensColorProvider.useLegend(SemanticTokensLegend(legend.tokenTypes.toList(), legend.tokenModifiers.toList()))
+        assertSame(table, AngelScriptSemanticTokensColorProvider.getTable())
+        assertEquals(SemanticTokensHighlightingColors.KEYWORD, table.get(0, 0))
+
+        val provider = AngelScriptSemanticTokensColorProvider()
+        val file = myFixture.configureByText("test.as", "int x = 5;")
+        assertEquals(SemanticTokensHighlightingColors.NUMBER, provider.getTextAttributesKey(SemanticTokenTypes.Number, emptyList(), file))
+    }
 }
@@ -0,0 +1,69 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ConnectionStateServiceTest : BasePlatformTestCase() {
+
+    private lateinit var service: ConnectionStateService
+    private val received = mutableListOf<ConnectionStateService.State>()
+
+    override fun setUp() {
+        super.setUp()
+        service = ConnectionStateService.getInstance(project)
+        service.deliver()
+        project.messageBus.connect(testRootDisposable).subscribe(ConnectionStateService.TOPIC,
+            ConnectionStateService.Listener { received.add(it) })
+    }
+
+    override fun tearDown() {
+        try {
+            service.setState(service.serverInstance, ConnectionStateService.State.DISCONNECTED)
+            service.deliver()
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    /**
+     * Test that a burst of changes reaches listeners as the latest state only
+     */
+    fun testCoalescesChanges() {
+        val instance = service.startServerInstance()
+        service.setState(instance, ConnectionStateService.State.WAITING_FOR_UNREAL)
+        service.setState(instance, ConnectionStateService.State.CONNECTED)
+        assertTrue(received.isEmpty())
+
+        service.deliver()
+        service.deliver()
+        assertEquals(listOf(ConnectionStateService.State.CONNECTED), received)
+    }
+
+    /**
+     * Test that states changed back before delivery are not published
+     */
+    fun testSkipsUnchangedState() {
+        val instance = service.startServerInstance()
+        service.setState(instance, ConnectionStateService.State.CONNECTED)
+        service.deliver()
+        service.setState(instance, ConnectionStateService.State.WAITING_FOR_UNREAL)
+        service.setState(instance, ConnectionStateService.State.CONNECTED)
+        service.deliver()
+
+        assertEquals(listOf(ConnectionStateService.State.CONNECTED), received)
+    }
+
+    /**
+     * Test that a replaced server instance cannot change the state anymore
+     */
+    fun testIgnoresReplacedInstance() {
+        val old = service.startServerInstance()
+        val current = service.startServerInstance()
+        service.setState(current, ConnectionStateService.State.WAITING_FOR_UNREAL)
+
+        // The stop of the previous process finishes after the restart
+        service.setState(old, ConnectionStateService.State.DISCONNECTED)
+        assertEquals(ConnectionStateService.State.WAITING_FOR_UNREAL, service.state)
+        assertEquals(current, service.serverInstance)
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.openapi.fileEditor.FileEditorManager
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ModulePriorityReporterTest : BasePlatformTestCase() {
+
+    /**
+     * Test that the selected script is reported first and other open scripts follow
+     */
+    fun testSelectedScriptComesFirst() {
+        val background = myFixture.addFileToProject("Background.as", "class UBackground {}").virtualFile
+        FileEditorManager.getInstance(project).openFile(background, false)
+        val selected = myFixture.configureByText("Selected.as", "class USelected {}").virtualFile
+
+        val uris = ModulePriorityReporter.collectUris(project)
+
+        assertTrue("Selected script should be first: $uris", uris.first().endsWith("/" + selected.name))
+        assertTrue("Open script should be reported: $uris", uris.any { it.endsWith("/" + background.name) })
+    }
+
+    /**
+     * Test that files the server does not index are left out
+     */
+    fun testOnlyScriptsAreReported() {
+        myFixture.configureByText("notes.txt", "not a script")
+
+        assertEquals(emptyList<String>(), ModulePriorityReporter.collectUris(project))
+    }
+}
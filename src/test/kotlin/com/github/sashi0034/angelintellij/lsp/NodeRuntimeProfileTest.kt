@@ -0,0 +1,58 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+import java.nio.file.Files
+
+class NodeRuntimeProfileTest : BasePlatformTestCase() {
+
+    /**
+     * Test that the old space grows with the script count and is capped by the machine's memory
+     */
+    fun testAutoSizedOldSpace() {
+        val small = NodeRuntimeProfile.autoSized(0, 32768)
+        val large = NodeRuntimeProfile.autoSized(4000, 32768)
+        val constrained = NodeRuntimeProfile.autoSized(4000, 8192)
+
+        assertEquals("Empty workspace should get the base heap",
+            NodeRuntimeProfile.BASE_OLD_SPACE_MB, small.maxOldSpaceMb)
+        assertEquals("Large workspace should hit the auto-size cap",
+            NodeRuntimeProfile.MAX_AUTO_OLD_SPACE_MB, large.maxOldSpaceMb)
+        assertEquals("Heap should not exceed half of physical memory", 4096, constrained.maxOldSpaceMb)
+        assertTrue("Large workspace should get a bigger young generation",
+            large.maxSemiSpaceMb > small.maxSemiSpaceMb)
+    }
+
+    /**
+     * Test that only configured limits and flags are passed to Node.js
+     */
+    fun testNodeArguments() {
+        assertEquals("Defaults should add no flags",
+            emptyList<String>(), NodeRuntimeProfile(0, 0, false, false).toNodeArguments())
+        assertEquals(
+            listOf("--max-old-space-size=2048", "--max-semi-space-size=32", "--expose-gc", "--jitless"),
+            NodeRuntimeProfile(2048, 32, true, true).toNodeArguments()
+        )
+    }
+
+    /**
+     * Test that the on-disk count skips build output and hidden directories
+     */
+    fun testCountScriptsOnDisk() {
+        val root = Files.createTempDirectory("angelscript-count")
+        try {
+            Files.createDirectories(root.resolve("Script/Gameplay"))
+            Files.createDirectories(root.resolve("Intermediate"))
+            Files.createDirectories(root.resolve(".git"))
+            Files.writeString(root.resolve("Script/A.as"), "")
+            Files.writeString(root.resolve("Script/Gameplay/B.as"), "")
+            Files.writeString(root.resolve("Script/readme.txt"), "")
+            Files.writeString(root.resolve("Intermediate/C.as"), "")
+            Files.writeString(root.resolve(".git/D.as"), "")
+
+            assertEquals(2, NodeRuntimeProfile.countScriptsOnDisk(root))
+        } finally {
+            root.toFile().deleteRecursively()
+        }
+    }
+}
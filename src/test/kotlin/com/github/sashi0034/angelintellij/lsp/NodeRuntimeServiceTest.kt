@@ -0,0 +1,65 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.Path
+
+class NodeRuntimeServiceTest : BasePlatformTestCase() {
+
+    /**
+     * Test that `node -v` output is parsed into the version and capabilities
+     */
+    fun testParseVersion() {
+        val executable = Path.of("node")
+        val runtime = NodeRuntimeService.parse(executable, "v22.11.0\n")
+
+        assertNotNull(runtime)
+        assertEquals("v22.11.0", runtime!!.version())
+        assertEquals(22, runtime.major())
+        assertTrue("Node.js 22.1+ should report the module compile cache", runtime.hasModuleCompileCache())
+        assertFalse(NodeRuntimeService.parse(executable, "v20.18.1")!!.hasModuleCompileCache())
+        assertFalse("Node.js older than the bundle target should be unsupported",
+            NodeRuntimeService.parse(executable, "v12.22.0")!!.isSupported())
+        assertNull(NodeRuntimeService.parse(executable, "command not found"))
+    }
+
+    /**
+     * Test that PATH entries are searched in order and entries without node are skipped
+     */
+    fun testFindOnPath() {
+        val root = Files.createTempDirectory("node-path")
+        try {
+            val empty = Files.createDirectories(root.resolve("empty"))
+            val first = Files.createFile(Files.createDirectories(root.resolve("first")).resolve("node"))
+            val second = Files.createFile(Files.createDirectories(root.resolve("second")).resolve("node"))
+            val path = listOf(empty, second.parent, first.parent, second.parent).joinToString(File.pathSeparator)
+
+            assertEquals(listOf(second, first), NodeRuntimeService.findOnPath(path, false))
+            assertEquals(emptyList<Path>(), NodeRuntimeService.findOnPath(null, false))
+        } finally {
+            root.toFile().deleteRecursively()
+        }
+    }
+
+    /**
+     * Test that versions installed through nvm are found without PATH
+     */
+    fun testFindNvmInstallations() {
+        val home = Files.createTempDirectory("node-home")
+        try {
+            val versions = home.resolve(".nvm/versions/node")
+            val v18 = Files.createDirectories(versions.resolve("v18.20.0/bin")).resolve("node")
+            val v20 = Files.createDirectories(versions.resolve("v20.18.1/bin")).resolve("node")
+            Files.createFile(v18)
+            Files.createFile(v20)
+
+            val candidates = NodeRuntimeService.findInKnownLocations(home, false)
+
+            assertTrue("nvm versions should be candidates: $candidates", candidates.containsAll(listOf(v18, v20)))
+        } finally {
+            home.toFile().deleteRecursively()
+        }
+    }
+}
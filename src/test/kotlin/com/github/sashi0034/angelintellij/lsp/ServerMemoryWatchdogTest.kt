@@ -0,0 +1,35 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ServerMemoryWatchdogTest : BasePlatformTestCase() {
+
+    private val mb = 1024L * 1024L
+    private val hour = 60L * 60L * 1000L
+
+    /**
+     * Test that the resident memory is read from a /proc status file
+     */
+    fun testParsesVmRss() {
+        val status = "Name:\tnode\nVmPeak:\t 2398208 kB\nVmRSS:\t  812344 kB\nRssAnon:\t  790000 kB\n"
+        assertEquals(812344L * 1024, ServerMemoryWatchdog.parseVmRss(status))
+        assertEquals(-1, ServerMemoryWatchdog.parseVmRss("Name:\tkthreadd\n"))
+        assertEquals(-1, ServerMemoryWatchdog.readRss(-1))
+    }
+
+    /**
+     * Test that a server is recycled above the threshold only when it is quiet, unless far above it
+     */
+    fun testRecycleDecision() {
+        val threshold = 4096 * mb
+        assertFalse(ServerMemoryWatchdog.shouldRecycle(3000 * mb, threshold, 8 * hour, true))
+        assertTrue(ServerMemoryWatchdog.shouldRecycle(4500 * mb, threshold, 8 * hour, true))
+        assertFalse(ServerMemoryWatchdog.shouldRecycle(4500 * mb, threshold, 8 * hour, false))
+        assertTrue(ServerMemoryWatchdog.shouldRecycle(6200 * mb, threshold, 8 * hour, false))
+
+        // Young servers and a disabled threshold
+        assertFalse(ServerMemoryWatchdog.shouldRecycle(6200 * mb, threshold, 60_000, true))
+        assertFalse(ServerMemoryWatchdog.shouldRecycle(6200 * mb, 0, 8 * hour, true))
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+
+class ServerScriptCacheTest : BasePlatformTestCase() {
+
+    private lateinit var cacheRoot: Path
+
+    override fun setUp() {
+        super.setUp()
+        cacheRoot = Files.createTempDirectory("angelscript-lsp-cache")
+    }
+
+    override fun tearDown() {
+        try {
+            cacheRoot.toFile().deleteRecursively()
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    private fun bundledScript(): ByteArray =
+        ServerScriptCache::class.java.getResourceAsStream(ServerScriptCache.SERVER_RESOURCE)!!.use { it.readBytes() }
+
+    /**
+     * Test that the script is extracted with the exact bundled content
+     */
+    fun testExtractsBundledScript() {
+        val script = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+
+        assertTrue("Extracted script should exist", Files.isRegularFile(script))
+        assertEquals("Script should be named after the bundled resource",
+            ServerScriptCache.SERVER_FILE_NAME, script.fileName.toString())
+        assertArrayEquals("Extracted script should match the bundled resource",
+            bundledScript(), Files.readAllBytes(script))
+    }
+
+    /**
+     * Test that the warm-start bootstrap is extracted next to the server script
+     */
+    fun testExtractsBootstrapNextToScript() {
+        val script = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        val bootstrap = script.resolveSibling(ServerScriptCache.BOOTSTRAP_FILE_NAME)
+
+        val expected = ServerScriptCache::class.java.getResourceAsStream(ServerScriptCache.BOOTSTRAP_RESOURCE)!!
+            .use { it.readBytes() }
+        assertArrayEquals("Bootstrap should match the bundled resource", expected, Files.readAllBytes(bootstrap))
+    }
+
+    /**
+     * Test that a second extraction for the same version reuses the cached file without rewriting it
+     */
+    fun testReusesValidCacheEntry() {
+        val first = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        val firstModified = Files.getLastModifiedTime(first)
+
+        Thread.sleep(20)
+        val second = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+
+        assertEquals("Same version should resolve to the same file", first, second)
+        assertEquals("Valid cache entry should not be rewritten",
+            firstModified, Files.getLastModifiedTime(second))
+    }
+
+    /**
+     * Test that a corrupted cache entry is detected and replaced
+     */
+    fun testReplacesCorruptedCacheEntry() {
+        val script = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        Files.writeString(script, "// truncated")
+
+        val repaired = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+
+        assertEquals("Repaired script should keep the same location", script, repaired)
+        assertArrayEquals("Corrupted script should be re-extracted",
+            bundledScript(), Files.readAllBytes(repaired))
+    }
+
+    /**
+     * Test that entries of other plugin versions are pruned when a new version is extracted
+     */
+    fun testPrunesOtherVersions() {
+        val old = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        val oldCodeCache = old.resolveSibling(ServerScriptCache.CODE_CACHE_DIR_NAME)
+        Files.createDirectories(oldCodeCache)
+        Files.writeString(oldCodeCache.resolve("angelscript-language-server.js.v8cache"), "cache")
+        val current = ServerScriptCache.extractTo(cacheRoot, "1.1.0")
+
+        assertNotEquals("Different versions should use different directories", old.parent, current.parent)
+        assertFalse("Old version entry should be removed", Files.exists(old.parent))
+        assertTrue("Current version entry should exist", Files.isRegularFile(current))
+    }
+
+    /**
+     * Test that an entry locked by a running IDE is kept when another version is extracted
+     */
+    fun testKeepsLockedEntries() {
+        val locked = ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        ServerScriptCache.lockEntry(locked.parent)
+
+        ServerScriptCache.extractTo(cacheRoot, "1.1.0")
+
+        assertTrue("Locked entry should be kept", Files.isRegularFile(locked))
+    }
+
+    /**
+     * Test that entries without a lock file are only pruned once they have not changed for a while
+     */
+    fun testPrunesUnlockedEntriesByAge() {
+        val legacy = Files.createDirectories(cacheRoot.resolve("0.9.0-0123456789abcdef"))
+        val script = Files.writeString(legacy.resolve(ServerScriptCache.SERVER_FILE_NAME), "// old")
+
+        ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        assertTrue("Recently used entry should be kept", Files.exists(legacy))
+
+        val old = FileTime.fromMillis(System.currentTimeMillis() - ServerScriptCache.UNLOCKED_ENTRY_MAX_AGE_MS - 60_000)
+        Files.setLastModifiedTime(script, old)
+        Files.setLastModifiedTime(legacy, old)
+        ServerScriptCache.extractTo(cacheRoot, "1.0.0")
+        assertFalse("Unused entry should be removed", Files.exists(legacy))
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.google.gson.Gson
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ServerStatsServiceTest : BasePlatformTestCase() {
+
+    // As sent by the bundled server while parsing a 3000 script workspace
+    private val report = """{"indexing":true,"stage":"Parsing","loadQueue":0,"parseQueue":2010,
+        "postProcessTypesQueue":990,"resolveQueue":0,"modules":3000,"modulesParsed":990,"modulesResolved":0,
+        "hasUnrealTypes":true,"unrealTypes":215,"heapUsed":58720256,"heapTotal":75497472,
+        "heapLimit":2197815296,"rss":159383552}"""
+
+    /**
+     * Test that a server report is read and summarized for the status bar
+     */
+    fun testReadsServerReport() {
+        val stats = Gson().fromJson(report, ServerStatsService.Stats::class.java)
+
+        assertEquals(3000, stats.queued())
+        assertEquals("Parsing, 3000 queued", stats.describe())
+        assertFalse(stats.isUnderMemoryPressure())
+
+        stats.indexing = false
+        stats.modulesResolved = 2990
+        assertEquals("2990/3000 modules resolved", stats.describe())
+    }
+
+    /**
+     * Test that heap use close to the limit counts as memory pressure
+     */
+    fun testMemoryPressure() {
+        val stats = ServerStatsService.Stats()
+        assertFalse(stats.isUnderMemoryPressure())
+
+        stats.heapLimit = 1000
+        stats.heapUsed = 850
+        assertEquals(0.85, stats.heapUse(), 0.0)
+        assertTrue(stats.isUnderMemoryPressure())
+    }
+
+    /**
+     * Test that listeners get the latest of several reports once, and null once the server stopped
+     */
+    fun testPublishesLatestReport() {
+        val received = mutableListOf<ServerStatsService.Stats?>()
+        val service = ServerStatsService.getInstance(project)
+        service.deliver()
+        project.messageBus.connect(testRootDisposable).subscribe(ServerStatsService.TOPIC,
+            ServerStatsService.Listener { received.add(it) })
+        val first = ServerStatsService.Stats()
+        val second = ServerStatsService.Stats()
+
+        service.update(first)
+        service.update(second)
+        assertSame(second, service.stats)
+        assertTrue(received.isEmpty())
+        service.deliver()
+        service.deliver()
+        assertEquals(listOf(second), received)
+
+        service.update(null)
+        service.deliver()
+        assertEquals(listOf(second, null), received)
+        assertNull(service.stats)
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ServerSupervisorTest : BasePlatformTestCase() {
+
+    /**
+     * Test that restarts wait twice as long after each crash in a row, up to the maximum
+     */
+    fun testRestartBackoff() {
+        assertEquals(1_000, ServerSupervisor.restartDelay(0))
+        assertEquals(2_000, ServerSupervisor.restartDelay(1))
+        assertEquals(32_000, ServerSupervisor.restartDelay(5))
+        assertEquals(ServerSupervisor.MAX_RESTART_DELAY_MS, ServerSupervisor.restartDelay(6))
+        assertEquals(ServerSupervisor.MAX_RESTART_DELAY_MS, ServerSupervisor.restartDelay(100))
+    }
+
+    /**
+     * Test that the exit reason names the exit code and the last reported heap use
+     */
+    fun testDescribesExit() {
+        val stats = ServerStatsService.Stats()
+        stats.heapUsed = 970
+        stats.heapLimit = 1000
+
+        val reason = ServerSupervisor.describeExit(134, 60_000, stats)
+        assertTrue(reason, reason.startsWith("exited with code 134 after "))
+        assertTrue(reason, reason.contains("heap at 97% of "))
+        assertEquals("exited after ", ServerSupervisor.describeExit(null, 0, null).substring(0, 13))
+    }
+
+    /**
+     * Test that the supervisor stops restarting once the crashes use up the budget, including the restart already scheduled
+     */
+    fun testRestartBudget() {
+        val supervisor = ServerSupervisor(project)
+        try {
+            repeat(ServerSupervisor.RESTART_BUDGET) {
+                supervisor.crashed(-1, "exited with code 134", 0)
+            }
+            var stats = supervisor.getStats()
+            assertEquals(ServerSupervisor.RESTART_BUDGET, stats.crashes())
+            assertFalse(stats.gaveUp())
+            assertTrue(stats.restartAt() > 0)
+            assertTrue(supervisor.isRestartPending)
+
+            supervisor.crashed(-1, "exited with code 134", 0)
+            stats = supervisor.getStats()
+            assertTrue(stats.gaveUp())
+            assertEquals(0, stats.restartAt())
+            assertFalse(supervisor.isRestartPending)
+            assertEquals("exited with code 134", stats.lastCrash()!!.reason())
+            assertTrue(stats.describe(), stats.describe().endsWith("not restarting anymore"))
+        } finally {
+            supervisor.dispose()
+        }
+    }
+}
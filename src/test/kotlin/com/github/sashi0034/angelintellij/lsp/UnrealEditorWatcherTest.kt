@@ -0,0 +1,55 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class UnrealEditorWatcherTest : BasePlatformTestCase() {
+
+    /**
+     * Test that Unreal editor executables are recognized on every platform
+     */
+    fun testRecognizesEditors() {
+        assertTrue(UnrealEditorWatcher.isUnrealEditor("/opt/UE_5.4/Engine/Binaries/Linux/UnrealEditor"))
+        assertTrue(UnrealEditorWatcher.isUnrealEditor("C:\\Program Files\\Epic Games\\UE_5.4\\Engine\\Binaries\\Win64\\UnrealEditor.exe"))
+        assertTrue(UnrealEditorWatcher.isUnrealEditor("/Users/dev/UE4/Engine/Binaries/Mac/UE4Editor-Mac-DebugGame"))
+        assertTrue(UnrealEditorWatcher.isUnrealEditor("UE5Editor"))
+    }
+
+    /**
+     * Test that commandlets and other processes do not count as an editor
+     */
+    fun testIgnoresOtherProcesses() {
+        assertFalse(UnrealEditorWatcher.isUnrealEditor("C:\\UE_5.4\\Engine\\Binaries\\Win64\\UnrealEditor-Cmd.exe"))
+        assertFalse(UnrealEditorWatcher.isUnrealEditor("/opt/UE_5.4/Engine/Binaries/Linux/UnrealEditorServices"))
+        assertFalse(UnrealEditorWatcher.isUnrealEditor("/opt/UnrealEditor/node"))
+        assertFalse(UnrealEditorWatcher.isUnrealEditor(""))
+    }
+
+    /**
+     * Test that the server's connection reports set the connection state
+     */
+    fun testConnectionReports() {
+        val service = ConnectionStateService.getInstance(project)
+        val instance = service.startServerInstance()
+        val client = AngelScriptLanguageClient(project)
+        val params = AngelScriptLanguageClient.UnrealConnectionParams()
+        try {
+            params.attempts = 3
+            params.retryInMs = 16000
+            client.unrealConnection(params)
+            assertEquals(ConnectionStateService.State.WAITING_FOR_UNREAL, service.state)
+
+            params.connected = true
+            client.unrealConnection(params)
+            assertEquals(ConnectionStateService.State.CONNECTED, service.state)
+
+            params.connected = false
+            params.offline = true
+            client.unrealConnection(params)
+            assertEquals(ConnectionStateService.State.CONNECTED, service.state)
+        } finally {
+            service.setState(instance, ConnectionStateService.State.DISCONNECTED)
+            client.dispose()
+        }
+    }
+}
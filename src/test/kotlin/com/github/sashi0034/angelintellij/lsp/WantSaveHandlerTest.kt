@@ -0,0 +1,71 @@
+package com.github.sashi0034.angelintellij.lsp
+
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.openapi.editor.Document
+import com.intellij.openapi.fileEditor.FileDocumentManager
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.vfs.LocalFileSystem
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import com.redhat.devtools.lsp4ij.LSPIJUtils
+import org.junit.Assert.*
+import java.nio.file.Files
+
+class WantSaveHandlerTest : BasePlatformTestCase() {
+
+    private lateinit var handler: WantSaveHandler
+
+    override fun setUp() {
+        super.setUp()
+        handler = WantSaveHandler(project)
+        Disposer.register(testRootDisposable, handler)
+    }
+
+    private fun script(name: String): Pair<String, Document> {
+        val path = Files.createTempDirectory("angelscript-want-save").resolve(name)
+        Files.writeString(path, "class U$name {}\n")
+        val file = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path)!!
+        return LSPIJUtils.toUri(file).toASCIIString() to FileDocumentManager.getInstance().getDocument(file)!!
+    }
+
+    private fun edit(document: Document) {
+        WriteCommandAction.runWriteCommandAction(project) { document.insertString(0, "// edited\n") }
+    }
+
+    /**
+     * Test that a burst of requests is written in one save that only touches unsaved documents
+     */
+    fun testBurstIsSavedOnce() {
+        val (firstUri, first) = script("First.as")
+        val (secondUri, second) = script("Second.as")
+        val (cleanUri, _) = script("Clean.as")
+        edit(first)
+        edit(second)
+
+        handler.request(listOf(firstUri))
+        handler.request(listOf(secondUri, cleanUri))
+        handler.request(listOf(firstUri))
+        handler.flush()
+
+        val manager = FileDocumentManager.getInstance()
+        assertFalse(manager.isDocumentUnsaved(first))
+        assertFalse(manager.isDocumentUnsaved(second))
+        val stats = handler.stats
+        assertEquals(3, stats.requests())
+        assertEquals(1, stats.saves())
+        assertEquals(2, stats.savedDocuments())
+        assertEquals(2, stats.avoidedReloads())
+    }
+
+    /**
+     * Test that requests for documents that are already saved do not write anything
+     */
+    fun testSavedDocumentsAreLeftAlone() {
+        val (uri, _) = script("Saved.as")
+
+        handler.request(listOf(uri))
+        handler.flush()
+
+        assertEquals(0, handler.stats.saves())
+        assertEquals(1, handler.stats.avoidedReloads())
+    }
+}
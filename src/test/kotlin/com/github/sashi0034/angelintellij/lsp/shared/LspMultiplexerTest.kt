@@ -0,0 +1,240 @@
+package com.github.sashi0034.angelintellij.lsp.shared
+
+import com.github.sashi0034.angelintellij.lsp.wire.LspFrames
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.PipedInputStream
+import java.io.PipedOutputStream
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+
+class LspMultiplexerTest : BasePlatformTestCase() {
+
+    private lateinit var server: FakeServerProcess
+    private lateinit var multiplexer: LspMultiplexer
+
+    override fun setUp() {
+        super.setUp()
+        server = FakeServerProcess()
+        multiplexer = LspMultiplexer(server, {}, {})
+    }
+
+    override fun tearDown() {
+        try {
+            multiplexer.destroy()
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    /**
+     * Test that documents are routed to the project whose folder contains them, not to a sibling folder with a common prefix
+     */
+    fun testFolderMatchesWholeSegments() {
+        assertTrue(LspMultiplexer.isInFolder("file:///ws/game/x.as", "file:///ws/game"))
+        assertTrue(LspMultiplexer.isInFolder("file:///ws/game/sub/x.as", "file:///ws/game/"))
+        assertTrue(LspMultiplexer.isInFolder("file:///ws/game", "file:///ws/game"))
+        assertFalse(LspMultiplexer.isInFolder("file:///ws/game2/x.as", "file:///ws/game"))
+        assertFalse(LspMultiplexer.isInFolder("file:///ws/gamex.as", "file:///ws/game"))
+    }
+
+    /**
+     * Test that only the first initialize reaches the server and a later project gets the cached result with its own id
+     */
+    fun testSecondInitializeAnsweredFromCache() {
+        val game = initialize(1, "file:///ws/game")
+
+        val tools = Client(multiplexer.attach(2, "tools"))
+        tools.send("""{"jsonrpc":"2.0","id":7,"method":"initialize","params":{"rootUri":"file:///ws/tools"}}""")
+
+        val response = tools.next()
+        assertEquals(7, response.get("id").asInt)
+        assertTrue(response.getAsJsonObject("result").has("capabilities"))
+        val announced = server.next()
+        assertEquals("workspace/didChangeWorkspaceFolders", announced.get("method").asString)
+        assertEquals("file:///ws/tools", announced.getAsJsonObject("params").getAsJsonObject("event")
+            .getAsJsonArray("added")[0].asJsonObject.get("uri").asString)
+        assertTrue(game.isEmpty())
+    }
+
+    /**
+     * Test that a failed initialize is not shared: the next waiting project sends its own initialize to the server
+     */
+    fun testFailedInitializeRetriedWithNextSession() {
+        val game = Client(multiplexer.attach(1, "game"))
+        val tools = Client(multiplexer.attach(2, "tools"))
+        game.send("""{"jsonrpc":"2.0","id":1,"method":"initialize","params":{"rootUri":"file:///ws/game"}}""")
+        tools.send("""{"jsonrpc":"2.0","id":2,"method":"initialize","params":{"rootUri":"file:///ws/tools"}}""")
+
+        val first = server.next()
+        assertEquals("file:///ws/game", first.getAsJsonObject("params").get("rootUri").asString)
+        server.send("""{"jsonrpc":"2.0","id":${first.get("id")},"error":{"code":-32603,"message":"bad root"}}""")
+        assertEquals(1, game.next().get("id").asInt)
+
+        val retry = server.next()
+        assertEquals("initialize", retry.get("method").asString)
+        assertEquals("file:///ws/tools", retry.getAsJsonObject("params").get("rootUri").asString)
+        server.send("""{"jsonrpc":"2.0","id":${retry.get("id")},"result":{"capabilities":{}}}""")
+        val response = tools.next()
+        assertEquals(2, response.get("id").asInt)
+        assertTrue(response.has("result"))
+    }
+
+    /**
+     * Test that a request reaches the server with a rewritten id and its response comes back with the client's id
+     */
+    fun testResponseKeepsClientId() {
+        val game = initialize(1, "file:///ws/game")
+
+        game.send("""{"jsonrpc":"2.0","id":"hover-1","method":"textDocument/hover","params":{}}""")
+        val request = server.next()
+        assertNotEquals("hover-1", request.get("id").asString)
+        server.send("""{"jsonrpc":"2.0","id":${request.get("id")},"result":{"contents":"int X"}}""")
+
+        val response = game.next()
+        assertEquals("hover-1", response.get("id").asString)
+        assertEquals("int X", response.getAsJsonObject("result").get("contents").asString)
+    }
+
+    /**
+     * Test that a cancellation names the request by the id the server knows it under
+     */
+    fun testCancelUsesServerId() {
+        val game = initialize(1, "file:///ws/game")
+
+        game.send("""{"jsonrpc":"2.0","id":5,"method":"textDocument/completion","params":{}}""")
+        val request = server.next()
+        game.send("""{"jsonrpc":"2.0","method":"$/cancelRequest","params":{"id":5}}""")
+
+        val cancel = server.next()
+        assertEquals("$/cancelRequest", cancel.get("method").asString)
+        assertEquals(request.get("id"), cancel.getAsJsonObject("params").get("id"))
+    }
+
+    /**
+     * Test that document notifications go only to the project owning the document, and others to every project
+     */
+    fun testDocumentNotificationsGoToOwner() {
+        val game = initialize(1, "file:///ws/game")
+        val game2 = initialize(2, "file:///ws/game2")
+
+        server.send("""{"jsonrpc":"2.0","method":"textDocument/publishDiagnostics","params":{"uri":"file:///ws/game2/x.as","diagnostics":[]}}""")
+        server.send("""{"jsonrpc":"2.0","method":"angelscript/unrealConnected","params":{}}""")
+
+        assertEquals("textDocument/publishDiagnostics", game2.next().get("method").asString)
+        assertEquals("angelscript/unrealConnected", game2.next().get("method").asString)
+        // The broadcast sent after the diagnostics is the first message the other project sees
+        assertEquals("angelscript/unrealConnected", game.next().get("method").asString)
+    }
+
+    /**
+     * Test that one project shutting down removes its folders but keeps the server working for the others
+     */
+    fun testShutdownLeavesOthersWorking() {
+        val game = initialize(1, "file:///ws/game")
+        val tools = initialize(2, "file:///ws/tools")
+
+        game.send("""{"jsonrpc":"2.0","id":9,"method":"shutdown"}""")
+        val response = game.next()
+        assertEquals(9, response.get("id").asInt)
+        assertTrue(response.get("result").isJsonNull)
+        game.send("""{"jsonrpc":"2.0","method":"exit"}""")
+
+        val removed = server.next()
+        assertEquals("workspace/didChangeWorkspaceFolders", removed.get("method").asString)
+        assertEquals("file:///ws/game", removed.getAsJsonObject("params").getAsJsonObject("event")
+            .getAsJsonArray("removed")[0].asJsonObject.get("uri").asString)
+
+        tools.send("""{"jsonrpc":"2.0","id":3,"method":"textDocument/hover","params":{}}""")
+        val request = server.next()
+        assertEquals("textDocument/hover", request.get("method").asString)
+        server.send("""{"jsonrpc":"2.0","id":${request.get("id")},"result":null}""")
+        assertEquals(3, tools.next().get("id").asInt)
+        assertTrue(multiplexer.hasSessions())
+    }
+
+    /**
+     * Attaches a project and completes its handshake; the first one initializes the server.
+     */
+    private fun initialize(sessionId: Int, rootUri: String): Client {
+        val client = Client(multiplexer.attach(sessionId, rootUri.substringAfterLast('/')))
+        client.send("""{"jsonrpc":"2.0","id":1,"method":"initialize","params":{"rootUri":"$rootUri"}}""")
+        val first = sessionId == 1
+        if (first) {
+            val request = server.next()
+            assertEquals("initialize", request.get("method").asString)
+            server.send("""{"jsonrpc":"2.0","id":${request.get("id")},"result":{"capabilities":{}}}""")
+        }
+        assertEquals(1, client.next().get("id").asInt)
+        client.send("""{"jsonrpc":"2.0","method":"initialized","params":{}}""")
+        assertEquals(if (first) "initialized" else "workspace/didChangeWorkspaceFolders", server.next().get("method").asString)
+        return client
+    }
+
+    private class Client(private val session: SharedServerSession) {
+        private val received = readFrames(session.inputStream)
+
+        fun send(json: String) = LspFrames.write(session.outputStream, json.toByteArray())
+
+        fun next(): JsonObject = received.poll(5, TimeUnit.SECONDS) ?: throw AssertionError("No message for the project")
+
+        fun isEmpty(): Boolean = received.isEmpty()
+    }
+
+    /**
+     * A language server process whose standard streams are pipes to the test.
+     */
+    private class FakeServerProcess : Process() {
+        private val stdin = PipedOutputStream()
+        private val stdout = PipedInputStream(1 shl 16)
+        private val toMultiplexer = PipedOutputStream(stdout)
+        private val received = readFrames(PipedInputStream(stdin, 1 shl 16))
+        @Volatile
+        private var alive = true
+
+        fun send(json: String) = LspFrames.write(toMultiplexer, json.toByteArray())
+
+        fun next(): JsonObject = received.poll(5, TimeUnit.SECONDS) ?: throw AssertionError("No message for the server")
+
+        override fun getOutputStream(): OutputStream = stdin
+
+        override fun getInputStream(): InputStream = stdout
+
+        override fun getErrorStream(): InputStream = ByteArrayInputStream(ByteArray(0))
+
+        override fun waitFor(): Int = 0
+
+        override fun exitValue(): Int = 0
+
+        override fun isAlive(): Boolean = alive
+
+        override fun destroy() {
+            alive = false
+            toMultiplexer.close()
+        }
+    }
+
+    private companion object {
+        fun readFrames(input: InputStream): LinkedBlockingQueue<JsonObject> {
+            val frames = LinkedBlockingQueue<JsonObject>()
+            thread(isDaemon = true) {
+                try {
+                    while (true) {
+                        val body = LspFrames.read(input) ?: break
+                        frames.add(JsonParser.parseString(String(body)).asJsonObject)
+                    }
+                } catch (_: IOException) {
+                    // Closed by the test
+                }
+            }
+            return frames
+        }
+    }
+}
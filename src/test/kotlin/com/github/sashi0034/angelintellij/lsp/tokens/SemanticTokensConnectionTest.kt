@@ -0,0 +1,23 @@
+package com.github.sashi0034.angelintellij.lsp.tokens
+
+import com.github.sashi0034.angelintellij.lsp.wire.WireMeter
+import org.junit.Assert.*
+import org.junit.Test
+
+class SemanticTokensConnectionTest {
+
+    private fun concernsTokens(json: String) =
+        SemanticTokensConnection.concernsTokens(WireMeter.Envelope.scan(json.toByteArray()))
+
+    /**
+     * Test that messages are routed by their top-level method and id, not by what their parameters mention
+     */
+    @Test
+    fun testRoutesByEnvelope() {
+        assertTrue(concernsTokens("""{"jsonrpc":"2.0","method":"textDocument/didChange","params":{}}"""))
+        assertTrue(concernsTokens("""{"jsonrpc":"2.0","id":3,"method":"textDocument/semanticTokens/full","params":{}}"""))
+        assertTrue(concernsTokens("""{"jsonrpc":"2.0","id":"${SemanticTokensStrategy.REFRESH_ID_PREFIX}1","result":null}"""))
+        assertFalse(concernsTokens("""{"jsonrpc":"2.0","id":4,"method":"textDocument/hover","params":{"note":"\"initialize\""}}"""))
+        assertFalse(concernsTokens("""{"jsonrpc":"2.0","id":5,"result":{"method":"textDocument/didOpen"}}"""))
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.sashi0034.angelintellij.lsp.tokens
+
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import org.junit.Assert.*
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.AbstractExecutorService
+import java.util.concurrent.Callable
+import java.util.concurrent.Delayed
+import java.util.concurrent.FutureTask
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+class SemanticTokensStrategyTest {
+
+    private val uri = "file:///Script/Generated.as"
+    private var now = 100_000L
+    private var viewport: IntArray? = null
+    private val delivered = mutableListOf<JsonObject>()
+    private val scheduler = ManualScheduler { now }
+    private lateinit var strategy: SemanticTokensStrategy
+    private var nextId = 0
+
+    @Before
+    fun setUp() {
+        strategy = SemanticTokensStrategy({ viewport }, { delivered += it }, scheduler, { now })
+        strategy.onClientMessage(json("""{"jsonrpc":"2.0","id":0,"method":"initialize","params":{}}"""))
+        strategy.onServerMessage(json("""{"jsonrpc":"2.0","id":0,"result":{"capabilities":{"semanticTokensProvider":{"range":true,"full":{"delta":true}}}}}"""))
+        val text = (0 until 3000).joinToString("\n") { "int Line$it;" }
+        val open = json("""{"jsonrpc":"2.0","method":"textDocument/didOpen","params":{"textDocument":{"uri":"$uri","version":1}}}""")
+        open.getAsJsonObject("params").getAsJsonObject("textDocument").addProperty("text", text)
+        strategy.onClientMessage(open)
+    }
+
+    private fun json(text: String): JsonObject = JsonParser.parseString(text).asJsonObject
+
+    private fun request(): JsonObject = strategy.onClientMessage(
+        json("""{"jsonrpc":"2.0","id":${++nextId},"method":"textDocument/semanticTokens/full","params":{"textDocument":{"uri":"$uri"}}}""")
+    )!!
+
+    private fun answer(result: String): IntArray {
+        val response = strategy.onServerMessage(json("""{"jsonrpc":"2.0","id":$nextId,"result":$result}"""))!!
+        return response.getAsJsonObject("result").getAsJsonArray("data").map { it.asInt }.toIntArray()
+    }
+
+    private fun insertLine(line: Int) {
+        now += 100
+        strategy.onClientMessage(json(
+            """{"jsonrpc":"2.0","method":"textDocument/didChange","params":{"textDocument":{"uri":"$uri","version":2},
+            "contentChanges":[{"range":{"start":{"line":$line,"character":0},"end":{"line":$line,"character":0}},"text":"int Extra;\n"}]}}"""
+        ))
+    }
+
+    /**
+     * Test that an edit to a large document only fetches the visible lines and shifts the tokens below them
+     */
+    @Test
+    fun testRangeWhileEditingLargeDocument() {
+        assertEquals(SemanticTokensStrategy.FULL, request().get("method").asString)
+        // Tokens on lines 0, 1500 and 2999
+        answer("""{"resultId":"1","data":[0,4,5,3,0, 1500,4,8,3,0, 1499,4,8,3,0]}""")
+
+        insertLine(1500)
+        viewport = intArrayOf(1490, 1520)
+        val rewritten = request()
+        assertEquals(SemanticTokensStrategy.RANGE, rewritten.get("method").asString)
+        val range = rewritten.getAsJsonObject("params").getAsJsonObject("range")
+        assertEquals(1490, range.getAsJsonObject("start").get("line").asInt)
+        assertEquals(1521, range.getAsJsonObject("end").get("line").asInt)
+
+        // The server sees the new line 1500 and the old one moved to 1501
+        val merged = answer("""{"data":[1500,4,5,3,0, 1,4,8,3,0]}""")
+        assertArrayEquals(intArrayOf(0, 4, 5, 3, 0, 1500, 4, 5, 3, 0, 1, 4, 8, 3, 0, 1499, 4, 8, 3, 0), merged)
+
+        val stats = strategy.stats
+        assertEquals(1, stats.rangeRequests())
+        assertEquals(5, stats.tokensReceived())
+        assertEquals(7, stats.tokensDelivered())
+    }
+
+    /**
+     * Test that edits outside the viewport are fetched as a delta against the last full result
+     */
+    @Test
+    fun testDeltaWhenChangesAreOffScreen() {
+        request()
+        answer("""{"resultId":"1","data":[0,4,5,3,0, 1500,4,8,3,0, 1499,4,8,3,0]}""")
+
+        insertLine(2500)
+        viewport = intArrayOf(0, 40)
+        val rewritten = request()
+        assertEquals(SemanticTokensStrategy.DELTA, rewritten.get("method").asString)
+        assertEquals("1", rewritten.getAsJsonObject("params").get("previousResultId").asString)
+
+        // The last token moved one line down
+        val data = answer("""{"resultId":"2","edits":[{"start":10,"deleteCount":1,"data":[1500]}]}""")
+        assertArrayEquals(intArrayOf(0, 4, 5, 3, 0, 1500, 4, 8, 3, 0, 1500, 4, 8, 3, 0), data)
+        assertEquals(1, strategy.stats.deltaRequests())
+    }
+
+    /**
+     * Test that a document coloured from a range is refreshed as a whole once editing stops
+     */
+    @Test
+    fun testRefreshWhenIdle() {
+        request()
+        answer("""{"resultId":"1","data":[0,4,5,3,0]}""")
+        insertLine(10)
+        viewport = intArrayOf(0, 40)
+        request()
+        answer("""{"data":[10,4,5,3,0]}""")
+
+        now += SemanticTokensStrategy.IDLE_DELAY_MS - 1
+        scheduler.runDue()
+        assertTrue("no refresh while the user may still be typing", delivered.isEmpty())
+
+        now += 1
+        scheduler.runDue()
+        val refresh = delivered.single()
+        assertEquals("workspace/semanticTokens/refresh", refresh.get("method").asString)
+        assertNull("the answer to the injected refresh stays with the strategy",
+            strategy.onClientMessage(json("""{"jsonrpc":"2.0","id":${refresh.get("id")},"result":null}""")))
+        assertEquals(SemanticTokensStrategy.DELTA, request().get("method").asString)
+    }
+}
+
+/**
+ * Runs scheduled tasks only when asked to, once the test's clock reached them.
+ */
+private class ManualScheduler(private val clock: () -> Long) : AbstractExecutorService(), ScheduledExecutorService {
+    private val tasks = mutableListOf<Task<*>>()
+
+    fun runDue() {
+        while (true) {
+            val due = tasks.filter { !it.isCancelled && it.at <= clock() }.minByOrNull { it.at } ?: return
+            tasks.remove(due)
+            due.run()
+        }
+    }
+
+    override fun schedule(command: Runnable, delay: Long, unit: TimeUnit): ScheduledFuture<*> =
+        Task(Callable { command.run() }, clock() + unit.toMillis(delay)).also { tasks += it }
+
+    override fun <V> schedule(callable: Callable<V>, delay: Long, unit: TimeUnit): ScheduledFuture<V> =
+        Task(callable, clock() + unit.toMillis(delay)).also { tasks += it }
+
+    override fun scheduleAtFixedRate(command: Runnable, initialDelay: Long, period: Long, unit: TimeUnit) =
+        throw UnsupportedOperationException()
+
+    override fun scheduleWithFixedDelay(command: Runnable, initialDelay: Long, delay: Long, unit: TimeUnit) =
+        throw UnsupportedOperationException()
+
+    override fun execute(command: Runnable) {
+        schedule(command, 0, TimeUnit.MILLISECONDS)
+    }
+
+    override fun shutdown() {
+        tasks.clear()
+    }
+
+    override fun shutdownNow(): MutableList<Runnable> {
+        tasks.clear()
+        return mutableListOf()
+    }
+
+    override fun isShutdown() = false
+
+    override fun isTerminated() = false
+
+    override fun awaitTermination(timeout: Long, unit: TimeUnit) = true
+
+    private inner class Task<V>(callable: Callable<V>, val at: Long) : FutureTask<V>(callable), ScheduledFuture<V> {
+        override fun getDelay(unit: TimeUnit): Long = unit.convert(at - clock(), TimeUnit.MILLISECONDS)
+
+        override fun compareTo(other: Delayed): Int =
+            getDelay(TimeUnit.MILLISECONDS).compareTo(other.getDelay(TimeUnit.MILLISECONDS))
+    }
+}
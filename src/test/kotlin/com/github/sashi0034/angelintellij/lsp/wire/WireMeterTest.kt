@@ -0,0 +1,98 @@
+package com.github.sashi0034.angelintellij.lsp.wire
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class WireMeterTest : BasePlatformTestCase() {
+
+    private var now = 0L
+    private val meter = WireMeter { now }
+
+    /**
+     * Test that a response is counted towards its request's method along with the time it took
+     */
+    fun testTimesRequestsFromTheIde() {
+        meter.toServer(body("""{"jsonrpc":"2.0","id":1,"method":"textDocument/completion","params":{"text":"}\"{"}}"""))
+        meter.toServer(body("""{"jsonrpc":"2.0","method":"textDocument/didChange","params":{"uri":"a"}}"""))
+        now = 12_000_000
+        meter.fromServer(body("""{"jsonrpc":"2.0","id":1,"result":{"items":[]}}"""))
+
+        val snapshot = meter.snapshot()
+        val completion = snapshot.methods().single { it.method() == "textDocument/completion" }
+        assertEquals(WireMeter.Origin.CLIENT, completion.origin())
+        assertEquals(1, completion.requests())
+        assertEquals(1, completion.messagesFromServer())
+        assertEquals(1, completion.latency().count())
+        assertEquals(12.0, completion.latency().maxMs(), 0.0)
+        assertEquals(12.0, completion.latency().percentileMs(0.5), 0.0)
+        val didChange = snapshot.methods().single { it.method() == "textDocument/didChange" }
+        assertEquals(1, didChange.notifications())
+        assertEquals(0, didChange.latency().count())
+        assertEquals(0, snapshot.pendingRequests())
+        assertEquals(2, snapshot.messagesToServer())
+    }
+
+    /**
+     * Test that requests from the server are matched with the IDE's answer, and ids of both sides are kept apart
+     */
+    fun testTimesRequestsFromTheServer() {
+        meter.toServer(body("""{"jsonrpc":"2.0","id":1,"method":"angelscript/getAPI","params":""}"""))
+        meter.fromServer(body("""{"jsonrpc":"2.0","id":1,"method":"angelscript/wantSave","params":[["file:///a.as"]]}"""))
+        now = 3_000_000
+        meter.toServer(body("""{"jsonrpc":"2.0","id":1,"result":null}"""))
+
+        val methods = meter.snapshot().methods().associateBy { it.method() }
+        assertEquals(WireMeter.Origin.SERVER, methods.getValue("angelscript/wantSave").origin())
+        assertEquals(1, methods.getValue("angelscript/wantSave").latency().count())
+        assertEquals(0, methods.getValue("angelscript/getAPI").latency().count())
+        assertEquals(1, meter.snapshot().pendingRequests())
+    }
+
+    /**
+     * Test that the envelope is found in any member order, and string and number ids stay apart
+     */
+    fun testScansEnvelopeInAnyOrder() {
+        assertEquals(WireMeter.Envelope("7", "x"), WireMeter.Envelope.scan(body("""{ "params" : {"id":1}, "method":"x", "id" : 7 }""")))
+        assertEquals(WireMeter.Envelope("\"7\"", null), WireMeter.Envelope.scan(body("""{"id":"7","result":[{"method":"y"}]}""")))
+        assertEquals(WireMeter.Envelope(null, "a/b"), WireMeter.Envelope.scan(body("""{"method":"a\/b","params":[]}""")))
+        assertEquals(WireMeter.Envelope(null, null), WireMeter.Envelope.scan(body("""{"id":""")))
+    }
+
+    /**
+     * Test that latencies land in power-of-two millisecond buckets
+     */
+    fun testHistogramBuckets() {
+        assertEquals(0, LatencyHistogram.bucketOf(999_999))
+        assertEquals(1, LatencyHistogram.bucketOf(1_000_000))
+        assertEquals(3, LatencyHistogram.bucketOf(7_900_000))
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE))
+
+        val histogram = LatencyHistogram()
+        repeat(9) { histogram.record(500_000) }
+        histogram.record(100_000_000)
+        val stats = histogram.stats()
+        assertEquals(1.0, stats.percentileMs(0.9), 0.0)
+        assertEquals(100.0, stats.percentileMs(0.99), 0.0)
+        assertEquals(10.45, stats.meanMs(), 0.0)
+    }
+
+    /**
+     * Test that the JSON snapshot lists methods with their latency
+     */
+    fun testJsonSnapshot() {
+        meter.toServer(body("""{"jsonrpc":"2.0","id":1,"method":"textDocument/hover","params":{}}"""))
+        now = 2_000_000
+        meter.fromServer(body("""{"jsonrpc":"2.0","id":1,"result":null}"""))
+
+        val json = meter.snapshot().toJson()
+        assertEquals(2, json.get("elapsedMs").asInt)
+        val hover = json.getAsJsonObject("methods").getAsJsonObject("textDocument/hover")
+        assertEquals("client", hover.get("origin").asString)
+        assertEquals(2.0, hover.getAsJsonObject("latency").get("p50Ms").asDouble, 0.0)
+
+        meter.reset()
+        assertTrue(meter.snapshot().methods().isEmpty())
+    }
+
+    private fun body(json: String) = json.toByteArray(Charsets.UTF_8)
+}
@@ -0,0 +1,108 @@
+package com.github.sashi0034.angelintellij.navigation
+
+import com.github.sashi0034.angelintellij.psi.AngelScriptNamedElement
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptClassNameIndex
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptFunctionNameIndex
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptNamespaceIndex
+import com.github.sashi0034.angelintellij.psi.stubs.AngelScriptPropertyNameIndex
+import com.intellij.navigation.NavigationItem
+import com.intellij.psi.impl.source.PsiFileImpl
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.stubs.StubIndex
+import com.intellij.psi.stubs.StubIndexKey
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import com.intellij.util.indexing.FindSymbolParameters
+import org.junit.Assert.*
+
+class AngelScriptGotoContributorTest : BasePlatformTestCase() {
+
+    override fun setUp() {
+        super.setUp()
+        myFixture.addFileToProject(
+            "Movement/Mover.as",
+            """
+            namespace Movement
+            {
+                UCLASS()
+                class AMover : AActor
+                {
+                    UPROPERTY(EditAnywhere)
+                    float Speed = 100.0;
+
+                    UFUNCTION(BlueprintOverride)
+                    void Tick(float DeltaSeconds)
+                    {
+                        float Step = Speed * DeltaSeconds;
+                    }
+                }
+            }
+            """.trimIndent()
+        )
+        myFixture.addFileToProject(
+            "Movement/Types.as",
+            """
+            struct FMovePoint
+            {
+                FVector Location;
+            }
+
+            enum EMoveState
+            {
+                Idle,
+                Moving,
+            }
+
+            delegate void FOnArrived(AActor Actor);
+            """.trimIndent()
+        )
+    }
+
+    private fun keys(key: StubIndexKey<String, AngelScriptNamedElement>): Collection<String> =
+        StubIndex.getInstance().getAllKeys(key, project)
+
+    /**
+     * Test that declarations land in the matching name index and locals of function bodies do not
+     */
+    fun testIndexes() {
+        assertTrue(keys(AngelScriptClassNameIndex.KEY).containsAll(listOf("AMover", "FMovePoint", "EMoveState", "FOnArrived")))
+        assertTrue(keys(AngelScriptFunctionNameIndex.KEY).contains("Tick"))
+        assertTrue(keys(AngelScriptPropertyNameIndex.KEY).containsAll(listOf("Speed", "Location")))
+        assertFalse(keys(AngelScriptPropertyNameIndex.KEY).contains("Step"))
+        assertTrue(keys(AngelScriptNamespaceIndex.KEY).contains("Movement"))
+    }
+
+    /**
+     * Test that Go to Class finds a script class by name without loading the AST of its file
+     */
+    fun testGotoClass() {
+        val contributor = AngelScriptGotoClassContributor()
+        val scope = GlobalSearchScope.projectScope(project)
+        val names = mutableListOf<String>()
+        contributor.processNames({ names += it; true }, scope, null)
+        assertTrue(names.contains("AMover"))
+
+        val items = mutableListOf<NavigationItem>()
+        contributor.processElementsWithName("AMover", { items += it; true }, FindSymbolParameters.wrap("AMover", scope))
+
+        val mover = items.single() as AngelScriptNamedElement
+        assertEquals("AMover", mover.name)
+        assertEquals("Movement::AMover", contributor.getQualifiedName(mover))
+        assertNull("the name should come from the stub", (mover.containingFile as PsiFileImpl).treeElement)
+    }
+
+    /**
+     * Test that Go to Symbol covers functions and properties next to types
+     */
+    fun testGotoSymbol() {
+        val contributor = AngelScriptGotoSymbolContributor()
+        val scope = GlobalSearchScope.projectScope(project)
+        val names = mutableSetOf<String>()
+        contributor.processNames({ names += it; true }, scope, null)
+
+        assertTrue(names.containsAll(listOf("AMover", "Tick", "Speed", "Movement")))
+
+        val items = mutableListOf<NavigationItem>()
+        contributor.processElementsWithName("Tick", { items += it; true }, FindSymbolParameters.wrap("Tick", scope))
+        assertEquals("AMover", items.single().presentation?.locationString)
+    }
+}
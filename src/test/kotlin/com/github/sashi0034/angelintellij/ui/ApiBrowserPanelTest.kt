@@ -0,0 +1,28 @@
+package com.github.sashi0034.angelintellij.ui
+
+import com.github.sashi0034.angelintellij.lsp.AngelScriptLanguageServer.ApiItem
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import org.junit.Assert.*
+
+class ApiBrowserPanelTest : BasePlatformTestCase() {
+
+    /**
+     * Test that server documentation renders its signature block and emphasis
+     */
+    fun testDetailsMarkdownToHtml() {
+        val html = ApiBrowserPanel.toHtml("```angelscript_snippet\nfloat Math::Abs(\n\t\tfloat X\n)\n```\n*Absolute value* of <X>\n\n")
+
+        assertTrue(html, html.contains("<pre>float Math::Abs(\n        float X\n)\n</pre>"))
+        assertTrue(html, html.contains("<i>Absolute value</i> of &lt;X&gt;"))
+    }
+
+    /**
+     * Test that the rest of a long list is offered a page at a time
+     */
+    fun testMoreItemsLabel() {
+        val items = List(ApiBrowserPanel.PAGE_SIZE + 50) { ApiItem() }
+
+        assertEquals("Show 50 more of 50", ApiBrowserPanel.MoreItems(items, ApiBrowserPanel.PAGE_SIZE).toString())
+        assertEquals("Show ${ApiBrowserPanel.PAGE_SIZE} more of ${items.size}", ApiBrowserPanel.MoreItems(items, 0).toString())
+    }
+}
@@ -0,0 +1,166 @@
+// Stand-in for the Unreal editor's AngelScript debug server, for testing the language server
+// without an editor.
+//
+//   node unreal-standin.js <recording | .typedb> [--port 27099] [--delay <ms>]
+//
+// <recording> is a file written by the language server with ANGELSCRIPT_RECORD_UNREAL set; its
+// DebugDatabase, DebugDatabaseSettings and AssetDatabase messages are replayed in their original
+// order whenever the language server requests the debug database. A .typedb file (the server's type
+// database cache, or a file from angelscript/exportTypeDatabase) is replayed as a synthesized stream.
+// --delay waits between messages to mimic a slow editor.
+const fs = require('fs');
+const net = require('net');
+const zlib = require('zlib');
+
+const MessageType = {
+  RequestDebugDatabase: 1,
+  DebugDatabase: 2,
+  DebugDatabaseFinished: 26,
+  AssetDatabaseInit: 27,
+  AssetDatabase: 28,
+  AssetDatabaseFinished: 29,
+  DebugDatabaseSettings: 31,
+};
+
+const REPLAYED_TYPES = new Set([
+  MessageType.DebugDatabase,
+  MessageType.DebugDatabaseFinished,
+  MessageType.AssetDatabaseInit,
+  MessageType.AssetDatabase,
+  MessageType.AssetDatabaseFinished,
+  MessageType.DebugDatabaseSettings,
+]);
+
+function parseArguments(argv) {
+  const options = { input: null, port: 27099, delay: 0 };
+  for (let i = 0; i < argv.length; ++i) {
+    if (argv[i] === '--port')
+      options.port = parseInt(argv[++i], 10);
+    else if (argv[i] === '--delay')
+      options.delay = parseInt(argv[++i], 10);
+    else
+      options.input = argv[i];
+  }
+  if (!options.input) {
+    console.error('usage: node unreal-standin.js <recording | .typedb> [--port 27099] [--delay <ms>]');
+    process.exit(1);
+  }
+  return options;
+}
+
+// Splits a buffer of uint32 length | uint8 type | payload frames. Unreal's length counts the
+// payload only, the language server's own messages count the type byte as well.
+function splitFrames(buffer, lengthIncludesType) {
+  const frames = [];
+  let offset = 0;
+  while (offset + 5 <= buffer.length) {
+    const length = buffer.readUInt32LE(offset) - (lengthIncludesType ? 1 : 0);
+    if (length < 0 || offset + 5 + length > buffer.length)
+      break;
+    frames.push({ type: buffer.readUInt8(offset + 4), frame: buffer.subarray(offset, offset + 5 + length) });
+    offset += 5 + length;
+  }
+  return frames;
+}
+
+function buildFrame(type, payload) {
+  const header = Buffer.alloc(5);
+  header.writeUInt32LE(payload.length, 0);
+  header.writeUInt8(type, 4);
+  return Buffer.concat([header, payload]);
+}
+
+function writeInt(value) {
+  const buffer = Buffer.alloc(4);
+  buffer.writeInt32LE(value, 0);
+  return buffer;
+}
+
+function writeString(str) {
+  const bytes = Buffer.from(str + '\0', 'utf8');
+  return Buffer.concat([writeInt(bytes.length), bytes]);
+}
+
+function framesFromTypeCache(data) {
+  if (data.toString('ascii', 0, 4) !== 'ASTC')
+    throw new Error('not a type database file');
+  const payload = zlib.inflateRawSync(data.subarray(8));
+  let offset = 0;
+  const settingsLength = payload.readUInt32LE(offset);
+  offset += 4;
+  const settings = JSON.parse(payload.toString('utf8', offset, offset + settingsLength));
+  offset += settingsLength;
+  const chunkCount = payload.readUInt32LE(offset);
+  offset += 4;
+
+  const script = settings.script || {};
+  const frames = [buildFrame(MessageType.DebugDatabaseSettings, Buffer.concat([
+    writeInt(settings.engineSupportsCreateBlueprint ? 7 : 3),
+    writeInt(script.automaticImports ? 1 : 0),
+    writeInt(script.floatIsFloat64 ? 1 : 0),
+    writeInt(script.useAngelscriptHaze ? 1 : 0),
+    ...(settings.engineSupportsCreateBlueprint ? [
+      writeInt(script.deprecateStaticClass ? 1 : 0),
+      writeInt(script.disallowStaticClass ? 1 : 0),
+      writeInt(script.exposeGlobalFunctions ? 1 : 0),
+      writeInt(script.deprecateActorGenerics ? 1 : 0),
+      writeInt(script.disallowActorGenerics ? 1 : 0),
+    ] : []),
+  ]))];
+  for (let i = 0; i < chunkCount; ++i) {
+    offset += 20;
+    const length = payload.readUInt32LE(offset);
+    offset += 4;
+    frames.push(buildFrame(MessageType.DebugDatabase, writeString(payload.toString('utf8', offset, offset + length))));
+    offset += length;
+  }
+  frames.push(buildFrame(MessageType.DebugDatabaseFinished, Buffer.alloc(0)));
+  return frames;
+}
+
+function loadFrames(file) {
+  const data = fs.readFileSync(file);
+  if (data.toString('ascii', 0, 4) === 'ASTC')
+    return framesFromTypeCache(data);
+  return splitFrames(data, false)
+    .filter((frame) => REPLAYED_TYPES.has(frame.type))
+    .map((frame) => frame.frame);
+}
+
+function replay(socket, frames, delay) {
+  let index = 0;
+  function next() {
+    while (index < frames.length && !socket.destroyed) {
+      socket.write(frames[index++]);
+      if (delay > 0) {
+        setTimeout(next, delay);
+        return;
+      }
+    }
+    console.log(`Replayed ${frames.length} messages`);
+  }
+  next();
+}
+
+const options = parseArguments(process.argv.slice(2));
+const frames = loadFrames(options.input);
+console.log(`Loaded ${frames.length} messages from ${options.input}`);
+
+const server = net.createServer((socket) => {
+  console.log('Language server connected');
+  let pending = Buffer.alloc(0);
+  socket.on('data', (data) => {
+    pending = Buffer.concat([pending, data]);
+    const received = splitFrames(pending, true);
+    pending = pending.subarray(received.reduce((total, frame) => total + frame.frame.length, 0));
+    for (const frame of received) {
+      if (frame.type === MessageType.RequestDebugDatabase)
+        replay(socket, frames, options.delay);
+    }
+  });
+  socket.on('error', () => {});
+  socket.on('close', () => console.log('Language server disconnected'));
+});
+server.listen(options.port, '127.0.0.1', () => {
+  console.log(`Unreal stand-in listening on 127.0.0.1:${options.port}`);
+});